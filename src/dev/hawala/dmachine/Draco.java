@@ -29,6 +29,8 @@ package dev.hawala.dmachine;
 import java.awt.EventQueue;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -43,6 +45,7 @@ import javax.swing.JOptionPane;
 import javax.swing.Timer;
 
 import dev.hawala.dmachine.dwarf.DebuggerSubstituteMpHandler;
+import dev.hawala.dmachine.dwarf.HeadlessUi;
 import dev.hawala.dmachine.dwarf.KeyHandler;
 import dev.hawala.dmachine.dwarf.KeyboardMapper;
 import dev.hawala.dmachine.dwarf.MainUI;
@@ -57,6 +60,7 @@ import dev.hawala.dmachine.engine.InitialMesaMicrocode;
 import dev.hawala.dmachine.engine.Mem;
 import dev.hawala.dmachine.engine.Opcodes;
 import dev.hawala.dmachine.engine.Processes;
+import dev.hawala.dmachine.engine.Snapshot;
 import dev.hawala.dmachine.engine.Xfer;
 import dev.hawala.dmachine.engine.iUiDataConsumer;
 import dev.hawala.dmachine.engine.agents.NetworkInternalTimeService;
@@ -95,7 +99,7 @@ public class Draco {
 	private static Timer uiTimer;
 	
 	// the file chooser for selecting virtual floppy disks
-	private static JFileChooser fileChooser = new JFileChooser();
+	private static JFileChooser fileChooser = null; // created on first use, as not needed when running headless
 	
 	// the main frame/window
 	private static MainUI window;
@@ -145,6 +149,17 @@ public class Draco {
 	private static boolean doStartEngine = true;
 	private static boolean engineIsRunning = false;
 	private static boolean doTerminate = false;
+	private static boolean windowClosed = false;
+	
+	// snapshot file for resuming the machine resp. saving the machine state when stopped
+	private static File snapshotFile = null;
+	
+	// read-only snapshot for resuming the machine if there is no usable snapshot file
+	private static File goldenSnapshotFile = null;
+	
+	// backend for the real memory: outside of the Java heap, possibly mapped to a file
+	private static boolean offHeapMemory = false;
+	private static File memoryFile = null;
 	
 	// synchonization object for the 2 relevant thread (mesa engine thread and Swing ui thread)
 	private static final Object lock = new Object();
@@ -176,6 +191,15 @@ public class Draco {
 		}
 	}
 	
+	// end the program resp. only this machine if running in a JVM shared with other machines
+	private static void terminate() {
+		synchronized(lock) {
+			windowClosed = true; // let a not yet started mesa engine thread end
+			lock.notifyAll();
+		}
+		MainUI.terminate((window != null) ? window.getFrame() : null);
+	}
+	
 	private static VerifyLabelOp scanVerifyLabelOp(String opText, String what) {
 		if (opText == null || opText.isEmpty()) {
 			return VerifyLabelOp.verify;
@@ -298,6 +322,84 @@ public class Draco {
 		window.setFloppyName(floppyPrefix + floppyFile.getName());
 	}
 	
+	// restore the machine state from the snapshot file resp. the golden snapshot if present and usable for this machine
+	// (returns false if restoring failed, leaving an unusable mesa engine)
+	private static boolean restoreSnapshot() {
+		try {
+			if (!resumeFrom(snapshotFile) && !resumeFrom(goldenSnapshotFile)
+					&& (snapshotFile != null || goldenSnapshotFile != null)) {
+				System.out.printf("** no usable snapshot, booting machine\n");
+			}
+			return true;
+		} catch (IOException e) {
+			System.out.printf("## ERROR: unable to restore snapshot: %s\n", e.getMessage());
+			return false;
+		}
+	}
+	
+	// restore the machine state from the given snapshot, returning if the machine will resume
+	private static boolean resumeFrom(File snapshot) throws IOException {
+		if (snapshot == null || !snapshot.exists()) {
+			return false;
+		}
+		StringBuilder errMsgTarget = new StringBuilder();
+		// keep the memory image mapped only for a golden snapshot, as the own snapshot file is replaced when saving
+		boolean mapImage = (snapshotFile == null || !snapshot.getAbsoluteFile().equals(snapshotFile.getAbsoluteFile()));
+		if (Snapshot.restore(snapshot, "Draco", IOP.getSnapshotDeviceState(), errMsgTarget, mapImage)) {
+			System.out.printf("** resuming machine from snapshot %s\n", snapshot.getPath());
+			return true;
+		}
+		System.out.printf("** snapshot %s not usable (%s)\n", snapshot.getPath(), errMsgTarget.toString());
+		return false;
+	}
+	
+	// save the machine state to the snapshot file if the mesa engine was stopped by the user
+	// (must be done before shutting down the devices)
+	private static void saveSnapshot() {
+		if (snapshotFile == null || !Processes.isStoppedByExternalRequest()) {
+			return;
+		}
+		try {
+			Snapshot.save(snapshotFile, "Draco", IOP.getSnapshotDeviceState());
+			System.out.printf("** machine state saved to snapshot %s\n", snapshotFile.getPath());
+		} catch (IOException e) {
+			System.out.printf("## ERROR: unable to write snapshot %s: %s\n", snapshotFile.getPath(), e.getMessage());
+		}
+	}
+	
+	// run the mesa engine in the current thread with the ui replaced by the in-memory framebuffer
+	// and the keyboard/mouse events read from the script file (or stdin if not given)
+	private static void runHeadless(iUiDataConsumer uiDataConsumer, String scriptFile) {
+		// load the initially inserted floppy if configured so
+		if (initialFloppy != null && initialFloppy.length() > 0) {
+			try {
+				IOP.insertFloppy(new File(initialFloppy), false);
+			} catch (Exception ex) {
+				System.out.printf("## invalid initial floppy: %s\n", ex.getMessage());
+				return;
+			}
+		}
+		
+		HeadlessUi headlessUi = new HeadlessUi(uiDataConsumer);
+		if (!restoreSnapshot()) {
+			return;
+		}
+		headlessUi.startScript(scriptFile);
+		
+		// run the mesa engine until it halts by itself or is stopped by the script
+		String finalMessage = Cpu.processor();
+		System.out.printf("\n***\n*** processor exited: %s\n***\n", finalMessage);
+		saveSnapshot();
+		headlessUi.engineStopped();
+		
+		// shutdown the devices, mainly saving changes to the harddisk and a possibly mounted virtual floppy
+		StringBuilder errMsgTarget = new StringBuilder();
+		IOP.shutdown(errMsgTarget);
+		if (errMsgTarget.length() > 0) {
+			System.out.printf("\n***\n*** Error(s) shutting down mesa engine devices: %s\n***\n", errMsgTarget.toString());
+		}
+	}
+	
 	private static void dumpConfiguration() {
 		System.out.printf("Configuration from %s\n", configFilename);
 		System.out.printf(" fallbackGerm: %s\n", germFile);
@@ -411,6 +513,8 @@ public class Draco {
 		boolean doNetboot = false;
 		long bootFileNumber = 0;
 		String cfgFile = null;
+		boolean headless = false;
+		String headlessScript = null;
 		
 		// command line parameters pass 1: check for test only OR run configuration
 		for (String arg : args) {
@@ -445,6 +549,20 @@ public class Draco {
 					doMerge = true;
 				} else if ("-autoclose".equalsIgnoreCase(arg)) {
 					doTerminate = true;
+				} else if ("-headless".equalsIgnoreCase(arg)) {
+					headless = true;
+				} else if (arg.toLowerCase().startsWith("-headless=")) {
+					headless = true;
+					headlessScript = arg.substring("-headless=".length());
+				} else if (arg.toLowerCase().startsWith("-snapshot=")) {
+					snapshotFile = new File(arg.substring("-snapshot=".length()));
+				} else if (arg.toLowerCase().startsWith("-goldensnapshot=")) {
+					goldenSnapshotFile = new File(arg.substring("-goldensnapshot=".length()));
+				} else if ("-offheap".equalsIgnoreCase(arg)) {
+					offHeapMemory = true;
+				} else if (arg.toLowerCase().startsWith("-memoryfile=")) {
+					offHeapMemory = true;
+					memoryFile = new File(arg.substring("-memoryfile=".length()));
 				} else if ("-netexec".equalsIgnoreCase(arg)) {
 					doNetboot = true;
 					bootFileNumber = InitialMesaMicrocode.BFN_Daybreak_SimpleNetExec;
@@ -487,7 +605,13 @@ public class Draco {
 			HEthernet.setHubParameters(netHubHost, netHubPort, localTimeOffsetMinutes);
 			
 			// initialize the memory subsystem with the display-size as configured (large: 1152x861, small: 832x633)
-			Mem.initializeMemoryDaybreak(largeScreen);
+			try {
+				Mem.setRealMemoryBackend(offHeapMemory, memoryFile);
+				Mem.initializeMemoryDaybreak(largeScreen);
+			} catch (IllegalStateException e) {
+				System.out.printf("## error initializing memory: %s\n", e.getMessage());
+				return;
+			}
 			
 			// initialize the harddisk
 			StringBuilder sb = new StringBuilder();
@@ -570,6 +694,12 @@ public class Draco {
 			uiDataConsumer = IOP.getUiCallbacks();
 		}
 		
+		// run without ui if requested
+		if (headless) {
+			runHeadless(uiDataConsumer, headlessScript);
+			return;
+		}
+		
 		// create and start the ui
 		boolean logKeys = logKeyPressed;
 		EventQueue.invokeLater(() -> {	
@@ -609,6 +739,18 @@ public class Draco {
 				uiTimer = new Timer(UiRefreshInterval, uiRefresher);
 				uiTimer.start();
 				
+				// stop the ui refresher and a not yet started mesa engine thread when the main window is gone
+				window.getFrame().addWindowListener(new WindowAdapter() {
+					@Override
+					public void windowClosed(WindowEvent e) {
+						uiTimer.stop();
+						synchronized(lock) {
+							windowClosed = true;
+							lock.notifyAll();
+						}
+					}
+				});
+				
 				// setup the actions for the toolbar buttons
 				window.addStartAction((e) -> {
 					startEngine();
@@ -619,6 +761,9 @@ public class Draco {
 				});
 				
 				window.addInsertFloppyAction((e) -> {
+					if (fileChooser == null) {
+						fileChooser = new JFileChooser();
+					}
 					fileChooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
 					if (floppyDirectory != null) {
 						File floppyDir = new File(floppyDirectory);
@@ -671,7 +816,7 @@ public class Draco {
 				}
 			} catch (Exception e) {
 				e.printStackTrace();
-				System.exit(0);
+				terminate();
 			}
 		});
 		
@@ -681,8 +826,13 @@ public class Draco {
 				// wait for the ui to get up and the request to start the mesa engine
 				synchronized(lock) {
 					while(!doStartEngine || window == null) {
+						if (windowClosed) { return; }
 						lock.wait();
 					}
+					if (!restoreSnapshot()) {
+						window.setStatusLine("unable to restore snapshot, see console");
+						return;
+					}
 					engineIsRunning = true;
 					if (uiRefresher != null) { uiRefresher.engineStarted(); }
 					window.setRunningState(RunningState.running);
@@ -696,6 +846,9 @@ public class Draco {
 				uiRefresher.setEngineEndedMessage(finalMessage);
 				window.setRunningState(RunningState.stopped);
 				
+				// save the machine state for resuming if requested
+				saveSnapshot();
+				
 				// shutdown the devices, mainly saving changes to the harddisk and a possibly mounted virtual floppy
 				StringBuilder errMsgTarget = new StringBuilder();
 				IOP.shutdown(errMsgTarget);
@@ -713,7 +866,7 @@ public class Draco {
 				synchronized(lock) {
 					engineIsRunning = false;
 					if (doTerminate) {
-						System.exit(0);
+						terminate();
 					}
 				}
 			} catch (InterruptedException e) {}
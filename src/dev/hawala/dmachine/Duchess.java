@@ -30,6 +30,8 @@ import java.awt.EventQueue;
 import java.awt.Rectangle;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -42,6 +44,7 @@ import javax.swing.JOptionPane;
 import javax.swing.Timer;
 
 import dev.hawala.dmachine.dwarf.DebuggerSubstituteMpHandler;
+import dev.hawala.dmachine.dwarf.HeadlessUi;
 import dev.hawala.dmachine.dwarf.KeyHandler;
 import dev.hawala.dmachine.dwarf.KeyboardMapper;
 import dev.hawala.dmachine.dwarf.MainUI;
@@ -59,6 +62,7 @@ import dev.hawala.dmachine.engine.Opcodes;
 import dev.hawala.dmachine.engine.PilotDefs;
 import dev.hawala.dmachine.engine.PrincOpsDefs;
 import dev.hawala.dmachine.engine.Processes;
+import dev.hawala.dmachine.engine.Snapshot;
 import dev.hawala.dmachine.engine.Xfer;
 import dev.hawala.dmachine.engine.iUiDataConsumer;
 import dev.hawala.dmachine.engine.agents.Agents;
@@ -93,7 +97,7 @@ public class Duchess {
 	private static Timer uiTimer;
 	
 	// the file chooser for selecting virtual floppy disks
-	private static JFileChooser fileChooser = new JFileChooser();
+	private static JFileChooser fileChooser = null; // created on first use, as not needed when running headless
 	
 	// the main Dwarf frame/window
 	private static MainUI window;
@@ -126,6 +130,17 @@ public class Duchess {
 	private static boolean doStartEngine = false;
 	private static boolean engineIsRunning = false;
 	private static boolean doTerminate = false;
+	private static boolean windowClosed = false;
+	
+	// snapshot file for resuming the machine resp. saving the machine state when stopped
+	private static File snapshotFile = null;
+	
+	// read-only snapshot for resuming the machine if there is no usable snapshot file
+	private static File goldenSnapshotFile = null;
+	
+	// backend for the real memory: outside of the Java heap, possibly mapped to a file
+	private static boolean offHeapMemory = false;
+	private static File memoryFile = null;
 	
 	// synchonization object for the 2 relevant thread (mesa engine thread and Swing ui thread)
 	private static final Object lock = new Object();
@@ -157,6 +172,15 @@ public class Duchess {
 		}
 	}
 	
+	// end the program resp. only this machine if running in a JVM shared with other machines
+	private static void terminate() {
+		synchronized(lock) {
+			windowClosed = true; // let a not yet started mesa engine thread end
+			lock.notifyAll();
+		}
+		MainUI.terminate((window != null) ? window.getFrame() : null);
+	}
+	
 	// load the mesa engine configuration from the given file
 	private static boolean initializeConfiguration(String filename) {
 		if (!filename.endsWith(".properties")) { filename += ".properties"; }
@@ -259,6 +283,84 @@ public class Duchess {
 		window.setFloppyName(floppyPrefix + floppyFile.getName());
 	}
 	
+	// restore the machine state from the snapshot file resp. the golden snapshot if present and usable for this machine
+	// (returns false if restoring failed, leaving an unusable mesa engine)
+	private static boolean restoreSnapshot() {
+		try {
+			if (!resumeFrom(snapshotFile) && !resumeFrom(goldenSnapshotFile)
+					&& (snapshotFile != null || goldenSnapshotFile != null)) {
+				System.out.printf("** no usable snapshot, booting machine\n");
+			}
+			return true;
+		} catch (IOException e) {
+			System.out.printf("## ERROR: unable to restore snapshot: %s\n", e.getMessage());
+			return false;
+		}
+	}
+	
+	// restore the machine state from the given snapshot, returning if the machine will resume
+	private static boolean resumeFrom(File snapshot) throws IOException {
+		if (snapshot == null || !snapshot.exists()) {
+			return false;
+		}
+		StringBuilder errMsgTarget = new StringBuilder();
+		// keep the memory image mapped only for a golden snapshot, as the own snapshot file is replaced when saving
+		boolean mapImage = (snapshotFile == null || !snapshot.getAbsoluteFile().equals(snapshotFile.getAbsoluteFile()));
+		if (Snapshot.restore(snapshot, "Duchess", Agents.getSnapshotDeviceState(), errMsgTarget, mapImage)) {
+			System.out.printf("** resuming machine from snapshot %s\n", snapshot.getPath());
+			return true;
+		}
+		System.out.printf("** snapshot %s not usable (%s)\n", snapshot.getPath(), errMsgTarget.toString());
+		return false;
+	}
+	
+	// save the machine state to the snapshot file if the mesa engine was stopped by the user
+	// (must be done before shutting down the agents)
+	private static void saveSnapshot() {
+		if (snapshotFile == null || !Processes.isStoppedByExternalRequest()) {
+			return;
+		}
+		try {
+			Snapshot.save(snapshotFile, "Duchess", Agents.getSnapshotDeviceState());
+			System.out.printf("** machine state saved to snapshot %s\n", snapshotFile.getPath());
+		} catch (IOException e) {
+			System.out.printf("## ERROR: unable to write snapshot %s: %s\n", snapshotFile.getPath(), e.getMessage());
+		}
+	}
+	
+	// run the mesa engine in the current thread with the ui replaced by the in-memory framebuffer
+	// and the keyboard/mouse events read from the script file (or stdin if not given)
+	private static void runHeadless(iUiDataConsumer uiDataConsumer, String scriptFile) {
+		// load the initially inserted floppy if configured so
+		if (initialFloppy != null && initialFloppy.length() > 0) {
+			try {
+				Agents.insertFloppy(new File(initialFloppy), false);
+			} catch (Exception ex) {
+				System.out.printf("## invalid initial floppy: %s\n", ex.getMessage());
+				return;
+			}
+		}
+		
+		HeadlessUi headlessUi = new HeadlessUi(uiDataConsumer);
+		if (!restoreSnapshot()) {
+			return;
+		}
+		headlessUi.startScript(scriptFile);
+		
+		// run the mesa engine until it halts by itself or is stopped by the script
+		String finalMessage = Cpu.processor();
+		System.out.printf("\n***\n*** processor exited: %s\n***\n", finalMessage);
+		saveSnapshot();
+		headlessUi.engineStopped();
+		
+		// shutdown the devices, mainly saving changes to the harddisk and a possibly mounted virtual floppy
+		StringBuilder errMsgTarget = new StringBuilder();
+		Agents.shutdown(errMsgTarget);
+		if (errMsgTarget.length() > 0) {
+			System.out.printf("\n***\n*** Error(s) shutting down mesa engine devices: %s\n***\n", errMsgTarget.toString());
+		}
+	}
+	
 	private static void dumpConfiguration(boolean fullscreenRequested) {
 		System.out.printf("Configuration from %s\n", configFilename);
 		System.out.printf(" germ file   : %s\n", germFile);
@@ -287,6 +389,8 @@ public class Duchess {
 		boolean logKeyPressed = false;
 		boolean doMerge = false;
 		String cfgFile = null;
+		boolean headless = false;
+		String headlessScript = null;
 		boolean doFullscreen = false;
 		
 		// command line parameters pass 1: check for test only OR run configuration
@@ -327,6 +431,20 @@ public class Duchess {
 						doMerge = true;
 					} else if ("-autoclose".equalsIgnoreCase(arg)) {
 						doTerminate = true;
+					} else if ("-headless".equalsIgnoreCase(arg)) {
+						headless = true;
+					} else if (arg.toLowerCase().startsWith("-headless=")) {
+						headless = true;
+						headlessScript = arg.substring("-headless=".length());
+					} else if (arg.toLowerCase().startsWith("-snapshot=")) {
+						snapshotFile = new File(arg.substring("-snapshot=".length()));
+					} else if (arg.toLowerCase().startsWith("-goldensnapshot=")) {
+						goldenSnapshotFile = new File(arg.substring("-goldensnapshot=".length()));
+					} else if ("-offheap".equalsIgnoreCase(arg)) {
+						offHeapMemory = true;
+					} else if (arg.toLowerCase().startsWith("-memoryfile=")) {
+						offHeapMemory = true;
+						memoryFile = new File(arg.substring("-memoryfile=".length()));
 					} else if ("-fullscreen".equalsIgnoreCase(arg)) {
 						doFullscreen = true;
 					} else {
@@ -378,10 +496,16 @@ public class Duchess {
 			Cpu.setPID(macWords[0], macWords[1], macWords[2]);
 			
 			// initialize the memory subsystem with the configured display configuration
-			Mem.initializeMemoryGuam(
-					addressBitsVirtual, addressBitsReal,
-					(displayTypeColor) ? PilotDefs.DisplayType.byteColor : PilotDefs.DisplayType.monochrome,
-					displayWidth, displayHeight);
+			try {
+				Mem.setRealMemoryBackend(offHeapMemory, memoryFile);
+				Mem.initializeMemoryGuam(
+						addressBitsVirtual, addressBitsReal,
+						(displayTypeColor) ? PilotDefs.DisplayType.byteColor : PilotDefs.DisplayType.monochrome,
+						displayWidth, displayHeight);
+			} catch (IllegalStateException e) {
+				System.out.printf("## error initializing memory: %s\n", e.getMessage());
+				return;
+			}
 			
 			// initialize the opcodes dispatch engine for the new princops (mds relieved),
 			// as used by available germ and boot disks
@@ -410,6 +534,12 @@ public class Duchess {
 			uiDataConsumer = Agents.getUiCallbacks();
 		}
 		
+		// run without ui if requested
+		if (headless) {
+			runHeadless(uiDataConsumer, headlessScript);
+			return;
+		}
+		
 		// create and start the ui
 		boolean logKeys = logKeyPressed;
 		boolean runInFullscreen = doFullscreen;
@@ -448,6 +578,18 @@ public class Duchess {
 				uiTimer = new Timer(UiRefreshInterval, uiRefresher);
 				uiTimer.start();
 				
+				// stop the ui refresher and a not yet started mesa engine thread when the main window is gone
+				window.getFrame().addWindowListener(new WindowAdapter() {
+					@Override
+					public void windowClosed(WindowEvent e) {
+						uiTimer.stop();
+						synchronized(lock) {
+							windowClosed = true;
+							lock.notifyAll();
+						}
+					}
+				});
+				
 				// setup the actions for the toolbar buttons
 				window.addStartAction((e) -> {
 					startEngine();
@@ -458,6 +600,9 @@ public class Duchess {
 				});
 				
 				window.addInsertFloppyAction((e) -> {
+					if (fileChooser == null) {
+						fileChooser = new JFileChooser();
+					}
 					fileChooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
 					if (floppyDirectory != null) {
 						File floppyDir = new File(floppyDirectory);
@@ -510,7 +655,7 @@ public class Duchess {
 				}
 			} catch (Exception e) {
 				e.printStackTrace();
-				System.exit(0);
+				terminate();
 			}
 		});
 		
@@ -521,8 +666,13 @@ public class Duchess {
 					// wait for the ui to get up and the request to start the mesa engine
 					synchronized(lock) {
 						while(!doStartEngine || window == null) {
+							if (windowClosed) { return; }
 							lock.wait();
 						}
+						if (!restoreSnapshot()) {
+							window.setStatusLine("unable to restore snapshot, see console");
+							return;
+						}
 						engineIsRunning = true;
 						if (uiRefresher != null) { uiRefresher.engineStarted(); }
 						window.setRunningState(RunningState.running);
@@ -535,6 +685,9 @@ public class Duchess {
 					System.out.printf("\n***\n*** processor exited: %s\n***\n", finalMessage);
 					window.setRunningState(RunningState.stopped);
 					
+					// save the machine state for resuming if requested
+					saveSnapshot();
+					
 					// shutdown the agents to save changes to the harddisk and a possibly mounted virtual floppy
 					uiRefresher.setEngineEndedMessage(finalMessage + " -- saving disk(s) state");
 					StringBuilder errMsgTarget = new StringBuilder();
@@ -554,7 +707,7 @@ public class Duchess {
 					synchronized(lock) {
 						engineIsRunning = false;
 						if (doTerminate) {
-							System.exit(0);
+							terminate();
 						}
 					}
 				} catch (InterruptedException e) {}
@@ -30,6 +30,7 @@ import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
 
 import dev.hawala.dmachine.engine.PrincOpsDefs;
+import dev.hawala.dmachine.engine.iRealMemory;
 
 /**
  * Java swing pane representing the screen of a Dwarf machine, providing
@@ -65,12 +66,12 @@ public class Display8BitColorPane extends DisplayPane {
 	}
 
 	@Override
-	public boolean copyDisplayContent(short[] mem, int start, int count, short[] pageFlags, int firstPage, int[] colorTable) {
+	public boolean copyDisplayContent(iRealMemory mem, int start, int count, short[] pageFlags, int firstPage, int[] colorTable) {
 		DataBufferInt dbb = (DataBufferInt)bi.getRaster().getDataBuffer();
 		int[] pixels = dbb.getData();
 		
 		boolean bitmapWasUpdated = false;
-		int end = start + Math.min(Math.min(count, pixels.length / 2), mem.length - start);
+		int end = start + Math.min(Math.min(count, pixels.length / 2), mem.size() - start);
 		int bitmapIdx = 0;
 		int memIdx = start;
 		int pageIdx = firstPage;
@@ -83,7 +84,7 @@ public class Display8BitColorPane extends DisplayPane {
 				continue;
 			}
 			for (int i = 0; i < PrincOpsDefs.WORDS_PER_PAGE && memIdx < end; i++) {
-				int w = mem[memIdx++] & 0xFFFF;
+				int w = mem.read(memIdx++) & 0xFFFF;
 				pixels[bitmapIdx++] = colorTable[w >>> 8];
 				pixels[bitmapIdx++] = colorTable[w & 0x00FF];
 			}
@@ -92,5 +93,36 @@ public class Display8BitColorPane extends DisplayPane {
 		
 		return bitmapWasUpdated;
 	}
+	
+	@Override
+	public void copyDisplayArea(int srcX, int srcY, int dstX, int dstY, int width, int height) {
+		DataBufferInt dbb = (DataBufferInt)bi.getRaster().getDataBuffer();
+		copyArea(dbb.getData(), bi.getWidth(), srcX, srcY, dstX, dstY, width, height);
+	}
+	
+	/**
+	 * Move a rectangle inside a pixelmap having an int per pixel (the layout of the
+	 * backing image of this pane), source and destination may overlap.
+	 * 
+	 * @param pixels the pixels of the pixelmap
+	 * @param pixelsPerLine the number of pixels of a line in the pixelmap
+	 * @param srcX pixel x coordinate of the source rectangle
+	 * @param srcY pixel y coordinate of the source rectangle
+	 * @param dstX pixel x coordinate of the destination rectangle
+	 * @param dstY pixel y coordinate of the destination rectangle
+	 * @param width pixel width of the rectangle
+	 * @param height pixel height of the rectangle
+	 */
+	public static void copyArea(int[] pixels, int pixelsPerLine, int srcX, int srcY, int dstX, int dstY, int width, int height) {
+		// copy the lines in the sequence not overwriting source lines not yet copied
+		boolean upwards = (dstY > srcY);
+		for (int i = 0; i < height; i++) {
+			int line = (upwards) ? height - 1 - i : i;
+			System.arraycopy(
+					pixels, ((srcY + line) * pixelsPerLine) + srcX,
+					pixels, ((dstY + line) * pixelsPerLine) + dstX,
+					width);
+		}
+	}
 
 }
\ No newline at end of file
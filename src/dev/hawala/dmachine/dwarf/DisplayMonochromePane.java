@@ -30,6 +30,7 @@ import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferByte;
 
 import dev.hawala.dmachine.engine.PrincOpsDefs;
+import dev.hawala.dmachine.engine.iRealMemory;
 
 /**
  * Java swing pane representing the screen of a Dwarf machine, providing
@@ -55,12 +56,12 @@ public class DisplayMonochromePane extends DisplayPane {
 	}
 
 	@Override
-	public boolean copyDisplayContent(short[] mem, int start, int count, short[] pageFlags, int firstPage, int[] colorTable) {
+	public boolean copyDisplayContent(iRealMemory mem, int start, int count, short[] pageFlags, int firstPage, int[] colorTable) {
 		DataBufferByte dbb = (DataBufferByte)bi.getRaster().getDataBuffer();
 		byte[] data = dbb.getData();
 		
 		boolean bitmapWasUpdated = false;
-		int end = start + Math.min(Math.min(count, data.length / 2), mem.length - start);
+		int end = start + Math.min(Math.min(count, data.length / 2), mem.size() - start);
 		int bitmapIdx = 0;
 		int memIdx = start;
 		int pageIdx = firstPage;
@@ -73,7 +74,7 @@ public class DisplayMonochromePane extends DisplayPane {
 				continue;
 			}
 			for (int i = 0; i < PrincOpsDefs.WORDS_PER_PAGE && memIdx < end; i++) {
-				short w = (short)(mem[memIdx++] ^ 0xFFFF); // TODO: really invert manually ??
+				short w = (short)(mem.read(memIdx++) ^ 0xFFFF); // TODO: really invert manually ??
 				data[bitmapIdx++] = (byte)((w >>> 8));
 				data[bitmapIdx++] = (byte)((w & 0x00FF));
 			}
@@ -83,4 +84,71 @@ public class DisplayMonochromePane extends DisplayPane {
 		return bitmapWasUpdated;
 	}
 	
+	// buffer for the source bits of a line aligned to the destination
+	private byte[] copyLine = new byte[0];
+	
+	@Override
+	public void copyDisplayArea(int srcX, int srcY, int dstX, int dstY, int width, int height) {
+		DataBufferByte dbb = (DataBufferByte)bi.getRaster().getDataBuffer();
+		int bytesPerLine = (bi.getWidth() + 7) / 8;
+		if (this.copyLine.length != bytesPerLine) {
+			this.copyLine = new byte[bytesPerLine];
+		}
+		copyArea(dbb.getData(), bytesPerLine, this.copyLine, srcX, srcY, dstX, dstY, width, height);
+	}
+	
+	/**
+	 * Move a rectangle inside a bitmap having 8 pixels per byte (the layout of the
+	 * backing image of this pane), source and destination may overlap.
+	 * 
+	 * @param data the bytes of the bitmap
+	 * @param bytesPerLine the number of bytes of a line in the bitmap
+	 * @param copyLine buffer for a line of the bitmap ({@code bytesPerLine} bytes)
+	 * @param srcX pixel x coordinate of the source rectangle
+	 * @param srcY pixel y coordinate of the source rectangle
+	 * @param dstX pixel x coordinate of the destination rectangle
+	 * @param dstY pixel y coordinate of the destination rectangle
+	 * @param width pixel width of the rectangle
+	 * @param height pixel height of the rectangle
+	 */
+	public static void copyArea(byte[] data, int bytesPerLine, byte[] copyLine, int srcX, int srcY, int dstX, int dstY, int width, int height) {
+		int firstByte = dstX >>> 3;
+		int lastByte = (dstX + width - 1) >>> 3;
+		int firstMask = 0xFF >>> (dstX & 7);
+		int lastMask = (0xFF00 >>> (((dstX + width - 1) & 7) + 1)) & 0xFF;
+		if (firstByte == lastByte) {
+			firstMask &= lastMask;
+		}
+		
+		// copy the lines in the sequence not overwriting source lines not yet copied
+		boolean upwards = (dstY > srcY);
+		for (int i = 0; i < height; i++) {
+			int line = (upwards) ? height - 1 - i : i;
+			int srcLineStart = (srcY + line) * bytesPerLine;
+			int dstLineStart = (dstY + line) * bytesPerLine;
+			
+			// get the complete source line first, as source and destination may overlap in the line
+			for (int b = firstByte; b <= lastByte; b++) {
+				copyLine[b] = (byte)getBits(data, srcLineStart, bytesPerLine, srcX + (b * 8) - dstX);
+			}
+			
+			// merge the bits into the destination line
+			data[dstLineStart + firstByte] = (byte)((data[dstLineStart + firstByte] & ~firstMask) | (copyLine[firstByte] & firstMask));
+			for (int b = firstByte + 1; b < lastByte; b++) {
+				data[dstLineStart + b] = copyLine[b];
+			}
+			if (lastByte > firstByte) {
+				data[dstLineStart + lastByte] = (byte)((data[dstLineStart + lastByte] & ~lastMask) | (copyLine[lastByte] & lastMask));
+			}
+		}
+	}
+	
+	// get the 8 bits starting at bitPos in the line (bits outside the line are 0)
+	private static int getBits(byte[] data, int lineStart, int bytesPerLine, int bitPos) {
+		int b = bitPos >> 3; // floor also for negative bit positions
+		int hi = (b >= 0 && b < bytesPerLine) ? data[lineStart + b] & 0xFF : 0;
+		int lo = (b + 1 >= 0 && b + 1 < bytesPerLine) ? data[lineStart + b + 1] & 0xFF : 0;
+		return ((((hi << 8) | lo) << (bitPos & 7)) >>> 8) & 0xFF;
+	}
+	
 }
\ No newline at end of file
@@ -39,6 +39,8 @@ import java.util.List;
 
 import javax.swing.JComponent;
 
+import dev.hawala.dmachine.engine.iRealMemory;
+
 /**
  * Abstract Java swing pane representing the screen of a Dwarf machine, providing
  * a generic display of configurable size including a 16x16 pixel mouse
@@ -260,6 +262,20 @@ public abstract class DisplayPane extends JComponent {
 	 *   any of the pageFlags signaled that the mesa display was modified, thus a repaint of
 	 *   the Java-UI should be initiated.
 	 */
-	public abstract boolean copyDisplayContent(short[] mem, int start, int count, short[] pageFlags, int firstPage, int[] colorTable) ;
+	public abstract boolean copyDisplayContent(iRealMemory mem, int start, int count, short[] pageFlags, int firstPage, int[] colorTable) ;
+	
+	/**
+	 * Move a rectangle in the bitmap backing store for this Dwarf display, replaying
+	 * a block move done by the mesa engine inside the display memory. The source and
+	 * destination rectangles may overlap.
+	 * 
+	 * @param srcX pixel x coordinate of the source rectangle
+	 * @param srcY pixel y coordinate of the source rectangle
+	 * @param dstX pixel x coordinate of the destination rectangle
+	 * @param dstY pixel y coordinate of the destination rectangle
+	 * @param width pixel width of the rectangle
+	 * @param height pixel height of the rectangle
+	 */
+	public abstract void copyDisplayArea(int srcX, int srcY, int dstX, int dstY, int width, int height);
 
 }
\ No newline at end of file
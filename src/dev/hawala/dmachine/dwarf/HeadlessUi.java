@@ -0,0 +1,522 @@
+/*
+Copyright (c) 2017, Dr. Hans-Walter Latz
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * The name of the author may not be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDER "AS IS" AND ANY EXPRESS
+OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package dev.hawala.dmachine.dwarf;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+
+import dev.hawala.dmachine.engine.Mem;
+import dev.hawala.dmachine.engine.PilotDefs;
+import dev.hawala.dmachine.engine.PrincOpsDefs;
+import dev.hawala.dmachine.engine.Processes;
+import dev.hawala.dmachine.engine.eLevelVKey;
+import dev.hawala.dmachine.engine.iMesaMachineDataAccessor;
+import dev.hawala.dmachine.engine.iRealMemory;
+import dev.hawala.dmachine.engine.iUiDataConsumer;
+import dev.hawala.dmachine.engine.iUiDataConsumer.PointerBitmapAcceptor;
+
+/**
+ * Replacement for the Swing based Dwarf UI when running a mesa engine
+ * without display (option {@code -headless}), for example for batch jobs,
+ * regression boots or load tests.
+ * <br>
+ * The display content is not transferred at each UI refresh, but copied
+ * from the display memory into an in-memory framebuffer on demand only,
+ * i.e. when the framebuffer is to be written to a PNG file. Keyboard and
+ * mouse events are read from a script (file or stdin), with one command per
+ * line (empty lines and lines starting with {@code #} are ignored):
+ * <ul>
+ * <li>{@code wait} <i>milliseconds</i></li>
+ * <li>{@code waitmp} <i>mp</i> [<i>seconds</i>]<br>
+ * wait until the MP code is <i>mp</i> (default timeout: 600 seconds), the
+ * script is aborted (stopping the engine) if the timeout expires</li>
+ * <li>{@code key} <i>key-name</i> [{@code down}|{@code up}]<br>
+ * press and/or release the key, the names are from {@code eLevelVKey}</li>
+ * <li>{@code type} <i>text</i><br>
+ * type the letters, digits, blanks and the characters {@code .,;/-=[]} of <i>text</i></li>
+ * <li>{@code mouse} <i>x</i> <i>y</i></li>
+ * <li>{@code button} <i>1|2|3</i> [{@code down}|{@code up}]<br>
+ * press and/or release the left, middle or right mouse button</li>
+ * <li>{@code png} <i>filename</i><br>
+ * write the current display content to the PNG file</li>
+ * <li>{@code waitstop}<br>
+ * wait until the mesa engine stops by itself (e.g. on a power off by Pilot)</li>
+ * <li>{@code stop}<br>
+ * stop the mesa engine and end the script</li>
+ * </ul>
+ * The mesa engine is stopped when the end of the script is reached.
+ */
+public class HeadlessUi implements iMesaMachineDataAccessor, PointerBitmapAcceptor {
+
+	// pause after a key or button transition, giving Pilot the chance to see it
+	private static final long KEY_DELAY = 40; // milliseconds
+
+	// max. time to wait for a refresh callback of the mesa engine for capturing the display
+	private static final long CAPTURE_TIMEOUT = 5000; // milliseconds
+
+	// default timeout for the waitmp command
+	private static final int DEFAULT_MP_TIMEOUT = 600; // seconds
+
+	private final iUiDataConsumer mesaEngine;
+	private final Supplier<int[]> colorTableSupplier;
+
+	// in-memory framebuffer, a copy of the display memory
+	private final short[] framebuffer;
+	private final int wordsPerLine;
+	private final boolean colorDisplay;
+
+	private boolean captureRequested = false;
+	private boolean captureDone = false;
+
+	private int currentMP = 0;
+	private long instructions = 0;
+	private boolean engineStopped = false;
+
+	/**
+	 * constructor.
+	 *
+	 * @param consumer the data consumer object provided by the mesa engine
+	 */
+	public HeadlessUi(iUiDataConsumer consumer) {
+		this.mesaEngine = consumer;
+
+		this.colorDisplay = (Mem.getDisplayType() != PilotDefs.DisplayType.monochrome);
+		this.wordsPerLine = Mem.getDisplayPixelsPerLine() / (this.colorDisplay ? 2 : PrincOpsDefs.WORD_BITS);
+		this.framebuffer = new short[this.wordsPerLine * Mem.getDisplayPixelHeight()];
+
+		// register with the mesa engine
+		this.mesaEngine.registerPointerBitmapAcceptor(this);
+		Supplier<int[]> cltSupplier = this.mesaEngine.registerUiDataRefresher(this);
+		this.colorTableSupplier = (cltSupplier != null) ? cltSupplier : () -> null;
+	}
+
+	/*
+	 * callbacks of the mesa engine
+	 */
+
+	@Override
+	public void accessRealMemory(iRealMemory realMemory, int memOffset, int memWords, short[] pageFlags, int firstPage) {
+		synchronized(this) {
+			if (!this.captureRequested) { return; }
+			realMemory.get(memOffset, this.framebuffer, 0, Math.min(memWords, this.framebuffer.length));
+			this.captureRequested = false;
+			this.captureDone = true;
+			this.notifyAll();
+		}
+	}
+
+	@Override
+	public void copyDisplayAreas(int[] copyAreas, int count) {
+		// nothing to do, as the framebuffer is always copied completely from the display memory
+	}
+
+	@Override
+	public void acceptMP(int mp) {
+		synchronized(this) {
+			this.currentMP = mp;
+			this.notifyAll();
+		}
+	}
+
+	@Override
+	public void acceptStatistics(
+					long counterInstructions,
+					int counterDiskReads,
+					int counterDiskWrites,
+					int counterFloppyReads,
+					int counterFloppyWrites,
+					int counterNetworkPacketsReceived,
+					int counterNetworkPacketsSent) {
+		synchronized(this) {
+			this.instructions = counterInstructions;
+		}
+	}
+
+	@Override
+	public void setPointerBitmap(short[] bitmap, int hotspotX, int hotspotY) {
+		// the mouse pointer is not part of the display memory, so it is not shown in the framebuffer
+	}
+
+	/**
+	 * Inform that the mesa engine has stopped, releasing waiting script commands.
+	 */
+	public void engineStopped() {
+		synchronized(this) {
+			this.engineStopped = true;
+			this.notifyAll();
+		}
+	}
+
+	/*
+	 * framebuffer
+	 */
+
+	/**
+	 * Copy the current display memory content into the framebuffer, waiting
+	 * for the next UI refresh of the mesa engine if it is running.
+	 *
+	 * @return {@code true} if the framebuffer was updated
+	 */
+	public boolean captureDisplay() {
+		synchronized(this) {
+			if (this.engineStopped) {
+				// no more refreshes by the engine, but the display memory no longer changes
+				Mem.getDisplayRealMemory().get(
+						Mem.getDisplayRealPage() * PrincOpsDefs.WORDS_PER_PAGE,
+						this.framebuffer, 0, this.framebuffer.length);
+				return true;
+			}
+			this.captureRequested = true;
+			this.captureDone = false;
+			long end = System.currentTimeMillis() + CAPTURE_TIMEOUT;
+			try {
+				while (!this.captureDone && !this.engineStopped) {
+					long remaining = end - System.currentTimeMillis();
+					if (remaining <= 0) { break; }
+					this.wait(remaining);
+				}
+			} catch (InterruptedException e) {
+				// handled as timeout
+			}
+			this.captureRequested = false;
+			return this.captureDone;
+		}
+	}
+
+	/**
+	 * Write the framebuffer as PNG file (1 bit grayscale for a monochrome display,
+	 * 8 bit RGB for a color display).
+	 *
+	 * @param pngFile the file to write
+	 * @throws IOException in case of write problems
+	 */
+	public void writePng(File pngFile) throws IOException {
+		int width = Mem.getDisplayPixelWidth();
+		int height = Mem.getDisplayPixelHeight();
+
+		// build the filtered image data (filter type 0 for each line)
+		ByteArrayOutputStream imageBytes = new ByteArrayOutputStream();
+		try (DeflaterOutputStream deflater = new DeflaterOutputStream(imageBytes)) {
+			synchronized(this) {
+				int[] colorTable = this.colorDisplay ? this.colorTableSupplier.get() : null;
+				byte[] line = new byte[1 + (this.colorDisplay ? width * 3 : (width + 7) / 8)];
+				for (int y = 0; y < height; y++) {
+					int lineStart = y * this.wordsPerLine;
+					int b = 1;
+					if (this.colorDisplay) {
+						for (int x = 0; x < width; x++) {
+							int w = this.framebuffer[lineStart + (x >>> 1)];
+							int pixel = ((x & 1) == 0) ? (w >>> 8) & 0xFF : w & 0xFF;
+							int rgb = (colorTable != null && pixel < colorTable.length) ? colorTable[pixel] : pixel * 0x010101;
+							line[b++] = (byte)(rgb >>> 16);
+							line[b++] = (byte)(rgb >>> 8);
+							line[b++] = (byte)rgb;
+						}
+					} else {
+						// mesa: 1-bits are black, png: 1-bits are white
+						for (int i = 0; b < line.length; i++) {
+							int w = this.framebuffer[lineStart + (i >>> 1)] ^ 0xFFFF;
+							line[b++] = (byte)(((i & 1) == 0) ? w >>> 8 : w);
+						}
+					}
+					deflater.write(line);
+				}
+			}
+		}
+
+		try (DataOutputStream png = new DataOutputStream(new FileOutputStream(pngFile))) {
+			png.write(new byte[] { (byte)0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' });
+
+			ByteArrayOutputStream header = new ByteArrayOutputStream();
+			DataOutputStream hdr = new DataOutputStream(header);
+			hdr.writeInt(width);
+			hdr.writeInt(height);
+			hdr.writeByte(this.colorDisplay ? 8 : 1); // bit depth
+			hdr.writeByte(this.colorDisplay ? 2 : 0); // color type: RGB resp. grayscale
+			hdr.writeByte(0); // compression method
+			hdr.writeByte(0); // filter method
+			hdr.writeByte(0); // interlace method
+			writePngChunk(png, "IHDR", header.toByteArray());
+
+			writePngChunk(png, "IDAT", imageBytes.toByteArray());
+			writePngChunk(png, "IEND", new byte[0]);
+		}
+	}
+
+	private static void writePngChunk(DataOutputStream png, String type, byte[] data) throws IOException {
+		byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+		CRC32 crc = new CRC32();
+		crc.update(typeBytes);
+		crc.update(data);
+		png.writeInt(data.length);
+		png.write(typeBytes);
+		png.write(data);
+		png.writeInt((int)crc.getValue());
+	}
+
+	/*
+	 * script processing
+	 */
+
+	/**
+	 * Start the thread processing the script commands.
+	 *
+	 * @param scriptFile the name of the script file, reading the
+	 *   commands from stdin if {@code null} or empty
+	 */
+	public void startScript(String scriptFile) {
+		Thread t = new Thread(() -> {
+			try {
+				this.runScript(scriptFile);
+			} catch (IOException e) {
+				System.out.printf("** headless script: %s\n", e.getMessage());
+			}
+			Processes.requestMesaEngineStop();
+		}, "headless script");
+		t.setDaemon(true);
+		t.start();
+	}
+
+	private void runScript(String scriptFile) throws IOException {
+		boolean useStdin = (scriptFile == null || scriptFile.isEmpty());
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(
+				useStdin ? System.in : new FileInputStream(scriptFile),
+				StandardCharsets.ISO_8859_1))) {
+			String line;
+			int lineNo = 0;
+			while((line = br.readLine()) != null) {
+				lineNo++;
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) { continue; }
+				try {
+					if (!this.executeCommand(line)) {
+						return;
+					}
+				} catch (IllegalArgumentException e) {
+					System.out.printf("** headless script line %d: %s\n", lineNo, e.getMessage());
+					return;
+				}
+			}
+		}
+	}
+
+	private boolean executeCommand(String line) throws IOException {
+		String[] parts = line.split("\\s+");
+		String cmd = parts[0].toLowerCase();
+		switch(cmd) {
+
+		case "wait":
+			checkArgs(parts, 2, 2);
+			sleep(parseInt(parts[1]));
+			return true;
+
+		case "waitmp": {
+				checkArgs(parts, 2, 3);
+				int mp = parseInt(parts[1]);
+				long timeout = 1000L * ((parts.length > 2) ? parseInt(parts[2]) : DEFAULT_MP_TIMEOUT);
+				if (!this.waitForMP(mp, timeout)) {
+					System.out.printf("** headless script: MP %04d not reached (current MP: %04d)\n", mp, this.currentMP);
+					return false;
+				}
+				return true;
+			}
+
+		case "key": {
+				checkArgs(parts, 2, 3);
+				eLevelVKey key;
+				try {
+					key = eLevelVKey.valueOf(parts[1]);
+				} catch (IllegalArgumentException e) {
+					throw new IllegalArgumentException("unknown key: " + parts[1]);
+				}
+				this.transition(parts, 2, isPressed -> this.mesaEngine.acceptKeyboardKey(key, isPressed));
+				return true;
+			}
+
+		case "type":
+			this.type(line.substring(parts[0].length()).trim());
+			return true;
+
+		case "mouse":
+			checkArgs(parts, 3, 3);
+			this.mesaEngine.acceptMousePosition(parseInt(parts[1]), parseInt(parts[2]));
+			return true;
+
+		case "button": {
+				checkArgs(parts, 2, 3);
+				int button = parseInt(parts[1]);
+				if (button < 1 || button > 3) {
+					throw new IllegalArgumentException("invalid mouse button: " + parts[1]);
+				}
+				this.transition(parts, 2, isPressed -> this.mesaEngine.acceptMouseKey(button, isPressed));
+				return true;
+			}
+
+		case "png":
+			checkArgs(parts, 2, 2);
+			if (!this.captureDisplay()) {
+				System.out.printf("** headless script: unable to capture display for '%s'\n", parts[1]);
+				return true;
+			}
+			this.writePng(new File(parts[1]));
+			System.out.printf("** headless script: display written to '%s' (MP %04d, %d instructions)\n",
+					parts[1], this.currentMP, this.instructions);
+			return true;
+
+		case "waitstop":
+			checkArgs(parts, 1, 1);
+			synchronized(this) {
+				try {
+					while(!this.engineStopped) {
+						this.wait();
+					}
+				} catch (InterruptedException e) {
+					// end the script
+				}
+			}
+			return false;
+
+		case "stop":
+			checkArgs(parts, 1, 1);
+			return false;
+
+		default:
+			throw new IllegalArgumentException("unknown command: " + parts[0]);
+		}
+	}
+
+	@FunctionalInterface
+	private interface Transition {
+		void set(boolean isPressed);
+	}
+
+	private void transition(String[] parts, int stateIdx, Transition transition) {
+		String state = (parts.length > stateIdx) ? parts[stateIdx].toLowerCase() : "";
+		if (state.isEmpty() || "down".equals(state)) {
+			transition.set(true);
+			sleep(KEY_DELAY);
+		}
+		if (state.isEmpty() || "up".equals(state)) {
+			transition.set(false);
+			sleep(KEY_DELAY);
+		}
+		if (!state.isEmpty() && !"down".equals(state) && !"up".equals(state)) {
+			throw new IllegalArgumentException("invalid transition (down or up expected): " + parts[stateIdx]);
+		}
+	}
+
+	private static final String DIGIT_KEYS[] = { "Zero", "One", "Two", "Three", "Four", "Five", "Six", "Seven", "Eight", "Nine" };
+
+	private void type(String text) {
+		for (char c : text.toCharArray()) {
+			boolean shifted = false;
+			eLevelVKey key;
+			if (c >= 'a' && c <= 'z') {
+				key = eLevelVKey.valueOf(String.valueOf((char)(c - 'a' + 'A')));
+			} else if (c >= 'A' && c <= 'Z') {
+				key = eLevelVKey.valueOf(String.valueOf(c));
+				shifted = true;
+			} else if (c >= '0' && c <= '9') {
+				key = eLevelVKey.valueOf(DIGIT_KEYS[c - '0']);
+			} else {
+				switch(c) {
+				case ' ': key = eLevelVKey.Space; break;
+				case '.': key = eLevelVKey.Period; break;
+				case ',': key = eLevelVKey.Comma; break;
+				case ';': key = eLevelVKey.SemiColon; break;
+				case '/': key = eLevelVKey.Slash; break;
+				case '-': key = eLevelVKey.Dash; break;
+				case '=': key = eLevelVKey.Equal; break;
+				case '[': key = eLevelVKey.LeftBracket; break;
+				case ']': key = eLevelVKey.RightBracket; break;
+				default: throw new IllegalArgumentException("character not supported by type: '" + c + "'");
+				}
+			}
+			if (shifted) {
+				this.mesaEngine.acceptKeyboardKey(eLevelVKey.LeftShift, true);
+				sleep(KEY_DELAY);
+			}
+			this.mesaEngine.acceptKeyboardKey(key, true);
+			sleep(KEY_DELAY);
+			this.mesaEngine.acceptKeyboardKey(key, false);
+			sleep(KEY_DELAY);
+			if (shifted) {
+				this.mesaEngine.acceptKeyboardKey(eLevelVKey.LeftShift, false);
+				sleep(KEY_DELAY);
+			}
+		}
+	}
+
+	private boolean waitForMP(int mp, long timeout) {
+		long end = System.currentTimeMillis() + timeout;
+		synchronized(this) {
+			try {
+				while(this.currentMP != mp && !this.engineStopped) {
+					long remaining = end - System.currentTimeMillis();
+					if (remaining <= 0) { break; }
+					this.wait(remaining);
+				}
+			} catch (InterruptedException e) {
+				// handled as timeout
+			}
+			return (this.currentMP == mp);
+		}
+	}
+
+	private static void checkArgs(String[] parts, int min, int max) {
+		if (parts.length < min || parts.length > max) {
+			throw new IllegalArgumentException("invalid parameter count for: " + parts[0]);
+		}
+	}
+
+	private static int parseInt(String s) {
+		try {
+			return Integer.parseInt(s);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("invalid number: " + s);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			// ignored
+		}
+	}
+
+}
@@ -34,6 +34,7 @@ import java.awt.Font;
 import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
 import java.awt.Rectangle;
+import java.awt.Window;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowEvent;
 
@@ -59,6 +60,9 @@ public class MainUI {
 	
 	// control if this class can startup as main program (Eclipse UI builder automatically adds an main())
 	private static final boolean allowMainStartup = false;
+	
+	// the hook replacing the JVM exit when running as one of several machines in the JVM
+	private static volatile Runnable terminationHook = null;
 
 	// the top-level frame for the UI
 	private JFrame frmDwarfMesaEngine;
@@ -273,6 +277,37 @@ public class MainUI {
 		}
 	}
 	
+	/**
+	 * Set the hook to be used instead of ending the JVM when the Dwarf application
+	 * terminates, allowing to run several machines in the same JVM (see class
+	 * {@code Machine}).
+	 * 
+	 * @param hook the procedure informing about the termination of the machine
+	 *      or {@code null} for ending the JVM
+	 */
+	public static void setTerminationHook(Runnable hook) {
+		terminationHook = hook;
+	}
+	
+	/**
+	 * Terminate the Dwarf application: end the JVM if no termination hook is set,
+	 * else close the given window and invoke the termination hook, returning
+	 * to the caller (which must then leave its thread).
+	 * 
+	 * @param window the top-level window of the Dwarf application to close
+	 *      or {@code null} if there is no such window
+	 */
+	public static void terminate(Window window) {
+		Runnable hook = terminationHook;
+		if (hook == null) {
+			System.exit(0);
+		}
+		if (window != null) {
+			EventQueue.invokeLater(window::dispose);
+		}
+		hook.run();
+	}
+	
 	/**
 	 * Determine if fullscreen is supported and if so the available size for the
 	 * the Mesa engine display.
@@ -298,7 +333,7 @@ public class MainUI {
 		JButton btnStop = new JButton("Stop");
 		btnStop.setToolTipText("stop the running engine and persist disk(s) modifications");
 		toolBar.add(btnStop);
-		btnStop.addActionListener(e -> { frame.dispatchEvent(new WindowEvent(frame, WindowEvent.WINDOW_CLOSING)); System.exit(0); });
+		btnStop.addActionListener(e -> { frame.dispatchEvent(new WindowEvent(frame, WindowEvent.WINDOW_CLOSING)); terminate(frame); });
 		
 		JLabel label = new JLabel("", JLabel.CENTER);
 		label.setText("This is not yet in fullscreen mode!");
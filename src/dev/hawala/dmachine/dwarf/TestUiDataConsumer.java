@@ -28,9 +28,11 @@ package dev.hawala.dmachine.dwarf;
 
 import java.util.function.Supplier;
 
+import dev.hawala.dmachine.engine.Mem;
 import dev.hawala.dmachine.engine.PrincOpsDefs;
 import dev.hawala.dmachine.engine.eLevelVKey;
 import dev.hawala.dmachine.engine.iMesaMachineDataAccessor;
+import dev.hawala.dmachine.engine.iRealMemory;
 import dev.hawala.dmachine.engine.iUiDataConsumer;
 
 /**
@@ -46,6 +48,7 @@ public class TestUiDataConsumer implements iUiDataConsumer, Runnable {
 	final int displayWidth;
 	final int displayHeight;
 	final short[] displayMem;
+	final iRealMemory displayRealMemory;
 	final short[] memFlags;
 	final int firstDisplayPage;
 	
@@ -56,6 +59,7 @@ public class TestUiDataConsumer implements iUiDataConsumer, Runnable {
 		this.displayHeight = displayHeight;
 		int wordCount = displayMemStart + ( (displayWidth * displayHeight + 15) / 16);
 		this.displayMem = new short[wordCount];
+		this.displayRealMemory = Mem.wrapRealMemory(this.displayMem);
 		this.memFlags = new short[(wordCount + 255) / 256];
 		this.firstDisplayPage = displayMemStart / 256;
 		
@@ -256,7 +260,7 @@ public class TestUiDataConsumer implements iUiDataConsumer, Runnable {
 					firstRefresh = false;
 					this.refillDisplay(displayTemplateStart++);
 					this.displayRefresher.accessRealMemory(
-							this.displayMem,
+							this.displayRealMemory,
 							displayMemStart,
 							this.displayMem.length - displayMemStart,
 							this.memFlags,
@@ -31,6 +31,7 @@ import java.awt.event.ActionListener;
 import java.util.function.Supplier;
 
 import dev.hawala.dmachine.engine.iMesaMachineDataAccessor;
+import dev.hawala.dmachine.engine.iRealMemory;
 import dev.hawala.dmachine.engine.iUiDataConsumer;
 import dev.hawala.dmachine.engine.iUiDataConsumer.PointerBitmapAcceptor;
 
@@ -187,16 +188,34 @@ public class UiRefresher implements ActionListener, iMesaMachineDataAccessor, Po
 
 	// invoked by the mesa engine when it is opportune to transfer the display memory content to Java space
 	@Override
-	public void accessRealMemory(short[] realMemory, int memOffset, int memWords, short[] pageFlags, int firstPage) {
+	public void accessRealMemory(iRealMemory realMemory, int memOffset, int memWords, short[] pageFlags, int firstPage) {
 		synchronized(this) {
 			if (!this.doRefreshUi) { return; }
-			this.doRepaint = this.mainWindow.getDisplayPane().copyDisplayContent(
+			this.doRepaint |= this.mainWindow.getDisplayPane().copyDisplayContent(
 					realMemory,	memOffset, memWords,
 					pageFlags,	firstPage,
 					this.colorTableSupplier.get());
 		}
 	}
 
+	// invoked by the mesa engine before accessRealMemory() if block moves were done in the display memory
+	@Override
+	public void copyDisplayAreas(int[] copyAreas, int count) {
+		synchronized(this) {
+			if (!this.doRefreshUi) { return; }
+			DisplayPane displayPane = this.mainWindow.getDisplayPane();
+			for (int i = 0; i < count; i++) {
+				int idx = i * 6;
+				displayPane.copyDisplayArea(
+						copyAreas[idx], copyAreas[idx + 1],     // srcX, srcY
+						copyAreas[idx + 2], copyAreas[idx + 3], // dstX, dstY
+						copyAreas[idx + 4], copyAreas[idx + 5]  // width, height
+						);
+			}
+			this.doRepaint = true;
+		}
+	}
+
 	// invoked by the mesa engine when the MP code changes
 	@Override
 	public void acceptMP(int mp) {
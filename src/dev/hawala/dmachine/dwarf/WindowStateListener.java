@@ -80,7 +80,8 @@ public class WindowStateListener implements WindowListener {
 		// check if the mesa engine is running and handle accordingly
 		if (!this.runningIndicator.getAsBoolean()) {
 			// simply terminate the program
-			System.exit(0);
+			MainUI.terminate(this.mainWindow.getFrame());
+			return;
 		}
 		
 		// the mesa engine is running, so ask what to do
@@ -82,7 +82,126 @@ public class Config {
 	 */
 	public static volatile boolean dynLogBitblts = false;
 	
+	/**
+	 * let Pilot's emulation compute the float instructions implemented natively
+	 * from the Real interface (FIX..., FROUND..., FREM, FSQRT, FSC) and log the
+	 * deviations of the native results?
+	 * (slows down things, as the emulation is always used)
+	 */
+	public static final boolean CHECK_NATIVE_FLOAT_INSNS = false;
+	
+	/**
+	 * use the native results of the float instructions added later from the Real interface
+	 * (FIX..., FROUND..., FREM, FSQRT, FSC) instead of trapping to Pilot's emulation?
+	 */
+	public static final boolean USE_NATIVE_FLOAT_CONVERSIONS = true;
+
+	/*
+	 * interpreter optimizations
+	 */
+
+	/**
+	 * dispatch instructions through the pre-decoded code pages instead
+	 * of decoding each instruction byte from the code word again?
+	 */
+	public static final boolean USE_DECODED_CODE_CACHE = true;
+	
+	/**
+	 * dispatch instructions through the generated switch statements of class SwitchDispatcher
+	 * (monomorphic call sites for the instruction implementations) instead of calling the
+	 * implementations in the dispatch tables?
+	 */
+	public static final boolean USE_SWITCH_DISPATCH = true;
+	
+	/**
+	 * replace frequent instruction pairs with the superinstructions defined in
+	 * class ChXX_Superinstructions when decoding code pages?
+	 * (requires USE_DECODED_CODE_CACHE, ignored when LOG_OPCODES is active)
+	 */
+	public static final boolean USE_SUPERINSTRUCTIONS = true;
+	
+	/**
+	 * access local and global variables through the cached real addresses of the
+	 * current local and global frame instead of translating each frame address?
+	 * (also used for the allocation vector when allocating and freeing local frames)
+	 * (ignored when LOG_MEM_ACCESS or IOR_LOG_MEM_ACCESS is active)
+	 */
+	public static final boolean USE_FRAME_BASE_CACHE = true;
+	
+	/**
+	 * find the processes whose timeout expires at a PTC tick through a timer wheel index
+	 * of the PSB timeouts instead of scanning all PSBs at each tick?
+	 */
+	public static final boolean USE_TIMEOUT_INDEX = true;
+	
+	/**
+	 * mirror the ready queue in host side structures, so enqueuing and dequeuing processes
+	 * does not need to walk the PSB links of the ready queue in the PDA?
+	 */
+	public static final boolean USE_READY_QUEUE_SHADOW = true;
+	
+	/**
+	 * transfer the lines of BITBLT and COLORBLT 16 pixels at once if source and destination
+	 * have 1 bit per pixel, instead of combining the pixels one by one?
+	 */
+	public static final boolean USE_WORD_PARALLEL_BITBLT = true;
+	
+	/**
+	 * transfer the lines of COLORBLT and BITBLT on the 8 bit color display with a byte-oriented
+	 * engine (copying whole words of 2 pixels where possible) instead of combining the pixels
+	 * through the generic pixel sources and sinks?
+	 */
+	public static final boolean USE_BYTE_COLORBLT = true;
+	
+	/**
+	 * transfer the lines of large BITBLT and COLORBLT operations in bands processed in parallel
+	 * by a fork-join pool, if the source pixels do not overlap the destination?
+	 */
+	public static final boolean USE_PARALLEL_BITBLT = true;
+	
+	/**
+	 * number of worker threads for transferring BITBLT bands in parallel
+	 * (0: number of available processors, bands are used only with 2 or more threads)
+	 */
+	public static final int PARALLEL_BITBLT_THREADS = 0;
+	
+	/**
+	 * pass block moves inside the display memory done by BITBLT (scrolling, dragging windows)
+	 * to the UI as copy areas, so the UI can shift its pixelmap instead of transferring the
+	 * moved display pages from the mesa memory again?
+	 */
+	public static final boolean USE_DISPLAY_COPY_AREAS = true;
 	
+	/**
+	 * execute TXTBLT natively (drawing the characters with the BITBLT engine) instead of
+	 * trapping to the software implementation in Pilot?
+	 * (the XDE disk available here does not use TXTBLT, so the native implementation could
+	 * not be compared with the software implementation on a real system yet)
+	 */
+	public static final boolean USE_NATIVE_TXTBLT = false;
+	
+	/**
+	 * copy the words of the BLT instructions and the disk page transfers in runs inside
+	 * a source and a destination page (translating the addresses once per page and moving
+	 * the words with System.arraycopy) instead of reading and writing word by word?
+	 * (ignored when LOG_MEM_ACCESS or IOR_LOG_MEM_ACCESS is active)
+	 */
+	public static final boolean USE_PAGE_RUN_COPY = true;
+	
+	/**
+	 * count the frequencies of instruction pairs and triples as they are executed,
+	 * dumping the most frequent sequences when the mesa engine stops?
+	 * (forces the plain dispatch of single instructions, slowing down things)
+	 */
+	public static final boolean PROFILE_OPCODE_SEQUENCES = false;
+	
+	/**
+	 * periodically log the number of traps and faults per second
+	 * (counted in Cpu.traps resp. Cpu.faults) to stdout?
+	 */
+	public static final boolean LOG_TRAP_RATE = false;
+
+
 	/*
 	 * logging in io processors (agents / iop-handlers)
 	 */
@@ -27,6 +27,8 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package dev.hawala.dmachine.engine;
 
 import java.io.BufferedReader;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
@@ -353,6 +355,75 @@ public class Cpu {
 		PC = 0;
 	}
 	
+	/*
+	 * snapshot support
+	 */
+	
+	// has the machine state been restored from a snapshot, so processor() must resume instead of booting? 
+	private static boolean resumeSnapshot = false;
+	
+	/**
+	 * Write the processor registers and the evaluation stack for a snapshot
+	 * of the machine, stopped at an instruction boundary.
+	 * 
+	 * @param state target for the processor state
+	 * @throws IOException in case of write problems
+	 */
+	public static void saveState(DataOutput state) throws IOException {
+		state.writeInt(MDS);
+		state.writeInt(GF16);
+		state.writeInt(GF32);
+		state.writeInt(GFI);
+		state.writeInt(LF);
+		state.writeInt(CB);
+		state.writeInt(PC);
+		state.writeInt(SP);
+		Snapshot.writeWords(state, stack);
+		state.writeInt(breakByte);
+		state.writeInt(XTS);
+		state.writeShort(PSB);
+		state.writeInt(PTC);
+		state.writeInt(WP.get() & 0xFFFF); // only the PrincOps wakeups, not the requests to the engine implementation
+		state.writeShort(WDC);
+		state.writeInt(IT());
+		state.writeInt(MP);
+		state.writeBoolean(running);
+		state.writeLong(insns);
+	}
+	
+	/**
+	 * Restore the processor registers and the evaluation stack from a snapshot,
+	 * letting the next invocation of {@code processor()} resume the machine at the
+	 * restored instruction instead of booting it.
+	 * 
+	 * @param state source for the processor state
+	 * @throws IOException in case of read problems
+	 */
+	public static void restoreState(DataInput state) throws IOException {
+		MDS = state.readInt();
+		GF16 = state.readInt();
+		GF32 = state.readInt();
+		GFI = state.readInt();
+		LF = state.readInt();
+		CB = state.readInt();
+		PC = state.readInt();
+		savedPC = PC;
+		SP = state.readInt();
+		savedSP = SP;
+		Snapshot.readWords(state, stack);
+		breakByte = state.readInt();
+		XTS = state.readInt();
+		PSB = state.readShort();
+		PTC = state.readInt();
+		WP.set(state.readInt());
+		WDC = state.readShort();
+		setIT(state.readInt());
+		MP = state.readInt();
+		running = state.readBoolean();
+		insns = state.readLong();
+		resumeSnapshot = true;
+	}
+	
 	/*
 	 * register based utilities
 	 */
@@ -521,17 +592,30 @@ public class Cpu {
 	 * <br>&nbsp;-&gt;&nbsp;<i>push the required restart values on the evaluation stack</i>
 	 * <br>&nbsp;-&gt;&nbsp;{@code ex.updateStack();}
 	 * </p>
+	 * <p>
+	 * As Pilot takes many page faults when swapping, a {@code MesaAbort} has no
+	 * stack trace (it is a control flow signal and not an error) and the
+	 * (immutable) instance {@code MesaAbort.ABORT} is thrown when raising
+	 * a trap or fault, so no objects are allocated in this case.
+	 * </p>
 	 */
 	public static class MesaAbort extends RuntimeException {
 		private static final long serialVersionUID = -8398798334492304000L;
 		
+		/**
+		 * The preallocated instance to be thrown for {@code Abort}.
+		 */
+		public static final MesaAbort ABORT = new MesaAbort();
+		
 		private final int stateHandle; // LONG POINTER TO StateVector
 		
 		public MesaAbort() {
+			super(null, null, false, false);
 			this.stateHandle = 0;
 		}
 		
 		public MesaAbort(int savedStackLocation) {
+			super(null, null, false, false);
 			this.stateHandle = savedStackLocation;
 		}
 		
@@ -656,8 +740,9 @@ public class Cpu {
 				Mem.writeMDSWord(Cpu.LF, PrincOpsDefs.LocalOverhead_pc, Cpu.PC);
 			}
 			Xfer.impl.xfer(controlLink, Cpu.LF, XferType.xtrap, false);
+			Opcodes.profileTrap(true, code);
 			Mem.writeMDSWord(Cpu.LF, code);
-			throw new MesaAbort();
+			throw MesaAbort.ABORT;
 		}
 
 		@Override
@@ -667,7 +752,10 @@ public class Cpu {
 
 		@Override
 		public void signalOpcodeTrap(int code) {
-			this.trapOne(PrincOpsDefs.sOpcodeTrap, code);
+			this.trap(PrincOpsDefs.sOpcodeTrap);
+			Opcodes.profileTrap(false, code);
+			Mem.writeMDSWord(Cpu.LF, code);
+			throw MesaAbort.ABORT;
 		}
 
 		@Override
@@ -738,20 +826,20 @@ public class Cpu {
 		
 		private void trapZero(int controlLinkIdx) {
 			this.trap(controlLinkIdx);
-			throw new MesaAbort();
+			throw MesaAbort.ABORT;
 		}
 		
 		private void trapOne(int controlLinkIdx, int parameter) {
 			this.trap(controlLinkIdx);
 			Mem.writeMDSWord(Cpu.LF, parameter);
-			throw new MesaAbort();
+			throw MesaAbort.ABORT;
 		}
 		
 		private void trapTwo(int controlLinkIdx, int parameter) {
 			this.trap(controlLinkIdx);
 			Mem.writeMDSWord(Cpu.LF, parameter & 0x0000FFFF);
 			Mem.writeMDSWord(Cpu.LF + 1, parameter >>> 16);
-			throw new MesaAbort();
+			throw MesaAbort.ABORT;
 		}
 		
 	}
@@ -759,6 +847,9 @@ public class Cpu {
 	// the installed {@code MesaFaultTrapThrower} to be used, overriden for UnitTests
 	public static MesaFaultTrapThrower thrower = new RealMesaFaultTrapThrower();
 	
+	// avoid building the log messages for traps and faults if these are not logged
+	private static final boolean LOG_TRAPS_AND_FAULTS = Config.LOG_OPCODES && Config.USE_DEBUG_INTERPRETER;
+	
 	public static void logTrapOrFault(String msg) {
 		logTrapOrFault(false, msg);
 	}
@@ -791,79 +882,104 @@ public class Cpu {
 	}
 	
 	public static void boundsTrap() {
+		traps++;
 		logTrapOrFault(" ## boundsTrap\n");
 		thrower.signalBoundsTrap();
 	}
 	
 	public static void breakTrap() {
+		traps++;
 		logTrapOrFault(" ## breakTrap\n");
 		thrower.signalBreakTrap();
 	}
 	
 	public static void codeTrap(int gf) {
-		logTrapOrFault(true, String.format(" ## codeTrap gf=0x%04X\n", gf));
+		traps++;
+		if (LOG_TRAPS_AND_FAULTS) {
+			logTrapOrFault(true, String.format(" ## codeTrap gf=0x%04X\n", gf));
+		}
 		thrower.signalCodeTrap(gf);
 	}
 	
 	public static void controlTrap(int src) {
-		logTrapOrFault(String.format(" ## controlTrap src=0x%04X\n", src));
+		traps++;
+		if (LOG_TRAPS_AND_FAULTS) {
+			logTrapOrFault(String.format(" ## controlTrap src=0x%04X\n", src));
+		}
 		thrower.signalControlTrap(src);
 	}
 	
 	public static void divCheckTrap() {
+		traps++;
 		logTrapOrFault(" ## divCheckTrap\n");
 		thrower.signalDivideCheckTrap();
 	}
 	
 	public static void divZeroTrap() { 
+		traps++;
 		logTrapOrFault(" ## divZeroTrap\n");
 		thrower.signalDivideZeroTrap();
 	}
 	
 	public static void escOpcodeTrap(int code) {
+		traps++;
 		logError(String.format("unimplemented ESC-opcode 0x%02X",code & 0xFF));
-		logTrapOrFault(String.format("unimplemented ESC-opcode 0x%02X",code & 0xFF));
+		if (LOG_TRAPS_AND_FAULTS) {
+			logTrapOrFault(String.format("unimplemented ESC-opcode 0x%02X",code & 0xFF));
+		}
 		thrower.signalEscOpcodeTrap(code);
 	}
 	
 	public static void interruptError() {
+		traps++;
 		logTrapOrFault(" ## interruptError\n");
 		thrower.signalInterruptError();
 	}
 	
 	public static void opcodeTrap(int code) {
+		traps++;
 		logError(String.format("unimplemented opcode 0x%02X",code & 0xFF));
-		logTrapOrFault(String.format("unimplemented opcode 0x%02X",code & 0xFF));
+		if (LOG_TRAPS_AND_FAULTS) {
+			logTrapOrFault(String.format("unimplemented opcode 0x%02X",code & 0xFF));
+		}
 		thrower.signalOpcodeTrap(code);
 	}
 	
 	public static void pointerTrap() {
+		traps++;
 		logTrapOrFault(" ## pointerTrap\n");
 		thrower.signalPointerTrap();
 	}
 	
 	public static void processTrap() {
+		traps++;
 		logTrapOrFault(" ## processTrap\n");
 		thrower.signalProcessTrap();
 	}
 	
 	public static void rescheduleError() {
+		traps++;
 		logTrapOrFault(" ## rescheduleError\n");
 		thrower.signalRescheduleError();
 	}
 	
 	public static void stackError() {
+		traps++;
 		logTrapOrFault(" ## stackError\n");
 		dumpOplog();
 		thrower.signalStackError();
 	}
 	
 	public static void unboundTrap(int dst) {
-		logTrapOrFault(String.format(" ## unboundTrap dst=0x%08X\n", dst));
+		traps++;
+		if (LOG_TRAPS_AND_FAULTS) {
+			logTrapOrFault(String.format(" ## unboundTrap dst=0x%08X\n", dst));
+		}
 		thrower.signalUnboundTrap(dst);
 	}
 	
 	public static void hardwareError() {
+		traps++;
 		logTrapOrFault(" ## hardwareError\n");
 		thrower.signalHardwareError();
 	}
@@ -878,23 +994,35 @@ public class Cpu {
 	}
 	
 	public static void nakedTrap(int controlLinkIdx) {
-		logTrapOrFault(String.format(" ## naked trap for controlLinkIdx: %d\n", controlLinkIdx));
+		traps++;
+		if (LOG_TRAPS_AND_FAULTS) {
+			logTrapOrFault(String.format(" ## naked trap for controlLinkIdx: %d\n", controlLinkIdx));
+		}
 		thrower.trap(controlLinkIdx);
 	}
 	
 	public static void signalPageFault(int faultingLongPointer) {
-		logTrapOrFault(String.format(" ## page fault for LP = 0x%08X at 0x%08X+0x%04X [insn# %d ]\n ",
-				faultingLongPointer, Cpu.CB, Cpu.savedPC, Cpu.insns));
+		faults++;
+		if (LOG_TRAPS_AND_FAULTS) {
+			logTrapOrFault(String.format(" ## page fault for LP = 0x%08X at 0x%08X+0x%04X [insn# %d ]\n ",
+					faultingLongPointer, Cpu.CB, Cpu.savedPC, Cpu.insns));
+		}
 		thrower.signalPageFault(faultingLongPointer);
 	}
 	
 	public static void signalWriteProtectFault(int faultingLongPointer) {
-		logTrapOrFault(String.format(" ## write protect fault for LP = 0x%08X\n ", faultingLongPointer));
+		faults++;
+		if (LOG_TRAPS_AND_FAULTS) {
+			logTrapOrFault(String.format(" ## write protect fault for LP = 0x%08X\n ", faultingLongPointer));
+		}
 		thrower.signalWriteProtectFault(faultingLongPointer);
 	}
 	
 	public static void signalFrameFault(int fsi) {
-		logTrapOrFault(String.format(" ## frame fault for fsi = %d\n ", fsi));
+		faults++;
+		if (LOG_TRAPS_AND_FAULTS) {
+			logTrapOrFault(String.format(" ## frame fault for fsi = %d\n ", fsi));
+		}
 		thrower.signalFrameFault(fsi);
 	}
 	
@@ -943,13 +1071,25 @@ public class Cpu {
 	
 	public static long insns = 0;
 	
+	/*
+	 * number of traps resp. faults raised so far for statistics
+	 */
+	
+	public static long traps = 0;
+	
+	public static long faults = 0;
+	
 	/*
 	 * Instruction interpreter proper 
 	 */
 	
 	public static String processor() {
 		try {
-			initialize();
+			if (resumeSnapshot) {
+				resumeSnapshot = false; // continue with the instruction at the restored PC
+			} else {
+				initialize();
+			}
 			int timeoutCountDown = TIMEOUT_THROTTLE_COUNT;
 			while(true) {
 				try {
@@ -972,9 +1112,13 @@ public class Cpu {
 						savedPC = PC;
 						savedSP = SP;
 						insns++;
-						Opcodes.dispatch(Mem.getNextCodeByte());
+						if (Config.USE_DECODED_CODE_CACHE && !Config.PROFILE_OPCODE_SEQUENCES) {
+							Opcodes.dispatchDecoded();
+						} else {
+							Opcodes.dispatch(Mem.getNextCodeByte());
+						}
 					} else {
-						Processes.idle(); // wake up on interrupt but at latest after NOT_RUNNING_SLEEP_MSECS
+						Processes.idle(); // wake up on interrupt but at latest at the next timeout or UI refresh
 						timeoutCountDown = 0; // force timeout checks after sleeping 
 					}
 				} catch (MesaAbort ma) {
@@ -989,6 +1133,9 @@ public class Cpu {
 		} catch (RuntimeException re) {
 			re.printStackTrace();
 			return String.format("Cpu.processor() => %s : %s", re.getClass().getCanonicalName(), re.getMessage());
+		} finally {
+			Opcodes.dumpSequenceProfile(32);
+			Opcodes.dumpTrapProfile(32);
 		}
 		
 		// never reached ... return "Cpu.processor() ended normally(?)";
@@ -0,0 +1,312 @@
+/*
+Copyright (c) 2017, Dr. Hans-Walter Latz
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * The name of the author may not be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDER "AS IS" AND ANY EXPRESS
+OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package dev.hawala.dmachine.engine;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An emulated workstation (Draco or Duchess) running isolated from other
+ * workstations in the same JVM, much like in a separate process.
+ * <br>
+ * The mesa engine keeps the complete machine state in static fields (registers
+ * in {@code Cpu}, real memory and map in {@code Mem}, the agents resp. device handlers,
+ * the dispatch tables in {@code Opcodes} etc.). A {@code Machine} does not change
+ * this: it loads its own set of the Dwarf classes (package {@code dev.hawala.dmachine}
+ * and sub-packages) through a separate class loader, giving each machine its own
+ * registers, memory, devices and dispatch tables.
+ * <br>
+ * The Dwarf classes loaded through the application class loader are the
+ * single-instance facade used by the {@code Draco} and {@code Duchess} main programs
+ * and the unittests; they are not affected by the machines created here.
+ * <br>
+ * Machines share the JVM, the Java runtime classes (including Swing) and the heap,
+ * but not the engine code: each machine has its own engine classes, which are
+ * interpreted, profiled and JIT-compiled separately, so the memory and warm-up
+ * for the compiled engine is spent once per machine like with separate processes.
+ * Sharing the compiled engine would require moving the machine state from the
+ * static fields into instances.
+ * <br>
+ * When the Draco or Duchess main program of a machine terminates (closing the window,
+ * the engine stopping with the "terminate on engine stopped" option), only the window
+ * and the threads of this machine end instead of the JVM (i.e. all machines), as each
+ * machine sets its termination hook in {@code MainUI}.
+ */
+public class Machine {
+
+	// the packages whose classes are loaded separately for each machine
+	private static final String DWARF_PACKAGES = "dev.hawala.dmachine.";
+
+	// the names of the main programs for the launcher
+	private static final String DRACO = "dev.hawala.dmachine.Draco";
+	private static final String DUCHESS = "dev.hawala.dmachine.Duchess";
+
+	// the class with the termination hook of the Dwarf application
+	private static final String MAIN_UI = "dev.hawala.dmachine.dwarf.MainUI";
+
+	/**
+	 * Class loader loading the Dwarf classes itself instead of delegating
+	 * to the parent loader first, so the machine gets its own copy of the classes
+	 * and of their static fields.
+	 */
+	private static class MachineClassLoader extends URLClassLoader {
+
+		static {
+			registerAsParallelCapable();
+		}
+
+		private MachineClassLoader(URL[] urls, ClassLoader parent) {
+			super(urls, parent);
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			String machineClassName = Machine.class.getName();
+			if (!name.startsWith(DWARF_PACKAGES) || name.equals(machineClassName) || name.startsWith(machineClassName + "$")) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized(this.getClassLoadingLock(name)) {
+				Class<?> c = this.findLoadedClass(name);
+				if (c == null) {
+					c = this.findClass(name);
+				}
+				if (resolve) {
+					this.resolveClass(c);
+				}
+				return c;
+			}
+		}
+	}
+
+	private final String name;
+	private final MachineClassLoader loader;
+
+	private Thread mainThread = null;
+	private boolean terminated = false;
+
+	/**
+	 * Create a new machine with its own set of mesa engine classes.
+	 *
+	 * @param name the name of the machine (used for naming the thread of the main program)
+	 */
+	public Machine(String name) {
+		this.name = name;
+
+		CodeSource codeSource = Machine.class.getProtectionDomain().getCodeSource();
+		if (codeSource == null || codeSource.getLocation() == null) {
+			throw new IllegalStateException("Unable to locate the Dwarf classes for machine " + name);
+		}
+		this.loader = new MachineClassLoader(new URL[] { codeSource.getLocation() }, Machine.class.getClassLoader());
+
+		// let the Dwarf application of this machine end only this machine instead of the JVM
+		try {
+			Runnable hook = this::terminated;
+			this.invokeStatic(MAIN_UI, "setTerminationHook", new Class<?>[] { Runnable.class }, hook);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Unable to set the termination hook for machine " + name, e);
+		}
+	}
+
+	// termination hook of the Dwarf application of this machine
+	private synchronized void terminated() {
+		System.out.printf("** machine %s terminated\n", this.name);
+		this.terminated = true;
+		this.notifyAll();
+	}
+
+	/**
+	 * @return {@code true} if the Dwarf application of this machine terminated
+	 */
+	public synchronized boolean isTerminated() {
+		return this.terminated;
+	}
+
+	/**
+	 * Wait until the Dwarf application of this machine terminated.
+	 *
+	 * @throws InterruptedException if the waiting thread is interrupted
+	 */
+	public synchronized void awaitTermination() throws InterruptedException {
+		while (!this.terminated) {
+			this.wait();
+		}
+	}
+
+	/**
+	 * @return the name of the machine
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Get the class of this machine for a Dwarf class name.
+	 *
+	 * @param className the fully qualified name of the class
+	 * @return the class as loaded for this machine
+	 * @throws ClassNotFoundException if the class does not exist
+	 */
+	public Class<?> getMachineClass(String className) throws ClassNotFoundException {
+		return this.loader.loadClass(className);
+	}
+
+	/**
+	 * Invoke a public static method of a Dwarf class of this machine, for example
+	 * {@code Processes.requestMesaEngineStop()} to stop the machine.
+	 *
+	 * @param className the fully qualified name of the class
+	 * @param methodName the name of the method
+	 * @param paramTypes the types of the method parameters
+	 * @param args the arguments for the invocation
+	 * @return the return value of the method
+	 * @throws ReflectiveOperationException if the method cannot be found or invoked
+	 *   or if the method itself throws an exception
+	 */
+	public Object invokeStatic(String className, String methodName, Class<?>[] paramTypes, Object... args) throws ReflectiveOperationException {
+		Method m = this.getMachineClass(className).getMethod(methodName, paramTypes);
+		Thread current = Thread.currentThread();
+		ClassLoader currentLoader = current.getContextClassLoader();
+		current.setContextClassLoader(this.loader);
+		try {
+			return m.invoke(null, args);
+		} finally {
+			current.setContextClassLoader(currentLoader);
+		}
+	}
+
+	/**
+	 * Run the main program of a Dwarf class (usually {@code Draco} or {@code Duchess})
+	 * for this machine in a new thread.
+	 *
+	 * @param mainClassName the fully qualified name of the class with the main program
+	 * @param args the command line arguments for the main program
+	 * @return the thread running the main program
+	 */
+	public synchronized Thread start(String mainClassName, String... args) {
+		if (this.mainThread != null) {
+			throw new IllegalStateException("Machine " + this.name + " already started");
+		}
+		this.mainThread = new Thread(() -> {
+			try {
+				this.invokeStatic(mainClassName, "main", new Class<?>[] { String[].class }, (Object)args);
+			} catch (InvocationTargetException e) {
+				System.err.printf("** machine %s: main program failed\n", this.name);
+				e.getCause().printStackTrace();
+				this.terminated();
+			} catch (ReflectiveOperationException e) {
+				System.err.printf("** machine %s: unable to start '%s': %s\n", this.name, mainClassName, e);
+				this.terminated();
+			}
+		}, "machine " + this.name);
+		this.mainThread.setContextClassLoader(this.loader);
+		this.mainThread.start();
+		return this.mainThread;
+	}
+
+	/**
+	 * Release the classes of this machine, to be called after the mesa engine
+	 * of this machine stopped.
+	 *
+	 * @throws IOException if closing the class loader fails
+	 */
+	public void close() throws IOException {
+		this.loader.close();
+	}
+
+	/**
+	 * Launcher for several workstations in one JVM, the command line is a sequence
+	 * of machine specifications, each starting with {@code -draco} or {@code -duchess}
+	 * followed by the command line arguments for this workstation, for example:
+	 * <pre>
+	 *   -draco lab1.properties -run -draco lab2.properties -run -duchess lab3.properties
+	 * </pre>
+	 *
+	 * The launcher ends the JVM when all machines have terminated.
+	 *
+	 * @param args the command line arguments
+	 */
+	public static void main(String[] args) {
+		List<Machine> machines = new ArrayList<>();
+		List<String> machineArgs = new ArrayList<>();
+		String mainClassName = null;
+		int machineCount = 0;
+
+		for (String arg : args) {
+			String newMainClassName = null;
+			if ("-draco".equalsIgnoreCase(arg)) {
+				newMainClassName = DRACO;
+			} else if ("-duchess".equalsIgnoreCase(arg)) {
+				newMainClassName = DUCHESS;
+			}
+			if (newMainClassName != null) {
+				if (mainClassName != null) {
+					machines.add(startMachine(++machineCount, mainClassName, machineArgs));
+				}
+				mainClassName = newMainClassName;
+				machineArgs.clear();
+			} else if (mainClassName == null) {
+				System.err.printf("Error: argument '%s' is not preceded by -draco or -duchess\n", arg);
+				return;
+			} else {
+				machineArgs.add(arg);
+			}
+		}
+		if (mainClassName != null) {
+			machines.add(startMachine(++machineCount, mainClassName, machineArgs));
+		}
+
+		if (machineCount == 0) {
+			System.err.println("Error: no machine specified (-draco|-duchess <configuration> [options])");
+			return;
+		}
+
+		try {
+			for (Machine machine : machines) {
+				machine.awaitTermination();
+			}
+		} catch (InterruptedException e) {
+			// end the JVM anyway
+		}
+		System.exit(0);
+	}
+
+	private static Machine startMachine(int number, String mainClassName, List<String> machineArgs) {
+		String[] args = machineArgs.toArray(new String[machineArgs.size()]);
+		System.out.printf("** starting machine %d: %s %s\n", number, mainClassName, Arrays.toString(args));
+		Machine machine = new Machine(Integer.toString(number));
+		machine.start(mainClassName, args);
+		return machine;
+	}
+
+}
@@ -26,7 +26,18 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.engine;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
 import java.security.InvalidParameterException;
+import java.util.Arrays;
 import java.util.List;
 
 import dev.hawala.dmachine.engine.PilotDefs.DisplayType;
@@ -43,7 +54,13 @@ import dev.hawala.dmachine.engine.iop6085.IORegion.IORAddress;
 public class Mem {
 
 	// the real memory
-	protected static short[] mem = null;
+	protected static iRealMemory mem = null;
+	
+	// allocate the real memory outside of the Java heap?
+	private static boolean offHeapRealMemory = false;
+	
+	// file to which the off-heap real memory is mapped (null: anonymous direct buffer)
+	private static File realMemoryFile = null;
 	
 	// virtual memory part 1: map virtual-page => real-page-base address
 	private static int[] pageMap = null; // != PrincOps: this hold the real page base address (to speed up things), not the real page no
@@ -69,6 +86,59 @@ public class Mem {
 	public static int displayPageSize;        // total number of pages for the display memory
 	static int displayFirstMappedVirtualPage;  // (package-level to allow class Processes to access it)
 	
+	/*
+	 * real memory backend selection
+	 */
+	
+	/**
+	 * Select the backend for the real memory, to be called before the memory is
+	 * initialized (by default the real memory is a word array on the Java heap).
+	 * <br>
+	 * Real memory outside of the Java heap is not scanned by the garbage collector
+	 * and can be shared through a memory-mapped file with other programs (e.g. for
+	 * streaming the display memory); the words are stored big-endian in the file.
+	 * 
+	 * @param offHeap allocate the real memory outside of the Java heap?
+	 * @param mappedFile the file to which the off-heap real memory is mapped (the file is
+	 * 		created resp. overwritten), or {@code null} for an anonymous direct buffer
+	 */
+	public static void setRealMemoryBackend(boolean offHeap, File mappedFile) {
+		if (mem != null) {
+			throw new IllegalStateException("MesaEngine memory already initialized");
+		}
+		offHeapRealMemory = offHeap;
+		realMemoryFile = (offHeap) ? mappedFile : null;
+	}
+	
+	/**
+	 * Create a real memory backend for a word array on the Java heap, e.g. for
+	 * simulating the real memory of the mesa engine when testing the UI.
+	 * 
+	 * @param words the words of the simulated real memory
+	 * @return the real memory backend accessing {@code words}
+	 */
+	public static iRealMemory wrapRealMemory(short[] words) {
+		return new HeapRealMemory(words);
+	}
+	
+	private static iRealMemory allocateRealMemory(int wordCount) {
+		if (!offHeapRealMemory) {
+			return new HeapRealMemory(new short[wordCount]);
+		}
+		if (realMemoryFile == null) {
+			return new BufferRealMemory(ByteBuffer.allocateDirect(wordCount * 2).order(ByteOrder.BIG_ENDIAN).asShortBuffer());
+		}
+		try (FileChannel channel = FileChannel.open(
+				realMemoryFile.toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			// the mapping stays valid after closing the channel
+			return new BufferRealMemory(channel.map(MapMode.READ_WRITE, 0, wordCount * 2L).asShortBuffer());
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to map real memory to file " + realMemoryFile.getPath() + ": " + e.getMessage(), e);
+		}
+	}
+	
 	/*
 	 * Machine-Type GUAM: memory and virtual-memory-map setup at machine start
 	 */
@@ -136,9 +206,10 @@ public class Mem {
 		int wordCount = PrincOpsDefs.WORDS_PER_PAGE << (addressBitsReal - PrincOpsDefs.ADDRESSBITS_IN_PAGE);
 		int virtualPageCount = 1 << (addressBitsVirtual - PrincOpsDefs.ADDRESSBITS_IN_PAGE);
 		int realPageCount = 1 << (addressBitsReal - PrincOpsDefs.ADDRESSBITS_IN_PAGE);
-		mem = new short[wordCount + (displayPageSize * PrincOpsDefs.WORDS_PER_PAGE)];
+		mem = allocateRealMemory(wordCount + (displayPageSize * PrincOpsDefs.WORDS_PER_PAGE));
 		pageMap = new int[virtualPageCount + displayPageSize];
 		pageFlags = new short[virtualPageCount + displayPageSize];
+		decodedCodePages = new short[mem.size() >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE][];
 		lastVirtualAddress = (PrincOpsDefs.WORDS_PER_PAGE * virtualPageCount) - 1;
 		lastVirtualPage = virtualPageCount - 1;
 		lastRealPage = realPageCount - 1;
@@ -160,6 +231,9 @@ public class Mem {
 		 * (germ? ; pilot?)
 		 */
 		
+		// forget all cached real pages, as the mapping is rebuilt
+		newMapEpoch();
+		
 		// variables to build initial page mappings
 		int currRealAddress = 0;
 		int currRealPage = 0;
@@ -204,7 +278,7 @@ public class Mem {
 		return lastVirtualPage + 1;
 	}
 	
-	// return the number of real pages in mem[] available for mapping to virtual pages 
+	// return the number of real pages in mem available for mapping to virtual pages 
 	public static int getRealPagesSize() {
 		return lastRealPage + 1;
 	}
@@ -212,7 +286,7 @@ public class Mem {
 	// put some pattern into display memory indicating that the display has still
 	// not been initialized by the OS being booted (i.e. Pilot resp. its client XDE or ViewPoint/GlobalView)
 	private static void initializeDisplayMemoryGuam() {
-		int displayWord = mem.length - (displayPageSize * PrincOpsDefs.WORDS_PER_PAGE);
+		int displayWord = mem.size() - (displayPageSize * PrincOpsDefs.WORDS_PER_PAGE);
 		int wordsPerLine = displayPixelWidth / PrincOpsDefs.WORD_BITS;
 		short[] template = {
 			(short)0b1000000000000001,
@@ -235,7 +309,7 @@ public class Mem {
 		int ti = 0;
 		for (int i = 0; i < displayPixelHeight; i++) {
 			for (int j = 0; j < wordsPerLine; j++) {
-				mem[displayWord++] = template[ti];
+				mem.write(displayWord++, template[ti]);
 			}
 			ti++;
 			if (ti >= template.length) { ti = 0; }
@@ -261,12 +335,12 @@ public class Mem {
 			0x0001 , 0x0000 , 0x0000 , 0x0000 , 0x0000 , 0x0000 , 0x0000 , 0x0100 ,
 			0x0100 , 0x0000 , 0x0000 , 0x0000 , 0x0000 , 0x0000 , 0x0000 , 0x0001	
 		};
-		int displayWord = mem.length - (displayPageSize * PrincOpsDefs.WORDS_PER_PAGE);
+		int displayWord = mem.size() - (displayPageSize * PrincOpsDefs.WORDS_PER_PAGE);
 		int wordsPerLine = effectivePixelsPerLine / 2;
 		int tl = 0;
 		for (int i = 0; i < displayPixelHeight; i++) {
 			for (int j = 0; j < wordsPerLine; j++) {
-				mem[displayWord++] = (short)template[ tl + (displayWord % 8) ];
+				mem.write(displayWord++, (short)template[ tl + (displayWord % 8) ]);
 			}
 			tl += 8;
 			if (tl >= template.length) { tl = 0; }
@@ -296,15 +370,17 @@ public class Mem {
 			dBreak_displayType = 1;
 		}
 		displayPageSize = 256; // largescreen: 18 * 4 * 861 / 256 => 242.15625 pages
+		effectivePixelsPerLine = displayPixelWidth;
 		activeDisplayType = PilotDefs.DisplayType.monochrome;
 		
 		// allocate real memory and virtual memory map
 		int realPageCount = 1 << (addressBitsReal - PrincOpsDefs.ADDRESSBITS_IN_PAGE);
 		int virtualPageCount = 1 << (addressBitsVirtual - PrincOpsDefs.ADDRESSBITS_IN_PAGE);
 		
-		mem = new short[ realPageCount * PrincOpsDefs.WORDS_PER_PAGE ];
+		mem = allocateRealMemory(realPageCount * PrincOpsDefs.WORDS_PER_PAGE);
 		pageMap = new int[virtualPageCount];
 		pageFlags = new short[virtualPageCount];
+		decodedCodePages = new short[realPageCount][];
 		lastVirtualAddress = (PrincOpsDefs.WORDS_PER_PAGE * virtualPageCount) - 1;
 		lastVirtualPage = virtualPageCount - 1;
 		lastRealPage = realPageCount - 1;
@@ -368,6 +444,9 @@ public class Mem {
 		
 		int currVirtualPage = 0;
 		
+		// forget all cached real pages, as the mapping is rebuilt
+		newMapEpoch();
+		
 		// map real pages after the IORegion up to the VM start of the IORegion
 		int currRealAddress = (IORegion_Real_StartPage + IORegion_PageCount) * PrincOpsDefs.WORDS_PER_PAGE;
 		while(currVirtualPage < IORegion_Virtual_StartPage) {
@@ -429,7 +508,7 @@ public class Mem {
 		int ti = 0;
 		for (int i = 0; i < displayPixelHeight; i++) {
 			for (int j = 0; j < wordsPerLine; j++) {
-				mem[displayWord++] = template[ti];
+				mem.write(displayWord++, template[ti]);
 			}
 			ti++;
 			if (ti >= template.length) { ti = 0; }
@@ -472,14 +551,7 @@ public class Mem {
 		}
 		
 		// clear real page caches
-		// TODO: keep updated when more caches are added!
-		int oldVirtualPageBase = virtualPageNo << 8;
-		if (_lastLpVpageRead == oldVirtualPageBase) { _lastLpVpageRead = -1; }
-		if (_lastLpVpageWritten == oldVirtualPageBase) { _lastLpVpageWritten = -1; }
-		if (_lastMdsVpageRead == oldVirtualPageBase) { _lastMdsVpageRead = -1; }
-		if (_lastMdsVpageWritten == oldVirtualPageBase) { _lastMdsVpageWritten = -1; }
-		if (_lastCodeVpageRead == oldVirtualPageBase) { _lastCodeVpageRead = -1; }
-		// end clear page caches
+		newMapEpoch();
 		
 		if (isVacant(flags)) {
 			pageMap[virtualPageNo] = 0;
@@ -528,6 +600,7 @@ public class Mem {
 		if (!isVacant(currFlags)) {
 			pageFlags[virtualPageNo] = newFlags;
 		}
+		newMapEpoch();
 		return currFlags;
 	}
 	
@@ -627,6 +700,9 @@ public class Mem {
 		pageFlags[pageNo] = flags;
 		
 		int realBasePointer = pageMap[pageNo];
+		if (forWrite && decodedCodePages[realBasePointer >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE] != null) {
+			dropDecodedCodePage(realBasePointer);
+		}
 		if (Config.LOG_OPCODES && realBasePointer == 0 && (longPointer & 0xFFFFFF00) != 0x00008000) {
 			System.out.printf("\n**\n**** getRealAddress() :: using real page 0 for vLp = 0x%08X\n**\n\n", longPointer);
 			Cpu.logTrapOrFault("memory mapping problem\n");
@@ -650,7 +726,7 @@ public class Mem {
 			return (short)0xFFFF;
 		}
 		
-		return mem[pageMap[pageNo] + (longPointer & 0x000000FF)];
+		return mem.read(pageMap[pageNo] + (longPointer & 0x000000FF));
 	}
 	
 	/*
@@ -663,6 +739,74 @@ public class Mem {
 		if (Config.LOG_MEM_ACCESS && doLog) { Cpu.logf(format, args); }
 	}
 	
+	/*
+	 * translation lookaside buffers (TLB) for virtual memory access
+	 * 
+	 * The TLBs are direct-mapped caches of the real page base addresses for recently
+	 * used virtual pages, backing the single-entry caches of the access functions below.
+	 * Reads and writes have separate TLBs, as a write must set the dirty flag when the
+	 * page is first written. An entry is valid if it was filled in the current map epoch,
+	 * which is incremented whenever the page map or page flags are changed, invalidating
+	 * all TLB entries and single-entry caches at once. So referenced and dirty flags are
+	 * set again by getRealAddress() after Pilot has cleared them.
+	 */
+	
+	private static final int TLB_SIZE = 64; // must be a power of 2
+	private static final int TLB_MASK = TLB_SIZE - 1;
+	
+	private static int mapEpoch = 1;
+	
+	private static final int[] tlbReadVpage = new int[TLB_SIZE];
+	private static final int[] tlbReadRpage = new int[TLB_SIZE];
+	private static final int[] tlbReadEpoch = new int[TLB_SIZE];
+	
+	private static final int[] tlbWriteVpage = new int[TLB_SIZE];
+	private static final int[] tlbWriteRpage = new int[TLB_SIZE];
+	private static final int[] tlbWriteEpoch = new int[TLB_SIZE];
+	
+	// invalidate all cached virtual => real page translations
+	// TODO: keep updated when more caches are added!
+	private static void newMapEpoch() {
+		mapEpoch++;
+		if (mapEpoch == 0) {
+			// wrap around: make sure that really old entries do not become valid again
+			Arrays.fill(tlbReadEpoch, 0);
+			Arrays.fill(tlbWriteEpoch, 0);
+			mapEpoch = 1;
+		}
+		_lastLpVpageRead = -1;
+		_lastLpVpageWritten = -1;
+		_lastMdsVpageRead = -1;
+		_lastMdsVpageWritten = -1;
+		_lastCodeVpageRead = -1;
+		_lastDecodedVpage = -1;
+		dropFrameBases();
+	}
+	
+	private static int getReadRealPage(int vPage) {
+		int idx = (vPage >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE) & TLB_MASK;
+		if (tlbReadVpage[idx] == vPage && tlbReadEpoch[idx] == mapEpoch) {
+			return tlbReadRpage[idx];
+		}
+		int rPage = getRealAddress(vPage, false);
+		tlbReadVpage[idx] = vPage;
+		tlbReadRpage[idx] = rPage;
+		tlbReadEpoch[idx] = mapEpoch;
+		return rPage;
+	}
+	
+	private static int getWriteRealPage(int vPage) {
+		int idx = (vPage >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE) & TLB_MASK;
+		if (tlbWriteVpage[idx] == vPage && tlbWriteEpoch[idx] == mapEpoch) {
+			return tlbWriteRpage[idx];
+		}
+		int rPage = getRealAddress(vPage, true);
+		tlbWriteVpage[idx] = vPage;
+		tlbWriteRpage[idx] = rPage;
+		tlbWriteEpoch[idx] = mapEpoch;
+		return rPage;
+	}
+	
 	/*
 	 * LONG POINTER access (with caching)
 	 */
@@ -673,7 +817,7 @@ public class Mem {
 	private static short _readLpWord(int ptr) {
 		int vPage = ptr & 0xFFFFFF00;
 		if (vPage != _lastLpVpageRead) {
-			_lastLpRpageRead = getRealAddress(vPage, false);
+			_lastLpRpageRead = getReadRealPage(vPage);
 			_lastLpVpageRead = vPage;
 		}
 		
@@ -694,7 +838,7 @@ public class Mem {
 			if (iorAddr != null && iorAddr.getName().startsWith("Floppy")) {
 				System.out.printf(
 						"%s: [ virtual: 0x%06X , real: 0x%06X ] -> 0x%04X - %s\n",
-						prefix, ptr, realAddr, mem[realAddr], iorAddr.getName()
+						prefix, ptr, realAddr, mem.read(realAddr), iorAddr.getName()
 						);
 				List<Field> fields = iorAddr.getFields();
 				if (fields != null) {
@@ -710,7 +854,7 @@ public class Mem {
 			}
 		}
 		
-		return mem[_lastLpRpageRead | (ptr & 0x000000FF)];
+		return mem.read(_lastLpRpageRead | (ptr & 0x000000FF));
 	}
 	
 	private static int _lastLpVpageWritten = 0;
@@ -719,10 +863,10 @@ public class Mem {
 	private static void _writeLpWord(int ptr, short value) {
 		int vPage = ptr & 0xFFFFFF00;
 		if (vPage != _lastLpVpageWritten) {
-			_lastLpRpageWritten = getRealAddress(vPage, true);
+			_lastLpRpageWritten = getWriteRealPage(vPage);
 			_lastLpVpageWritten = vPage;
 		}
-		mem[_lastLpRpageWritten | (ptr & 0x000000FF)] = value;
+		mem.write(_lastLpRpageWritten | (ptr & 0x000000FF), value);
 		
 		if (Config.IOR_LOG_MEM_ACCESS) {
 			int realAddr = _lastLpRpageWritten | (ptr & 0x000000FF);
@@ -786,6 +930,168 @@ public class Mem {
 		}
 	}
 	
+	/*
+	 * bulk copies in page runs
+	 * 
+	 * A page run is the part of a word range that lies inside a single source and a single
+	 * destination page, so the virtual addresses are translated (checking for faults and setting
+	 * the referenced resp. dirty flags) once for the run and the words are moved with
+	 * System.arraycopy() on the real memory. As the translations are done before the first
+	 * word is moved, a fault leaves the run completely uncopied, allowing the instructions to
+	 * push their restart state for the words copied by the previous runs.
+	 */
+	
+	private static boolean usePageRuns() {
+		return Config.USE_PAGE_RUN_COPY && !Config.LOG_MEM_ACCESS && !Config.IOR_LOG_MEM_ACCESS;
+	}
+	
+	/**
+	 * Copy the first page run of the {@code count} words at {@code srcLp} to {@code dstLp}
+	 * in ascending address order, with the same result as copying word by word (i.e. an
+	 * overlapping destination above the source replicates the source words).
+	 * 
+	 * @param srcLp long pointer to the first source word
+	 * @param dstLp long pointer to the first destination word
+	 * @param count number of words remaining to be copied (must be &gt; 0)
+	 * @return the number of words copied (1..count)
+	 */
+	public static int copyPageRun(int srcLp, int dstLp, int count) {
+		if (!usePageRuns()) {
+			writeWord(dstLp, readWord(srcLp));
+			return 1;
+		}
+		
+		int srcInPage = srcLp & 0x000000FF;
+		int dstInPage = dstLp & 0x000000FF;
+		int run = Math.min(count, PrincOpsDefs.WORDS_PER_PAGE - Math.max(srcInPage, dstInPage));
+		int rSrc = getReadRealPage(srcLp & 0xFFFFFF00) | srcInPage;
+		int rDst = getWriteRealPage(dstLp & 0xFFFFFF00) | dstInPage;
+		
+		int distance = rDst - rSrc;
+		if (distance <= 0 || distance >= run) {
+			mem.copy(rSrc, rDst, run);
+		} else if (distance == 1) {
+			mem.fill(rDst, rDst + run, mem.read(rSrc));
+		} else {
+			// each chunk reads only words already written by the previous chunk
+			for (int done = 0; done < run; done += distance) {
+				mem.copy(rSrc + done, rDst + done, Math.min(distance, run - done));
+			}
+		}
+		return run;
+	}
+	
+	/**
+	 * Copy the last page run of the {@code count} words at {@code srcLp} to {@code dstLp}
+	 * in descending address order, with the same result as copying word by word from the
+	 * end (i.e. an overlapping destination below the source replicates the source words).
+	 * 
+	 * @param srcLp long pointer to the first source word of the whole range
+	 * @param dstLp long pointer to the first destination word of the whole range
+	 * @param count number of words remaining to be copied (must be &gt; 0)
+	 * @return the number of words copied at the end of the range (1..count)
+	 */
+	public static int copyPageRunReverse(int srcLp, int dstLp, int count) {
+		if (!usePageRuns()) {
+			writeWord(dstLp + count - 1, readWord(srcLp + count - 1));
+			return 1;
+		}
+		
+		int srcLast = srcLp + count - 1;
+		int dstLast = dstLp + count - 1;
+		int srcInPage = srcLast & 0x000000FF;
+		int dstInPage = dstLast & 0x000000FF;
+		int run = Math.min(count, Math.min(srcInPage, dstInPage) + 1);
+		int rSrc = (getReadRealPage(srcLast & 0xFFFFFF00) | srcInPage) - run + 1;
+		int rDst = (getWriteRealPage(dstLast & 0xFFFFFF00) | dstInPage) - run + 1;
+		
+		int distance = rSrc - rDst;
+		if (distance <= 0 || distance >= run) {
+			mem.copy(rSrc, rDst, run);
+		} else if (distance == 1) {
+			mem.fill(rDst, rDst + run, mem.read(rSrc + run - 1));
+		} else {
+			// each chunk reads only words already written by the previous chunk
+			for (int todo = run; todo > 0; todo -= distance) {
+				int len = Math.min(distance, todo);
+				mem.copy(rSrc + todo - len, rDst + todo - len, len);
+			}
+		}
+		return run;
+	}
+	
+	/**
+	 * Compare the first page run of the {@code count} words at {@code lp1} with the
+	 * words at {@code lp2}.
+	 * 
+	 * @param lp1 long pointer to the first word of the first range
+	 * @param lp2 long pointer to the first word of the second range
+	 * @param count number of words remaining to be compared (must be &gt; 0)
+	 * @return the number of words compared (1..count) if all are equal or -1 if the run
+	 *   contains a different word
+	 */
+	public static int comparePageRun(int lp1, int lp2, int count) {
+		if (!usePageRuns()) {
+			return (readWord(lp1) == readWord(lp2)) ? 1 : -1;
+		}
+		
+		int inPage1 = lp1 & 0x000000FF;
+		int inPage2 = lp2 & 0x000000FF;
+		int run = Math.min(count, PrincOpsDefs.WORDS_PER_PAGE - Math.max(inPage1, inPage2));
+		int r1 = getReadRealPage(lp1 & 0xFFFFFF00) | inPage1;
+		int r2 = getReadRealPage(lp2 & 0xFFFFFF00) | inPage2;
+		for (int i = 0; i < run; i++) {
+			if (mem.read(r1 + i) != mem.read(r2 + i)) { return -1; }
+		}
+		return run;
+	}
+	
+	/**
+	 * Copy {@code count} words from mesa memory into a host array (device transfers etc.).
+	 * 
+	 * @param lp long pointer to the first word in mesa memory
+	 * @param to the target array
+	 * @param toOffset the index of the first target word in {@code to}
+	 * @param count number of words to copy
+	 */
+	public static void copyFromMemory(int lp, short[] to, int toOffset, int count) {
+		if (!usePageRuns()) {
+			for (int i = 0; i < count; i++) { to[toOffset++] = readWord(lp++); }
+			return;
+		}
+		while (count > 0) {
+			int inPage = lp & 0x000000FF;
+			int run = Math.min(count, PrincOpsDefs.WORDS_PER_PAGE - inPage);
+			mem.get(getReadRealPage(lp & 0xFFFFFF00) | inPage, to, toOffset, run);
+			lp += run;
+			toOffset += run;
+			count -= run;
+		}
+	}
+	
+	/**
+	 * Copy {@code count} words from a host array into mesa memory (device transfers).
+	 * 
+	 * @param lp long pointer to the first word in mesa memory
+	 * @param from the source array
+	 * @param fromOffset the index of the first source word in {@code from}
+	 * @param count number of words to copy
+	 */
+	public static void copyToMemory(int lp, short[] from, int fromOffset, int count) {
+		if (!usePageRuns()) {
+			for (int i = 0; i < count; i++) { writeWord(lp++, from[fromOffset++]); }
+			return;
+		}
+		while (count > 0) {
+			int inPage = lp & 0x000000FF;
+			int run = Math.min(count, PrincOpsDefs.WORDS_PER_PAGE - inPage);
+			mem.put(from, fromOffset, getWriteRealPage(lp & 0xFFFFFF00) | inPage, run);
+			lp += run;
+			fromOffset += run;
+			count -= run;
+		}
+	}
+	
 	/*
 	 * MDS access (with caching)
 	 */
@@ -796,7 +1102,7 @@ public class Mem {
 	private static short _readLengthenedMDSWord(int ptr) {
 		int vPage = ptr & 0xFFFFFF00;
 		if (vPage != _lastMdsVpageRead) {
-			_lastMdsRpageRead = getRealAddress(vPage, false);
+			_lastMdsRpageRead = getReadRealPage(vPage);
 			_lastMdsVpageRead = vPage;
 		}
 		
@@ -817,7 +1123,7 @@ public class Mem {
 			if (iorAddr != null) {
 				System.out.printf(
 						"%s: [ virtual: 0x%06X , real: 0x%06X ] -> 0x%04X - %s\n",
-						prefix, ptr, realAddr, mem[realAddr], iorAddr.getName()
+						prefix, ptr, realAddr, mem.read(realAddr), iorAddr.getName()
 						);
 				List<Field> fields = iorAddr.getFields();
 				if (fields != null) {
@@ -828,7 +1134,7 @@ public class Mem {
 			}
 		}
 		
-		return mem[_lastMdsRpageRead | (ptr & 0x000000FF)];
+		return mem.read(_lastMdsRpageRead | (ptr & 0x000000FF));
 	}
 	
 	private static int _lastMdsVpageWritten = 0;
@@ -837,10 +1143,10 @@ public class Mem {
 	private static void _writeLengthenedMDSWord(int ptr, short value) {
 		int vPage = ptr & 0xFFFFFF00;
 		if (vPage != _lastMdsVpageWritten) {
-			_lastMdsRpageWritten = getRealAddress(vPage, true);
+			_lastMdsRpageWritten = getWriteRealPage(vPage);
 			_lastMdsVpageWritten = vPage;
 		} 
-		mem[_lastMdsRpageWritten | (ptr & 0x000000FF)] = value;
+		mem.write(_lastMdsRpageWritten | (ptr & 0x000000FF), value);
 		
 		if (Config.IOR_LOG_MEM_ACCESS) {
 			int realAddr = _lastMdsRpageWritten | (ptr & 0x000000FF);
@@ -955,6 +1261,223 @@ public class Mem {
 		}
 	}	
 	
+	/*
+	 * local and global frame access (with caching of the frames' real addresses)
+	 * 
+	 * The lengthened address of the current local resp. global frame is the key for
+	 * the real address of the frame's first word and the number of frame words in the
+	 * same page. So new LF, GF or MDS values set by Xfer or a process switch are
+	 * recognized at the next frame access, map changes drop the cached addresses
+	 * through newMapEpoch() and the write addresses are only cached after getRealAddress()
+	 * has set the dirty flag of the page. Frame words in the next page (frames crossing
+	 * a page boundary) go through the normal MDS resp. LONG POINTER access.
+	 * The allocation vector for local frames (the page at mALLOCATION_VECTOR in the MDS)
+	 * is accessed the same way by Xfer when allocating and freeing frames, the AV items
+	 * are still read and written in mesa memory, so Pilot always sees the current AV.
+	 */
+	
+	private static final boolean USE_FRAME_CACHE
+			= Config.USE_FRAME_BASE_CACHE && !Config.LOG_MEM_ACCESS && !Config.IOR_LOG_MEM_ACCESS;
+	
+	private static int _lfReadLp = -1;
+	private static int _lfReadBase = 0;
+	private static int _lfReadLimit = 0;
+	
+	private static int _lfWriteLp = -1;
+	private static int _lfWriteBase = 0;
+	private static int _lfWriteLimit = 0;
+	
+	private static int _gfReadLp = -1;
+	private static int _gfReadBase = 0;
+	private static int _gfReadLimit = 0;
+	
+	private static int _gfWriteLp = -1;
+	private static int _gfWriteBase = 0;
+	private static int _gfWriteLimit = 0;
+	
+	private static int _avReadLp = -1;
+	private static int _avReadBase = 0;
+	
+	private static int _avWriteLp = -1;
+	private static int _avWriteBase = 0;
+	
+	// drop the cached frame addresses (called by newMapEpoch())
+	private static void dropFrameBases() {
+		_lfReadLp = -1;
+		_lfWriteLp = -1;
+		_gfReadLp = -1;
+		_gfWriteLp = -1;
+		_avReadLp = -1;
+		_avWriteLp = -1;
+	}
+	
+	// real address of frame word 'offset' for reading, -1 if not in the frame's first page
+	private static int _localReadAddress(int offset) {
+		int lp = Cpu.lengthenPointer(Cpu.LF);
+		if (lp == _lfReadLp && offset < _lfReadLimit) {
+			return _lfReadBase + offset;
+		}
+		int inPage = lp & 0x000000FF;
+		if (inPage + offset >= PrincOpsDefs.WORDS_PER_PAGE) {
+			return -1;
+		}
+		_lfReadBase = getReadRealPage(lp & 0xFFFFFF00) | inPage;
+		_lfReadLimit = PrincOpsDefs.WORDS_PER_PAGE - inPage;
+		_lfReadLp = lp;
+		return _lfReadBase + offset;
+	}
+	
+	// real address of frame word 'offset' for writing, -1 if not in the frame's first page
+	private static int _localWriteAddress(int offset) {
+		int lp = Cpu.lengthenPointer(Cpu.LF);
+		if (lp == _lfWriteLp && offset < _lfWriteLimit) {
+			return _lfWriteBase + offset;
+		}
+		int inPage = lp & 0x000000FF;
+		if (inPage + offset >= PrincOpsDefs.WORDS_PER_PAGE) {
+			return -1;
+		}
+		_lfWriteBase = getWriteRealPage(lp & 0xFFFFFF00) | inPage;
+		_lfWriteLimit = PrincOpsDefs.WORDS_PER_PAGE - inPage;
+		_lfWriteLp = lp;
+		return _lfWriteBase + offset;
+	}
+	
+	// real address of frame word 'offset' for reading, -1 if not in the frame's first page
+	private static int _globalReadAddress(int gf, int offset) {
+		if (gf == _gfReadLp && offset < _gfReadLimit) {
+			return _gfReadBase + offset;
+		}
+		int inPage = gf & 0x000000FF;
+		if (inPage + offset >= PrincOpsDefs.WORDS_PER_PAGE) {
+			return -1;
+		}
+		_gfReadBase = getReadRealPage(gf & 0xFFFFFF00) | inPage;
+		_gfReadLimit = PrincOpsDefs.WORDS_PER_PAGE - inPage;
+		_gfReadLp = gf;
+		return _gfReadBase + offset;
+	}
+	
+	// real address of frame word 'offset' for writing, -1 if not in the frame's first page
+	private static int _globalWriteAddress(int gf, int offset) {
+		if (gf == _gfWriteLp && offset < _gfWriteLimit) {
+			return _gfWriteBase + offset;
+		}
+		int inPage = gf & 0x000000FF;
+		if (inPage + offset >= PrincOpsDefs.WORDS_PER_PAGE) {
+			return -1;
+		}
+		_gfWriteBase = getWriteRealPage(gf & 0xFFFFFF00) | inPage;
+		_gfWriteLimit = PrincOpsDefs.WORDS_PER_PAGE - inPage;
+		_gfWriteLp = gf;
+		return _gfWriteBase + offset;
+	}
+	
+	/**
+	 * Read the word at {@code offset} in the current local frame,
+	 * this is equivalent to {@code readMDSWord(Cpu.LF, offset)}.
+	 */
+	public static short readLocalWord(int offset) {
+		if (USE_FRAME_CACHE) {
+			int realAddr = _localReadAddress(offset);
+			if (realAddr >= 0) { return mem.read(realAddr); }
+		}
+		return readMDSWord(Cpu.LF, offset);
+	}
+	
+	/**
+	 * Write the word at {@code offset} in the current local frame,
+	 * this is equivalent to {@code writeMDSWord(Cpu.LF, offset, value)}.
+	 */
+	public static void writeLocalWord(int offset, short value) {
+		if (USE_FRAME_CACHE) {
+			int realAddr = _localWriteAddress(offset);
+			if (realAddr >= 0) { mem.write(realAddr, value); return; }
+		}
+		writeMDSWord(Cpu.LF, offset, value);
+	}
+	
+	/**
+	 * Read the word at {@code offset} in the current global frame (PrincOps after 4.0),
+	 * this is equivalent to {@code readWord(Cpu.GF32 + offset)}.
+	 */
+	public static short readGlobalWord(int offset) {
+		if (USE_FRAME_CACHE) {
+			int realAddr = _globalReadAddress(Cpu.GF32, offset);
+			if (realAddr >= 0) { return mem.read(realAddr); }
+		}
+		return readWord(Cpu.GF32 + offset);
+	}
+	
+	/**
+	 * Write the word at {@code offset} in the current global frame (PrincOps after 4.0),
+	 * this is equivalent to {@code writeWord(Cpu.GF32 + offset, value)}.
+	 */
+	public static void writeGlobalWord(int offset, short value) {
+		if (USE_FRAME_CACHE) {
+			int realAddr = _globalWriteAddress(Cpu.GF32, offset);
+			if (realAddr >= 0) { mem.write(realAddr, value); return; }
+		}
+		writeWord(Cpu.GF32 + offset, value);
+	}
+	
+	/**
+	 * Read the word at {@code offset} in the current global frame (PrincOps up to 4.0),
+	 * this is equivalent to {@code readMDSWord(Cpu.GF16, offset)}.
+	 */
+	public static short readMDSGlobalWord(int offset) {
+		if (USE_FRAME_CACHE) {
+			int realAddr = _globalReadAddress(Cpu.lengthenPointer(Cpu.GF16), offset);
+			if (realAddr >= 0) { return mem.read(realAddr); }
+		}
+		return readMDSWord(Cpu.GF16, offset);
+	}
+	
+	/**
+	 * Write the word at {@code offset} in the current global frame (PrincOps up to 4.0),
+	 * this is equivalent to {@code writeMDSWord(Cpu.GF16, offset, value)}.
+	 */
+	public static void writeMDSGlobalWord(int offset, short value) {
+		if (USE_FRAME_CACHE) {
+			int realAddr = _globalWriteAddress(Cpu.lengthenPointer(Cpu.GF16), offset);
+			if (realAddr >= 0) { mem.write(realAddr, value); return; }
+		}
+		writeMDSWord(Cpu.GF16, offset, value);
+	}
+	
+	/**
+	 * Read the allocation vector item for {@code fsi},
+	 * this is equivalent to {@code readMDSWord(PrincOpsDefs.mALLOCATION_VECTOR, fsi)}.
+	 */
+	public static short readAVWord(int fsi) {
+		if (USE_FRAME_CACHE) {
+			int lp = Cpu.lengthenPointer(PrincOpsDefs.mALLOCATION_VECTOR);
+			if (lp != _avReadLp) {
+				_avReadBase = getReadRealPage(lp & 0xFFFFFF00) | (lp & 0x000000FF);
+				_avReadLp = lp;
+			}
+			return mem.read(_avReadBase + (fsi & 0x00FF));
+		}
+		return readMDSWord(PrincOpsDefs.mALLOCATION_VECTOR, fsi);
+	}
+	
+	/**
+	 * Write the allocation vector item for {@code fsi},
+	 * this is equivalent to {@code writeMDSWord(PrincOpsDefs.mALLOCATION_VECTOR, fsi, value)}.
+	 */
+	public static void writeAVWord(int fsi, short value) {
+		if (USE_FRAME_CACHE) {
+			int lp = Cpu.lengthenPointer(PrincOpsDefs.mALLOCATION_VECTOR);
+			if (lp != _avWriteLp) {
+				_avWriteBase = getWriteRealPage(lp & 0xFFFFFF00) | (lp & 0x000000FF);
+				_avWriteLp = lp;
+			}
+			mem.write(_avWriteBase + (fsi & 0x00FF), value);
+			return;
+		}
+		writeMDSWord(PrincOpsDefs.mALLOCATION_VECTOR, fsi, value);
+	}
+	
 	/*
 	 * code access (with caching)
 	 */
@@ -965,7 +1488,7 @@ public class Mem {
 		int rPtr = getRealAddress(vPage, false) | (vPtr & 0x000000FF); 
 		boolean isHighByte = (pc & 0x0001) == 0;
 		
-		int codeWord = mem[rPtr];
+		int codeWord = mem.read(rPtr);
 		if (isHighByte) {
 			return (codeWord >> 8) & 0x00FF;
 		} else {
@@ -980,13 +1503,14 @@ public class Mem {
 		boolean isHighByte = (pc & 0x0001) == 0;
 		
 		codeByte &= 0x00FF;
-		int codeWord = mem[rPtr];
+		int codeWord = mem.read(rPtr);
 		if (isHighByte) {
 			codeWord = (codeByte << 8) | (codeWord & 0x00FF);
 		} else {
 			codeWord = (codeWord & 0xFF00) | codeByte;
 		}
-		mem[rPtr] = (short)codeWord;
+		mem.write(rPtr, (short)codeWord);
+		dropDecodedCodePage(rPtr & 0xFFFFFF00);
 	}
 	
 	private static int _lastCodeVpageRead = 0;
@@ -995,10 +1519,10 @@ public class Mem {
 	private static short _readLengthenedCodeWord(int ptr) {
 		int vPage = ptr & 0xFFFFFF00;
 		if (vPage != _lastCodeVpageRead) {
-			_lastCodeRpageRead = getRealAddress(vPage, false);
+			_lastCodeRpageRead = getReadRealPage(vPage);
 			_lastCodeVpageRead = vPage;
 		} 
-		return mem[_lastCodeRpageRead | (ptr & 0x000000FF)];
+		return mem.read(_lastCodeRpageRead | (ptr & 0x000000FF));
 	}
 	
 	public static int /* 0..255 */ getNextCodeByte() {
@@ -1040,6 +1564,88 @@ public class Mem {
 		return _readLengthenedCodeWord(Cpu.CB + (offset & 0xFFFF)); // let offset wrap inside the 64K-block
 	}
 	
+	/*
+	 * pre-decoded code (with caching)
+	 * 
+	 * The decoded instruction starts are held per real page, with one slot per code byte,
+	 * so remapping a virtual page only requires forgetting the current decoded page, but any
+	 * write to the real page through the memory access functions drops the decoded slots.
+	 * A slot contains 0 if not yet decoded, else DECODED_OPC or DECODED_ESC combined with the
+	 * regular resp. the ESC(L)-relative opcode, or DECODED_FUSED combined with the index of
+	 * the superinstruction replacing the instruction pair starting at this slot. An ESC(L) as
+	 * last byte of a page is decoded as regular opcode, letting the ESC(L) sub-dispatcher fetch
+	 * the opcode from the next page, and instruction pairs are only fused inside a page.
+	 */
+	
+	public static final int DECODED_OPC = 0x0100;
+	public static final int DECODED_ESC = 0x0200;
+	public static final int DECODED_FUSED = 0x0400;
+	
+	private static short[][] decodedCodePages;
+	
+	private static int _lastDecodedVpage = -1;
+	private static int _lastDecodedRpage = 0;
+	private static short[] _lastDecodedSlots = null;
+	
+	private static void dropDecodedCodePage(int realBasePointer) {
+		decodedCodePages[realBasePointer >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE] = null;
+		if (_lastDecodedRpage == realBasePointer) { _lastDecodedVpage = -1; }
+	}
+	
+	/**
+	 * Drop all pre-decoded code pages, so the code is decoded again with the
+	 * current instruction implementations (superinstructions) when executed next.
+	 */
+	public static void dropDecodedCodePages() {
+		if (decodedCodePages != null) {
+			Arrays.fill(decodedCodePages, null);
+		}
+		newMapEpoch();
+	}
+	
+	private static int _getDecodedCodeByte(int slot) {
+		int codeWord = mem.read(_lastDecodedRpage | (slot >>> 1));
+		return ((slot & 0x0001) == 0) ? (codeWord >>> 8) & 0x00FF : codeWord & 0x00FF;
+	}
+	
+	public static int getNextDecodedInstruction() {
+		int ptr = Cpu.CB + (Cpu.PC >> 1);
+		int vPage = ptr & 0xFFFFFF00;
+		if (vPage != _lastDecodedVpage) {
+			int rPage = getReadRealPage(vPage);
+			short[] slots = decodedCodePages[rPage >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE];
+			if (slots == null) {
+				slots = new short[PrincOpsDefs.WORDS_PER_PAGE * 2];
+				decodedCodePages[rPage >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE] = slots;
+				// let the next write to this real page pass getRealAddress(), which drops the decoded slots
+				newMapEpoch();
+			}
+			_lastDecodedSlots = slots;
+			_lastDecodedRpage = rPage;
+			_lastDecodedVpage = vPage;
+		}
+		
+		int slot = ((ptr & 0x000000FF) << 1) | (Cpu.PC & 0x0001);
+		int decoded = _lastDecodedSlots[slot];
+		if (decoded == 0) {
+			int opcode = _getDecodedCodeByte(slot);
+			if ((opcode == Opcodes.zESC || opcode == Opcodes.zESCL) && slot < (_lastDecodedSlots.length - 1)) {
+				decoded = DECODED_ESC | _getDecodedCodeByte(slot + 1);
+			} else {
+				decoded = DECODED_OPC | opcode;
+				int firstLength = Opcodes.getFusedFirstLength(opcode);
+				if (firstLength > 0 && (slot + firstLength) < _lastDecodedSlots.length) {
+					int fused = Opcodes.getFusedInstruction(opcode, _getDecodedCodeByte(slot + firstLength));
+					if (fused >= 0) {
+						decoded = DECODED_FUSED | fused;
+					}
+				}
+			}
+			_lastDecodedSlots[slot] = (short)decoded;
+		}
+		return decoded;
+	}
+	
 	/*
 	 * String access
 	 */
@@ -1127,14 +1733,21 @@ public class Mem {
 			setMap("mapDisplayMemory", toVirtualPage + i, realDispMem + i, PrincOpsDefs.MAPFLAGS_CLEAR, true); 
 		}
 		displayFirstMappedVirtualPage = toVirtualPage;
+		setDisplayVirtualRange();
 		
+//		System.out.printf("## mapDisplayMemory => vDisplayFrom = 0x%08X, vDisplayTo = 0x%08X, displayWordsPerLine = %d\n", 
+//				vDisplayFrom, vDisplayTo, displayWordsPerLine);
+	}
+	
+	private static void setDisplayVirtualRange() {
 		vDisplayFrom = displayFirstMappedVirtualPage * PrincOpsDefs.WORDS_PER_PAGE;
 		vDisplayTo = (displayFirstMappedVirtualPage + displayPageSize) * PrincOpsDefs.WORDS_PER_PAGE;
 		pixelsPerWord = (activeDisplayType == DisplayType.byteColor) ? 2 : 16;
 		displayWordsPerLine = effectivePixelsPerLine / pixelsPerWord;
-		
-//		System.out.printf("## mapDisplayMemory => vDisplayFrom = 0x%08X, vDisplayTo = 0x%08X, displayWordsPerLine = %d\n", 
-//				vDisplayFrom, vDisplayTo, displayWordsPerLine);
+		if (displayFirstMappedVirtualPage == 0) {
+			vDisplayFrom = 0;
+			vDisplayTo = 0;
+		}
 	}
 	
 	public static boolean isInDisplayMemory(int vAddr) {
@@ -1154,7 +1767,11 @@ public class Mem {
 		return (wordOffset * pixelsPerWord) + (pixelOffset % pixelsPerWord);
 	}
 	
-	public static short[] getDisplayRealMemory() {
+	public static iRealMemory getDisplayRealMemory() {
+		return mem;
+	}
+	
+	public static iRealMemory getRealMemory() {
 		return mem;
 	}
 	
@@ -1184,6 +1801,10 @@ public class Mem {
 		return displayPixelHeight;
 	}
 	
+	public static int getDisplayPixelsPerLine() {
+		return effectivePixelsPerLine;
+	}
+	
 	public static void setDisplayMemoryDirty() {
 		if (displayFirstMappedVirtualPage == 0) { return; } // display memory yet not mapped
 		for (int i = 0; i < displayPageSize; i++) {
@@ -1193,15 +1814,126 @@ public class Mem {
 	
 	public static void resetDisplayPagesFlags() {
 		if (displayFirstMappedVirtualPage == 0) { return; }
-		int currAddr = displayFirstMappedVirtualPage;
 		int currPage = displayFirstMappedVirtualPage;
 		for (int i = 0; i < displayPageSize; i++) {
-			if (currAddr != _lastLpVpageWritten) {
-				pageFlags[currPage] = PrincOpsDefs.MAPFLAGS_CLEAR;
-			}
-			currAddr += PrincOpsDefs.WORDS_PER_PAGE;
+			pageFlags[currPage] = PrincOpsDefs.MAPFLAGS_CLEAR;
 			currPage++;
 		}
+		displayCopyAreaCount = 0;
+		newMapEpoch(); // next writes to the display pages must set the dirty flag again
+	}
+	
+	/*
+	 * display copy areas: block moves inside the display memory (e.g. scrolling or
+	 * dragging a window) done by BITBLT, which are passed to the UI for shifting its
+	 * pixelmap instead of transferring the modified display pages again.
+	 * 
+	 * A copy area can only be passed if the source pages are unchanged since the last UI
+	 * refresh (so the UI pixelmap has the source content after replaying the previous copy
+	 * areas). The destination pages that were unchanged before the block move get their
+	 * dirty flag reset, as the UI gets their new content by replaying the copy area.
+	 */
+	
+	private static final int DISPLAY_COPY_AREAS_MAX = 32;
+	private static final int DISPLAY_COPY_AREA_INTS = 6; // srcX, srcY, dstX, dstY, width, height
+	
+	private static final int[] displayCopyAreas = new int[DISPLAY_COPY_AREAS_MAX * DISPLAY_COPY_AREA_INTS];
+	private static int displayCopyAreaCount = 0;
+	private static boolean displayCopyAreasEnabled = false;
+	
+	private static boolean[] displayCopyDstPageWasDirty = new boolean[0];
+	
+	/**
+	 * Allow or disallow passing block moves in the display memory as copy areas
+	 * (only possible if an UI is present to replay the copy areas).
+	 * 
+	 * @param enabled can copy areas be passed to the UI?
+	 */
+	public static void enableDisplayCopyAreas(boolean enabled) {
+		displayCopyAreasEnabled = enabled;
+		displayCopyAreaCount = 0;
+	}
+	
+	public static boolean isDisplayCopyAreasEnabled() {
+		return displayCopyAreasEnabled;
+	}
+	
+	/**
+	 * Check if a block move in the display memory can be passed as copy area and
+	 * remember the dirty state of the destination pages before the block move.
+	 * 
+	 * @param srcFirst virtual address of the first source word
+	 * @param srcLast virtual address of the last source word
+	 * @param dstFirst virtual address of the first destination word
+	 * @param dstLast virtual address of the last destination word
+	 * @return {@code true} if {@code endDisplayCopyArea()} can be invoked when the
+	 *   block move is done
+	 */
+	public static boolean beginDisplayCopyArea(int srcFirst, int srcLast, int dstFirst, int dstLast) {
+		if (!displayCopyAreasEnabled || displayCopyAreaCount >= DISPLAY_COPY_AREAS_MAX) { return false; }
+		if (!isInDisplayMemory(srcFirst) || !isInDisplayMemory(srcLast)
+			|| !isInDisplayMemory(dstFirst) || !isInDisplayMemory(dstLast)) {
+			return false;
+		}
+		int srcLastPage = srcLast >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE;
+		for (int page = srcFirst >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE; page <= srcLastPage; page++) {
+			if (!isMappedDisplayPage(page) || (pageFlags[page] & PrincOpsDefs.MAPFLAGS_DIRTY) != 0) { return false; }
+		}
+		if (displayCopyDstPageWasDirty.length != displayPageSize) {
+			displayCopyDstPageWasDirty = new boolean[displayPageSize];
+		}
+		int dstLastPage = dstLast >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE;
+		for (int page = dstFirst >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE; page <= dstLastPage; page++) {
+			if (!isMappedDisplayPage(page)) { return false; }
+			displayCopyDstPageWasDirty[page - displayFirstMappedVirtualPage] = (pageFlags[page] & PrincOpsDefs.MAPFLAGS_DIRTY) != 0;
+		}
+		return true;
+	}
+	
+	// is the virtual page still mapped to the corresponding page of the display memory?
+	private static boolean isMappedDisplayPage(int vPage) {
+		int rPage = displayFirstRealPage + (vPage - displayFirstMappedVirtualPage);
+		return pageMap[vPage] == (rPage << PrincOpsDefs.ADDRESSBITS_IN_PAGE);
+	}
+	
+	/**
+	 * Register a block move in the display memory as copy area after it was done, resetting
+	 * the dirty flag of the destination pages that were unchanged before the block move.
+	 * 
+	 * @param srcX pixel x coordinate of the source rectangle
+	 * @param srcY pixel y coordinate of the source rectangle
+	 * @param dstX pixel x coordinate of the destination rectangle
+	 * @param dstY pixel y coordinate of the destination rectangle
+	 * @param width pixel width of the rectangle
+	 * @param height pixel height of the rectangle
+	 * @param dstFirst virtual address of the first destination word
+	 * @param dstLast virtual address of the last destination word
+	 */
+	public static void endDisplayCopyArea(int srcX, int srcY, int dstX, int dstY, int width, int height, int dstFirst, int dstLast) {
+		int dstLastPage = dstLast >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE;
+		for (int page = dstFirst >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE; page <= dstLastPage; page++) {
+			if (!displayCopyDstPageWasDirty[page - displayFirstMappedVirtualPage]) {
+				pageFlags[page] &= ~PrincOpsDefs.MAPFLAGS_DIRTY;
+			}
+		}
+		newMapEpoch(); // next writes to the destination pages must set the dirty flag again
+		
+		int idx = displayCopyAreaCount * DISPLAY_COPY_AREA_INTS;
+		displayCopyAreas[idx++] = srcX;
+		displayCopyAreas[idx++] = srcY;
+		displayCopyAreas[idx++] = dstX;
+		displayCopyAreas[idx++] = dstY;
+		displayCopyAreas[idx++] = width;
+		displayCopyAreas[idx] = height;
+		displayCopyAreaCount++;
+	}
+	
+	public static int[] getDisplayCopyAreas() {
+		return displayCopyAreas;
+	}
+	
+	public static int getDisplayCopyAreaCount() {
+		return displayCopyAreaCount;
 	}
 	
 	public static boolean locateRealDisplayMemoryInVMMap() {
@@ -1211,6 +1943,7 @@ public class Mem {
 			if (pageMap[page] == displayMemBaseAddress) {
 				// we found the location of the display in virtual memory
 				displayFirstMappedVirtualPage = page;
+				setDisplayVirtualRange();
 				// make sure the screen is refreshed (e.g. after display is turned on after a world-swap)
 				for (int i = 0; i < displayPageSize; i++) {
 					pageFlags[displayFirstMappedVirtualPage + i] |= PrincOpsDefs.MAPFLAGS_DIRTY;
@@ -1218,6 +1951,246 @@ public class Mem {
 				return true;
 			}
 		}
+		setDisplayVirtualRange();
 		return false;
 	}
+	
+	/*
+	 * snapshot support
+	 */
+	
+	/**
+	 * @return the number of words of the real memory (including the display memory),
+	 * 		i.e. the size of the real memory image in a snapshot
+	 */
+	public static int getRealMemoryWords() {
+		return mem.size();
+	}
+	
+	// size of the chunks for copying the real memory from resp. to a snapshot
+	private static final int SNAPSHOT_CHUNK_WORDS = 32768;
+	
+	/**
+	 * Write the real memory (including the display memory) as image for a snapshot
+	 * of the machine, as {@code getRealMemoryWords()} big-endian words.
+	 * 
+	 * @param image target for the real memory content
+	 * @throws IOException in case of write problems
+	 */
+	public static void saveRealMemory(DataOutput image) throws IOException {
+		short[] chunk = new short[SNAPSHOT_CHUNK_WORDS];
+		int pos = 0;
+		while(pos < mem.size()) {
+			int count = Math.min(mem.size() - pos, chunk.length);
+			mem.get(pos, chunk, 0, count);
+			Snapshot.writeWords(image, chunk, count);
+			pos += count;
+		}
+	}
+	
+	/**
+	 * Load the real memory (including the display memory) from the image in a
+	 * snapshot, to be followed by {@code restoreState()} for the virtual memory map.
+	 * <br>
+	 * If the real memory is allocated outside of the Java heap and not mapped to
+	 * a file and the image is writable, the image itself becomes the real memory,
+	 * so the image should be a copy-on-write mapping of the snapshot file: machines
+	 * resuming from the same snapshot file then share the pages not modified since
+	 * resuming.
+	 * 
+	 * @param image the real memory image of the snapshot (big-endian words),
+	 * 		usually mapped from the snapshot file
+	 * @throws IOException if the image size does not match the machine memory
+	 */
+	public static void restoreRealMemory(ByteBuffer image) throws IOException {
+		if (image.remaining() != mem.size() * 2) {
+			throw new IOException("memory size in snapshot does not match the machine memory");
+		}
+		ShortBuffer words = image.order(ByteOrder.BIG_ENDIAN).asShortBuffer();
+		if (offHeapRealMemory && realMemoryFile == null && !image.isReadOnly()) {
+			mem = new BufferRealMemory(words);
+			return;
+		}
+		short[] chunk = new short[SNAPSHOT_CHUNK_WORDS];
+		int pos = 0;
+		while(words.hasRemaining()) {
+			int count = Math.min(words.remaining(), chunk.length);
+			words.get(chunk, 0, count);
+			mem.put(chunk, 0, pos, count);
+			pos += count;
+		}
+	}
+	
+	/**
+	 * Write the virtual memory map for a snapshot of the machine (the real memory is
+	 * written separately as image by {@code saveRealMemory()}).
+	 * 
+	 * @param state target for the memory map state
+	 * @throws IOException in case of write problems
+	 */
+	public static void saveState(DataOutput state) throws IOException {
+		state.writeInt(pageMap.length);
+		Snapshot.writeInts(state, pageMap);
+		Snapshot.writeWords(state, pageFlags);
+		state.writeInt(displayFirstMappedVirtualPage);
+	}
+	
+	/**
+	 * Restore the virtual memory map from a snapshot after the real memory was loaded
+	 * with {@code restoreRealMemory()}, dropping all data derived from the previous
+	 * memory content (cached translations, pre-decoded code pages, copy areas) and
+	 * requesting a refresh of the whole screen by the UI.
+	 * 
+	 * @param state source for the memory map state
+	 * @throws IOException in case of read problems or if the map size does not match
+	 */
+	public static void restoreState(DataInput state) throws IOException {
+		int pageMapLength = state.readInt();
+		if (pageMapLength != pageMap.length) {
+			throw new IOException("memory map size in snapshot does not match the machine memory");
+		}
+		Snapshot.readInts(state, pageMap);
+		Snapshot.readWords(state, pageFlags);
+		displayFirstMappedVirtualPage = state.readInt();
+		
+		dropDecodedCodePages();
+		setDisplayVirtualRange();
+		displayCopyAreaCount = 0;
+		
+		// make sure the UI gets the complete screen content of the snapshot
+		if (displayFirstMappedVirtualPage != 0) {
+			for (int i = 0; i < displayPageSize; i++) {
+				pageFlags[displayFirstMappedVirtualPage + i] |= PrincOpsDefs.MAPFLAGS_DIRTY;
+			}
+		}
+	}
+
+	/*
+	 * real memory backends
+	 */
+	
+	/**
+	 * Real memory as word array on the Java heap.
+	 */
+	private static final class HeapRealMemory implements iRealMemory {
+		
+		private final short[] words;
+		
+		private HeapRealMemory(short[] words) {
+			this.words = words;
+		}
+		
+		@Override
+		public int size() {
+			return this.words.length;
+		}
+		
+		@Override
+		public short read(int realAddress) {
+			return this.words[realAddress];
+		}
+		
+		@Override
+		public void write(int realAddress, short value) {
+			this.words[realAddress] = value;
+		}
+		
+		@Override
+		public void copy(int from, int to, int count) {
+			System.arraycopy(this.words, from, this.words, to, count);
+		}
+		
+		@Override
+		public void fill(int from, int to, short value) {
+			Arrays.fill(this.words, from, to, value);
+		}
+		
+		@Override
+		public void get(int realAddress, short[] to, int toOffset, int count) {
+			System.arraycopy(this.words, realAddress, to, toOffset, count);
+		}
+		
+		@Override
+		public void put(short[] from, int fromOffset, int realAddress, int count) {
+			System.arraycopy(from, fromOffset, this.words, realAddress, count);
+		}
+	
+	}
+	
+	/**
+	 * Real memory outside of the Java heap, as direct buffer or memory-mapped file.
+	 * <br>
+	 * The buffer is only accessed with absolute indexes resp. through duplicates,
+	 * so the band workers of BITBLT can access the real memory concurrently.
+	 */
+	private static final class BufferRealMemory implements iRealMemory {
+		
+		private final ShortBuffer words;
+		
+		private final int size;
+		
+		private BufferRealMemory(ShortBuffer words) {
+			this.words = words;
+			this.size = words.capacity();
+		}
+		
+		@Override
+		public int size() {
+			return this.size;
+		}
+		
+		@Override
+		public short read(int realAddress) {
+			return this.words.get(realAddress);
+		}
+		
+		@Override
+		public void write(int realAddress, short value) {
+			this.words.put(realAddress, value);
+		}
+		
+		@Override
+		public void copy(int from, int to, int count) {
+			if (to > from && to < from + count) {
+				// overlapping destination above the source: copy from the end
+				for (int i = count - 1; i >= 0; i--) {
+					this.words.put(to + i, this.words.get(from + i));
+				}
+			} else if (to < from && from < to + count) {
+				// overlapping destination below the source: copy from the start
+				for (int i = 0; i < count; i++) {
+					this.words.put(to + i, this.words.get(from + i));
+				}
+			} else {
+				ShortBuffer src = this.words.duplicate();
+				src.limit(from + count);
+				src.position(from);
+				ShortBuffer dst = this.words.duplicate();
+				dst.position(to);
+				dst.put(src);
+			}
+		}
+		
+		@Override
+		public void fill(int from, int to, short value) {
+			for (int i = from; i < to; i++) {
+				this.words.put(i, value);
+			}
+		}
+		
+		@Override
+		public void get(int realAddress, short[] to, int toOffset, int count) {
+			ShortBuffer src = this.words.duplicate();
+			src.position(realAddress);
+			src.get(to, toOffset, count);
+		}
+		
+		@Override
+		public void put(short[] from, int fromOffset, int realAddress, int count) {
+			ShortBuffer dst = this.words.duplicate();
+			dst.position(realAddress);
+			dst.put(from, fromOffset, count);
+		}
+	
+	}
 }
\ No newline at end of file
@@ -27,8 +27,11 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package dev.hawala.dmachine.engine;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import dev.hawala.dmachine.engine.opcodes.Ch03_Memory_Organization;
 import dev.hawala.dmachine.engine.opcodes.Ch05_Stack_Instructions;
@@ -37,6 +40,7 @@ import dev.hawala.dmachine.engine.opcodes.Ch07_Assignment_Instructions;
 import dev.hawala.dmachine.engine.opcodes.Ch08_Block_Transfers;
 import dev.hawala.dmachine.engine.opcodes.Ch09_Control_Transfers;
 import dev.hawala.dmachine.engine.opcodes.Ch10_Processes;
+import dev.hawala.dmachine.engine.opcodes.ChXX_Superinstructions;
 import dev.hawala.dmachine.engine.opcodes.ChXX_Undocumented;
 
 /**
@@ -151,7 +155,7 @@ public class Opcodes {
 	//      (at least "normal" file system for development environments and jar files
 	//      when the application is packaged, possibly more for Java9 and Java10 etc.)
 	//   A class scanner was in fact used for some time, but see a) ... 
-    private static final List<Class<?>> classes = Arrays.asList( // findClass(OPCODE_PACKAGE);
+    static final List<Class<?>> classes = Arrays.asList( // findClass(OPCODE_PACKAGE);
     			Ch03_Memory_Organization.class,
     			Ch05_Stack_Instructions.class,
     			Ch06_Jump_Instructions.class,
@@ -166,6 +170,27 @@ public class Opcodes {
 	private static final OpImpl[] opcTable = new OpImpl[256];
 	private static final OpImpl[] escTable = new OpImpl[256];
 	
+	// the regular instructions that only work on the evaluation stack and memory (i.e. not
+	// transferring control or changing the processor state), allowing to execute the
+	// instruction following them in the same superinstruction
+	private static final boolean[] opcStraightLine = new boolean[256];
+	
+	// the instruction chapters providing straight-line instructions
+	private static final List<Class<?>> straightLineClasses = Arrays.asList(
+				Ch05_Stack_Instructions.class,
+				Ch07_Assignment_Instructions.class
+			);
+	
+	// the number of operand bytes of the regular instructions (as given by the arglogspec)
+	private static final int[] opcOperandBytes = new int[256];
+	
+	// the superinstructions for regular instruction pairs and the lookup for instruction pairs,
+	// with the instruction length of an instruction starting a superinstruction (0 if none)
+	private static final OpImpl[] fusedTable = new OpImpl[256];
+	private static final int[] fusedLookup = new int[256 * 256];
+	private static final int[] fusedFirstLength = new int[256];
+	private static int fusedCount = 0;
+	
 	// the instruction names for regular and ESC(L) instructions
 	public static final String[] opcNames = new String[256];
 	public static final String[] escNames = new String[256];
@@ -174,27 +199,293 @@ public class Opcodes {
 	public static final int zESC = 0xF8;
 	public static final int zESCL = 0xF9;
 	
+	// flag marking ESC(L)-relative opcodes in instruction sequence profiling
+	private static final int ESC_PROFILE_CODE = 0x0100;
+	
 	/**
 	 * Dispatch an instruction code for execution 
 	 * @param opcode the instruction code to dispatch
 	 */
 	public static void dispatch(int opcode) {
-		opcTable[opcode].execute();
+		if (Config.PROFILE_OPCODE_SEQUENCES && opcode != zESC && opcode != zESCL) {
+			profileInstruction(opcode);
+		}
+		executeOpc(opcode);
+	}
+	
+	// execute an instruction through the dispatch tables or the switch-based dispatcher
+	private static void executeOpc(int opcode) {
+		if (Config.USE_SWITCH_DISPATCH) {
+			SwitchDispatcher.executeOpc(opcode, opcTable[opcode]);
+		} else {
+			opcTable[opcode].execute();
+		}
+	}
+	
+	private static void executeEsc(int escOpcode) {
+		if (Config.USE_SWITCH_DISPATCH) {
+			SwitchDispatcher.executeEsc(escOpcode, escTable[escOpcode]);
+		} else {
+			escTable[escOpcode].execute();
+		}
+	}
+	
+	/**
+	 * Dispatch the instruction at the current PC for execution, using
+	 * the pre-decoded code page to bypass the code byte fetch and the ESC(L)
+	 * sub-dispatch if the instruction was already decoded.
+	 */
+	public static void dispatchDecoded() {
+		int decoded = Mem.getNextDecodedInstruction();
+		if (decoded >= Mem.DECODED_FUSED) {
+			fusedTable[decoded & 0x00FF].execute();
+		} else if (decoded >= Mem.DECODED_ESC) {
+			Cpu.PC += 2;
+			executeEsc(decoded & 0x00FF);
+		} else {
+			Cpu.PC++;
+			executeOpc(decoded & 0x00FF);
+		}
+	}
+	
+	/**
+	 * Switch from the first to the second instruction in a superinstruction, setting
+	 * up the processor state as the interpreter loop does before dispatching the
+	 * second instruction (see class ChXX_Superinstructions).
+	 */
+	public static void nextFusedInstruction() {
+		Cpu.savedPC = Cpu.PC;
+		Cpu.savedSP = Cpu.SP;
+		Cpu.insns++;
+		Cpu.PC++;
+	}
+	
+	/**
+	 * Get the instruction length of a regular instruction if a superinstruction
+	 * starts with this instruction.
+	 * 
+	 * @param opcode the regular instruction code
+	 * @return the length in code bytes of the instruction or 0 if no
+	 *   superinstruction starts with this instruction
+	 */
+	public static int getFusedFirstLength(int opcode) {
+		return fusedFirstLength[opcode];
+	}
+	
+	/**
+	 * Get the superinstruction for a pair of regular instructions.
+	 * 
+	 * @param first the first regular instruction code
+	 * @param second the second regular instruction code
+	 * @return the index of the superinstruction or -1 if there is no superinstruction
+	 *   for this instruction pair.
+	 */
+	public static int getFusedInstruction(int first, int second) {
+		return fusedLookup[(first << 8) | second] - 1;
 	}
 	
 	// the sub-dispatches for ESC(L) instructions
 	private static final OpImpl opEscImpl = () -> {
-		escTable[Mem.getNextCodeByte()].execute();
+		int escOpcode = Mem.getNextCodeByte();
+		if (Config.PROFILE_OPCODE_SEQUENCES) {
+			profileInstruction(ESC_PROFILE_CODE | escOpcode);
+		}
+		executeEsc(escOpcode);
 	};
 	
+	/*
+	 * instruction sequence profiling (see Config.PROFILE_OPCODE_SEQUENCES)
+	 * 
+	 * instructions are profiled with their regular opcode or with the ESC(L)-relative
+	 * opcode combined with ESC_PROFILE_CODE (ESC and ESCL are not distinguished).
+	 */
+	
+	private static final long[] profilePairs = new long[512 * 512];
+	private static final Map<Integer,long[]> profileTriples = new HashMap<>();
+	private static int profilePrev1 = -1;
+	private static int profilePrev2 = -1;
+	
+	private static void profileInstruction(int code) {
+		if (profilePrev1 >= 0) {
+			profilePairs[(profilePrev1 << 9) | code]++;
+			if (profilePrev2 >= 0) {
+				int tripleKey = (profilePrev2 << 18) | (profilePrev1 << 9) | code;
+				long[] counter = profileTriples.get(tripleKey);
+				if (counter == null) {
+					counter = new long[1];
+					profileTriples.put(tripleKey, counter);
+				}
+				counter[0]++;
+			}
+		}
+		profilePrev2 = profilePrev1;
+		profilePrev1 = code;
+	}
+	
+	private static String getProfiledName(int code) {
+		return ((code & ESC_PROFILE_CODE) != 0) ? escNames[code & 0x00FF] : opcNames[code];
+	}
+	
+	/**
+	 * Dump the most frequent instruction pairs and triples counted
+	 * if instruction sequence profiling is enabled.
+	 * 
+	 * @param topCount number of sequences to dump for pairs resp. triples
+	 */
+	public static void dumpSequenceProfile(int topCount) {
+		if (!Config.PROFILE_OPCODE_SEQUENCES) { return; }
+		
+		List<Integer> pairs = new ArrayList<>();
+		for (int i = 0; i < profilePairs.length; i++) {
+			if (profilePairs[i] > 0) { pairs.add(i); }
+		}
+		pairs.sort((a, b) -> Long.compare(profilePairs[b], profilePairs[a]));
+		System.out.printf("\n** most frequent instruction pairs:\n");
+		for (int i = 0; i < Math.min(topCount, pairs.size()); i++) {
+			int pair = pairs.get(i);
+			System.out.printf("   %12d : %s %s\n",
+				profilePairs[pair], getProfiledName(pair >>> 9), getProfiledName(pair & 0x01FF));
+		}
+		
+		List<Integer> triples = new ArrayList<>(profileTriples.keySet());
+		triples.sort((a, b) -> Long.compare(profileTriples.get(b)[0], profileTriples.get(a)[0]));
+		System.out.printf("\n** most frequent instruction triples:\n");
+		for (int i = 0; i < Math.min(topCount, triples.size()); i++) {
+			int triple = triples.get(i);
+			System.out.printf("   %12d : %s %s %s\n",
+				profileTriples.get(triple)[0],
+				getProfiledName(triple >>> 18), getProfiledName((triple >>> 9) & 0x01FF), getProfiledName(triple & 0x01FF));
+		}
+		System.out.println();
+	}
+	
+	/*
+	 * trap profiling
+	 * 
+	 * instructions delegated to the software emulation in Pilot (by an opcode trap
+	 * or an ESC opcode trap) are counted with the same codes as used for sequence
+	 * profiling, together with the number of instructions executed (by all processes)
+	 * from the trap until the trap handler returns. The frame of a trap handler is
+	 * remembered as pending until a RET leaves this frame, with older pending frames
+	 * being dropped if too many traps are nested (or the handler frame was left
+	 * otherwise).
+	 */
+	
+	private static final long[] trapCounts = new long[512];
+	private static final long[] trapInsns = new long[512];
+	
+	private static final int TRAPS_PENDING_MAX = 16;
+	private static final int[] pendingTrapLF = new int[TRAPS_PENDING_MAX];
+	private static final int[] pendingTrapCode = new int[TRAPS_PENDING_MAX];
+	private static final long[] pendingTrapInsns = new long[TRAPS_PENDING_MAX];
+	private static int pendingTraps = 0;
+	
+	/**
+	 * Count a trapped instruction, to be called after the control was
+	 * transferred to the trap handler.
+	 * 
+	 * @param isEsc is {@code code} an ESC(L)-relative opcode?
+	 * @param code the instruction code delegated to the software emulation 
+	 */
+	public static void profileTrap(boolean isEsc, int code) {
+		int profileCode = (isEsc) ? ESC_PROFILE_CODE | (code & 0xFF) : code & 0xFF;
+		trapCounts[profileCode]++;
+		if (pendingTraps == TRAPS_PENDING_MAX) {
+			pendingTraps--;
+			System.arraycopy(pendingTrapLF, 1, pendingTrapLF, 0, pendingTraps);
+			System.arraycopy(pendingTrapCode, 1, pendingTrapCode, 0, pendingTraps);
+			System.arraycopy(pendingTrapInsns, 1, pendingTrapInsns, 0, pendingTraps);
+		}
+		pendingTrapLF[pendingTraps] = Cpu.LF;
+		pendingTrapCode[pendingTraps] = profileCode;
+		pendingTrapInsns[pendingTraps] = Cpu.insns;
+		pendingTraps++;
+	}
+	
+	/**
+	 * Account the instructions of a trap handler if the given frame is
+	 * the frame of a pending trap handler, to be called by RET.
+	 * 
+	 * @param lf the local frame left by a RET
+	 */
+	public static void profileTrapReturn(int lf) {
+		for (int i = pendingTraps - 1; i >= 0; i--) {
+			if (pendingTrapLF[i] == lf) {
+				trapInsns[pendingTrapCode[i]] += Cpu.insns - pendingTrapInsns[i];
+				pendingTraps--;
+				System.arraycopy(pendingTrapLF, i + 1, pendingTrapLF, i, pendingTraps - i);
+				System.arraycopy(pendingTrapCode, i + 1, pendingTrapCode, i, pendingTraps - i);
+				System.arraycopy(pendingTrapInsns, i + 1, pendingTrapInsns, i, pendingTraps - i);
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * @return {@code true} if a trap handler frame may be left by a RET
+	 */
+	public static boolean hasPendingTraps() {
+		return pendingTraps > 0;
+	}
+	
+	/**
+	 * Get the number of trapped executions of an instruction.
+	 * 
+	 * @param isEsc is {@code code} an ESC(L)-relative opcode?
+	 * @param code the instruction code
+	 * @return the number of executions delegated to the software emulation
+	 */
+	public static long getTrapCount(boolean isEsc, int code) {
+		return trapCounts[(isEsc) ? ESC_PROFILE_CODE | (code & 0xFF) : code & 0xFF];
+	}
+	
+	/**
+	 * Get the number of instructions executed by the trap handlers of an instruction.
+	 * 
+	 * @param isEsc is {@code code} an ESC(L)-relative opcode?
+	 * @param code the instruction code
+	 * @return the number of instructions executed from the traps until the handlers returned
+	 */
+	public static long getTrapInstructions(boolean isEsc, int code) {
+		return trapInsns[(isEsc) ? ESC_PROFILE_CODE | (code & 0xFF) : code & 0xFF];
+	}
+	
+	/**
+	 * Dump the trapped instructions with the most instructions executed by
+	 * their trap handlers.
+	 * 
+	 * @param topCount number of instructions to dump
+	 */
+	public static void dumpTrapProfile(int topCount) {
+		List<Integer> codes = new ArrayList<>();
+		for (int i = 0; i < trapCounts.length; i++) {
+			if (trapCounts[i] > 0) { codes.add(i); }
+		}
+		if (codes.isEmpty()) { return; }
+		
+		codes.sort((a, b) -> Long.compare(trapInsns[b], trapInsns[a]));
+		System.out.printf("\n** trapped instructions (count, instructions until return, per trap):\n");
+		for (int i = 0; i < Math.min(topCount, codes.size()); i++) {
+			int code = codes.get(i);
+			System.out.printf("   %12d %14d %10d : %s\n",
+				trapCounts[code], trapInsns[code], trapInsns[code] / trapCounts[code], getProfiledName(code));
+		}
+		System.out.println();
+	}
+	
 	// pre-fill all instruction codes in the dispatch tables
 	// with the instruction traps and "invalid" names
 	private static void prepareOpcodeTables() {
+		Arrays.fill(fusedLookup, 0);
+		fusedCount = 0;
 		for (int i = 0; i < 256; i++) {
 			final int code = i;
 			final String codeName = String.format("INVx%02X", code);
 			opcTable[code] = () -> Cpu.opcodeTrap(code);
 			escTable[code] = () -> Cpu.escOpcodeTrap(code);
+			opcStraightLine[code] = false;
+			opcOperandBytes[code] = 0;
+			fusedFirstLength[code] = 0;
 			opcNames[code] = codeName;
 			escNames[code] = "ESC." + codeName;
 		}
@@ -206,6 +497,54 @@ public class Opcodes {
 	private static void postpareOpcodeTables() {
 		opcTable[zESC] = opEscImpl;
 		opcTable[zESCL] = opEscImpl;
+		if (Config.USE_SUPERINSTRUCTIONS && !Config.LOG_OPCODES) {
+			initializeSuperinstructions();
+		}
+	}
+	
+	// scanner and installer for the superinstructions, which are only
+	// installed if the instructions they combine are also installed
+	private static void initializeSuperinstructions() {
+		for(Field field: ChXX_Superinstructions.class.getDeclaredFields()) {
+			if (!java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
+				continue;
+			}
+			if (!field.getType().isAssignableFrom(OpImpl.class)) {
+				continue;
+			}
+			
+			String fieldName = field.getName();
+			String[] parts = fieldName.split("_");
+			if (parts.length != 5 || !"FUSED".equals(parts[0])) {
+				continue;
+			}
+			try {
+				int first = parseInstrCode(parts[1]);
+				int second = parseInstrCode(parts[2]);
+				if (first < 0 || second < 0) { continue; }
+				if (!parts[3].equals(opcNames[first]) || !parts[4].equals(opcNames[second]) || !opcStraightLine[first]) {
+					System.out.printf("** ERROR :: superinstruction does not match installed instructions: %s\n", fieldName);
+					continue;
+				}
+				if (fusedCount >= fusedTable.length) {
+					System.out.printf("** ERROR :: too many superinstructions, ignored: %s\n", fieldName);
+					continue;
+				}
+				field.setAccessible(true);
+				OpImpl opImpl = (OpImpl)field.get(null);
+				if (opImpl == null) { continue; }
+				if (Config.LOG_OPCODE_INSTALLATION) {
+					System.out.printf("** superinstruction 0x%02X 0x%02X %s\n", first, second, fieldName);
+				}
+				fusedTable[fusedCount] = opImpl;
+				fusedCount++;
+				fusedLookup[(first << 8) | second] = fusedCount;
+				fusedFirstLength[first] = 1 + opcOperandBytes[first];
+			} catch (IllegalArgumentException|IllegalAccessException exc) {
+				// ignored
+				System.out.printf("** ERROR :: failed to parse superinstruction name: %s (%s)\n", fieldName, exc.getMessage());
+			}
+		}
 	}
 	
 	/**
@@ -230,6 +569,16 @@ public class Opcodes {
 			? () -> { Cpu.logOpcode(opname); impl.execute(); }
 			: impl;
 		tblNames[opcode] = opname;
+		if (tblOps == opcTable) {
+			opcStraightLine[opcode] = false;
+			fusedFirstLength[opcode] = 0;
+			for (int i = 0; i < 256; i++) {
+				fusedLookup[(i << 8) | opcode] = 0;
+			}
+			
+			// code already decoded may contain superinstructions fusing the replaced instruction
+			Mem.dropDecodedCodePages();
+		}
 	}
 	
 	/**
@@ -341,6 +690,8 @@ public class Opcodes {
 								opcTable[opcode] = opImpl;
 							}
 							opcNames[opcode] = parts[2];
+							opcStraightLine[opcode] = straightLineClasses.contains(clazz);
+							opcOperandBytes[opcode] = getOperandBytes((parts.length > 3) ? parts[3] : null);
 						} else {
 							if (Config.LOG_OPCODE_INSTALLATION) {
 								System.out.printf("** ESC Opcode %03o (0x%02X) %s\n", opcode, opcode, fieldName);
@@ -379,8 +730,26 @@ public class Opcodes {
 		}
 	}
 	
+	// get the number of operand bytes from the 'arglogspec' part of an instruction variable name
+	private static int getOperandBytes(String argLogSpec) {
+		if (argLogSpec == null) { return 0; }
+		switch(argLogSpec) {
+		case "alpha":
+		case "salpha":
+		case "pair":
+			return 1;
+		case "word":
+		case "sword":
+		case "alphabeta":
+		case "alphasbeta":
+			return 2;
+		default:
+			return 0;
+		}
+	}
+	
 	// parse the 'instrcode' part of an instruction variable name
-	private static int parseInstrCode(String code) {
+	static int parseInstrCode(String code) {
 		if (code == null || code.length() != 3) { return -1; }
 		char c1 = code.charAt(0);
 		char c2 = code.charAt(1);
@@ -29,6 +29,11 @@ package dev.hawala.dmachine.engine;
 import static dev.hawala.dmachine.engine.Mem.readField;
 import static dev.hawala.dmachine.engine.Mem.writeField;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
 import dev.hawala.dmachine.engine.Cpu.MesaAbort;
 import dev.hawala.dmachine.engine.Xfer.XferType;
 
@@ -329,6 +334,9 @@ public class Processes {
 	
 	public static void storePSB_timeout(int index, short value) {
 		writePSBword(index, ProcessStateBlock_timeout, value);
+		if (Config.USE_TIMEOUT_INDEX) {
+			indexTimeout(index, value & 0xFFFF);
+		}
 	}
 	
 	public static short fetchPSB_mds(int index) {
@@ -400,6 +408,10 @@ public class Processes {
 	}
 	
 	private static void dequeue(int src, short psb) {
+		if (Config.USE_READY_QUEUE_SHADOW && src == PDA_LP_header_ready && dequeueReady(psb)) {
+			return;
+		}
+		
 		short queue = 0;
 		int que = src;
 		if (que != 0) { queue = Mem.readWord(que); }
@@ -429,6 +441,10 @@ public class Processes {
 	}
 	
 	private static void enqueue(int dst, short psb) {
+		if (Config.USE_READY_QUEUE_SHADOW && dst == PDA_LP_header_ready && enqueueReady(psb)) {
+			return;
+		}
+		
 		int que = dst;
 		short queue = Mem.readWord(que);
 		short link = fetchPSB_link(psb);
@@ -635,7 +651,7 @@ public class Processes {
 		int psb = fault(fi);
 		short state = fetchPSB_context(psb);
 		writePdaWord(state + Cpu.StateVector_data, parameter);
-		throw new MesaAbort();
+		throw MesaAbort.ABORT;
 	}
 	
 	public static int faultTwo(int fi, int parameter) {
@@ -643,7 +659,7 @@ public class Processes {
 		short state = fetchPSB_context(psb);
 		writePdaWord(state + Cpu.StateVector_data, (short)(parameter & 0x0000FFFF));
 		writePdaWord(state + Cpu.StateVector_data + 1, (short)(parameter >>> PrincOpsDefs.WORD_BITS));
-		throw new MesaAbort();
+		throw MesaAbort.ABORT;
 	}
 	
 	private static /* PsbIndex */ int fault(int fi) {
@@ -664,30 +680,87 @@ public class Processes {
 	 * while most time there are no interrupts or timeouts to honor, therefore
 	 * needlessly consuming (real hardware) CPU for nothing.
 	 * For this reason, a real idling mechanism is used in Dwarfs mesa engine, putting
-	 * the (Java) interpreter thread to sleep for a limited time. The PrincOps requirements
-	 * (interrupt responsiveness and maximal timeout scan intervals) are met by restarting
-	 * the interpreter (i.e. end sleeping) when an interrupt is enqueued and limiting the
-	 * sleep time to a time frame below the required timeout scan interval.       
+	 * the (Java) interpreter thread to sleep until the next deadline. The PrincOps requirements
+	 * (interrupt responsiveness and timeouts) are met by restarting the interpreter (i.e. end
+	 * sleeping) when an interrupt is enqueued and limiting the sleep time to the earliest
+	 * process timeout, letting the process timer (PTC) catch up for the timeout intervals
+	 * elapsed while sleeping. The other deadline is the next UI refresh, which is only
+	 * relevant if instructions were executed since the last refresh (else the display
+	 * cannot have changed), so an idle mesa engine sleeps almost all the time.
 	 */
 	
-	private static final int NOT_RUNNING_SLEEP_MSECS = 2;
+	private static final int NOT_RUNNING_MAX_SLEEP_MSECS = 250;
+	
+	private static final int NANOSECONDS_PER_IT_PULSE = 1 << 14; // see Cpu.internalIT()
 	
 	private static final Object lock = new Object();
 	
 	/**
-	 * Hold execution for a limited time, restarting execution when an
-	 * interrupt is enqueued.
+	 * Hold execution until the next process timeout or UI refresh is due,
+	 * restarting execution when an interrupt is enqueued.
 	 */
 	public static void idle() {
-		synchronized(lock) {
-			try {
-				lock.wait(NOT_RUNNING_SLEEP_MSECS);
-			} catch (InterruptedException e) {
-				// ignored
+		long now = System.currentTimeMillis();
+		long sleepMsecs = NOT_RUNNING_MAX_SLEEP_MSECS;
+		if (Cpu.insns != lastUiRefreshInsns) {
+			sleepMsecs = Math.min(sleepMsecs, nextUiRefresh + 1 - now);
+		}
+		
+		boolean timerRunning = interruptsEnabled();
+		int timeoutTicks = (timerRunning) ? ticksToNextTimeout() : 0;
+		if (timeoutTicks > 0) {
+			int timeoutPulses = (time + timeoutTicks * Cpu.TimeOutInterval + 1) - Cpu.IT(); // IT may wrap around
+			long timeoutMsecs = ((long)timeoutPulses * NANOSECONDS_PER_IT_PULSE + 999_999) / 1_000_000;
+			sleepMsecs = Math.min(sleepMsecs, timeoutMsecs);
+		}
+		
+		if (sleepMsecs > 0) {
+			synchronized(lock) {
+				try {
+					if (!interruptPending()) {
+						lock.wait(sleepMsecs);
+					}
+				} catch (InterruptedException e) {
+					// ignored
+				}
+			}
+		}
+		
+		// let the process timer catch up for the timeout intervals elapsed while sleeping,
+		// but stop before the next timeout, so checkForTimeouts() will do the next tick and
+		// the timeout scan if the timeout is due
+		if (timerRunning) {
+			int elapsedTicks = (Cpu.IT() - time) / Cpu.TimeOutInterval;
+			int skipTicks = ((timeoutTicks > 0) ? Math.min(elapsedTicks, timeoutTicks) : elapsedTicks) - 1;
+			for (int i = 0; i < skipTicks; i++) {
+				time += Cpu.TimeOutInterval;
+				Cpu.PTC = (Cpu.PTC + 1) & 0xFFFF;
+				if (Cpu.PTC == 0) { Cpu.PTC++; }
 			}
 		}
 	}
 	
+	// get the number of PTC ticks until the first process timeout occurs, 0 if no timeout is pending
+	private static int ticksToNextTimeout() {
+		int ticks = 0;
+		int count = Mem.readWord(PDA_LP_header_count) & 0xFFFF;
+		for (short psb = PsbStart; psb < (PsbStart + count); psb++) {
+			int timeout;
+			if (Config.USE_TIMEOUT_INDEX && lastTimeoutResync >= 0) {
+				timeout = (psb < indexedTimeouts.length) ? indexedTimeouts[psb] : 0;
+			} else {
+				timeout = fetchPSB_timeout(psb) & 0xFFFF;
+			}
+			if (timeout == 0) { continue; }
+			// PTC skips 0 when wrapping around
+			int psbTicks = (timeout > Cpu.PTC) ? timeout - Cpu.PTC : 0xFFFF - Cpu.PTC + timeout;
+			if (ticks == 0 || psbTicks < ticks) {
+				ticks = psbTicks;
+			}
+		}
+		return ticks;
+	}
+	
 	/*
 	 * 10.4.4 Interrupts
 	 */
@@ -759,6 +832,16 @@ public class Processes {
 		innerRequestInterrupt(EXTERNAL_STOP_INTERRUPT);
 	}
 	
+	private static volatile boolean stoppedByExternalRequest = false;
+	
+	/**
+	 * @return {@code true} if the mesa engine was stopped by {@code requestMesaEngineStop()},
+	 * 		i.e. at an instruction boundary with a machine state that can be saved in a snapshot.
+	 */
+	public static boolean isStoppedByExternalRequest() {
+		return stoppedByExternalRequest;
+	}
+	
 	public static boolean interrupt() {
 		short mask = 1;
 		boolean requeue = false;
@@ -786,6 +869,11 @@ public class Processes {
 		
 		// is a "stop the engine" request pending?
 		if ((pendingWakeups & EXTERNAL_STOP_INTERRUPT) != 0) {
+			// keep the pending mesa wakeups, so they are not lost when resuming the machine from a snapshot
+			if (wakeups != 0) {
+				innerRequestInterrupt(wakeups & 0xFFFF);
+			}
+			stoppedByExternalRequest = true;
 			throw new Cpu.MesaStopped("Mesa engine stopped by external request");
 		}
 		
@@ -865,12 +953,46 @@ public class Processes {
 		time = Cpu.IT();
 	}
 	
+	/**
+	 * Write the process timing state not held in the mesa memory for a snapshot
+	 * of the machine.
+	 * 
+	 * @param state target for the process state
+	 * @throws IOException in case of write problems
+	 */
+	public static void saveState(DataOutput state) throws IOException {
+		state.writeInt(time);
+	}
+	
+	/**
+	 * Restore the process timing state from a snapshot (requires the interval timer
+	 * to be restored first), letting the timeout index and the ready queue shadow
+	 * be rebuilt from the restored PDA.
+	 * 
+	 * @param state source for the process state
+	 * @throws IOException in case of read problems
+	 */
+	public static void restoreState(DataInput state) throws IOException {
+		time = state.readInt();
+		
+		Arrays.fill(indexedTimeouts, 0);
+		Arrays.fill(timeoutWheelCounts, 0);
+		lastTimeoutResync = -1;
+		invalidateReadyQueueShadow();
+		
+		nextUiRefresh = 0;
+		lastUiRefreshInsns = -1;
+		lastMpNotified = -1;
+		stoppedByExternalRequest = false;
+	}
+	
 	// UI refreshing:
 	// -> 25 screen refreshs per second means one refresh each 40 ms
 	// -> 5 statistics refreshs per second means ~ 1 refresh after 5 screen refreshs 
 	private static final long UI_REFRESH_INTERVAL = 37; // milliseconds
 	private static final int STATS_REFRESH_INTERVAL = 5;
 	private static long nextUiRefresh = 0;
+	private static long lastUiRefreshInsns = -1;
 	private static int lastMpNotified = -1;
 	private static int statisticsThrottle = STATS_REFRESH_INTERVAL;  
 	
@@ -878,8 +1000,74 @@ public class Processes {
 	
 	private static short[] dummyPageFlags = null;
 	
+	// trap rate logging (see Config.LOG_TRAP_RATE)
+	private static final long TRAP_RATE_INTERVAL = 5000; // milliseconds
+	private static long lastTrapRateLog = 0;
+	private static long lastTrapRateTraps = 0;
+	private static long lastTrapRateFaults = 0;
+	private static long lastTrapRateInsns = 0;
+	
+	private static void logTrapRate(long now) {
+		if (lastTrapRateLog == 0) {
+			lastTrapRateLog = now;
+			return;
+		}
+		if (now - lastTrapRateLog < TRAP_RATE_INTERVAL) { return; }
+		long seconds = (now - lastTrapRateLog) / 1000;
+		lastTrapRateLog = now;
+		
+		long traps = Cpu.traps - lastTrapRateTraps;
+		long faults = Cpu.faults - lastTrapRateFaults;
+		long insns = Cpu.insns - lastTrapRateInsns;
+		lastTrapRateTraps = Cpu.traps;
+		lastTrapRateFaults = Cpu.faults;
+		lastTrapRateInsns = Cpu.insns;
+		System.out.printf("## traps: %d/sec , faults: %d/sec , insns: %d/sec (total traps: %d , total faults: %d)\n",
+				traps / seconds, faults / seconds, insns / seconds, Cpu.traps, Cpu.faults);
+	}
+	
 	public static void registerUiRefreshCallback(iMesaMachineDataAccessor refresher) {
 		displayRefresher = refresher;
+		Mem.enableDisplayCopyAreas(Config.USE_DISPLAY_COPY_AREAS && refresher != null);
+	}
+	
+	// transfer the display changes to the UI, handling the case when the display memory is not mapped into virtual memory
+	private static void refreshDisplay(iMesaMachineDataAccessor refresher) {
+		short[] vPageFlags = Mem.pageFlags;
+		if (Mem.displayFirstMappedVirtualPage == 0) {
+			if (dummyPageFlags == null) {
+				dummyPageFlags = new short[Mem.getDisplayPageSize()];
+				for (int i = 0; i < dummyPageFlags.length; i++) {
+					dummyPageFlags[i] = PrincOpsDefs.MAPFLAGS_REFERENCED | PrincOpsDefs.MAPFLAGS_DIRTY;
+				}
+			}
+			vPageFlags = dummyPageFlags;
+		} else {
+			dummyPageFlags = null;
+		}
+		if (Mem.getDisplayCopyAreaCount() > 0) {
+			refresher.copyDisplayAreas(Mem.getDisplayCopyAreas(), Mem.getDisplayCopyAreaCount());
+		}
+		refresher.accessRealMemory(
+			Mem.getDisplayRealMemory(),
+			Mem.getDisplayRealPage() * PrincOpsDefs.WORDS_PER_PAGE, 
+			Mem.getDisplayPageSize() * PrincOpsDefs.WORDS_PER_PAGE,
+			vPageFlags,
+			Mem.displayFirstMappedVirtualPage
+			);
+		Mem.resetDisplayPagesFlags();
+	}
+	
+	/**
+	 * Transfer the display changes to the UI outside the regular refresh intervals,
+	 * allowing to pass a block move in the display memory as copy area if the source
+	 * rectangle is in display pages modified since the last refresh.
+	 */
+	public static void refreshDisplay() {
+		iMesaMachineDataAccessor refresher = displayRefresher;
+		if (refresher != null) {
+			refreshDisplay(refresher);
+		}
 	}
 	
 	// the invoker must throttle usage of this method, for optimizing to avoid checking too often
@@ -897,6 +1085,11 @@ public class Processes {
 		if (now > nextUiRefresh) {
 			// set next refresh wakeup timestamp
 			nextUiRefresh = now + UI_REFRESH_INTERVAL;
+			lastUiRefreshInsns = Cpu.insns;
+			
+			if (Config.LOG_TRAP_RATE) {
+				logTrapRate(now);
+			}
 			
 			// refresh if we have a connected UI
 			iMesaMachineDataAccessor refresher = displayRefresher;
@@ -921,27 +1114,8 @@ public class Processes {
 					statisticsThrottle = STATS_REFRESH_INTERVAL;
 				}
 				
-				// refresh screen, handling the case when the display memory is not mapped into virtual memory
-				short[] vPageFlags = Mem.pageFlags;
-				if (Mem.displayFirstMappedVirtualPage == 0) {
-					if (dummyPageFlags == null) {
-						dummyPageFlags = new short[Mem.getDisplayPageSize()];
-						for (int i = 0; i < dummyPageFlags.length; i++) {
-							dummyPageFlags[i] = PrincOpsDefs.MAPFLAGS_REFERENCED | PrincOpsDefs.MAPFLAGS_DIRTY;
-						}
-					}
-					vPageFlags = dummyPageFlags;
-				} else {
-					dummyPageFlags = null;
-				}
-				refresher.accessRealMemory(
-					Mem.getDisplayRealMemory(),
-					Mem.getDisplayRealPage() * PrincOpsDefs.WORDS_PER_PAGE, 
-					Mem.getDisplayPageSize() * PrincOpsDefs.WORDS_PER_PAGE,
-					vPageFlags,
-					Mem.displayFirstMappedVirtualPage
-					);
-				Mem.resetDisplayPagesFlags();
+				// refresh screen
+				refreshDisplay(refresher);
 			}
 		}
 		
@@ -958,22 +1132,344 @@ public class Processes {
 	}
 	
 	private static boolean timeoutScan() {
+		if (Config.USE_TIMEOUT_INDEX) {
+			return indexedTimeoutScan();
+		}
 		boolean requeue = false;
 		int count = Mem.readWord(PDA_LP_header_count) & 0xFFFF;
 		for (short psb = PsbStart; psb < (PsbStart + count); psb++) {
 			int timeout = fetchPSB_timeout(psb) & 0xFFFF;
 			if (timeout != 0 && timeout == Cpu.PTC) {
-				short flags = fetchPSB_flags(psb);
-				flags = unsetPsbFlagsWaiting(flags);
-				storePSB_flags(psb, flags);
-				storePSB_timeout(psb, (short)0);
-				requeue(0, PDA_LP_header_ready, psb);
+				timeoutExpired(psb);
 				requeue = true;
 			}
 		}
 		return requeue;
 	}
 	
+	private static void timeoutExpired(int psb) {
+		short flags = fetchPSB_flags(psb);
+		flags = unsetPsbFlagsWaiting(flags);
+		storePSB_flags(psb, flags);
+		storePSB_timeout(psb, (short)0);
+		requeue(0, PDA_LP_header_ready, (short)psb);
+	}
+	
+	/*
+	 * Timeout index (see Config.USE_TIMEOUT_INDEX)
+	 * 
+	 * The PSBs with a timeout are registered in a hashed timer wheel with a bucket
+	 * for each of the lower bits of the timeout tick when the timeout is stored by
+	 * storePSB_timeout(), so the timeout scan for a PTC tick only needs to check the
+	 * PSBs in the bucket for this tick, re-reading the timeout from the PSB before
+	 * letting it expire. Bucket entries for timeouts changed in the meantime are
+	 * dropped when the bucket is checked.
+	 * As the guest code could store PSB timeouts directly, the index is compared with
+	 * the timeouts in all PSBs every TIMEOUT_RESYNC_TICKS ticks. A timeout found this
+	 * way which should have expired since the last comparison expires late, all other
+	 * differences are just registered in the index.
+	 */
+	
+	private static final int TIMEOUT_WHEEL_SIZE = 256; // must be a power of 2
+	private static final int TIMEOUT_WHEEL_MASK = TIMEOUT_WHEEL_SIZE - 1;
+	private static final int TIMEOUT_RESYNC_TICKS = 32;
+	
+	private static final int[][] timeoutWheel = new int[TIMEOUT_WHEEL_SIZE][];
+	private static final int[] timeoutWheelCounts = new int[TIMEOUT_WHEEL_SIZE];
+	
+	// the timeout registered in the index for each PSB (0 = none)
+	private static int[] indexedTimeouts = new int[1024];
+	
+	// for recognizing duplicate bucket entries
+	private static int[] timeoutScanStamps = new int[1024];
+	private static int timeoutScanStamp = 0;
+	
+	// PSBs with a timeout changed by guest code found in the current bucket
+	private static int[] timeoutReindexPsbs = new int[16];
+	
+	private static int lastTimeoutResync = -1; // PTC of last comparison with the PSBs
+	
+	static {
+		for (int i = 0; i < TIMEOUT_WHEEL_SIZE; i++) {
+			timeoutWheel[i] = new int[8];
+		}
+	}
+	
+	private static void indexTimeout(int psb, int timeout) {
+		if (psb >= indexedTimeouts.length) {
+			int newLength = Math.max(psb + 1, indexedTimeouts.length * 2);
+			indexedTimeouts = Arrays.copyOf(indexedTimeouts, newLength);
+			timeoutScanStamps = Arrays.copyOf(timeoutScanStamps, newLength);
+		}
+		int oldTimeout = indexedTimeouts[psb];
+		if (oldTimeout == timeout) { return; }
+		indexedTimeouts[psb] = timeout;
+		
+		// not registered (anymore)?
+		// (the entry for the old timeout is dropped when checking the bucket)
+		if (timeout == 0) { return; }
+		
+		// still in the bucket for the old timeout?
+		int bucket = timeout & TIMEOUT_WHEEL_MASK;
+		if (oldTimeout != 0 && (oldTimeout & TIMEOUT_WHEEL_MASK) == bucket) { return; }
+		
+		int count = timeoutWheelCounts[bucket];
+		if (count >= timeoutWheel[bucket].length) {
+			timeoutWheel[bucket] = Arrays.copyOf(timeoutWheel[bucket], count * 2);
+		}
+		timeoutWheel[bucket][count] = psb;
+		timeoutWheelCounts[bucket] = count + 1;
+	}
+	
+	private static boolean indexedTimeoutScan() {
+		boolean requeue = false;
+		
+		// verify the index against the PSBs from time to time
+		int ticksSinceResync = (Cpu.PTC - lastTimeoutResync) & 0xFFFF;
+		if (lastTimeoutResync < 0 || ticksSinceResync >= TIMEOUT_RESYNC_TICKS) {
+			requeue = resyncTimeoutIndex((lastTimeoutResync < 0) ? 0 : ticksSinceResync);
+			lastTimeoutResync = Cpu.PTC;
+		}
+		
+		// check the PSBs in the bucket for this tick, keeping the entries for later ticks
+		int bucket = Cpu.PTC & TIMEOUT_WHEEL_MASK;
+		int[] entries = timeoutWheel[bucket];
+		int count = timeoutWheelCounts[bucket];
+		int kept = 0;
+		int reindexCount = 0;
+		timeoutScanStamp++;
+		for (int i = 0; i < count; i++) {
+			int psb = entries[i];
+			int indexed = indexedTimeouts[psb];
+			if (indexed == 0 || (indexed & TIMEOUT_WHEEL_MASK) != bucket || timeoutScanStamps[psb] == timeoutScanStamp) {
+				continue; // outdated or duplicate entry
+			}
+			timeoutScanStamps[psb] = timeoutScanStamp;
+			if (indexed != Cpu.PTC) {
+				entries[kept++] = psb;
+				continue;
+			}
+			int timeout = fetchPSB_timeout(psb) & 0xFFFF;
+			if (timeout == Cpu.PTC) {
+				indexedTimeouts[psb] = 0;
+				timeoutExpired(psb);
+				requeue = true;
+			} else {
+				// timeout changed by guest code
+				indexedTimeouts[psb] = 0;
+				if (reindexCount >= timeoutReindexPsbs.length) {
+					timeoutReindexPsbs = Arrays.copyOf(timeoutReindexPsbs, reindexCount * 2);
+				}
+				timeoutReindexPsbs[reindexCount++] = psb;
+			}
+		}
+		timeoutWheelCounts[bucket] = kept;
+		for (int i = 0; i < reindexCount; i++) {
+			int psb = timeoutReindexPsbs[i];
+			indexTimeout(psb, fetchPSB_timeout(psb) & 0xFFFF);
+		}
+		
+		return requeue;
+	}
+	
+	private static boolean resyncTimeoutIndex(int ticksSinceResync) {
+		boolean requeue = false;
+		int count = Mem.readWord(PDA_LP_header_count) & 0xFFFF;
+		for (int psb = PsbStart; psb < (PsbStart + count); psb++) {
+			int timeout = fetchPSB_timeout(psb) & 0xFFFF;
+			if (psb < indexedTimeouts.length && timeout == indexedTimeouts[psb]) {
+				continue;
+			}
+			int ticksPassed = (Cpu.PTC - timeout) & 0xFFFF;
+			if (timeout != 0 && ticksPassed > 0 && ticksPassed < ticksSinceResync) {
+				timeoutExpired(psb);
+				requeue = true;
+			} else {
+				indexTimeout(psb, timeout);
+			}
+		}
+		return requeue;
+	}
+	
+	/*
+	 * Ready queue shadow (see Config.USE_READY_QUEUE_SHADOW)
+	 * 
+	 * The ready queue is mirrored as doubly linked ring of the queued PSBs, with the
+	 * last PSB of each priority and a bitmap of the priorities present in the queue.
+	 * So enqueuing into the ready queue finds the insertion point without walking
+	 * the PSB links of higher priority processes and dequeuing from the ready queue
+	 * finds the predecessor without walking the queue ring from the tail.
+	 * The shadow is only trusted if the PDA words read by the queuing procedures anyway
+	 * (the ready queue, the link of the (de)queued PSB and the link of the predecessor)
+	 * match the shadow, else the plain queuing procedures are used and the shadow is
+	 * rebuilt from the PDA at the next access. This recognizes the ready queue set up
+	 * or modified by guest code, as long as the priority order of the processes
+	 * already queued is not changed behind the back of the queuing procedures.
+	 */
+	
+	private static final int[] readyNext = new int[PsbIndex_Max];
+	private static final int[] readyPrev = new int[PsbIndex_Max];
+	private static final int[] readyPriority = new int[PsbIndex_Max];
+	private static final boolean[] readyQueued = new boolean[PsbIndex_Max];
+	
+	private static final int[] readyPriorityTail = new int[8]; // last PSB with this priority (PsbNull = none)
+	private static int readyPriorities = 0; // bit n set = processes with priority n are in the ready queue
+	private static int readyTail = PsbNull;
+	
+	private static boolean readyShadowValid = false;
+	
+	/**
+	 * Force rebuilding the ready queue shadow from the PDA at the next queuing
+	 * operation involving the ready queue, as the PDA was replaced as a whole.
+	 */
+	public static void invalidateReadyQueueShadow() {
+		readyShadowValid = false;
+	}
+	
+	private static boolean rebuildReadyShadow() {
+		Arrays.fill(readyQueued, false);
+		Arrays.fill(readyPriorityTail, PsbNull);
+		readyPriorities = 0;
+		readyTail = PsbNull;
+		
+		int tail = getQueue_tail(Mem.readWord(PDA_LP_header_ready));
+		if (tail == PsbNull) {
+			readyShadowValid = true;
+			return true;
+		}
+		
+		int prev = tail;
+		int psb = getPsbLink_next(fetchPSB_link(tail));
+		int lastPriority = 7;
+		while(true) {
+			if (readyQueued[psb]) { return false; } // not a ring or not ending at tail
+			short link = fetchPSB_link(psb);
+			int priority = getPsbLink_priority(link);
+			if (priority > lastPriority) { return false; } // not ordered by priority
+			readyQueued[psb] = true;
+			readyPriority[psb] = priority;
+			readyPrev[psb] = prev;
+			readyNext[prev] = psb;
+			readyPriorityTail[priority] = psb;
+			readyPriorities |= 1 << priority;
+			lastPriority = priority;
+			if (psb == tail) { break; }
+			prev = psb;
+			psb = getPsbLink_next(link);
+		}
+		
+		readyTail = tail;
+		readyShadowValid = true;
+		return true;
+	}
+	
+	private static boolean dequeueReady(short psb) {
+		if (psb < 0 || psb >= PsbIndex_Max || (!readyShadowValid && !rebuildReadyShadow())) {
+			return false;
+		}
+		
+		short queue = Mem.readWord(PDA_LP_header_ready);
+		short link = fetchPSB_link(psb);
+		int next = getPsbLink_next(link);
+		if (getQueue_tail(queue) != readyTail || !readyQueued[psb] || next != readyNext[psb]) {
+			readyShadowValid = false;
+			return false;
+		}
+		
+		int prev = PsbNull;
+		if (next != psb) {
+			prev = readyPrev[psb];
+			short prevLink = fetchPSB_link(prev);
+			if (getPsbLink_next(prevLink) != psb) {
+				readyShadowValid = false;
+				return false;
+			}
+			readyShadowValid = false; // until the PDA is updated
+			storePSB_link(prev, setPsbLink_next(prevLink, next));
+		}
+		if (readyTail == psb) {
+			readyShadowValid = false; // until the PDA is updated
+			Mem.writeWord(PDA_LP_header_ready, setQueue_tail(queue, prev));
+		}
+		
+		int priority = readyPriority[psb];
+		if (readyPriorityTail[priority] == psb) {
+			if (prev != PsbNull && readyNext[readyTail] != psb && readyPriority[prev] == priority) {
+				readyPriorityTail[priority] = prev;
+			} else {
+				readyPriorityTail[priority] = PsbNull;
+				readyPriorities &= ~(1 << priority);
+			}
+		}
+		if (prev != PsbNull) {
+			readyNext[prev] = next;
+			readyPrev[next] = prev;
+		}
+		if (readyTail == psb) {
+			readyTail = prev;
+		}
+		readyQueued[psb] = false;
+		readyShadowValid = true;
+		return true;
+	}
+	
+	private static boolean enqueueReady(short psb) {
+		if (psb < 0 || psb >= PsbIndex_Max || (!readyShadowValid && !rebuildReadyShadow())) {
+			return false;
+		}
+		
+		short queue = Mem.readWord(PDA_LP_header_ready);
+		short link = fetchPSB_link(psb);
+		if (getQueue_tail(queue) != readyTail || readyQueued[psb]) {
+			readyShadowValid = false;
+			return false;
+		}
+		int priority = getPsbLink_priority(link);
+		
+		if (readyTail == PsbNull) {
+			readyShadowValid = false; // until the PDA is updated
+			storePSB_link(psb, setPsbLink_next(link, psb));
+			Mem.writeWord(PDA_LP_header_ready, setQueue_tail(queue, psb));
+			readyNext[psb] = psb;
+			readyPrev[psb] = psb;
+			readyTail = psb;
+		} else {
+			// insert behind the last process with the same or the next higher priority,
+			// or as new head (behind the tail) if all queued processes have a lower priority
+			int higherOrSame = readyPriorities >>> priority;
+			int prev = (higherOrSame == 0)
+					? readyTail
+					: readyPriorityTail[priority + Integer.numberOfTrailingZeros(higherOrSame)];
+			boolean newTail = (higherOrSame != 0 && prev == readyTail);
+			short prevLink = fetchPSB_link(prev);
+			int next = getPsbLink_next(prevLink);
+			if (next != readyNext[prev] || getPsbLink_priority(prevLink) != readyPriority[prev]) {
+				readyShadowValid = false;
+				return false;
+			}
+			readyShadowValid = false; // until the PDA is updated
+			if (newTail) {
+				Mem.writeWord(PDA_LP_header_ready, setQueue_tail(queue, psb));
+			}
+			storePSB_link(psb, setPsbLink_next(link, next));
+			storePSB_link(prev, setPsbLink_next(prevLink, psb));
+			readyNext[prev] = psb;
+			readyPrev[psb] = prev;
+			readyNext[psb] = next;
+			readyPrev[next] = psb;
+			if (newTail) {
+				readyTail = psb;
+			}
+		}
+		
+		readyQueued[psb] = true;
+		readyPriority[psb] = priority;
+		readyPriorityTail[priority] = psb;
+		readyPriorities |= 1 << priority;
+		readyShadowValid = true;
+		return true;
+	}
+	
 	/*
 	 * dump utilities for Cpu-debugger
 	 */
@@ -0,0 +1,422 @@
+/*
+Copyright (c) 2017, Dr. Hans-Walter Latz
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * The name of the author may not be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDER "AS IS" AND ANY EXPRESS
+OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package dev.hawala.dmachine.engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshot of the complete state of a stopped mesa engine, allowing to resume
+ * the machine at the point where it was stopped instead of booting it again.
+ * <br>
+ * A snapshot holds the real memory (including the display memory), the virtual
+ * memory map, the processor registers and evaluation stack, the process timing state,
+ * the pending wakeups and the state of the devices kept outside the mesa memory
+ * (agents resp. IOP device handlers).
+ * <br>
+ * The disks are not part of the snapshot: the snapshot holds a checksum of
+ * the disk contents when the snapshot was written, so a snapshot is only
+ * restored if the disks still have the same content (i.e. the machine was not
+ * booted from the disks or the disks were not modified otherwise since then).
+ * The floppy drive of a restored machine is empty, a floppy inserted at startup
+ * is presented to the machine as newly inserted floppy.
+ * <br>
+ * The snapshot file starts with an uncompressed header block (identifying the
+ * machine the snapshot is for), followed by the uncompressed image of the real
+ * memory aligned to the page size of the host, followed by the gzip compressed
+ * remaining state. The real memory image of a read-only (e.g. golden) snapshot is accessed
+ * through a copy-on-write mapping of the file instead of decompressing it: with real memory
+ * on the Java heap, restoring is a bulk copy from the page cache of the OS, with off-heap
+ * real memory the mapping becomes the real memory, so all machines resuming from the same
+ * golden snapshot file share the memory pages not modified by the machine. The image of
+ * a snapshot file which will be replaced by the next snapshot of the machine is read
+ * instead of being mapped, as a mapped file cannot be replaced on some platforms (Windows).
+ * <br>
+ * A snapshot must be written after the mesa engine has stopped (i.e. {@code Cpu.processor()}
+ * has returned) because the engine was stopped by external request (i.e. at an
+ * instruction boundary), but before the devices are shut down. A snapshot must be
+ * restored after the machine was set up as for booting (memory, instructions, devices,
+ * germ), and before the mesa engine is started with {@code Cpu.processor()}.
+ */
+public class Snapshot {
+
+	private static final String SIGNATURE = "Dwarf mesa engine snapshot";
+	private static final int VERSION = 2;
+
+	// length of the header block resp. offset of the real memory image in the file
+	private static final int HEADER_BYTES = 4096;
+
+	private static final int END_MARKER = 0x5CC5DAAD;
+
+	/**
+	 * Access to the machine specific devices (agents resp. IOP device handlers)
+	 * for saving and restoring their state.
+	 */
+	public interface DeviceState {
+
+		/**
+		 * @return a checksum of the current content of all disks of the machine.
+		 */
+		long getDiskChecksum();
+
+		/**
+		 * Write the state of the devices not held in the mesa memory.
+		 *
+		 * @param state the target for the device state
+		 * @throws IOException in case of write problems
+		 */
+		void saveState(DataOutput state) throws IOException;
+
+		/**
+		 * Restore the state of the devices written by {@code saveState()}.
+		 *
+		 * @param state the source for the device state
+		 * @throws IOException in case of read problems or if the data does not
+		 * 		match the devices of this machine
+		 */
+		void restoreState(DataInput state) throws IOException;
+	}
+
+	/**
+	 * Write the state of the stopped mesa engine to a snapshot file.
+	 *
+	 * @param snapshotFile the file to write
+	 * @param machineType the machine architecture (e.g. Draco or Duchess), identifying the devices
+	 * @param devices the device state of the machine architecture
+	 * @throws IOException in case of write problems
+	 */
+	public static void save(File snapshotFile, String machineType, DeviceState devices) throws IOException {
+		// write to a temp file first, so a previous snapshot is not lost if writing fails
+		File tempFile = new File(snapshotFile.getPath() + ".temp");
+		try (FileOutputStream file = new FileOutputStream(tempFile)) {
+
+			// header for checking if the snapshot fits the machine
+			ByteArrayOutputStream headerBytes = new ByteArrayOutputStream(HEADER_BYTES);
+			DataOutputStream header = new DataOutputStream(headerBytes);
+			header.writeUTF(SIGNATURE);
+			header.writeInt(VERSION);
+			header.writeUTF(machineType);
+			header.writeBoolean(Xfer.isPrincOps4x());
+			header.writeInt(Mem.getRealPagesSize());
+			header.writeInt(Mem.getVirtualPagesSize());
+			header.writeUTF(Mem.getDisplayType().name());
+			header.writeInt(Mem.getDisplayPixelWidth());
+			header.writeInt(Mem.getDisplayPixelHeight());
+			header.writeLong(devices.getDiskChecksum());
+			header.writeInt(Mem.getRealMemoryWords());
+			if (headerBytes.size() > HEADER_BYTES) {
+				throw new IOException("snapshot header too long");
+			}
+			file.write(Arrays.copyOf(headerBytes.toByteArray(), HEADER_BYTES));
+
+			// the real memory image (not closing the stream, as this would close the file)
+			DataOutputStream image = new DataOutputStream(file);
+			Mem.saveRealMemory(image);
+			image.flush();
+
+			// the remaining machine state
+			DataOutputStream state = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(file, 65536)));
+			Mem.saveState(state);
+			Cpu.saveState(state);
+			Processes.saveState(state);
+			devices.saveState(state);
+			state.writeInt(END_MARKER);
+			state.close();
+		} catch (IOException e) {
+			tempFile.delete();
+			throw e;
+		}
+
+		if (snapshotFile.exists() && !snapshotFile.delete()) {
+			tempFile.delete();
+			throw new IOException("unable to replace snapshot file " + snapshotFile.getPath());
+		}
+		if (!tempFile.renameTo(snapshotFile)) {
+			throw new IOException("unable to rename temp file to snapshot file " + snapshotFile.getPath());
+		}
+	}
+
+	/**
+	 * Restore the state of the mesa engine from a snapshot file, letting the
+	 * next invocation of {@code Cpu.processor()} resume the machine.
+	 * <p>
+	 * If the snapshot does not fit the machine (other machine type, memory or display
+	 * size, PrincOps flavor or disk content), the machine state is not modified and
+	 * {@code false} is returned, so the machine can be booted normally.
+	 * </p>
+	 *
+	 * @param snapshotFile the file to read
+	 * @param machineType the machine architecture (e.g. Draco or Duchess), identifying the devices
+	 * @param devices the device state of the machine architecture
+	 * @param errMsgTarget for collecting the reason why the snapshot cannot be used
+	 * @return {@code true} if the machine state was restored from the snapshot
+	 * @throws IOException in case of read problems after the machine state was
+	 * 		modified, leaving an unusable mesa engine
+	 */
+	public static boolean restore(File snapshotFile, String machineType, DeviceState devices, StringBuilder errMsgTarget) throws IOException {
+		return restore(snapshotFile, machineType, devices, errMsgTarget, false);
+	}
+
+	/**
+	 * Restore the state of the mesa engine from a snapshot file, letting the
+	 * next invocation of {@code Cpu.processor()} resume the machine, possibly
+	 * keeping the real memory image mapped from the snapshot file.
+	 *
+	 * @param snapshotFile the file to read
+	 * @param machineType the machine architecture (e.g. Draco or Duchess), identifying the devices
+	 * @param devices the device state of the machine architecture
+	 * @param errMsgTarget for collecting the reason why the snapshot cannot be used
+	 * @param mapImage map the real memory image copy-on-write instead of reading it? (only
+	 * 		allowed if the snapshot file is not replaced while the machine runs, i.e. if
+	 * 		it is a golden snapshot and not the snapshot file saved by this machine)
+	 * @return {@code true} if the machine state was restored from the snapshot
+	 * @throws IOException in case of read problems after the machine state was
+	 * 		modified, leaving an unusable mesa engine
+	 */
+	public static boolean restore(File snapshotFile, String machineType, DeviceState devices, StringBuilder errMsgTarget, boolean mapImage) throws IOException {
+		try (FileChannel file = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+
+			// check if the snapshot fits the machine before modifying anything
+			if (file.size() < HEADER_BYTES) {
+				return mismatch(errMsgTarget, "not a snapshot file");
+			}
+			ByteBuffer headerBytes = ByteBuffer.allocate(HEADER_BYTES);
+			while(headerBytes.hasRemaining() && file.read(headerBytes) >= 0) { }
+			DataInputStream header = new DataInputStream(new ByteArrayInputStream(headerBytes.array()));
+			try {
+				if (!SIGNATURE.equals(header.readUTF())) {
+					return mismatch(errMsgTarget, "not a snapshot file");
+				}
+				if (header.readInt() != VERSION) {
+					return mismatch(errMsgTarget, "unsupported snapshot version");
+				}
+			} catch (IOException e) {
+				return mismatch(errMsgTarget, "not a snapshot file");
+			}
+			String snapshotMachineType = header.readUTF();
+			if (!machineType.equals(snapshotMachineType)) {
+				return mismatch(errMsgTarget, "snapshot is for machine type %s", snapshotMachineType);
+			}
+			if (header.readBoolean() != Xfer.isPrincOps4x()) {
+				return mismatch(errMsgTarget, "snapshot has a different PrincOps flavor than the germ");
+			}
+			int realPages = header.readInt();
+			int virtualPages = header.readInt();
+			if (realPages != Mem.getRealPagesSize() || virtualPages != Mem.getVirtualPagesSize()) {
+				return mismatch(errMsgTarget, "snapshot has different memory sizes (real pages: %d, virtual pages: %d)", realPages, virtualPages);
+			}
+			String displayType = header.readUTF();
+			int displayWidth = header.readInt();
+			int displayHeight = header.readInt();
+			if (!Mem.getDisplayType().name().equals(displayType)
+					|| displayWidth != Mem.getDisplayPixelWidth()
+					|| displayHeight != Mem.getDisplayPixelHeight()) {
+				return mismatch(errMsgTarget, "snapshot has a different display (%s %d x %d)", displayType, displayWidth, displayHeight);
+			}
+			if (header.readLong() != devices.getDiskChecksum()) {
+				return mismatch(errMsgTarget, "disk content was changed since the snapshot was written");
+			}
+			long imageBytes = header.readInt() * 2L;
+			if (file.size() < HEADER_BYTES + imageBytes) {
+				return mismatch(errMsgTarget, "snapshot file is truncated");
+			}
+
+			// restore the machine state proper, starting with the real memory image
+			Mem.restoreRealMemory(mapImage ? mapImage(snapshotFile, file, imageBytes) : readImage(file, imageBytes));
+			file.position(HEADER_BYTES + imageBytes);
+			DataInputStream state = new DataInputStream(
+					new BufferedInputStream(new GZIPInputStream(Channels.newInputStream(file), 65536)));
+			Mem.restoreState(state);
+			Cpu.restoreState(state);
+			Processes.restoreState(state);
+			devices.restoreState(state);
+
+			if (state.readInt() != END_MARKER) {
+				throw new IOException("snapshot data does not end as expected");
+			}
+		}
+		return true;
+	}
+
+	// map the real memory image copy-on-write if possible (the private mapping
+	// mode requires a writable file, although the file is never modified)
+	private static MappedByteBuffer mapImage(File snapshotFile, FileChannel file, long imageBytes) throws IOException {
+		if (snapshotFile.canWrite()) {
+			try (FileChannel cowFile = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				// the mapping stays valid after closing the channel
+				return cowFile.map(MapMode.PRIVATE, HEADER_BYTES, imageBytes);
+			}
+		}
+		return file.map(MapMode.READ_ONLY, HEADER_BYTES, imageBytes);
+	}
+
+	// read the real memory image into a new direct buffer, so no mapping keeps the file
+	// in use and the buffer can become the real memory if it is off-heap
+	private static ByteBuffer readImage(FileChannel file, long imageBytes) throws IOException {
+		ByteBuffer image = ByteBuffer.allocateDirect((int)imageBytes);
+		file.position(HEADER_BYTES);
+		while(image.hasRemaining() && file.read(image) >= 0) { }
+		if (image.hasRemaining()) {
+			throw new IOException("snapshot file is truncated");
+		}
+		image.flip();
+		return image;
+	}
+
+	private static boolean mismatch(StringBuilder errMsgTarget, String pattern, Object... args) {
+		errMsgTarget.append(String.format(pattern, args));
+		return false;
+	}
+
+	/*
+	 * utilities for bulk data
+	 */
+
+	private static final int CHUNK_BYTES = 65536;
+
+	/**
+	 * Write the content of a word array.
+	 *
+	 * @param state target to write the words to
+	 * @param words the words to write
+	 * @throws IOException in case of write problems
+	 */
+	public static void writeWords(DataOutput state, short[] words) throws IOException {
+		writeWords(state, words, words.length);
+	}
+
+	/**
+	 * Write the first words of a word array.
+	 *
+	 * @param state target to write the words to
+	 * @param words the words to write
+	 * @param wordCount the number of words to write from the start of {@code words}
+	 * @throws IOException in case of write problems
+	 */
+	public static void writeWords(DataOutput state, short[] words, int wordCount) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+		int pos = 0;
+		while(pos < wordCount) {
+			int count = Math.min(wordCount - pos, CHUNK_BYTES / 2);
+			buffer.clear();
+			buffer.asShortBuffer().put(words, pos, count);
+			state.write(buffer.array(), 0, count * 2);
+			pos += count;
+		}
+	}
+
+	/**
+	 * Read the content of a word array written by {@code writeWords()}.
+	 *
+	 * @param state source to read the words from
+	 * @param words the word array to fill completely
+	 * @throws IOException in case of read problems
+	 */
+	public static void readWords(DataInput state, short[] words) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+		int pos = 0;
+		while(pos < words.length) {
+			int count = Math.min(words.length - pos, CHUNK_BYTES / 2);
+			state.readFully(buffer.array(), 0, count * 2);
+			buffer.clear();
+			buffer.asShortBuffer().get(words, pos, count);
+			pos += count;
+		}
+	}
+
+	/**
+	 * Write the content of an int array.
+	 *
+	 * @param state target to write the ints to
+	 * @param ints the ints to write
+	 * @throws IOException in case of write problems
+	 */
+	public static void writeInts(DataOutput state, int[] ints) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+		int pos = 0;
+		while(pos < ints.length) {
+			int count = Math.min(ints.length - pos, CHUNK_BYTES / 4);
+			buffer.clear();
+			buffer.asIntBuffer().put(ints, pos, count);
+			state.write(buffer.array(), 0, count * 4);
+			pos += count;
+		}
+	}
+
+	/**
+	 * Read the content of an int array written by {@code writeInts()}.
+	 *
+	 * @param state source to read the ints from
+	 * @param ints the int array to fill completely
+	 * @throws IOException in case of read problems
+	 */
+	public static void readInts(DataInput state, int[] ints) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+		int pos = 0;
+		while(pos < ints.length) {
+			int count = Math.min(ints.length - pos, CHUNK_BYTES / 4);
+			state.readFully(buffer.array(), 0, count * 4);
+			buffer.clear();
+			buffer.asIntBuffer().get(ints, pos, count);
+			pos += count;
+		}
+	}
+
+	/**
+	 * Compute a checksum over a word array, for identifying the content of a disk.
+	 *
+	 * @param checksum the checksum computed so far (initially 0)
+	 * @param words the words to add to the checksum
+	 * @return the new checksum
+	 */
+	public static long checksumWords(long checksum, short[] words) {
+		long sum = checksum;
+		for (int i = 0; i < words.length; i++) {
+			sum = (sum * 31) + (words[i] & 0xFFFF);
+		}
+		return sum;
+	}
+
+}
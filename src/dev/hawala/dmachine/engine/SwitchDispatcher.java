@@ -0,0 +1,1087 @@
+/*
+Copyright (c) 2017, Dr. Hans-Walter Latz
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * The name of the author may not be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDER "AS IS" AND ANY EXPRESS
+OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package dev.hawala.dmachine.engine;
+
+import dev.hawala.dmachine.engine.Opcodes.OpImpl;
+import dev.hawala.dmachine.engine.opcodes.Ch03_Memory_Organization;
+import dev.hawala.dmachine.engine.opcodes.Ch05_Stack_Instructions;
+import dev.hawala.dmachine.engine.opcodes.Ch06_Jump_Instructions;
+import dev.hawala.dmachine.engine.opcodes.Ch07_Assignment_Instructions;
+import dev.hawala.dmachine.engine.opcodes.Ch08_Block_Transfers;
+import dev.hawala.dmachine.engine.opcodes.Ch09_Control_Transfers;
+import dev.hawala.dmachine.engine.opcodes.Ch10_Processes;
+import dev.hawala.dmachine.engine.opcodes.ChXX_Undocumented;
+
+/**
+ * Switch-based dispatcher for the regular and ESC(L) instructions, see
+ * {@code Config.USE_SWITCH_DISPATCH}.
+ * <p>
+ * <b>Generated by {@code SwitchDispatcherGenerator}, do not edit!</b>
+ * </p>
+ */
+class SwitchDispatcher {
+	
+	// execute the regular instruction 'opcode' having 'impl' in the dispatch table
+	static void executeOpc(int opcode, OpImpl impl) {
+		switch(opcode) {
+		case 0x01:
+			if (impl == Ch07_Assignment_Instructions.OPC_x01_LL0) { Ch07_Assignment_Instructions.OPC_x01_LL0.execute(); return; }
+			break;
+		case 0x02:
+			if (impl == Ch07_Assignment_Instructions.OPC_x02_LL1) { Ch07_Assignment_Instructions.OPC_x02_LL1.execute(); return; }
+			break;
+		case 0x03:
+			if (impl == Ch07_Assignment_Instructions.OPC_x03_LL2) { Ch07_Assignment_Instructions.OPC_x03_LL2.execute(); return; }
+			break;
+		case 0x04:
+			if (impl == Ch07_Assignment_Instructions.OPC_x04_LL3) { Ch07_Assignment_Instructions.OPC_x04_LL3.execute(); return; }
+			break;
+		case 0x05:
+			if (impl == Ch07_Assignment_Instructions.OPC_x05_LL4) { Ch07_Assignment_Instructions.OPC_x05_LL4.execute(); return; }
+			break;
+		case 0x06:
+			if (impl == Ch07_Assignment_Instructions.OPC_x06_LL5) { Ch07_Assignment_Instructions.OPC_x06_LL5.execute(); return; }
+			break;
+		case 0x07:
+			if (impl == Ch07_Assignment_Instructions.OPC_x07_LL6) { Ch07_Assignment_Instructions.OPC_x07_LL6.execute(); return; }
+			break;
+		case 0x08:
+			if (impl == Ch07_Assignment_Instructions.OPC_x08_LL7) { Ch07_Assignment_Instructions.OPC_x08_LL7.execute(); return; }
+			break;
+		case 0x09:
+			if (impl == Ch07_Assignment_Instructions.OPC_x09_LL8) { Ch07_Assignment_Instructions.OPC_x09_LL8.execute(); return; }
+			break;
+		case 0x0A:
+			if (impl == Ch07_Assignment_Instructions.OPC_x0A_LL9) { Ch07_Assignment_Instructions.OPC_x0A_LL9.execute(); return; }
+			break;
+		case 0x0B:
+			if (impl == Ch07_Assignment_Instructions.OPC_x0B_LL10) { Ch07_Assignment_Instructions.OPC_x0B_LL10.execute(); return; }
+			break;
+		case 0x0C:
+			if (impl == Ch07_Assignment_Instructions.OPC_x0C_LL11) { Ch07_Assignment_Instructions.OPC_x0C_LL11.execute(); return; }
+			break;
+		case 0x0D:
+			if (impl == Ch07_Assignment_Instructions.OPC_x0D_LLB_alpha) { Ch07_Assignment_Instructions.OPC_x0D_LLB_alpha.execute(); return; }
+			break;
+		case 0x0E:
+			if (impl == Ch07_Assignment_Instructions.OPC_x0E_LLD0) { Ch07_Assignment_Instructions.OPC_x0E_LLD0.execute(); return; }
+			break;
+		case 0x0F:
+			if (impl == Ch07_Assignment_Instructions.OPC_x0F_LLD1) { Ch07_Assignment_Instructions.OPC_x0F_LLD1.execute(); return; }
+			break;
+		case 0x10:
+			if (impl == Ch07_Assignment_Instructions.OPC_x10_LLD2) { Ch07_Assignment_Instructions.OPC_x10_LLD2.execute(); return; }
+			break;
+		case 0x11:
+			if (impl == Ch07_Assignment_Instructions.OPC_x11_LLD3) { Ch07_Assignment_Instructions.OPC_x11_LLD3.execute(); return; }
+			break;
+		case 0x12:
+			if (impl == Ch07_Assignment_Instructions.OPC_x12_LLD4) { Ch07_Assignment_Instructions.OPC_x12_LLD4.execute(); return; }
+			break;
+		case 0x13:
+			if (impl == Ch07_Assignment_Instructions.OPC_x13_LLD5) { Ch07_Assignment_Instructions.OPC_x13_LLD5.execute(); return; }
+			break;
+		case 0x14:
+			if (impl == Ch07_Assignment_Instructions.OPC_x14_LLD6) { Ch07_Assignment_Instructions.OPC_x14_LLD6.execute(); return; }
+			break;
+		case 0x15:
+			if (impl == Ch07_Assignment_Instructions.OPC_x15_LLD7) { Ch07_Assignment_Instructions.OPC_x15_LLD7.execute(); return; }
+			break;
+		case 0x16:
+			if (impl == Ch07_Assignment_Instructions.OPC_x16_LLD8) { Ch07_Assignment_Instructions.OPC_x16_LLD8.execute(); return; }
+			break;
+		case 0x17:
+			if (impl == Ch07_Assignment_Instructions.OPC_x17_LLD10) { Ch07_Assignment_Instructions.OPC_x17_LLD10.execute(); return; }
+			break;
+		case 0x18:
+			if (impl == Ch07_Assignment_Instructions.OPC_x18_LLDB_alpha) { Ch07_Assignment_Instructions.OPC_x18_LLDB_alpha.execute(); return; }
+			break;
+		case 0x19:
+			if (impl == Ch07_Assignment_Instructions.OPC_x19_SL0) { Ch07_Assignment_Instructions.OPC_x19_SL0.execute(); return; }
+			break;
+		case 0x1A:
+			if (impl == Ch07_Assignment_Instructions.OPC_x1A_SL1) { Ch07_Assignment_Instructions.OPC_x1A_SL1.execute(); return; }
+			break;
+		case 0x1B:
+			if (impl == Ch07_Assignment_Instructions.OPC_x1B_SL2) { Ch07_Assignment_Instructions.OPC_x1B_SL2.execute(); return; }
+			break;
+		case 0x1C:
+			if (impl == Ch07_Assignment_Instructions.OPC_x1C_SL3) { Ch07_Assignment_Instructions.OPC_x1C_SL3.execute(); return; }
+			break;
+		case 0x1D:
+			if (impl == Ch07_Assignment_Instructions.OPC_x1D_SL4) { Ch07_Assignment_Instructions.OPC_x1D_SL4.execute(); return; }
+			break;
+		case 0x1E:
+			if (impl == Ch07_Assignment_Instructions.OPC_x1E_SL5) { Ch07_Assignment_Instructions.OPC_x1E_SL5.execute(); return; }
+			break;
+		case 0x1F:
+			if (impl == Ch07_Assignment_Instructions.OPC_x1F_SL6) { Ch07_Assignment_Instructions.OPC_x1F_SL6.execute(); return; }
+			break;
+		case 0x20:
+			if (impl == Ch07_Assignment_Instructions.OPC_x20_SL7) { Ch07_Assignment_Instructions.OPC_x20_SL7.execute(); return; }
+			break;
+		case 0x21:
+			if (impl == Ch07_Assignment_Instructions.OPC_x21_SL8) { Ch07_Assignment_Instructions.OPC_x21_SL8.execute(); return; }
+			break;
+		case 0x22:
+			if (impl == Ch07_Assignment_Instructions.OPC_x22_SL9) { Ch07_Assignment_Instructions.OPC_x22_SL9.execute(); return; }
+			break;
+		case 0x23:
+			if (impl == Ch07_Assignment_Instructions.OPC_x23_SL10) { Ch07_Assignment_Instructions.OPC_x23_SL10.execute(); return; }
+			break;
+		case 0x24:
+			if (impl == Ch07_Assignment_Instructions.OPC_x24_SLB_alpha) { Ch07_Assignment_Instructions.OPC_x24_SLB_alpha.execute(); return; }
+			break;
+		case 0x25:
+			if (impl == Ch07_Assignment_Instructions.OPC_x25_SLD0) { Ch07_Assignment_Instructions.OPC_x25_SLD0.execute(); return; }
+			break;
+		case 0x26:
+			if (impl == Ch07_Assignment_Instructions.OPC_x26_SLD1) { Ch07_Assignment_Instructions.OPC_x26_SLD1.execute(); return; }
+			break;
+		case 0x27:
+			if (impl == Ch07_Assignment_Instructions.OPC_x27_SLD2) { Ch07_Assignment_Instructions.OPC_x27_SLD2.execute(); return; }
+			break;
+		case 0x28:
+			if (impl == Ch07_Assignment_Instructions.OPC_x28_SLD3) { Ch07_Assignment_Instructions.OPC_x28_SLD3.execute(); return; }
+			break;
+		case 0x29:
+			if (impl == Ch07_Assignment_Instructions.OPC_x29_SLD4) { Ch07_Assignment_Instructions.OPC_x29_SLD4.execute(); return; }
+			break;
+		case 0x2A:
+			if (impl == Ch07_Assignment_Instructions.OPC_x2A_SLD5) { Ch07_Assignment_Instructions.OPC_x2A_SLD5.execute(); return; }
+			break;
+		case 0x2B:
+			if (impl == Ch07_Assignment_Instructions.OPC_x2B_SLD6) { Ch07_Assignment_Instructions.OPC_x2B_SLD6.execute(); return; }
+			break;
+		case 0x2C:
+			if (impl == Ch07_Assignment_Instructions.OPC_x2C_SLD8) { Ch07_Assignment_Instructions.OPC_x2C_SLD8.execute(); return; }
+			break;
+		case 0x2D:
+			if (impl == Ch07_Assignment_Instructions.OPC_x2D_PL0) { Ch07_Assignment_Instructions.OPC_x2D_PL0.execute(); return; }
+			break;
+		case 0x2E:
+			if (impl == Ch07_Assignment_Instructions.OPC_x2E_PL1) { Ch07_Assignment_Instructions.OPC_x2E_PL1.execute(); return; }
+			break;
+		case 0x2F:
+			if (impl == Ch07_Assignment_Instructions.OPC_x2F_PL2) { Ch07_Assignment_Instructions.OPC_x2F_PL2.execute(); return; }
+			break;
+		case 0x30:
+			if (impl == Ch07_Assignment_Instructions.OPC_x30_PL3) { Ch07_Assignment_Instructions.OPC_x30_PL3.execute(); return; }
+			break;
+		case 0x31:
+			if (impl == Ch07_Assignment_Instructions.OPC_x31_PLB_alpha) { Ch07_Assignment_Instructions.OPC_x31_PLB_alpha.execute(); return; }
+			break;
+		case 0x32:
+			if (impl == Ch07_Assignment_Instructions.OPC_x32_PLD0) { Ch07_Assignment_Instructions.OPC_x32_PLD0.execute(); return; }
+			break;
+		case 0x33:
+			if (impl == Ch07_Assignment_Instructions.OPC_x33_PLDB_alpha) { Ch07_Assignment_Instructions.OPC_x33_PLDB_alpha.execute(); return; }
+			break;
+		case 0x34:
+			if (impl == Ch07_Assignment_Instructions.OPCo_x34_LG0) { Ch07_Assignment_Instructions.OPCo_x34_LG0.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_x34_LG0) { Ch07_Assignment_Instructions.OPCn_x34_LG0.execute(); return; }
+			break;
+		case 0x35:
+			if (impl == Ch07_Assignment_Instructions.OPCo_x35_LG1) { Ch07_Assignment_Instructions.OPCo_x35_LG1.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_x35_LG1) { Ch07_Assignment_Instructions.OPCn_x35_LG1.execute(); return; }
+			break;
+		case 0x36:
+			if (impl == Ch07_Assignment_Instructions.OPCo_x36_LG2) { Ch07_Assignment_Instructions.OPCo_x36_LG2.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_x36_LG2) { Ch07_Assignment_Instructions.OPCn_x36_LG2.execute(); return; }
+			break;
+		case 0x37:
+			if (impl == Ch07_Assignment_Instructions.OPCo_x37_LGB_alpha) { Ch07_Assignment_Instructions.OPCo_x37_LGB_alpha.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_x37_LGB_alpha) { Ch07_Assignment_Instructions.OPCn_x37_LGB_alpha.execute(); return; }
+			break;
+		case 0x38:
+			if (impl == Ch07_Assignment_Instructions.OPCo_x38_LGD0) { Ch07_Assignment_Instructions.OPCo_x38_LGD0.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_x38_LGD0) { Ch07_Assignment_Instructions.OPCn_x38_LGD0.execute(); return; }
+			break;
+		case 0x39:
+			if (impl == Ch07_Assignment_Instructions.OPCo_x39_LGD2) { Ch07_Assignment_Instructions.OPCo_x39_LGD2.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_x39_LGD2) { Ch07_Assignment_Instructions.OPCn_x39_LGD2.execute(); return; }
+			break;
+		case 0x3A:
+			if (impl == Ch07_Assignment_Instructions.OPCo_x3A_LGDB_alpha) { Ch07_Assignment_Instructions.OPCo_x3A_LGDB_alpha.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_x3A_LGDB_alpha) { Ch07_Assignment_Instructions.OPCn_x3A_LGDB_alpha.execute(); return; }
+			break;
+		case 0x3B:
+			if (impl == Ch07_Assignment_Instructions.OPCo_x3B_SGB_alpha) { Ch07_Assignment_Instructions.OPCo_x3B_SGB_alpha.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_x3B_SGB_alpha) { Ch07_Assignment_Instructions.OPCn_x3B_SGB_alpha.execute(); return; }
+			break;
+		case 0x3C:
+			if (impl == Ch05_Stack_Instructions.OPC_x3C_BNDCK) { Ch05_Stack_Instructions.OPC_x3C_BNDCK.execute(); return; }
+			break;
+		case 0x3D:
+			if (impl == Ch09_Control_Transfers.OPC_x3D_BRK) { Ch09_Control_Transfers.OPC_x3D_BRK.execute(); return; }
+			break;
+		case 0x40:
+			if (impl == Ch07_Assignment_Instructions.OPC_x40_R0) { Ch07_Assignment_Instructions.OPC_x40_R0.execute(); return; }
+			break;
+		case 0x41:
+			if (impl == Ch07_Assignment_Instructions.OPC_x41_R1) { Ch07_Assignment_Instructions.OPC_x41_R1.execute(); return; }
+			break;
+		case 0x42:
+			if (impl == Ch07_Assignment_Instructions.OPC_x42_RB_alpha) { Ch07_Assignment_Instructions.OPC_x42_RB_alpha.execute(); return; }
+			break;
+		case 0x43:
+			if (impl == Ch07_Assignment_Instructions.OPC_x43_RL0) { Ch07_Assignment_Instructions.OPC_x43_RL0.execute(); return; }
+			break;
+		case 0x44:
+			if (impl == Ch07_Assignment_Instructions.OPC_x44_RLB_alpha) { Ch07_Assignment_Instructions.OPC_x44_RLB_alpha.execute(); return; }
+			break;
+		case 0x45:
+			if (impl == Ch07_Assignment_Instructions.OPC_x45_RD0) { Ch07_Assignment_Instructions.OPC_x45_RD0.execute(); return; }
+			break;
+		case 0x46:
+			if (impl == Ch07_Assignment_Instructions.OPC_x46_RDB_alpha) { Ch07_Assignment_Instructions.OPC_x46_RDB_alpha.execute(); return; }
+			break;
+		case 0x47:
+			if (impl == Ch07_Assignment_Instructions.OPC_x47_RDL0) { Ch07_Assignment_Instructions.OPC_x47_RDL0.execute(); return; }
+			break;
+		case 0x48:
+			if (impl == Ch07_Assignment_Instructions.OPC_x48_RDLB_alpha) { Ch07_Assignment_Instructions.OPC_x48_RDLB_alpha.execute(); return; }
+			break;
+		case 0x49:
+			if (impl == Ch07_Assignment_Instructions.OPC_x49_W0) { Ch07_Assignment_Instructions.OPC_x49_W0.execute(); return; }
+			break;
+		case 0x4A:
+			if (impl == Ch07_Assignment_Instructions.OPC_x4A_WB_alpha) { Ch07_Assignment_Instructions.OPC_x4A_WB_alpha.execute(); return; }
+			break;
+		case 0x4B:
+			if (impl == Ch07_Assignment_Instructions.OPC_x4B_PSB_alpha) { Ch07_Assignment_Instructions.OPC_x4B_PSB_alpha.execute(); return; }
+			break;
+		case 0x4C:
+			if (impl == Ch07_Assignment_Instructions.OPC_x4C_WLB_alpha) { Ch07_Assignment_Instructions.OPC_x4C_WLB_alpha.execute(); return; }
+			break;
+		case 0x4D:
+			if (impl == Ch07_Assignment_Instructions.OPC_x4D_PSLB_alpha) { Ch07_Assignment_Instructions.OPC_x4D_PSLB_alpha.execute(); return; }
+			break;
+		case 0x4E:
+			if (impl == Ch07_Assignment_Instructions.OPC_x4E_WDB_alpha) { Ch07_Assignment_Instructions.OPC_x4E_WDB_alpha.execute(); return; }
+			break;
+		case 0x4F:
+			if (impl == Ch07_Assignment_Instructions.OPC_x4F_PSD0) { Ch07_Assignment_Instructions.OPC_x4F_PSD0.execute(); return; }
+			break;
+		case 0x50:
+			if (impl == Ch07_Assignment_Instructions.OPC_x50_PSDB_alpha) { Ch07_Assignment_Instructions.OPC_x50_PSDB_alpha.execute(); return; }
+			break;
+		case 0x51:
+			if (impl == Ch07_Assignment_Instructions.OPC_x51_WDLB_alpha) { Ch07_Assignment_Instructions.OPC_x51_WDLB_alpha.execute(); return; }
+			break;
+		case 0x52:
+			if (impl == Ch07_Assignment_Instructions.OPC_x52_PSDLB_alpha) { Ch07_Assignment_Instructions.OPC_x52_PSDLB_alpha.execute(); return; }
+			break;
+		case 0x53:
+			if (impl == Ch07_Assignment_Instructions.OPC_x53_RLI00) { Ch07_Assignment_Instructions.OPC_x53_RLI00.execute(); return; }
+			break;
+		case 0x54:
+			if (impl == Ch07_Assignment_Instructions.OPC_x54_RLI01) { Ch07_Assignment_Instructions.OPC_x54_RLI01.execute(); return; }
+			break;
+		case 0x55:
+			if (impl == Ch07_Assignment_Instructions.OPC_x55_RLI02) { Ch07_Assignment_Instructions.OPC_x55_RLI02.execute(); return; }
+			break;
+		case 0x56:
+			if (impl == Ch07_Assignment_Instructions.OPC_x56_RLI03) { Ch07_Assignment_Instructions.OPC_x56_RLI03.execute(); return; }
+			break;
+		case 0x57:
+			if (impl == Ch07_Assignment_Instructions.OPC_x57_RLIP_pair) { Ch07_Assignment_Instructions.OPC_x57_RLIP_pair.execute(); return; }
+			break;
+		case 0x58:
+			if (impl == Ch07_Assignment_Instructions.OPC_x58_RLILP_pair) { Ch07_Assignment_Instructions.OPC_x58_RLILP_pair.execute(); return; }
+			break;
+		case 0x59:
+			if (impl == Ch07_Assignment_Instructions.OPC_x59_RLDI00) { Ch07_Assignment_Instructions.OPC_x59_RLDI00.execute(); return; }
+			break;
+		case 0x5A:
+			if (impl == Ch07_Assignment_Instructions.OPC_x5A_RLDIP_pair) { Ch07_Assignment_Instructions.OPC_x5A_RLDIP_pair.execute(); return; }
+			break;
+		case 0x5B:
+			if (impl == Ch07_Assignment_Instructions.OPC_x5B_RLDILP_pair) { Ch07_Assignment_Instructions.OPC_x5B_RLDILP_pair.execute(); return; }
+			break;
+		case 0x5C:
+			if (impl == Ch07_Assignment_Instructions.OPCo_x5C_RGIP_pair) { Ch07_Assignment_Instructions.OPCo_x5C_RGIP_pair.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_x5C_RGIP_pair) { Ch07_Assignment_Instructions.OPCn_x5C_RGIP_pair.execute(); return; }
+			break;
+		case 0x5D:
+			if (impl == Ch07_Assignment_Instructions.OPCo_x5D_RGILP_pair) { Ch07_Assignment_Instructions.OPCo_x5D_RGILP_pair.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_x5D_RGILP_pair) { Ch07_Assignment_Instructions.OPCn_x5D_RGILP_pair.execute(); return; }
+			break;
+		case 0x5E:
+			if (impl == Ch07_Assignment_Instructions.OPC_x5E_WLIP_pair) { Ch07_Assignment_Instructions.OPC_x5E_WLIP_pair.execute(); return; }
+			break;
+		case 0x5F:
+			if (impl == Ch07_Assignment_Instructions.OPC_x5F_WLILP_pair) { Ch07_Assignment_Instructions.OPC_x5F_WLILP_pair.execute(); return; }
+			break;
+		case 0x60:
+			if (impl == Ch07_Assignment_Instructions.OPC_x60_WLDILP_pair) { Ch07_Assignment_Instructions.OPC_x60_WLDILP_pair.execute(); return; }
+			break;
+		case 0x61:
+			if (impl == Ch07_Assignment_Instructions.OPC_x61_RS_alpha) { Ch07_Assignment_Instructions.OPC_x61_RS_alpha.execute(); return; }
+			break;
+		case 0x62:
+			if (impl == Ch07_Assignment_Instructions.OPC_x62_RLS_alpha) { Ch07_Assignment_Instructions.OPC_x62_RLS_alpha.execute(); return; }
+			break;
+		case 0x63:
+			if (impl == Ch07_Assignment_Instructions.OPC_x63_WS_alpha) { Ch07_Assignment_Instructions.OPC_x63_WS_alpha.execute(); return; }
+			break;
+		case 0x64:
+			if (impl == Ch07_Assignment_Instructions.OPC_x64_WLS_alpha) { Ch07_Assignment_Instructions.OPC_x64_WLS_alpha.execute(); return; }
+			break;
+		case 0x65:
+			if (impl == Ch07_Assignment_Instructions.OPC_x65_R0F_alpha) { Ch07_Assignment_Instructions.OPC_x65_R0F_alpha.execute(); return; }
+			break;
+		case 0x66:
+			if (impl == Ch07_Assignment_Instructions.OPC_x66_RF_word) { Ch07_Assignment_Instructions.OPC_x66_RF_word.execute(); return; }
+			break;
+		case 0x67:
+			if (impl == Ch07_Assignment_Instructions.OPC_x67_RL0F_alpha) { Ch07_Assignment_Instructions.OPC_x67_RL0F_alpha.execute(); return; }
+			break;
+		case 0x68:
+			if (impl == Ch07_Assignment_Instructions.OPC_x68_RLF_word) { Ch07_Assignment_Instructions.OPC_x68_RLF_word.execute(); return; }
+			break;
+		case 0x69:
+			if (impl == Ch07_Assignment_Instructions.OPC_x69_RLFS) { Ch07_Assignment_Instructions.OPC_x69_RLFS.execute(); return; }
+			break;
+		case 0x6A:
+			if (impl == Ch07_Assignment_Instructions.OPC_x6A_RLIPF_alphabeta) { Ch07_Assignment_Instructions.OPC_x6A_RLIPF_alphabeta.execute(); return; }
+			break;
+		case 0x6B:
+			if (impl == Ch07_Assignment_Instructions.OPC_x6B_RLILPF_alphabeta) { Ch07_Assignment_Instructions.OPC_x6B_RLILPF_alphabeta.execute(); return; }
+			break;
+		case 0x6C:
+			if (impl == Ch07_Assignment_Instructions.OPC_x6C_W0F_alpha) { Ch07_Assignment_Instructions.OPC_x6C_W0F_alpha.execute(); return; }
+			break;
+		case 0x6D:
+			if (impl == Ch07_Assignment_Instructions.OPC_x6D_WF_word) { Ch07_Assignment_Instructions.OPC_x6D_WF_word.execute(); return; }
+			break;
+		case 0x6E:
+			if (impl == Ch07_Assignment_Instructions.OPC_x6E_PSF_word) { Ch07_Assignment_Instructions.OPC_x6E_PSF_word.execute(); return; }
+			break;
+		case 0x6F:
+			if (impl == Ch07_Assignment_Instructions.OPC_x6F_PS0F) { Ch07_Assignment_Instructions.OPC_x6F_PS0F.execute(); return; }
+			break;
+		case 0x70:
+			if (impl == Ch07_Assignment_Instructions.OPC_x70_WS0F_alpha) { Ch07_Assignment_Instructions.OPC_x70_WS0F_alpha.execute(); return; }
+			break;
+		case 0x71:
+			if (impl == Ch07_Assignment_Instructions.OPC_x71_WL0F_alpha) { Ch07_Assignment_Instructions.OPC_x71_WL0F_alpha.execute(); return; }
+			break;
+		case 0x72:
+			if (impl == Ch07_Assignment_Instructions.OPC_x72_WLF_word) { Ch07_Assignment_Instructions.OPC_x72_WLF_word.execute(); return; }
+			break;
+		case 0x73:
+			if (impl == Ch07_Assignment_Instructions.OPC_x73_PSLF_word) { Ch07_Assignment_Instructions.OPC_x73_PSLF_word.execute(); return; }
+			break;
+		case 0x74:
+			if (impl == Ch07_Assignment_Instructions.OPC_x74_WLFS) { Ch07_Assignment_Instructions.OPC_x74_WLFS.execute(); return; }
+			break;
+		case 0x75:
+			if (impl == Ch07_Assignment_Instructions.OPC_x75_SLDB_alpha) { Ch07_Assignment_Instructions.OPC_x75_SLDB_alpha.execute(); return; }
+			break;
+		case 0x76:
+			if (impl == Ch07_Assignment_Instructions.OPCo_x76_SGDB_alpha) { Ch07_Assignment_Instructions.OPCo_x76_SGDB_alpha.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_x76_SGDB_alpha) { Ch07_Assignment_Instructions.OPCn_x76_SGDB_alpha.execute(); return; }
+			break;
+		case 0x77:
+			if (impl == Ch09_Control_Transfers.OPC_x77_LLKB_alpha) { Ch09_Control_Transfers.OPC_x77_LLKB_alpha.execute(); return; }
+			break;
+		case 0x78:
+			if (impl == Ch09_Control_Transfers.OPC_x78_RKIB_alpha) { Ch09_Control_Transfers.OPC_x78_RKIB_alpha.execute(); return; }
+			break;
+		case 0x79:
+			if (impl == Ch09_Control_Transfers.OPC_x79_RKDIB_alpha) { Ch09_Control_Transfers.OPC_x79_RKDIB_alpha.execute(); return; }
+			break;
+		case 0x7A:
+			if (impl == Ch09_Control_Transfers.OPC_x7A_LKB_alpha) { Ch09_Control_Transfers.OPC_x7A_LKB_alpha.execute(); return; }
+			break;
+		case 0x7B:
+			if (impl == Ch05_Stack_Instructions.OPC_x7B_SHIFT) { Ch05_Stack_Instructions.OPC_x7B_SHIFT.execute(); return; }
+			break;
+		case 0x7C:
+			if (impl == Ch05_Stack_Instructions.OPC_x7C_SHIFTSB_alpha) { Ch05_Stack_Instructions.OPC_x7C_SHIFTSB_alpha.execute(); return; }
+			break;
+		case 0x80:
+			if (impl == Ch06_Jump_Instructions.OPC_x80_CATCH_alpha) { Ch06_Jump_Instructions.OPC_x80_CATCH_alpha.execute(); return; }
+			break;
+		case 0x81:
+			if (impl == Ch06_Jump_Instructions.OPC_x81_J2) { Ch06_Jump_Instructions.OPC_x81_J2.execute(); return; }
+			break;
+		case 0x82:
+			if (impl == Ch06_Jump_Instructions.OPC_x82_J3) { Ch06_Jump_Instructions.OPC_x82_J3.execute(); return; }
+			break;
+		case 0x83:
+			if (impl == Ch06_Jump_Instructions.OPC_x83_J4) { Ch06_Jump_Instructions.OPC_x83_J4.execute(); return; }
+			break;
+		case 0x84:
+			if (impl == Ch06_Jump_Instructions.OPC_x84_J5) { Ch06_Jump_Instructions.OPC_x84_J5.execute(); return; }
+			break;
+		case 0x85:
+			if (impl == Ch06_Jump_Instructions.OPC_x85_J6) { Ch06_Jump_Instructions.OPC_x85_J6.execute(); return; }
+			break;
+		case 0x86:
+			if (impl == Ch06_Jump_Instructions.OPC_x86_J7) { Ch06_Jump_Instructions.OPC_x86_J7.execute(); return; }
+			break;
+		case 0x87:
+			if (impl == Ch06_Jump_Instructions.OPC_x87_J8) { Ch06_Jump_Instructions.OPC_x87_J8.execute(); return; }
+			break;
+		case 0x88:
+			if (impl == Ch06_Jump_Instructions.OPC_x88_JB_salpha) { Ch06_Jump_Instructions.OPC_x88_JB_salpha.execute(); return; }
+			break;
+		case 0x89:
+			if (impl == Ch06_Jump_Instructions.OPC_x89_JW_sword) { Ch06_Jump_Instructions.OPC_x89_JW_sword.execute(); return; }
+			break;
+		case 0x8A:
+			if (impl == Ch06_Jump_Instructions.OPC_x8A_JEP_pair) { Ch06_Jump_Instructions.OPC_x8A_JEP_pair.execute(); return; }
+			break;
+		case 0x8B:
+			if (impl == Ch06_Jump_Instructions.OPC_x8B_JEB_salpha) { Ch06_Jump_Instructions.OPC_x8B_JEB_salpha.execute(); return; }
+			break;
+		case 0x8C:
+			if (impl == Ch06_Jump_Instructions.OPC_x8C_JEBB_alphasbeta) { Ch06_Jump_Instructions.OPC_x8C_JEBB_alphasbeta.execute(); return; }
+			break;
+		case 0x8D:
+			if (impl == Ch06_Jump_Instructions.OPC_x8D_JNEP_pair) { Ch06_Jump_Instructions.OPC_x8D_JNEP_pair.execute(); return; }
+			break;
+		case 0x8E:
+			if (impl == Ch06_Jump_Instructions.OPC_x8E_JNEB_salpha) { Ch06_Jump_Instructions.OPC_x8E_JNEB_salpha.execute(); return; }
+			break;
+		case 0x8F:
+			if (impl == Ch06_Jump_Instructions.OPC_x8F_JNEBB_alphasbeta) { Ch06_Jump_Instructions.OPC_x8F_JNEBB_alphasbeta.execute(); return; }
+			break;
+		case 0x90:
+			if (impl == Ch06_Jump_Instructions.OPC_x90_JLB_salpha) { Ch06_Jump_Instructions.OPC_x90_JLB_salpha.execute(); return; }
+			break;
+		case 0x91:
+			if (impl == Ch06_Jump_Instructions.OPC_x91_JGEB_salpha) { Ch06_Jump_Instructions.OPC_x91_JGEB_salpha.execute(); return; }
+			break;
+		case 0x92:
+			if (impl == Ch06_Jump_Instructions.OPC_x92_JGB_salpha) { Ch06_Jump_Instructions.OPC_x92_JGB_salpha.execute(); return; }
+			break;
+		case 0x93:
+			if (impl == Ch06_Jump_Instructions.OPC_x93_JLEB_salpha) { Ch06_Jump_Instructions.OPC_x93_JLEB_salpha.execute(); return; }
+			break;
+		case 0x94:
+			if (impl == Ch06_Jump_Instructions.OPC_x94_JULB_salpha) { Ch06_Jump_Instructions.OPC_x94_JULB_salpha.execute(); return; }
+			break;
+		case 0x95:
+			if (impl == Ch06_Jump_Instructions.OPC_x95_JUGEB_salpha) { Ch06_Jump_Instructions.OPC_x95_JUGEB_salpha.execute(); return; }
+			break;
+		case 0x96:
+			if (impl == Ch06_Jump_Instructions.OPC_x96_JUGB_salpha) { Ch06_Jump_Instructions.OPC_x96_JUGB_salpha.execute(); return; }
+			break;
+		case 0x97:
+			if (impl == Ch06_Jump_Instructions.OPC_x97_JULEB_salpha) { Ch06_Jump_Instructions.OPC_x97_JULEB_salpha.execute(); return; }
+			break;
+		case 0x98:
+			if (impl == Ch06_Jump_Instructions.OPC_x98_JZ3) { Ch06_Jump_Instructions.OPC_x98_JZ3.execute(); return; }
+			break;
+		case 0x99:
+			if (impl == Ch06_Jump_Instructions.OPC_x99_JZ4) { Ch06_Jump_Instructions.OPC_x99_JZ4.execute(); return; }
+			break;
+		case 0x9A:
+			if (impl == Ch06_Jump_Instructions.OPC_x9A_JZB_salpha) { Ch06_Jump_Instructions.OPC_x9A_JZB_salpha.execute(); return; }
+			break;
+		case 0x9B:
+			if (impl == Ch06_Jump_Instructions.OPC_x9B_JNZ3) { Ch06_Jump_Instructions.OPC_x9B_JNZ3.execute(); return; }
+			break;
+		case 0x9C:
+			if (impl == Ch06_Jump_Instructions.OPC_x9C_JNZ4) { Ch06_Jump_Instructions.OPC_x9C_JNZ4.execute(); return; }
+			break;
+		case 0x9D:
+			if (impl == Ch06_Jump_Instructions.OPC_x9D_JNZB_salpha) { Ch06_Jump_Instructions.OPC_x9D_JNZB_salpha.execute(); return; }
+			break;
+		case 0x9E:
+			if (impl == Ch06_Jump_Instructions.OPC_x9E_JDEB_salpha) { Ch06_Jump_Instructions.OPC_x9E_JDEB_salpha.execute(); return; }
+			break;
+		case 0x9F:
+			if (impl == Ch06_Jump_Instructions.OPC_x9F_JDNEB_salpha) { Ch06_Jump_Instructions.OPC_x9F_JDNEB_salpha.execute(); return; }
+			break;
+		case 0xA0:
+			if (impl == Ch06_Jump_Instructions.OPC_xA0_JIB_word) { Ch06_Jump_Instructions.OPC_xA0_JIB_word.execute(); return; }
+			break;
+		case 0xA1:
+			if (impl == Ch06_Jump_Instructions.OPC_xA1_JIW_word) { Ch06_Jump_Instructions.OPC_xA1_JIW_word.execute(); return; }
+			break;
+		case 0xA2:
+			if (impl == Ch05_Stack_Instructions.OPC_xA2_REC) { Ch05_Stack_Instructions.OPC_xA2_REC.execute(); return; }
+			break;
+		case 0xA3:
+			if (impl == Ch05_Stack_Instructions.OPC_xA3_REC2) { Ch05_Stack_Instructions.OPC_xA3_REC2.execute(); return; }
+			break;
+		case 0xA4:
+			if (impl == Ch05_Stack_Instructions.OPC_xA4_DIS) { Ch05_Stack_Instructions.OPC_xA4_DIS.execute(); return; }
+			break;
+		case 0xA5:
+			if (impl == Ch05_Stack_Instructions.OPC_xA5_DIS2) { Ch05_Stack_Instructions.OPC_xA5_DIS2.execute(); return; }
+			break;
+		case 0xA6:
+			if (impl == Ch05_Stack_Instructions.OPC_xA6_EXCH) { Ch05_Stack_Instructions.OPC_xA6_EXCH.execute(); return; }
+			break;
+		case 0xA7:
+			if (impl == Ch05_Stack_Instructions.OPC_xA7_DEXCH) { Ch05_Stack_Instructions.OPC_xA7_DEXCH.execute(); return; }
+			break;
+		case 0xA8:
+			if (impl == Ch05_Stack_Instructions.OPC_xA8_DUP) { Ch05_Stack_Instructions.OPC_xA8_DUP.execute(); return; }
+			break;
+		case 0xA9:
+			if (impl == Ch05_Stack_Instructions.OPC_xA9_DDUP) { Ch05_Stack_Instructions.OPC_xA9_DDUP.execute(); return; }
+			break;
+		case 0xAA:
+			if (impl == Ch05_Stack_Instructions.OPC_xAA_EXDIS) { Ch05_Stack_Instructions.OPC_xAA_EXDIS.execute(); return; }
+			break;
+		case 0xAB:
+			if (impl == Ch05_Stack_Instructions.OPC_xAB_NEG) { Ch05_Stack_Instructions.OPC_xAB_NEG.execute(); return; }
+			break;
+		case 0xAC:
+			if (impl == Ch05_Stack_Instructions.OPC_xAC_INC) { Ch05_Stack_Instructions.OPC_xAC_INC.execute(); return; }
+			break;
+		case 0xAD:
+			if (impl == Ch05_Stack_Instructions.OPC_xAD_DEC) { Ch05_Stack_Instructions.OPC_xAD_DEC.execute(); return; }
+			break;
+		case 0xAE:
+			if (impl == Ch05_Stack_Instructions.OPC_xAE_DINC) { Ch05_Stack_Instructions.OPC_xAE_DINC.execute(); return; }
+			break;
+		case 0xAF:
+			if (impl == Ch05_Stack_Instructions.OPC_xAF_DBL) { Ch05_Stack_Instructions.OPC_xAF_DBL.execute(); return; }
+			break;
+		case 0xB0:
+			if (impl == Ch05_Stack_Instructions.OPC_xB0_DDBL) { Ch05_Stack_Instructions.OPC_xB0_DDBL.execute(); return; }
+			break;
+		case 0xB1:
+			if (impl == Ch05_Stack_Instructions.OPC_xB1_TRPL) { Ch05_Stack_Instructions.OPC_xB1_TRPL.execute(); return; }
+			break;
+		case 0xB2:
+			if (impl == Ch05_Stack_Instructions.OPC_xB2_AND) { Ch05_Stack_Instructions.OPC_xB2_AND.execute(); return; }
+			break;
+		case 0xB3:
+			if (impl == Ch05_Stack_Instructions.OPC_xB3_IOR) { Ch05_Stack_Instructions.OPC_xB3_IOR.execute(); return; }
+			break;
+		case 0xB4:
+			if (impl == Ch05_Stack_Instructions.OPC_xB4_ADDSB_alpha) { Ch05_Stack_Instructions.OPC_xB4_ADDSB_alpha.execute(); return; }
+			break;
+		case 0xB5:
+			if (impl == Ch05_Stack_Instructions.OPC_xB5_ADD) { Ch05_Stack_Instructions.OPC_xB5_ADD.execute(); return; }
+			break;
+		case 0xB6:
+			if (impl == Ch05_Stack_Instructions.OPC_xB6_SUB) { Ch05_Stack_Instructions.OPC_xB6_SUB.execute(); return; }
+			break;
+		case 0xB7:
+			if (impl == Ch05_Stack_Instructions.OPC_xB7_DADD) { Ch05_Stack_Instructions.OPC_xB7_DADD.execute(); return; }
+			break;
+		case 0xB8:
+			if (impl == Ch05_Stack_Instructions.OPC_xB8_DSUB) { Ch05_Stack_Instructions.OPC_xB8_DSUB.execute(); return; }
+			break;
+		case 0xB9:
+			if (impl == Ch05_Stack_Instructions.OPC_xB9_ADC) { Ch05_Stack_Instructions.OPC_xB9_ADC.execute(); return; }
+			break;
+		case 0xBA:
+			if (impl == Ch05_Stack_Instructions.OPC_xBA_ACD) { Ch05_Stack_Instructions.OPC_xBA_ACD.execute(); return; }
+			break;
+		case 0xBB:
+			if (impl == Ch07_Assignment_Instructions.OPC_xBB_AL0IB_alpha) { Ch07_Assignment_Instructions.OPC_xBB_AL0IB_alpha.execute(); return; }
+			break;
+		case 0xBC:
+			if (impl == Ch05_Stack_Instructions.OPC_xBC_MUL) { Ch05_Stack_Instructions.OPC_xBC_MUL.execute(); return; }
+			break;
+		case 0xBD:
+			if (impl == Ch05_Stack_Instructions.OPC_xBD_DCMP) { Ch05_Stack_Instructions.OPC_xBD_DCMP.execute(); return; }
+			break;
+		case 0xBE:
+			if (impl == Ch05_Stack_Instructions.OPC_xBE_UDCMP) { Ch05_Stack_Instructions.OPC_xBE_UDCMP.execute(); return; }
+			break;
+		case 0xBF:
+			if (impl == ChXX_Undocumented.OPC_xBF_VMFIND) { ChXX_Undocumented.OPC_xBF_VMFIND.execute(); return; }
+			break;
+		case 0xC0:
+			if (impl == Ch07_Assignment_Instructions.OPC_xC0_LI0) { Ch07_Assignment_Instructions.OPC_xC0_LI0.execute(); return; }
+			break;
+		case 0xC1:
+			if (impl == Ch07_Assignment_Instructions.OPC_xC1_LI1) { Ch07_Assignment_Instructions.OPC_xC1_LI1.execute(); return; }
+			break;
+		case 0xC2:
+			if (impl == Ch07_Assignment_Instructions.OPC_xC2_LI2) { Ch07_Assignment_Instructions.OPC_xC2_LI2.execute(); return; }
+			break;
+		case 0xC3:
+			if (impl == Ch07_Assignment_Instructions.OPC_xC3_LI3) { Ch07_Assignment_Instructions.OPC_xC3_LI3.execute(); return; }
+			break;
+		case 0xC4:
+			if (impl == Ch07_Assignment_Instructions.OPC_xC4_LI4) { Ch07_Assignment_Instructions.OPC_xC4_LI4.execute(); return; }
+			break;
+		case 0xC5:
+			if (impl == Ch07_Assignment_Instructions.OPC_xC5_LI5) { Ch07_Assignment_Instructions.OPC_xC5_LI5.execute(); return; }
+			break;
+		case 0xC6:
+			if (impl == Ch07_Assignment_Instructions.OPC_xC6_LI6) { Ch07_Assignment_Instructions.OPC_xC6_LI6.execute(); return; }
+			break;
+		case 0xC7:
+			if (impl == Ch07_Assignment_Instructions.OPC_xC7_LI7) { Ch07_Assignment_Instructions.OPC_xC7_LI7.execute(); return; }
+			break;
+		case 0xC8:
+			if (impl == Ch07_Assignment_Instructions.OPC_xC8_LI8) { Ch07_Assignment_Instructions.OPC_xC8_LI8.execute(); return; }
+			break;
+		case 0xC9:
+			if (impl == Ch07_Assignment_Instructions.OPC_xC9_LI9) { Ch07_Assignment_Instructions.OPC_xC9_LI9.execute(); return; }
+			break;
+		case 0xCA:
+			if (impl == Ch07_Assignment_Instructions.OPC_xCA_LI10) { Ch07_Assignment_Instructions.OPC_xCA_LI10.execute(); return; }
+			break;
+		case 0xCB:
+			if (impl == Ch07_Assignment_Instructions.OPC_xCB_LIN1) { Ch07_Assignment_Instructions.OPC_xCB_LIN1.execute(); return; }
+			break;
+		case 0xCC:
+			if (impl == Ch07_Assignment_Instructions.OPC_xCC_LINI) { Ch07_Assignment_Instructions.OPC_xCC_LINI.execute(); return; }
+			break;
+		case 0xCD:
+			if (impl == Ch07_Assignment_Instructions.OPC_xCD_LIB_alpha) { Ch07_Assignment_Instructions.OPC_xCD_LIB_alpha.execute(); return; }
+			break;
+		case 0xCE:
+			if (impl == Ch07_Assignment_Instructions.OPC_xCE_LIW_word) { Ch07_Assignment_Instructions.OPC_xCE_LIW_word.execute(); return; }
+			break;
+		case 0xCF:
+			if (impl == Ch07_Assignment_Instructions.OPC_xCF_LINB_alpha) { Ch07_Assignment_Instructions.OPC_xCF_LINB_alpha.execute(); return; }
+			break;
+		case 0xD0:
+			if (impl == Ch07_Assignment_Instructions.OPC_xD0_LIHB_alpha) { Ch07_Assignment_Instructions.OPC_xD0_LIHB_alpha.execute(); return; }
+			break;
+		case 0xD1:
+			if (impl == Ch07_Assignment_Instructions.OPC_xD1_LID0) { Ch07_Assignment_Instructions.OPC_xD1_LID0.execute(); return; }
+			break;
+		case 0xD2:
+			if (impl == Ch07_Assignment_Instructions.OPC_xD2_LA0) { Ch07_Assignment_Instructions.OPC_xD2_LA0.execute(); return; }
+			break;
+		case 0xD3:
+			if (impl == Ch07_Assignment_Instructions.OPC_xD3_LA1) { Ch07_Assignment_Instructions.OPC_xD3_LA1.execute(); return; }
+			break;
+		case 0xD4:
+			if (impl == Ch07_Assignment_Instructions.OPC_xD4_LA2) { Ch07_Assignment_Instructions.OPC_xD4_LA2.execute(); return; }
+			break;
+		case 0xD5:
+			if (impl == Ch07_Assignment_Instructions.OPC_xD5_LA3) { Ch07_Assignment_Instructions.OPC_xD5_LA3.execute(); return; }
+			break;
+		case 0xD6:
+			if (impl == Ch07_Assignment_Instructions.OPC_xD6_LA6) { Ch07_Assignment_Instructions.OPC_xD6_LA6.execute(); return; }
+			break;
+		case 0xD7:
+			if (impl == Ch07_Assignment_Instructions.OPC_xD7_LA8) { Ch07_Assignment_Instructions.OPC_xD7_LA8.execute(); return; }
+			break;
+		case 0xD8:
+			if (impl == Ch07_Assignment_Instructions.OPC_xD8_LAB_alpha) { Ch07_Assignment_Instructions.OPC_xD8_LAB_alpha.execute(); return; }
+			break;
+		case 0xD9:
+			if (impl == Ch07_Assignment_Instructions.OPC_xD9_LAW_word) { Ch07_Assignment_Instructions.OPC_xD9_LAW_word.execute(); return; }
+			break;
+		case 0xDA:
+			if (impl == Ch07_Assignment_Instructions.OPCo_xDA_GA0) { Ch07_Assignment_Instructions.OPCo_xDA_GA0.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_xDA_GA0) { Ch07_Assignment_Instructions.OPCn_xDA_GA0.execute(); return; }
+			break;
+		case 0xDB:
+			if (impl == Ch07_Assignment_Instructions.OPCo_xDB_GA1) { Ch07_Assignment_Instructions.OPCo_xDB_GA1.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_xDB_GA1) { Ch07_Assignment_Instructions.OPCn_xDB_GA1.execute(); return; }
+			break;
+		case 0xDC:
+			if (impl == Ch07_Assignment_Instructions.OPCo_xDC_GAB_alpha) { Ch07_Assignment_Instructions.OPCo_xDC_GAB_alpha.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_xDC_GAB_alpha) { Ch07_Assignment_Instructions.OPCn_xDC_GAB_alpha.execute(); return; }
+			break;
+		case 0xDD:
+			if (impl == Ch07_Assignment_Instructions.OPCo_xDD_GAW_word) { Ch07_Assignment_Instructions.OPCo_xDD_GAW_word.execute(); return; }
+			if (impl == Ch07_Assignment_Instructions.OPCn_xDD_GAW_word) { Ch07_Assignment_Instructions.OPCn_xDD_GAW_word.execute(); return; }
+			break;
+		case 0xDF:
+			if (impl == Ch09_Control_Transfers.OPC_xDF_EFC0) { Ch09_Control_Transfers.OPC_xDF_EFC0.execute(); return; }
+			break;
+		case 0xE0:
+			if (impl == Ch09_Control_Transfers.OPC_xE0_EFC1) { Ch09_Control_Transfers.OPC_xE0_EFC1.execute(); return; }
+			break;
+		case 0xE1:
+			if (impl == Ch09_Control_Transfers.OPC_xE1_EFC2) { Ch09_Control_Transfers.OPC_xE1_EFC2.execute(); return; }
+			break;
+		case 0xE2:
+			if (impl == Ch09_Control_Transfers.OPC_xE2_EFC3) { Ch09_Control_Transfers.OPC_xE2_EFC3.execute(); return; }
+			break;
+		case 0xE3:
+			if (impl == Ch09_Control_Transfers.OPC_xE3_EFC4) { Ch09_Control_Transfers.OPC_xE3_EFC4.execute(); return; }
+			break;
+		case 0xE4:
+			if (impl == Ch09_Control_Transfers.OPC_xE4_EFC5) { Ch09_Control_Transfers.OPC_xE4_EFC5.execute(); return; }
+			break;
+		case 0xE5:
+			if (impl == Ch09_Control_Transfers.OPC_xE5_EFC6) { Ch09_Control_Transfers.OPC_xE5_EFC6.execute(); return; }
+			break;
+		case 0xE6:
+			if (impl == Ch09_Control_Transfers.OPC_xE6_EFC7) { Ch09_Control_Transfers.OPC_xE6_EFC7.execute(); return; }
+			break;
+		case 0xE7:
+			if (impl == Ch09_Control_Transfers.OPC_xE7_EFC8) { Ch09_Control_Transfers.OPC_xE7_EFC8.execute(); return; }
+			break;
+		case 0xE8:
+			if (impl == Ch09_Control_Transfers.OPC_xE8_EFC9) { Ch09_Control_Transfers.OPC_xE8_EFC9.execute(); return; }
+			break;
+		case 0xE9:
+			if (impl == Ch09_Control_Transfers.OPC_xE9_EFC10) { Ch09_Control_Transfers.OPC_xE9_EFC10.execute(); return; }
+			break;
+		case 0xEA:
+			if (impl == Ch09_Control_Transfers.OPC_xEA_EFC11) { Ch09_Control_Transfers.OPC_xEA_EFC11.execute(); return; }
+			break;
+		case 0xEB:
+			if (impl == Ch09_Control_Transfers.OPC_xEB_EFC12) { Ch09_Control_Transfers.OPC_xEB_EFC12.execute(); return; }
+			break;
+		case 0xEC:
+			if (impl == Ch09_Control_Transfers.OPC_xEC_EFCB_alpha) { Ch09_Control_Transfers.OPC_xEC_EFCB_alpha.execute(); return; }
+			break;
+		case 0xED:
+			if (impl == Ch09_Control_Transfers.OPCo_xED_LFC_word) { Ch09_Control_Transfers.OPCo_xED_LFC_word.execute(); return; }
+			if (impl == Ch09_Control_Transfers.OPCn_xED_LFC_word) { Ch09_Control_Transfers.OPCn_xED_LFC_word.execute(); return; }
+			break;
+		case 0xEE:
+			if (impl == Ch09_Control_Transfers.OPC_xEE_SFC) { Ch09_Control_Transfers.OPC_xEE_SFC.execute(); return; }
+			break;
+		case 0xEF:
+			if (impl == Ch09_Control_Transfers.OPC_xEF_RET) { Ch09_Control_Transfers.OPC_xEF_RET.execute(); return; }
+			break;
+		case 0xF0:
+			if (impl == Ch09_Control_Transfers.OPC_xF0_KFCB_alpha) { Ch09_Control_Transfers.OPC_xF0_KFCB_alpha.execute(); return; }
+			break;
+		case 0xF1:
+			if (impl == Ch10_Processes.OPC_xF1_ME) { Ch10_Processes.OPC_xF1_ME.execute(); return; }
+			break;
+		case 0xF2:
+			if (impl == Ch10_Processes.OPC_xF2_MX) { Ch10_Processes.OPC_xF2_MX.execute(); return; }
+			break;
+		case 0xF3:
+			if (impl == Ch08_Block_Transfers.OPC_xF3_BLT) { Ch08_Block_Transfers.OPC_xF3_BLT.execute(); return; }
+			break;
+		case 0xF4:
+			if (impl == Ch08_Block_Transfers.OPC_xF4_BLTL) { Ch08_Block_Transfers.OPC_xF4_BLTL.execute(); return; }
+			break;
+		case 0xF5:
+			if (impl == Ch08_Block_Transfers.OPC_xF5_BLTC) { Ch08_Block_Transfers.OPC_xF5_BLTC.execute(); return; }
+			break;
+		case 0xF6:
+			if (impl == Ch08_Block_Transfers.OPC_xF6_BLTCL) { Ch08_Block_Transfers.OPC_xF6_BLTCL.execute(); return; }
+			break;
+		case 0xF7:
+			if (impl == Ch03_Memory_Organization.OPC_xF7_LP) { Ch03_Memory_Organization.OPC_xF7_LP.execute(); return; }
+			break;
+		case 0xFA:
+			if (impl == Ch07_Assignment_Instructions.OPCn_xFA_LGA0) { Ch07_Assignment_Instructions.OPCn_xFA_LGA0.execute(); return; }
+			break;
+		case 0xFB:
+			if (impl == Ch07_Assignment_Instructions.OPCn_xFB_LGAB_alpha) { Ch07_Assignment_Instructions.OPCn_xFB_LGAB_alpha.execute(); return; }
+			break;
+		case 0xFC:
+			if (impl == Ch07_Assignment_Instructions.OPCn_xFC_LGAW_word) { Ch07_Assignment_Instructions.OPCn_xFC_LGAW_word.execute(); return; }
+			break;
+		case 0xFD:
+			if (impl == Ch09_Control_Transfers.OPCn_xFD_DESC_word) { Ch09_Control_Transfers.OPCn_xFD_DESC_word.execute(); return; }
+			break;
+		case 0xFE:
+			if (impl == Ch05_Stack_Instructions.OPC_xFE_RestoreAfterFloatOp) { Ch05_Stack_Instructions.OPC_xFE_RestoreAfterFloatOp.execute(); return; }
+			break;
+		default:
+			break;
+		}
+		impl.execute();
+	}
+	
+	// execute the ESC(L) instruction 'opcode' having 'impl' in the dispatch table
+	static void executeEsc(int opcode, OpImpl impl) {
+		switch(opcode) {
+		case 0x02:
+			if (impl == Ch10_Processes.ESC_x02_MW) { Ch10_Processes.ESC_x02_MW.execute(); return; }
+			break;
+		case 0x03:
+			if (impl == Ch10_Processes.ESC_x03_MR) { Ch10_Processes.ESC_x03_MR.execute(); return; }
+			break;
+		case 0x04:
+			if (impl == Ch10_Processes.ESC_x04_NC) { Ch10_Processes.ESC_x04_NC.execute(); return; }
+			break;
+		case 0x05:
+			if (impl == Ch10_Processes.ESC_x05_BC) { Ch10_Processes.ESC_x05_BC.execute(); return; }
+			break;
+		case 0x06:
+			if (impl == Ch10_Processes.ESC_x06_REQ) { Ch10_Processes.ESC_x06_REQ.execute(); return; }
+			break;
+		case 0x07:
+			if (impl == Ch03_Memory_Organization.ESC_x07_SM) { Ch03_Memory_Organization.ESC_x07_SM.execute(); return; }
+			break;
+		case 0x08:
+			if (impl == Ch03_Memory_Organization.ESC_x08_SMF) { Ch03_Memory_Organization.ESC_x08_SMF.execute(); return; }
+			break;
+		case 0x09:
+			if (impl == Ch03_Memory_Organization.ESC_x09_GMF) { Ch03_Memory_Organization.ESC_x09_GMF.execute(); return; }
+			break;
+		case 0x0A:
+			if (impl == Ch09_Control_Transfers.ESC_x0A_AF) { Ch09_Control_Transfers.ESC_x0A_AF.execute(); return; }
+			break;
+		case 0x0B:
+			if (impl == Ch09_Control_Transfers.ESC_x0B_FF) { Ch09_Control_Transfers.ESC_x0B_FF.execute(); return; }
+			break;
+		case 0x0C:
+			if (impl == Ch09_Control_Transfers.ESC_x0C_PI) { Ch09_Control_Transfers.ESC_x0C_PI.execute(); return; }
+			break;
+		case 0x0D:
+			if (impl == Ch09_Control_Transfers.ESC_x0D_PO) { Ch09_Control_Transfers.ESC_x0D_PO.execute(); return; }
+			break;
+		case 0x0E:
+			if (impl == Ch09_Control_Transfers.ESC_x0E_POR) { Ch09_Control_Transfers.ESC_x0E_POR.execute(); return; }
+			break;
+		case 0x0F:
+			if (impl == Ch10_Processes.ESC_x0F_SPP) { Ch10_Processes.ESC_x0F_SPP.execute(); return; }
+			break;
+		case 0x10:
+			if (impl == Ch10_Processes.ESC_x10_DI) { Ch10_Processes.ESC_x10_DI.execute(); return; }
+			break;
+		case 0x11:
+			if (impl == Ch10_Processes.ESC_x11_EI) { Ch10_Processes.ESC_x11_EI.execute(); return; }
+			break;
+		case 0x12:
+			if (impl == Ch05_Stack_Instructions.ESC_x12_XOR) { Ch05_Stack_Instructions.ESC_x12_XOR.execute(); return; }
+			break;
+		case 0x13:
+			if (impl == Ch05_Stack_Instructions.ESC_x13_DAND) { Ch05_Stack_Instructions.ESC_x13_DAND.execute(); return; }
+			break;
+		case 0x14:
+			if (impl == Ch05_Stack_Instructions.ESC_x14_DIOR) { Ch05_Stack_Instructions.ESC_x14_DIOR.execute(); return; }
+			break;
+		case 0x15:
+			if (impl == Ch05_Stack_Instructions.ESC_x15_DXOR) { Ch05_Stack_Instructions.ESC_x15_DXOR.execute(); return; }
+			break;
+		case 0x16:
+			if (impl == Ch05_Stack_Instructions.ESC_x16_ROTATE) { Ch05_Stack_Instructions.ESC_x16_ROTATE.execute(); return; }
+			break;
+		case 0x17:
+			if (impl == Ch05_Stack_Instructions.ESC_x17_DSHIFT) { Ch05_Stack_Instructions.ESC_x17_DSHIFT.execute(); return; }
+			break;
+		case 0x18:
+			if (impl == Ch05_Stack_Instructions.ESC_x18_LINT) { Ch05_Stack_Instructions.ESC_x18_LINT.execute(); return; }
+			break;
+		case 0x19:
+			if (impl == Ch06_Jump_Instructions.ESC_x19_JS) { Ch06_Jump_Instructions.ESC_x19_JS.execute(); return; }
+			break;
+		case 0x1A:
+			if (impl == Ch07_Assignment_Instructions.ESC_x1A_RCFS) { Ch07_Assignment_Instructions.ESC_x1A_RCFS.execute(); return; }
+			break;
+		case 0x1B:
+			if (impl == Ch07_Assignment_Instructions.ESC_x1B_RC_alpha) { Ch07_Assignment_Instructions.ESC_x1B_RC_alpha.execute(); return; }
+			break;
+		case 0x1C:
+			if (impl == Ch05_Stack_Instructions.ESC_x1C_UDIV) { Ch05_Stack_Instructions.ESC_x1C_UDIV.execute(); return; }
+			break;
+		case 0x1D:
+			if (impl == Ch05_Stack_Instructions.ESC_x1D_LUDIV) { Ch05_Stack_Instructions.ESC_x1D_LUDIV.execute(); return; }
+			break;
+		case 0x1E:
+			if (impl == Ch03_Memory_Organization.ESC_x1E_ROB_alpha) { Ch03_Memory_Organization.ESC_x1E_ROB_alpha.execute(); return; }
+			break;
+		case 0x1F:
+			if (impl == Ch03_Memory_Organization.ESC_x1F_WOB_alpha) { Ch03_Memory_Organization.ESC_x1F_WOB_alpha.execute(); return; }
+			break;
+		case 0x20:
+			if (impl == Ch09_Control_Transfers.ESC_x20_DSK_alpha) { Ch09_Control_Transfers.ESC_x20_DSK_alpha.execute(); return; }
+			break;
+		case 0x21:
+			if (impl == Ch09_Control_Transfers.ESC_x21_XE_alpha) { Ch09_Control_Transfers.ESC_x21_XE_alpha.execute(); return; }
+			break;
+		case 0x22:
+			if (impl == Ch09_Control_Transfers.ESC_x22_XF_alpha) { Ch09_Control_Transfers.ESC_x22_XF_alpha.execute(); return; }
+			break;
+		case 0x23:
+			if (impl == Ch09_Control_Transfers.ESC_x23_LSK_alpha) { Ch09_Control_Transfers.ESC_x23_LSK_alpha.execute(); return; }
+			break;
+		case 0x24:
+			if (impl == Ch05_Stack_Instructions.ESC_x24_BNDCKL) { Ch05_Stack_Instructions.ESC_x24_BNDCKL.execute(); return; }
+			break;
+		case 0x25:
+			if (impl == Ch05_Stack_Instructions.ESC_x25_NILCK) { Ch05_Stack_Instructions.ESC_x25_NILCK.execute(); return; }
+			break;
+		case 0x26:
+			if (impl == Ch05_Stack_Instructions.ESC_x26_NILCKL) { Ch05_Stack_Instructions.ESC_x26_NILCKL.execute(); return; }
+			break;
+		case 0x27:
+			if (impl == Ch08_Block_Transfers.ESC_x27_BLTLR) { Ch08_Block_Transfers.ESC_x27_BLTLR.execute(); return; }
+			break;
+		case 0x28:
+			if (impl == Ch08_Block_Transfers.ESC_x28_BLEL) { Ch08_Block_Transfers.ESC_x28_BLEL.execute(); return; }
+			break;
+		case 0x29:
+			if (impl == Ch08_Block_Transfers.ESC_x29_BLECL) { Ch08_Block_Transfers.ESC_x29_BLECL.execute(); return; }
+			break;
+		case 0x2A:
+			if (impl == Ch08_Block_Transfers.ESC_x2A_CKSUM) { Ch08_Block_Transfers.ESC_x2A_CKSUM.execute(); return; }
+			break;
+		case 0x2B:
+			if (impl == Ch08_Block_Transfers.ESC_x2B_BITBLT) { Ch08_Block_Transfers.ESC_x2B_BITBLT.execute(); return; }
+			break;
+		case 0x2C:
+			if (impl == Ch08_Block_Transfers.ESC_x2C_TXTBLT) { Ch08_Block_Transfers.ESC_x2C_TXTBLT.execute(); return; }
+			break;
+		case 0x2D:
+			if (impl == Ch08_Block_Transfers.ESC_x2D_BYTBLT) { Ch08_Block_Transfers.ESC_x2D_BYTBLT.execute(); return; }
+			break;
+		case 0x2E:
+			if (impl == Ch08_Block_Transfers.ESC_x2E_BYTBLTR) { Ch08_Block_Transfers.ESC_x2E_BYTBLTR.execute(); return; }
+			break;
+		case 0x2F:
+			if (impl == ChXX_Undocumented.ESC_x2F_VERSION) { ChXX_Undocumented.ESC_x2F_VERSION.execute(); return; }
+			break;
+		case 0x30:
+			if (impl == Ch05_Stack_Instructions.ESC_x30_DMUL) { Ch05_Stack_Instructions.ESC_x30_DMUL.execute(); return; }
+			break;
+		case 0x31:
+			if (impl == Ch05_Stack_Instructions.ESC_x31_SDIV) { Ch05_Stack_Instructions.ESC_x31_SDIV.execute(); return; }
+			break;
+		case 0x32:
+			if (impl == Ch05_Stack_Instructions.ESC_x32_SDDIV) { Ch05_Stack_Instructions.ESC_x32_SDDIV.execute(); return; }
+			break;
+		case 0x33:
+			if (impl == Ch05_Stack_Instructions.ESC_x33_UDDIV) { Ch05_Stack_Instructions.ESC_x33_UDDIV.execute(); return; }
+			break;
+		case 0x40:
+			if (impl == Ch05_Stack_Instructions.ESC_x40_FADD) { Ch05_Stack_Instructions.ESC_x40_FADD.execute(); return; }
+			break;
+		case 0x41:
+			if (impl == Ch05_Stack_Instructions.ESC_x41_FSUB) { Ch05_Stack_Instructions.ESC_x41_FSUB.execute(); return; }
+			break;
+		case 0x42:
+			if (impl == Ch05_Stack_Instructions.ESC_x42_FMUL) { Ch05_Stack_Instructions.ESC_x42_FMUL.execute(); return; }
+			break;
+		case 0x43:
+			if (impl == Ch05_Stack_Instructions.ESC_x43_FDIV) { Ch05_Stack_Instructions.ESC_x43_FDIV.execute(); return; }
+			break;
+		case 0x44:
+			if (impl == Ch05_Stack_Instructions.ESC_x44_FCOMP) { Ch05_Stack_Instructions.ESC_x44_FCOMP.execute(); return; }
+			break;
+		case 0x45:
+			if (impl == Ch05_Stack_Instructions.ESC_x45_FIX) { Ch05_Stack_Instructions.ESC_x45_FIX.execute(); return; }
+			break;
+		case 0x46:
+			if (impl == Ch05_Stack_Instructions.ESC_x46_FLOAT) { Ch05_Stack_Instructions.ESC_x46_FLOAT.execute(); return; }
+			break;
+		case 0x47:
+			if (impl == Ch05_Stack_Instructions.ESC_x47_FIXI) { Ch05_Stack_Instructions.ESC_x47_FIXI.execute(); return; }
+			break;
+		case 0x48:
+			if (impl == Ch05_Stack_Instructions.ESC_x48_FIXC) { Ch05_Stack_Instructions.ESC_x48_FIXC.execute(); return; }
+			break;
+		case 0x49:
+			if (impl == Ch05_Stack_Instructions.ESC_x49_FSTICKY) { Ch05_Stack_Instructions.ESC_x49_FSTICKY.execute(); return; }
+			break;
+		case 0x4A:
+			if (impl == Ch05_Stack_Instructions.ESC_x4A_FREM) { Ch05_Stack_Instructions.ESC_x4A_FREM.execute(); return; }
+			break;
+		case 0x4B:
+			if (impl == Ch05_Stack_Instructions.ESC_x4B_FROUND) { Ch05_Stack_Instructions.ESC_x4B_FROUND.execute(); return; }
+			break;
+		case 0x4C:
+			if (impl == Ch05_Stack_Instructions.ESC_x4C_FROUNDI) { Ch05_Stack_Instructions.ESC_x4C_FROUNDI.execute(); return; }
+			break;
+		case 0x4D:
+			if (impl == Ch05_Stack_Instructions.ESC_x4D_FROUNDC) { Ch05_Stack_Instructions.ESC_x4D_FROUNDC.execute(); return; }
+			break;
+		case 0x4E:
+			if (impl == Ch05_Stack_Instructions.ESC_x4E_FSQRT) { Ch05_Stack_Instructions.ESC_x4E_FSQRT.execute(); return; }
+			break;
+		case 0x4F:
+			if (impl == Ch05_Stack_Instructions.ESC_x4F_FSC) { Ch05_Stack_Instructions.ESC_x4F_FSC.execute(); return; }
+			break;
+		case 0x70:
+			if (impl == Ch03_Memory_Organization.ESC_x70_WRPSB) { Ch03_Memory_Organization.ESC_x70_WRPSB.execute(); return; }
+			break;
+		case 0x71:
+			if (impl == Ch03_Memory_Organization.ESC_x71_WRMDS) { Ch03_Memory_Organization.ESC_x71_WRMDS.execute(); return; }
+			break;
+		case 0x72:
+			if (impl == Ch03_Memory_Organization.ESC_x72_WRWP) { Ch03_Memory_Organization.ESC_x72_WRWP.execute(); return; }
+			break;
+		case 0x73:
+			if (impl == Ch03_Memory_Organization.ESC_x73_WRWDC) { Ch03_Memory_Organization.ESC_x73_WRWDC.execute(); return; }
+			break;
+		case 0x74:
+			if (impl == Ch03_Memory_Organization.ESC_x74_WRPTC) { Ch03_Memory_Organization.ESC_x74_WRPTC.execute(); return; }
+			break;
+		case 0x75:
+			if (impl == Ch03_Memory_Organization.ESC_x75_WRIT) { Ch03_Memory_Organization.ESC_x75_WRIT.execute(); return; }
+			break;
+		case 0x76:
+			if (impl == Ch03_Memory_Organization.ESC_x76_WRXTS) { Ch03_Memory_Organization.ESC_x76_WRXTS.execute(); return; }
+			break;
+		case 0x77:
+			if (impl == Ch03_Memory_Organization.ESC_x77_WRMP) { Ch03_Memory_Organization.ESC_x77_WRMP.execute(); return; }
+			break;
+		case 0x78:
+			if (impl == Ch03_Memory_Organization.ESC_x78_RRPSB) { Ch03_Memory_Organization.ESC_x78_RRPSB.execute(); return; }
+			break;
+		case 0x79:
+			if (impl == Ch03_Memory_Organization.ESC_x79_RRMDS) { Ch03_Memory_Organization.ESC_x79_RRMDS.execute(); return; }
+			break;
+		case 0x7A:
+			if (impl == Ch03_Memory_Organization.ESC_x7A_RRWP) { Ch03_Memory_Organization.ESC_x7A_RRWP.execute(); return; }
+			break;
+		case 0x7B:
+			if (impl == Ch03_Memory_Organization.ESC_x7B_RRWDC) { Ch03_Memory_Organization.ESC_x7B_RRWDC.execute(); return; }
+			break;
+		case 0x7C:
+			if (impl == Ch03_Memory_Organization.ESC_x7C_RRPTC) { Ch03_Memory_Organization.ESC_x7C_RRPTC.execute(); return; }
+			break;
+		case 0x7D:
+			if (impl == Ch03_Memory_Organization.ESC_x7D_RRIT) { Ch03_Memory_Organization.ESC_x7D_RRIT.execute(); return; }
+			break;
+		case 0x7E:
+			if (impl == Ch03_Memory_Organization.ESC_x7E_RRXTS) { Ch03_Memory_Organization.ESC_x7E_RRXTS.execute(); return; }
+			break;
+		case 0x8B:
+			if (impl == ChXX_Undocumented.ESC_x8B_STOPEMULATOR) { ChXX_Undocumented.ESC_x8B_STOPEMULATOR.execute(); return; }
+			break;
+		case 0x8C:
+			if (impl == ChXX_Undocumented.ESC_x8C_FujiXerox_undocumented_o214) { ChXX_Undocumented.ESC_x8C_FujiXerox_undocumented_o214.execute(); return; }
+			break;
+		case 0x8D:
+			if (impl == ChXX_Undocumented.ESC_x8D_SUSPEND) { ChXX_Undocumented.ESC_x8D_SUSPEND.execute(); return; }
+			break;
+		case 0xA4:
+			if (impl == Ch08_Block_Transfers.ESC_xA4_TRAPZBLT) { Ch08_Block_Transfers.ESC_xA4_TRAPZBLT.execute(); return; }
+			break;
+		case 0xC0:
+			if (impl == Ch08_Block_Transfers.ESC_xC0_COLORBLT) { Ch08_Block_Transfers.ESC_xC0_COLORBLT.execute(); return; }
+			break;
+		case 0xC2:
+			if (impl == Ch08_Block_Transfers.ESC_xC2_BITBLTX) { Ch08_Block_Transfers.ESC_xC2_BITBLTX.execute(); return; }
+			break;
+		case 0xC5:
+			if (impl == ChXX_Undocumented.ESC_xC5_FujiXerox_undocumented_o305) { ChXX_Undocumented.ESC_xC5_FujiXerox_undocumented_o305.execute(); return; }
+			break;
+		case 0xC6:
+			if (impl == ChXX_Undocumented.ESC_xC6_FujiXerox_undocumented_o306) { ChXX_Undocumented.ESC_xC6_FujiXerox_undocumented_o306.execute(); return; }
+			break;
+		default:
+			break;
+		}
+		impl.execute();
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+Copyright (c) 2017, Dr. Hans-Walter Latz
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * The name of the author may not be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDER "AS IS" AND ANY EXPRESS
+OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package dev.hawala.dmachine.engine;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.hawala.dmachine.engine.Opcodes.OpImpl;
+
+/**
+ * Generator for the source of class {@code SwitchDispatcher}, scanning the instruction
+ * implementation variables in the same classes and with the same naming convention
+ * as {@code Opcodes} when installing the instructions into the dispatch tables.
+ * <p>
+ * The generated dispatcher has one {@code case} for each instruction code, invoking each
+ * implementation variable for this code (all PrincOps variants) if it is the one installed
+ * in the dispatch table. So the call sites are monomorphic and the JIT can inline the
+ * instruction implementations, while implementations installed otherwise (IOP overrides,
+ * logging wrappers) are still executed through the dispatch table entry.
+ * </p>
+ * <p>
+ * Usage: {@code java dev.hawala.dmachine.engine.SwitchDispatcherGenerator [output-file]},
+ * the generated source is written to stdout if no file is given. The generator must be
+ * run again when instruction implementation variables are added, renamed or removed.
+ * </p>
+ */
+public class SwitchDispatcherGenerator {
+	
+	// the instruction variable prefixes in installation precedence order
+	private static final String[] OPC_PREFIXES = { "OPC", "OPCo", "OPCn" };
+	private static final String[] ESC_PREFIXES = { "ESC", "ESCo", "ESCn" };
+	
+	// get the names ("Class.FIELD") of the implementation variables for the instruction codes
+	private static List<List<String>> getImplementations(String[] prefixes) {
+		List<List<String>> impls = new ArrayList<>();
+		for (int i = 0; i < 256; i++) {
+			impls.add(new ArrayList<>());
+		}
+		for (String prefix : prefixes) {
+			for (Class<?> clazz : Opcodes.classes) {
+				for (Field field : clazz.getDeclaredFields()) {
+					int mods = field.getModifiers();
+					if (!Modifier.isStatic(mods) || !Modifier.isPublic(mods)) {
+						continue;
+					}
+					if (!field.getType().isAssignableFrom(OpImpl.class)) {
+						continue;
+					}
+					String[] parts = field.getName().split("_");
+					if (parts.length < 3 || !prefix.equals(parts[0])) {
+						continue;
+					}
+					int opcode = Opcodes.parseInstrCode(parts[1]);
+					if (opcode < 0) { continue; }
+					impls.get(opcode).add(clazz.getSimpleName() + "." + field.getName());
+				}
+			}
+		}
+		return impls;
+	}
+	
+	// write the switch statement for one dispatch table
+	private static void writeSwitch(PrintWriter w, List<List<String>> impls) {
+		w.print("\t\tswitch(opcode) {\n");
+		for (int opcode = 0; opcode < impls.size(); opcode++) {
+			List<String> opcodeImpls = impls.get(opcode);
+			if (opcodeImpls.isEmpty()) { continue; }
+			w.printf("\t\tcase 0x%02X:\n", opcode);
+			for (String impl : opcodeImpls) {
+				w.printf("\t\t\tif (impl == %s) { %s.execute(); return; }\n", impl, impl);
+			}
+			w.print("\t\t\tbreak;\n");
+		}
+		w.print("\t\tdefault:\n");
+		w.print("\t\t\tbreak;\n");
+		w.print("\t\t}\n");
+		w.print("\t\timpl.execute();\n");
+	}
+	
+	/**
+	 * Generate the source code for class {@code SwitchDispatcher}.
+	 * 
+	 * @param header the copyright and license comment to put at the begin of the source
+	 * @return the java source code
+	 */
+	public static String generate(String header) {
+		List<String> classNames = new ArrayList<>();
+		for (Class<?> clazz : Opcodes.classes) {
+			classNames.add(clazz.getName());
+		}
+		classNames.add(OpImpl.class.getCanonicalName());
+		classNames.sort(null);
+		
+		StringWriter sw = new StringWriter();
+		PrintWriter w = new PrintWriter(sw);
+		w.print(header);
+		w.print("\npackage dev.hawala.dmachine.engine;\n\n");
+		for (String className : classNames) {
+			w.printf("import %s;\n", className);
+		}
+		w.print("\n");
+		w.print("/**\n");
+		w.print(" * Switch-based dispatcher for the regular and ESC(L) instructions, see\n");
+		w.print(" * {@code Config.USE_SWITCH_DISPATCH}.\n");
+		w.print(" * <p>\n");
+		w.print(" * <b>Generated by {@code SwitchDispatcherGenerator}, do not edit!</b>\n");
+		w.print(" * </p>\n");
+		w.print(" */\n");
+		w.print("class SwitchDispatcher {\n");
+		w.print("\t\n");
+		w.print("\t// execute the regular instruction 'opcode' having 'impl' in the dispatch table\n");
+		w.print("\tstatic void executeOpc(int opcode, OpImpl impl) {\n");
+		writeSwitch(w, getImplementations(OPC_PREFIXES));
+		w.print("\t}\n");
+		w.print("\t\n");
+		w.print("\t// execute the ESC(L) instruction 'opcode' having 'impl' in the dispatch table\n");
+		w.print("\tstatic void executeEsc(int opcode, OpImpl impl) {\n");
+		writeSwitch(w, getImplementations(ESC_PREFIXES));
+		w.print("\t}\n");
+		w.print("\n");
+		w.print("}\n");
+		w.flush();
+		return sw.toString();
+	}
+	
+	// the copyright and license comment for the generated source (same as this source file) 
+	private static final String HEADER
+		= "/*\n"
+		+ "Copyright (c) 2017, Dr. Hans-Walter Latz\n"
+		+ "All rights reserved.\n"
+		+ "\n"
+		+ "Redistribution and use in source and binary forms, with or without\n"
+		+ "modification, are permitted provided that the following conditions are met:\n"
+		+ "    * Redistributions of source code must retain the above copyright\n"
+		+ "      notice, this list of conditions and the following disclaimer.\n"
+		+ "    * Redistributions in binary form must reproduce the above copyright\n"
+		+ "      notice, this list of conditions and the following disclaimer in the\n"
+		+ "      documentation and/or other materials provided with the distribution.\n"
+		+ "    * The name of the author may not be used to endorse or promote products\n"
+		+ "      derived from this software without specific prior written permission.\n"
+		+ "\n"
+		+ "THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDER \"AS IS\" AND ANY EXPRESS\n"
+		+ "OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES\n"
+		+ "OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.\n"
+		+ "IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,\n"
+		+ "SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,\n"
+		+ "PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;\n"
+		+ "OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,\n"
+		+ "WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR\n"
+		+ "OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF\n"
+		+ "ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.\n"
+		+ "*/\n";
+	
+	public static void main(String[] args) throws IOException {
+		String source = generate(HEADER);
+		if (args.length > 0) {
+			try (PrintStream ps = new PrintStream(new FileOutputStream(args[0]), false, "ISO-8859-1")) {
+				ps.print(source);
+			}
+		} else {
+			System.out.print(source);
+		}
+	}
+
+}
@@ -81,7 +81,6 @@ public class Xfer {
 	 * local frames
 	 */
 	
-	private static final int AV = PrincOpsDefs.mALLOCATION_VECTOR; 
 	private static final int AVITEM_TAGMASK = 0x0003;
 	private static final int FSINDEX_LAST = 255;
 	
@@ -103,7 +102,7 @@ public class Xfer {
 		int item;
 		int slot = fsi;
 		while(true) {
-			item = Mem.readMDSWord(AV, slot) & 0xFFFF;
+			item = Mem.readAVWord(slot) & 0xFFFF;
 			if ((item & AVITEM_TAGMASK) != PrincOpsDefs.AVITEM_INDIRECT) {
 				break;
 			}
@@ -115,7 +114,7 @@ public class Xfer {
 			Cpu.signalFrameFault(fsi);
 		}
 		// read the next frame item from the new frame and store it in the AV[slot]
-		Mem.writeMDSWord(AV, slot, Mem.readMDSWord(AVLink(item)));
+		Mem.writeAVWord(slot, Mem.readMDSWord(AVLink(item)));
 		// return the new frame
 		return AVFrame(item);
 	}
@@ -126,11 +125,11 @@ public class Xfer {
 		int fsi = word & 0x00FF;
 		
 		// get the current value at AV[fsi]
-		int item = Mem.readMDSWord(AV, fsi);
+		int item = Mem.readAVWord(fsi);
 		Mem.writeMDSWord(frame, item);
 		
 		// put the frame (implicitly a FRAME-AVItem)
-		Mem.writeMDSWord(AV, fsi, frame);
+		Mem.writeAVWord(fsi, (short)frame);
 	}
 	
 	/*
@@ -221,6 +220,10 @@ public class Xfer {
 		impl = new XfererPrincops4x();
 	}
 	
+	public static boolean isPrincOps4x() {
+		return (impl instanceof XfererPrincops4x);
+	}
+	
 	/*
 	 *  XFER-functionality for PrincOps up to 4.0
 	 */
@@ -353,7 +356,7 @@ public class Xfer {
 					Mem.writeMDSWord(Cpu.LF, 0, (short)(dst & 0xFFFF));
 					Mem.writeMDSWord(Cpu.LF, 1, (short)(dst >>> 16));
 					Mem.writeMDSWord(Cpu.LF, 2, (short)xferType.getValue());
-					throw new Cpu.MesaAbort();
+					throw Cpu.MesaAbort.ABORT;
 				}
 			} else {
 				Cpu.XTS = Cpu.XTS >>> 1;
@@ -586,7 +589,7 @@ public class Xfer {
 					Mem.writeMDSWord(Cpu.LF, 0, (short)(dst & 0xFFFF));
 					Mem.writeMDSWord(Cpu.LF, 1, (short)(dst >>> 16));
 					Mem.writeMDSWord(Cpu.LF, 2, (short)xferType.getValue());
-					throw new Cpu.MesaAbort();
+					throw Cpu.MesaAbort.ABORT;
 				}
 			} else {
 				Cpu.XTS = Cpu.XTS >>> 1;
@@ -26,6 +26,10 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.engine.agents;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import dev.hawala.dmachine.engine.Cpu;
 import dev.hawala.dmachine.engine.Mem;
 
@@ -160,6 +164,27 @@ public abstract class Agent {
 	 */
 	public abstract void refreshMesaMemory();
 	
+	/**
+	 * Write the state of the agent not held in the mesa memory
+	 * for a snapshot of the machine.
+	 * 
+	 * @param state target for the agent state
+	 * @throws IOException in case of write problems
+	 */
+	public void saveState(DataOutput state) throws IOException {
+		// default: all state is in the FCB
+	}
+	
+	/**
+	 * Restore the state of the agent written by {@code saveState()}.
+	 * 
+	 * @param state source for the agent state
+	 * @throws IOException in case of read problems
+	 */
+	public void restoreState(DataInput state) throws IOException {
+		// default: all state is in the FCB
+	}
+	
 	/*
 	 * common internal functionality provided to agents
 	 */
@@ -26,6 +26,8 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.engine.agents;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
 import java.io.IOException;
 import java.util.function.Supplier;
@@ -34,6 +36,7 @@ import dev.hawala.dmachine.engine.Cpu;
 import dev.hawala.dmachine.engine.Mem;
 import dev.hawala.dmachine.engine.Opcodes;
 import dev.hawala.dmachine.engine.Processes;
+import dev.hawala.dmachine.engine.Snapshot;
 import dev.hawala.dmachine.engine.eLevelVKey;
 import dev.hawala.dmachine.engine.iMesaMachineDataAccessor;
 import dev.hawala.dmachine.engine.iUiDataConsumer;
@@ -388,6 +391,49 @@ public class Agents {
 		}
 	}
 	
+	/*
+	 * access to the agent states for snapshots of the machine
+	 */
+	
+	private static class AgentsDeviceState implements Snapshot.DeviceState {
+
+		@Override
+		public long getDiskChecksum() {
+			return DiskAgent.getDiskChecksum();
+		}
+
+		@Override
+		public void saveState(DataOutput state) throws IOException {
+			for (int i = 0; i < agent.length; i++) {
+				Agent a = agent[i];
+				state.writeUTF((a != null) ? a.getAgentType().name() : "");
+				if (a != null) { a.saveState(state); }
+			}
+		}
+
+		@Override
+		public void restoreState(DataInput state) throws IOException {
+			for (int i = 0; i < agent.length; i++) {
+				Agent a = agent[i];
+				String agentName = state.readUTF();
+				if (!agentName.equals((a != null) ? a.getAgentType().name() : "")) {
+					throw new IOException("unexpected agent in snapshot: " + agentName);
+				}
+				if (a != null) { a.restoreState(state); }
+			}
+		}
+	}
+	
+	/**
+	 * Retrieve the access to the agent states for saving and
+	 * restoring snapshots of the machine.
+	 * 
+	 * @return the device state access instance
+	 */
+	public static Snapshot.DeviceState getSnapshotDeviceState() {
+		return new AgentsDeviceState();
+	}
+	
 	/*
 	 * access to statistical data
 	 */
@@ -53,6 +53,7 @@ import dev.hawala.dmachine.engine.Mem;
 import dev.hawala.dmachine.engine.PilotDefs;
 import dev.hawala.dmachine.engine.PrincOpsDefs;
 import dev.hawala.dmachine.engine.Processes;
+import dev.hawala.dmachine.engine.Snapshot;
 
 /**
  * Agent for the harddisk of a Dwarf machine,
@@ -506,13 +507,7 @@ public class DiskAgent extends Agent {
 			}
 			
 			// copy page content
-			for (int i = 0; i < PrincOpsDefs.WORDS_PER_PAGE; i++) {
-//				if ((i % 16) == 0) { System.out.printf("\n         0x%02X : 0x", i); }
-				short w = this.content[diskWordOffset++];
-//				System.out.printf(" %04X", w);
-				Mem.writeWord(memAddress++, w);
-			}
-//			System.out.printf("\n\n");
+			Mem.copyToMemory(memAddress, this.content, diskWordOffset, PrincOpsDefs.WORDS_PER_PAGE);
 			
 			// done
 			return Status_goodCompletion;
@@ -544,9 +539,7 @@ public class DiskAgent extends Agent {
 			this.changed = true;
 			
 			// copy page content
-			for (int i = 0; i < PrincOpsDefs.WORDS_PER_PAGE; i++) {
-				this.content[diskWordOffset++] = Mem.readWord(memAddress++);
-			}
+			Mem.copyFromMemory(memAddress, this.content, diskWordOffset, PrincOpsDefs.WORDS_PER_PAGE);
 			
 			// done
 			return Status_goodCompletion;
@@ -650,6 +643,20 @@ public class DiskAgent extends Agent {
 	// the list of attached disks (however only one is used/supported)
 	private static final List<DiskFile> diskFiles = new ArrayList<>();  
 	
+	/**
+	 * Compute a checksum over the content of the attached disks, for checking
+	 * if a snapshot of the machine belongs to the current disk state.
+	 * 
+	 * @return the checksum of all disks
+	 */
+	public static long getDiskChecksum() {
+		long checksum = 0;
+		for (DiskFile df : diskFiles) {
+			checksum = Snapshot.checksumWords(checksum, df.content);
+		}
+		return checksum;
+	}
+	
 	/**
 	 * Add a harddisk to the mesa engine. 
 	 * 
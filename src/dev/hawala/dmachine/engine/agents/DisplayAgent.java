@@ -26,6 +26,10 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.engine.agents;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import dev.hawala.dmachine.engine.Config;
 import dev.hawala.dmachine.engine.Mem;
 import dev.hawala.dmachine.engine.PilotDefs;
@@ -342,6 +346,24 @@ public class DisplayAgent extends Agent {
 		// nothing to shutdown for this agent
 	}
 	
+	@Override
+	public void saveState(DataOutput state) throws IOException {
+		state.writeInt(this.colorTable.length);
+		for (int i = 0; i < this.colorTable.length; i++) {
+			state.writeInt(this.colorTable[i]);
+		}
+	}
+	
+	@Override
+	public void restoreState(DataInput state) throws IOException {
+		if (state.readInt() != this.colorTable.length) {
+			throw new IOException("color table size in snapshot does not match the display");
+		}
+		for (int i = 0; i < this.colorTable.length; i++) {
+			this.colorTable[i] = state.readInt();
+		}
+	}
+	
 	@Override
 	public void refreshMesaMemory() {
 		// nothing to transfer to mesa memory for this agent
@@ -27,6 +27,7 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package dev.hawala.dmachine.engine.agents;
 
 import java.io.BufferedInputStream;
+import java.io.DataInput;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -1207,6 +1208,14 @@ public class FloppyAgent extends Agent {
 		}
 	}
 	
+	@Override
+	public synchronized void restoreState(DataInput state) throws IOException {
+		// floppies are not part of a snapshot: the restored machine has an empty drive,
+		// a floppy inserted at startup is then seen as newly inserted floppy
+		this.currFloppy = null;
+		this.floppyChanged = false;
+	}
+	
 	@Override
 	public synchronized void refreshMesaMemory() {
 		if (this.nextFloppy != null || this.nextEjected) {
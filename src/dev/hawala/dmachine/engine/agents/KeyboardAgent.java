@@ -26,6 +26,9 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.engine.agents;
 
+import java.io.DataInput;
+import java.io.IOException;
+
 import dev.hawala.dmachine.engine.Config;
 import dev.hawala.dmachine.engine.Processes;
 import dev.hawala.dmachine.engine.eLevelVKey;
@@ -70,6 +73,12 @@ public class KeyboardAgent extends Agent {
 	public void shutdown(StringBuilder errMsgTarget) {
 		// nothing to shutdown for this agent
 	}
+	
+	@Override
+	public void restoreState(DataInput state) throws IOException {
+		// the key states of the snapshot are in the FCB, so release all keys pressed at that time
+		this.resetKeys();
+	}
 
 	@Override
 	public void call() {
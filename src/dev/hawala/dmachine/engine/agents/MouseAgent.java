@@ -26,6 +26,10 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.engine.agents;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import dev.hawala.dmachine.engine.Config;
 import dev.hawala.dmachine.engine.Mem;
 import dev.hawala.dmachine.engine.Processes;
@@ -64,6 +68,9 @@ public class MouseAgent extends Agent {
 	// the mouse pointer bitmap is setting a new mouse pointer shape is pending
 	private short[] newCursorBitmap = null;
 	
+	// the mouse pointer bitmap last passed to the ui
+	private short[] uiCursorBitmap = null;
+	
 	// the mouse position coming from the ui (accessing these must be synchronized(
 	private int uiCurrX = 0; // last position passed to the mesa machine
 	private int uiCurrY = 0;
@@ -108,6 +115,47 @@ public class MouseAgent extends Agent {
 	public void shutdown(StringBuilder errMsgTarget) {
 		// nothing to shutdown for this agent
 	}
+	
+	@Override
+	public synchronized void saveState(DataOutput state) throws IOException {
+		state.writeInt(this.mouseHotspotX);
+		state.writeInt(this.mouseHotspotY);
+		state.writeInt(this.mesaCurrX);
+		state.writeInt(this.mesaCurrY);
+		state.writeBoolean(this.uiCursorBitmap != null);
+		if (this.uiCursorBitmap != null) {
+			state.writeInt(this.uiCursorBitmap.length);
+			for (int i = 0; i < this.uiCursorBitmap.length; i++) {
+				state.writeShort(this.uiCursorBitmap[i]);
+			}
+		}
+	}
+	
+	@Override
+	public synchronized void restoreState(DataInput state) throws IOException {
+		this.mouseHotspotX = state.readInt();
+		this.mouseHotspotY = state.readInt();
+		this.mesaCurrX = state.readInt();
+		this.mesaCurrY = state.readInt();
+		this.uiCurrX = this.mesaCurrX + this.mouseHotspotX;
+		this.uiCurrY = this.mesaCurrY + this.mouseHotspotY;
+		this.uiNextX = this.uiCurrX;
+		this.uiNextY = this.uiCurrY;
+		this.mouseMoved = false;
+		this.newCursorBitmap = null;
+		this.uiCursorBitmap = null;
+		if (state.readBoolean()) {
+			this.uiCursorBitmap = new short[state.readInt()];
+			for (int i = 0; i < this.uiCursorBitmap.length; i++) {
+				this.uiCursorBitmap[i] = state.readShort();
+			}
+			
+			// let the ui show the mouse pointer shape of the snapshot
+			if (this.uiPointerBitmapAcceptor != null) {
+				this.uiPointerBitmapAcceptor.setPointerBitmap(this.uiCursorBitmap, this.mouseHotspotX, this.mouseHotspotY);
+			}
+		}
+	}
 
 	@Override
 	public void call() {
@@ -143,6 +191,7 @@ public class MouseAgent extends Agent {
 				if (this.uiPointerBitmapAcceptor != null) {
 					uiPointerBitmapAcceptor.setPointerBitmap(this.newCursorBitmap, this.mouseHotspotX, this.mouseHotspotY);
 				}
+				this.uiCursorBitmap = this.newCursorBitmap;
 				this.newCursorBitmap = null;
 
 				this.logf("  => uiCurrX = %d , uiCurrY = %d\n", this.uiCurrX, this.uiCurrY);
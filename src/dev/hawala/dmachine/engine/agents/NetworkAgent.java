@@ -26,6 +26,9 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.engine.agents;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.Queue;
 
@@ -229,6 +232,25 @@ public class NetworkAgent extends Agent {
 //		this.throttlerThread.start();
 	}
 	
+	@Override
+	public synchronized void saveState(DataOutput state) throws IOException {
+		state.writeBoolean(this.receiveStopped);
+		state.writeInt(this.receiveIocbs.size());
+		for (int iocb : this.receiveIocbs) {
+			state.writeInt(iocb);
+		}
+	}
+	
+	@Override
+	public synchronized void restoreState(DataInput state) throws IOException {
+		this.receiveStopped = state.readBoolean();
+		this.receiveIocbs.clear();
+		int count = state.readInt();
+		for (int i = 0; i < count; i++) {
+			this.receiveIocbs.add(state.readInt());
+		}
+	}
+	
 	@Override
 	public void shutdown(StringBuilder errMsgTarget) {
 		if (this.netIf != null) {
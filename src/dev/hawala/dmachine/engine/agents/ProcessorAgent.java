@@ -26,6 +26,9 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.engine.agents;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Date;
 
@@ -96,6 +99,16 @@ public class ProcessorAgent extends Agent {
 		// nothing to shutdown for this agent
 	}
 	
+	@Override
+	public void saveState(DataOutput state) throws IOException {
+		state.writeInt(this.gmtCorrection);
+	}
+	
+	@Override
+	public void restoreState(DataInput state) throws IOException {
+		this.gmtCorrection = state.readInt();
+	}
+	
 	@Override
 	public void refreshMesaMemory() {
 		// nothing to transfer to mesa memory for this agent
@@ -53,9 +53,24 @@ public interface iMesaMachineDataAccessor {
 	 * @param firstPage index of the virtual page for {@code memOffset} in {@code pageFlags}
 	 */
 	void accessRealMemory(
-			short[] realMemory, int memOffset, int memWords,
+			iRealMemory realMemory, int memOffset, int memWords,
 			short[] pageFlags, int firstPage);
 	
+	/**
+	 * Callback passing the block moves done inside the display memory since the
+	 * last invocation of {@code accessRealMemory()}, invoked immediately before
+	 * {@code accessRealMemory()}.
+	 * <br>
+	 * The copy areas must be applied in the given order to the UIs pixelmap before
+	 * transferring the changed pages of the display memory, as the pages modified
+	 * only by these block moves are not flagged as dirty.
+	 * 
+	 * @param copyAreas the copy areas, each with 6 values in the sequence
+	 *   {@code srcX, srcY, dstX, dstY, width, height} (pixel coordinates)
+	 * @param count the number of copy areas in {@code copyAreas}
+	 */
+	void copyDisplayAreas(int[] copyAreas, int count);
+	
 	/**
 	 * Callback informing the UI of a value change on the Maintenance Panel.
 	 * 
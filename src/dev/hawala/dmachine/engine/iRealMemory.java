@@ -0,0 +1,101 @@
+/*
+Copyright (c) 2017, Dr. Hans-Walter Latz
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * The name of the author may not be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDER "AS IS" AND ANY EXPRESS
+OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package dev.hawala.dmachine.engine;
+
+/**
+ * Storage backend for the real memory words of the mesa engine (including the
+ * display memory), addressed by real addresses (word index).
+ * <br>
+ * The real memory is allocated once by class {@code Mem} when the memory is
+ * initialized, either as word array on the Java heap or outside of the heap
+ * (direct buffer or memory-mapped file), so during the lifetime of a machine all
+ * accesses go to the same implementation class: this allows the JIT to inline the
+ * accessors of the backend at the (then monomorphic) call sites.
+ */
+public interface iRealMemory {
+	
+	/**
+	 * @return the number of words in the real memory
+	 */
+	int size();
+	
+	/**
+	 * Read a word of the real memory.
+	 *
+	 * @param realAddress the real address of the word
+	 * @return the word at the address
+	 */
+	short read(int realAddress);
+	
+	/**
+	 * Write a word of the real memory.
+	 *
+	 * @param realAddress the real address of the word
+	 * @param value the new word at the address
+	 */
+	void write(int realAddress, short value);
+	
+	/**
+	 * Copy words inside the real memory, with the semantics of {@code System.arraycopy()}
+	 * for overlapping source and destination ranges.
+	 *
+	 * @param from the real address of the first source word
+	 * @param to the real address of the first destination word
+	 * @param count the number of words to copy
+	 */
+	void copy(int from, int to, int count);
+	
+	/**
+	 * Set a range of words in the real memory to the same value.
+	 *
+	 * @param from the real address of the first word to set
+	 * @param to the real address after the last word to set
+	 * @param value the value for all words in the range
+	 */
+	void fill(int from, int to, short value);
+	
+	/**
+	 * Copy words from the real memory into a word array.
+	 *
+	 * @param realAddress the real address of the first word to copy
+	 * @param to the target array
+	 * @param toOffset the index of the first target word in {@code to}
+	 * @param count the number of words to copy
+	 */
+	void get(int realAddress, short[] to, int toOffset, int count);
+	
+	/**
+	 * Copy words from a word array into the real memory.
+	 *
+	 * @param from the source array
+	 * @param fromOffset the index of the first source word in {@code from}
+	 * @param realAddress the real address of the first word to overwrite
+	 * @param count the number of words to copy
+	 */
+	void put(short[] from, int fromOffset, int realAddress, int count);
+
+}
@@ -26,6 +26,10 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.engine.iop6085;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Common interface and functionality of the Daybreak/6085 device handlers.
  * 
@@ -155,4 +159,25 @@ public abstract class DeviceHandler {
 	 */
 	public abstract void shutdown(StringBuilder errMsgTarget);
 	
+	/**
+	 * Write the state of the device handler not held in the mesa memory
+	 * for a snapshot of the machine.
+	 * 
+	 * @param state target for the device handler state
+	 * @throws IOException in case of write problems
+	 */
+	public void saveState(DataOutput state) throws IOException {
+		// default: all state is in the FCB
+	}
+	
+	/**
+	 * Restore the state of the device handler written by {@code saveState()}.
+	 * 
+	 * @param state source for the device handler state
+	 * @throws IOException in case of read problems
+	 */
+	public void restoreState(DataInput state) throws IOException {
+		// default: all state is in the FCB
+	}
+	
 }
\ No newline at end of file
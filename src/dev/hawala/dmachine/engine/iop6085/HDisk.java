@@ -59,6 +59,7 @@ import dev.hawala.dmachine.engine.Cpu;
 import dev.hawala.dmachine.engine.Mem;
 import dev.hawala.dmachine.engine.PrincOpsDefs;
 import dev.hawala.dmachine.engine.Processes;
+import dev.hawala.dmachine.engine.Snapshot;
 import dev.hawala.dmachine.engine.iop6085.IOPTypes.ByteSwappedPointer;
 import dev.hawala.dmachine.engine.iop6085.IOPTypes.ClientCondition;
 import dev.hawala.dmachine.engine.iop6085.IOPTypes.IOPCondition;
@@ -1405,6 +1406,18 @@ public class HDisk extends DeviceHandler {
 		}
 	}
 	
+	// checksum of the content of all disks (for checking if a snapshot belongs to the disk state)
+	
+	public static long getDiskChecksum() {
+		long checksum = 0;
+		for (DiskFile df : diskFiles) {
+			for (short[] sector : df.sectors) {
+				checksum = Snapshot.checksumWords(checksum, sector);
+			}
+		}
+		return checksum;
+	}
+	
 	// merge disk base+delta files
 
 	public static void mergeDisks(PrintStream ps) {
@@ -1887,9 +1900,7 @@ public class HDisk extends DeviceHandler {
 				throw e;
 			}
 			short[] rawSector = this.sectors[linearSector];
-			for (int i = offsetData; i < rawSector.length; i++, virtualLongPointer++) {
-				Mem.writeWord(virtualLongPointer, rawSector[i]);
-			}
+			Mem.copyToMemory(virtualLongPointer, rawSector, offsetData, rawSector.length - offsetData);
 			return ErrorType.noError;
 		}
 		
@@ -1959,9 +1970,7 @@ public class HDisk extends DeviceHandler {
 			Mem.getRealAddress(virtualLongPointer, false); // check that the start address is mapped and readably
 			Mem.getRealAddress(virtualLongPointer + PrincOpsDefs.WORDS_PER_PAGE - 1, false); // check that end address is also OK
 			short[] rawSector = this.sectors[linearSector];
-			for (int i = offsetData; i < rawSector.length; i++, virtualLongPointer++) {
-				rawSector[i] = Mem.readWord(virtualLongPointer);
-			}
+			Mem.copyFromMemory(virtualLongPointer, rawSector, offsetData, rawSector.length - offsetData);
 			this.changed = true;
 			this.sectorsChanged[linearSector] = true;
 			return ErrorType.noError;
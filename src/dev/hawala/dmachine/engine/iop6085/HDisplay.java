@@ -31,6 +31,10 @@ import static dev.hawala.dmachine.engine.iop6085.IORegion.mkByteSwappedWord;
 import static dev.hawala.dmachine.engine.iop6085.IORegion.mkField;
 import static dev.hawala.dmachine.engine.iop6085.IORegion.mkWord;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import dev.hawala.dmachine.engine.Config;
 import dev.hawala.dmachine.engine.Mem;
 import dev.hawala.dmachine.engine.Processes;
@@ -377,6 +381,51 @@ public class HDisplay extends DeviceHandler {
 		this.disallowVertRetraceIntr();
 	}
 	
+	@Override
+	public synchronized void saveState(DataOutput state) throws IOException {
+		for (int i = 0; i < this.mesaCursor.length; i++) {
+			state.writeShort(this.mesaCursor[i]);
+		}
+		state.writeInt(this.mouseHotspotX);
+		state.writeInt(this.mouseHotspotY);
+		state.writeInt(this.mesaCurrX);
+		state.writeInt(this.mesaCurrY);
+		synchronized(this.vertRetraceLock) {
+			state.writeBoolean(this.doVertRetraceInterrupts);
+			state.writeShort(this.vertRetraceIntrMask);
+		}
+	}
+	
+	@Override
+	public synchronized void restoreState(DataInput state) throws IOException {
+		for (int i = 0; i < this.mesaCursor.length; i++) {
+			this.mesaCursor[i] = state.readShort();
+		}
+		this.mouseHotspotX = state.readInt();
+		this.mouseHotspotY = state.readInt();
+		this.mesaCurrX = state.readInt();
+		this.mesaCurrY = state.readInt();
+		this.uiCurrX = this.mesaCurrX + this.mouseHotspotX;
+		this.uiCurrY = this.mesaCurrY + this.mouseHotspotY;
+		this.uiNextX = this.uiCurrX;
+		this.uiNextY = this.uiCurrY;
+		this.mouseMoved = false;
+		
+		boolean vertRetraceInterrupts = state.readBoolean();
+		short vertRetraceMask = state.readShort();
+		if (vertRetraceInterrupts) {
+			this.allowVertRetraceIntr(vertRetraceMask);
+		} else {
+			this.disallowVertRetraceIntr();
+		}
+		
+		// let the ui show the mouse pointer shape of the snapshot
+		this.newCursorBitmap = null;
+		if (this.uiPointerBitmapAcceptor != null) {
+			this.uiPointerBitmapAcceptor.setPointerBitmap(this.mesaCursor, this.mouseHotspotX, this.mouseHotspotY);
+		}
+	}
+	
 	@Override
 	public synchronized void refreshMesaMemory() {
 		// transfer mouse position to mesa memory
@@ -30,6 +30,9 @@ import static dev.hawala.dmachine.engine.iop6085.IORegion.mkBoolField;
 import static dev.hawala.dmachine.engine.iop6085.IORegion.mkField;
 import static dev.hawala.dmachine.engine.iop6085.IORegion.mkWord;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.util.LinkedList;
 import java.util.List;
@@ -722,6 +725,27 @@ public class HEthernet extends DeviceHandler {
 		}
 	}
 	
+	@Override
+	public synchronized void saveState(DataOutput state) throws IOException {
+		state.writeBoolean(this.receiveStopped);
+		state.writeBoolean(this.hearSelf);
+		state.writeInt(this.receiveIocbs.size());
+		for (int iocb : this.receiveIocbs) {
+			state.writeInt(iocb);
+		}
+	}
+	
+	@Override
+	public synchronized void restoreState(DataInput state) throws IOException {
+		this.receiveStopped = state.readBoolean();
+		this.hearSelf = state.readBoolean();
+		this.receiveIocbs.clear();
+		int count = state.readInt();
+		for (int i = 0; i < count; i++) {
+			this.receiveIocbs.add(state.readInt());
+		}
+	}
+	
 	private void enqueueReceiveIocb(int iocb) {
 		if (iocb == 0) { return; }
 		
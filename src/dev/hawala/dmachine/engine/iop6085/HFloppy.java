@@ -33,6 +33,7 @@ import static dev.hawala.dmachine.engine.iop6085.IORegion.mkIOPShortBoolean;
 import static dev.hawala.dmachine.engine.iop6085.IORegion.mkWord;
 
 import java.io.BufferedInputStream;
+import java.io.DataInput;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -1128,6 +1129,14 @@ public class HFloppy extends DeviceHandler {
 		this.currFloppy = null;
 	}
 	
+	@Override
+	public synchronized void restoreState(DataInput state) throws IOException {
+		// floppies are not part of a snapshot: present an empty drive to the restored machine,
+		// a floppy inserted at startup is then seen as newly inserted floppy
+		this.currFloppy = null;
+		this.mesaEjectFloppy();
+	}
+	
 	/*
 	 * ***** implementation of an 6085/daybreak floppy disk ("legacy" floppies only so far, read-only so far, poorly tested so far...)
 	 */
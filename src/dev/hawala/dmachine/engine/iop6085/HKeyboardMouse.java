@@ -28,6 +28,9 @@ package dev.hawala.dmachine.engine.iop6085;
 
 import static dev.hawala.dmachine.engine.iop6085.IORegion.*;
 
+import java.io.DataInput;
+import java.io.IOException;
+
 import dev.hawala.dmachine.engine.Config;
 import dev.hawala.dmachine.engine.Processes;
 import dev.hawala.dmachine.engine.eLevelVKey;
@@ -156,6 +159,12 @@ public class HKeyboardMouse extends DeviceHandler {
 		// nothing to save or shutdown
 	}
 	
+	@Override
+	public void restoreState(DataInput state) throws IOException {
+		// the key states of the snapshot are in the FCB, so release all keys pressed at that time
+		this.resetKeys();
+	}
+	
 	@Override
 	public synchronized void refreshMesaMemory() {
 		// transfer keyboard states from UI area to mesa memory
@@ -33,6 +33,9 @@ import static dev.hawala.dmachine.engine.iop6085.IORegion.mkDblWord;
 import static dev.hawala.dmachine.engine.iop6085.IORegion.mkField;
 import static dev.hawala.dmachine.engine.iop6085.IORegion.mkWord;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Date;
 
@@ -311,6 +314,16 @@ public class HProcessor extends DeviceHandler {
 		// nothing to save or shutdown
 	}
 	
+	@Override
+	public void saveState(DataOutput state) throws IOException {
+		state.writeInt(this.gmtCorrection);
+	}
+	
+	@Override
+	public void restoreState(DataInput state) throws IOException {
+		this.gmtCorrection = state.readInt();
+	}
+	
 	/*
 	 * UNix <-> Mesa time mapping
 	 */
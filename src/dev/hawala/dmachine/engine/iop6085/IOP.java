@@ -26,6 +26,8 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.engine.iop6085;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -37,6 +39,7 @@ import dev.hawala.dmachine.engine.Mem;
 import dev.hawala.dmachine.engine.Opcodes;
 import dev.hawala.dmachine.engine.Opcodes.OpImpl;
 import dev.hawala.dmachine.engine.Processes;
+import dev.hawala.dmachine.engine.Snapshot;
 import dev.hawala.dmachine.engine.eLevelVKey;
 import dev.hawala.dmachine.engine.iMesaMachineDataAccessor;
 import dev.hawala.dmachine.engine.iUiDataConsumer;
@@ -52,7 +55,7 @@ import dev.hawala.dmachine.engine.iop6085.IOPTypes.IORTable;
  * 
  * @author Dr. Hans-Walter Latz / Berlin (2019,2020)
  */
-public class IOP extends Mem /* inherit from class Mem for directly accessing the real memory word array ! */ {
+public class IOP extends Mem /* inherit from class Mem for directly accessing the real memory ! */ {
 
 	/*
 	 * the table of device handlers used by the mesa engine, holding the
@@ -205,7 +208,7 @@ public class IOP extends Mem /* inherit from class Mem for directly accessing th
 		int operation = Cpu.pop() & 0xFFFF;
 		
 		int realLP = IORegion.IOR_BASE + ioRegionOffset;
-		int oldValue = mem[realLP] & 0xFFFF;
+		int oldValue = mem.read(realLP) & 0xFFFF;
 		final int newValue;
 		final MemOperation memOp;
 		if (operation == MemOperation.add.code) {
@@ -232,10 +235,10 @@ public class IOP extends Mem /* inherit from class Mem for directly accessing th
 		}
 		
 		short newShortVal = (short)(newValue & 0xFFFF);
-		mem[realLP] = newShortVal;
+		mem.write(realLP, newShortVal);
 		
 //		IORAddress location = IORegion.resolveRealAddress(realLP);
-//		System.out.printf("IOP::escLOCKMEM() -> value at rAddr: 0x%04X (%s)\n", mem[realLP], location.getName());
+//		System.out.printf("IOP::escLOCKMEM() -> value at rAddr: 0x%04X (%s)\n", mem.read(realLP), location.getName());
 		
 		for (DeviceHandler handler : devHandlers) {
 			handler.cleanupAfterLockmem((short)mask, realLP);
@@ -254,6 +257,51 @@ public class IOP extends Mem /* inherit from class Mem for directly accessing th
 		}
 	};
 	
+	/*
+	 * access to the device handler states for snapshots of the machine
+	 */
+	
+	private static class IOPDeviceState implements Snapshot.DeviceState {
+
+		@Override
+		public long getDiskChecksum() {
+			return HDisk.getDiskChecksum();
+		}
+
+		@Override
+		public void saveState(DataOutput state) throws IOException {
+			state.writeInt(devHandlers.size());
+			for (DeviceHandler handler : devHandlers) {
+				state.writeUTF(handler.getClass().getSimpleName());
+				handler.saveState(state);
+			}
+		}
+
+		@Override
+		public void restoreState(DataInput state) throws IOException {
+			if (state.readInt() != devHandlers.size()) {
+				throw new IOException("device handlers in snapshot do not match the IOP device handlers");
+			}
+			for (DeviceHandler handler : devHandlers) {
+				String handlerName = state.readUTF();
+				if (!handlerName.equals(handler.getClass().getSimpleName())) {
+					throw new IOException("unexpected device handler in snapshot: " + handlerName);
+				}
+				handler.restoreState(state);
+			}
+		}
+	}
+	
+	/**
+	 * Retrieve the access to the device handler states for saving
+	 * and restoring snapshots of the machine.
+	 * 
+	 * @return the device state access instance
+	 */
+	public static Snapshot.DeviceState getSnapshotDeviceState() {
+		return new IOPDeviceState();
+	}
+	
 	/*
 	 * interface between the UI implementation and the UI related devices
 	 */
@@ -48,7 +48,7 @@ import dev.hawala.dmachine.engine.PrincOpsDefs;
  * 
  * @author Dr. Hans-Walter Latz / Berlin (2019)
  */
-public abstract class IORegion extends Mem /* inherit from Mem for accessing the real memory word array ! */ {
+public abstract class IORegion extends Mem /* inherit from Mem for accessing the real memory ! */ {
 	
 	private static final int FIRST_IOR_PAGE = 32; // start page for the IO region
 	private static final int MAX_IOR_PAGES = 32; // => 16 KByte ~ enough space??
@@ -200,11 +200,11 @@ public abstract class IORegion extends Mem /* inherit from Mem for accessing the
 				int locAddr = iorLocation.getRealAddress();
 				if (expAddr != locAddr) {
 					System.out.printf("## expAddr[0x%06X] != locAddress[0x%06X] [ virtual: 0x%06X ] => 0x%04X -- %s\n",
-							expAddr, locAddr, iorVMBaseAddress + a, mem[locAddr], iorLocation.getName());
+							expAddr, locAddr, iorVMBaseAddress + a, mem.read(locAddr), iorLocation.getName());
 				} else {
 					System.out.printf(
 							"real: 0x%06X [ virtual: 0x%06X ] => 0x%04X -- %s\n",
-							locAddr, iorVMBaseAddress + a, mem[locAddr], iorLocation.getName());
+							locAddr, iorVMBaseAddress + a, mem.read(locAddr), iorLocation.getName());
 				}
 			}
 		}
@@ -663,12 +663,12 @@ public abstract class IORegion extends Mem /* inherit from Mem for accessing the
 		
 		@Override
 		public short get() {
-			return mem[this.location.realAddress()];
+			return mem.read(this.location.realAddress());
 		}
 		
 		@Override
 		public void set(short value) {
-			mem[this.location.realAddress()] = value;
+			mem.write(this.location.realAddress(), value);
 		}
 		
 		@Override
@@ -697,12 +697,12 @@ public abstract class IORegion extends Mem /* inherit from Mem for accessing the
 		
 		@Override
 		public short get() {
-			return (short)byteSwap(mem[this.location.realAddress()]);
+			return (short)byteSwap(mem.read(this.location.realAddress()));
 		}
 		
 		@Override
 		public void set(short value) {
-			mem[this.location.realAddress()] = (short)byteSwap(value);
+			mem.write(this.location.realAddress(), (short)byteSwap(value));
 		}
 		
 		@Override
@@ -720,15 +720,15 @@ public abstract class IORegion extends Mem /* inherit from Mem for accessing the
 		
 		@Override
 		public int get() {
-			short low = mem[this.location.realAddress()];
-			short high = mem[this.location.realAddress() + 1];
+			short low = mem.read(this.location.realAddress());
+			short high = mem.read(this.location.realAddress() + 1);
 			return (high << 16) | (low & 0x0000FFFF);
 		}
 		
 		@Override
 		public void set(int value) {
-			mem[this.location.realAddress()] = (short)(value & 0xFFFF);
-			mem[this.location.realAddress() + 1] = (short)(value >>> 16);
+			mem.write(this.location.realAddress(), (short)(value & 0xFFFF));
+			mem.write(this.location.realAddress() + 1, (short)(value >>> 16));
 		}
 		
 		@Override
@@ -746,15 +746,15 @@ public abstract class IORegion extends Mem /* inherit from Mem for accessing the
 		
 		@Override
 		public int get() {
-			int low = byteSwap(mem[this.location.realAddress()]);
-			int high = byteSwap(mem[this.location.realAddress() + 1]);
+			int low = byteSwap(mem.read(this.location.realAddress()));
+			int high = byteSwap(mem.read(this.location.realAddress() + 1));
 			return (high << 16) | (low & 0x0000FFFF);
 		}
 		
 		@Override
 		public void set(int value) {
-			mem[this.location.realAddress()] = (short)byteSwap((short)(value & 0xFFFF));
-			mem[this.location.realAddress() + 1] = (short)byteSwap((short)(value >>> 16));
+			mem.write(this.location.realAddress(), (short)byteSwap((short)(value & 0xFFFF)));
+			mem.write(this.location.realAddress() + 1, (short)byteSwap((short)(value >>> 16)));
 		}
 		
 		@Override
@@ -916,12 +916,12 @@ public abstract class IORegion extends Mem /* inherit from Mem for accessing the
 
 		@Override
 		public boolean get() {
-			return (mem[this.location.realAddress()] != 0);
+			return (mem.read(this.location.realAddress()) != 0);
 		}
 
 		@Override
 		public void set(boolean value) {
-			mem[this.location.realAddress()] = (value) ? (short)0xFFFF : 0;
+			mem.write(this.location.realAddress(), (value) ? (short)0xFFFF : 0);
 		}
 		
 		@Override
@@ -26,6 +26,7 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.engine.opcodes;
 
+import dev.hawala.dmachine.engine.Config;
 import dev.hawala.dmachine.engine.Cpu;
 import dev.hawala.dmachine.engine.Mem;
 import dev.hawala.dmachine.engine.Opcodes.OpImpl;
@@ -492,8 +493,17 @@ public class Ch05_Stack_Instructions {
 	 *    - FCOMP - Floating Point Compare
 	 *    - FLOAT - Floating Point convert to float
 	 *    
-	 * => instructions not (or only seldomly) used during a BWS/GVWin startup are not implemented, as
-	 *    no or too few comparison samples were availably
+	 * => the conversions to integers, FREM, FSQRT and FSC were added later, assuming the semantics
+	 *    of the corresponding procedures of Pilot's Real interface (Fix, FixI, FixC, RoundLI, RoundI,
+	 *    RoundC, FRem, SqRt, FScale) with IEEE rounding; as the Real interface raises signals for
+	 *    exceptional cases, these instructions are delegated to the emulation in Pilot if an
+	 *    argument is not a finite number or if the result is not representable
+	 *    (setting Config.CHECK_NATIVE_FLOAT_INSNS lets Pilot's emulation compute the result
+	 *    of these instructions for comparing, logging the deviations from the native result);
+	 *    the native results are only used if Config.USE_NATIVE_FLOAT_CONVERSIONS is set, else
+	 *    these instructions are also delegated to the emulation in Pilot
+	 *    
+	 * => FSTICKY is not implemented, as the sticky exception flags are kept by Pilot's emulation
 	 * 
 	 * => instructions not implemented are delegated to Cpu.thrower.signalEscOpcodeTrap()
 	 *    to suppress the "unimplemented" log line issued by the opcode dispatcher if
@@ -605,14 +615,14 @@ public class Ch05_Stack_Instructions {
 //		Cpu.thrower.signalEscOpcodeTrap(0x44);
 	};
 	
-	// [not implemented] FIX - Floating Point Fix?
+	// FIX - Floating Point Fix (truncate to LONG INTEGER)
 	public static final OpImpl ESC_x45_FIX = () -> {
-		// !!!! seems to be float=>integer(to-zero)
-//		checkFloatOp(0x45, "ESC_x45_FIX",
-//				() -> System.out.printf("   -> f = %f\n", peekFloat(0)),
-//				() -> System.out.printf("   -> r = %d\n", peekDWord(0))
-//				);
-		Cpu.thrower.signalEscOpcodeTrap(0x45);
+		float f = peekFloat(0);
+		if (f >= -2147483648.0f && f < 2147483648.0f) {
+			finishFloatOp(0x45, "ESC_x45_FIX", 2, true, (int)f);
+		} else {
+			Cpu.thrower.signalEscOpcodeTrap(0x45);
+		}
 	};
 	
 	// FLOAT - Floating Point convert to float
@@ -631,24 +641,24 @@ public class Ch05_Stack_Instructions {
 //		Cpu.thrower.signalEscOpcodeTrap(0x46);
 	};
 	
-	// [not implemented] FIXI - Floating Point convert to integer?
+	// FIXI - Floating Point Fix (truncate to INTEGER)
 	public static final OpImpl ESC_x47_FIXI = () -> {
-		// not used ???
-//		checkFloatOp(0x47, "ESC_x47_FIXI",
-//				null,// () -> System.out.printf("   -> i = %d\n", peekDWord(0)),
-//				null // () -> System.out.printf("   -> r = %f\n", peekFloat(0))
-//				);
-		Cpu.thrower.signalEscOpcodeTrap(0x47);
+		float f = peekFloat(0);
+		if (f > -32769.0f && f < 32768.0f) {
+			finishFloatOp(0x47, "ESC_x47_FIXI", 2, false, (int)f);
+		} else {
+			Cpu.thrower.signalEscOpcodeTrap(0x47);
+		}
 	};
 	
-	// [not implemented] FIXC - Floating Point convert to cardinal?
+	// FIXC - Floating Point Fix (truncate to CARDINAL)
 	public static final OpImpl ESC_x48_FIXC = () -> {
-		// not used ???
-//		checkFloatOp(0x48, "ESC_x48_FIXC",
-//				null,// () -> System.out.printf("   -> i = %d\n", peekDWord(0)),
-//				null // () -> System.out.printf("   -> r = %f\n", peekFloat(0))
-//				);
-		Cpu.thrower.signalEscOpcodeTrap(0x48);
+		float f = peekFloat(0);
+		if (f > -1.0f && f < 65536.0f) {
+			finishFloatOp(0x48, "ESC_x48_FIXC", 2, false, (int)f);
+		} else {
+			Cpu.thrower.signalEscOpcodeTrap(0x48);
+		}
 	};
 	
 	// [not implemented] FSTICKY - Floating Point (re)set sticky bit?
@@ -661,66 +671,118 @@ public class Ch05_Stack_Instructions {
 		Cpu.thrower.signalEscOpcodeTrap(0x49);
 	};
 	
-	// [not implemented] FREM - Floating Point Remainder?
+	// FREM - Floating Point Remainder (IEEE remainder)
 	public static final OpImpl ESC_x4A_FREM = () -> {
-		// not used ???
-//		checkFloatOp(0x4A, "ESC_x4A_FREM",
-//				null,// () -> System.out.printf("   -> i = %d\n", peekDWord(0)),
-//				null // () -> System.out.printf("   -> r = %f\n", peekFloat(0))
-//				);
-		Cpu.thrower.signalEscOpcodeTrap(0x4A);
+		float t = peekFloat(0);
+		float s = peekFloat(2);
+		if (Float.isFinite(s) && Float.isFinite(t) && t != 0.0f) {
+			float result = (float)Math.IEEEremainder(s, t); // exact, so no rounding issues
+			finishFloatOp(0x4A, "ESC_x4A_FREM", 4, true, Float.floatToRawIntBits(result));
+		} else {
+			Cpu.thrower.signalEscOpcodeTrap(0x4A);
+		}
 	};
 	
-	// [not implemented] FROUND - Floating Point Round
+	// FROUND - Floating Point Round (to nearest even LONG INTEGER)
 	public static final OpImpl ESC_x4B_FROUND = () -> {
-		// not used, rounding, FLOAT => ?? 
-//		checkFloatOp(0x4B, "ESC_x4B_FROUND",
-//				() -> System.out.printf("   -> f = %f\n", peekFloat(0)),
-//				null // () -> System.out.printf("   -> r = %f\n", peekFloat(0))
-//				);
-		Cpu.thrower.signalEscOpcodeTrap(0x4B);
+		double r = Math.rint(peekFloat(0));
+		if (r >= -2147483648.0 && r <= 2147483647.0) {
+			finishFloatOp(0x4B, "ESC_x4B_FROUND", 2, true, (int)r);
+		} else {
+			Cpu.thrower.signalEscOpcodeTrap(0x4B);
+		}
 	};
 	
-	// [not implemented] FROUNDI - Floating Point Round to integer (handling on overflow??)
+	// FROUNDI - Floating Point Round (to nearest even INTEGER)
 	public static final OpImpl ESC_x4C_FROUNDI = () -> {
-		// not used ??
-//		checkFloatOp(0x4C, "ESC_x4C_FROUNDI",
-//				() -> System.out.printf("   -> f = %f\n", peekFloat(0)),
-//				() -> System.out.printf("   -> r = %d\n", (short)peekWord(0))
-//				);
-		Cpu.thrower.signalEscOpcodeTrap(0x4C);
+		double r = Math.rint(peekFloat(0));
+		if (r >= -32768.0 && r <= 32767.0) {
+			finishFloatOp(0x4C, "ESC_x4C_FROUNDI", 2, false, (int)r);
+		} else {
+			Cpu.thrower.signalEscOpcodeTrap(0x4C);
+		}
 	};
 	
-	// FROUNDC - Floating Point Round to cardinal?
+	// FROUNDC - Floating Point Round (to nearest even CARDINAL)
 	public static final OpImpl ESC_x4D_FROUNDC = () -> {
-		// not used ??
-//		checkFloatOp(0x4D, "ESC_x4D_FROUNDC",
-//				() -> System.out.printf("   -> f = %f\n", peekFloat(0)),
-//				() -> System.out.printf("   -> r = %d\n", peekWord(0))
-//				);
-		Cpu.thrower.signalEscOpcodeTrap(0x4D);
+		double r = Math.rint(peekFloat(0));
+		if (r >= 0.0 && r <= 65535.0) {
+			finishFloatOp(0x4D, "ESC_x4D_FROUNDC", 2, false, (int)r);
+		} else {
+			Cpu.thrower.signalEscOpcodeTrap(0x4D);
+		}
 	};
 	
-	// [not implemented] FSQRT - Floating Point Square Root
+	// FSQRT - Floating Point Square Root
 	public static final OpImpl ESC_x4E_FSQRT = () -> {
-		// not used ??
-//		checkFloatOp(0x4E, "ESC_x4E_FSQRT",
-//				() -> System.out.printf("   -> f = %f\n", peekFloat(0)),
-//				() -> System.out.printf("   -> r = %f\n", peekFloat(0))
-//				);
-		Cpu.thrower.signalEscOpcodeTrap(0x4E);
+		float f = peekFloat(0);
+		if (f >= 0.0f && Float.isFinite(f)) {
+			float result = (float)Math.sqrt(f); // the double square root rounded to float is exact
+			finishFloatOp(0x4E, "ESC_x4E_FSQRT", 2, true, Float.floatToRawIntBits(result));
+		} else {
+			Cpu.thrower.signalEscOpcodeTrap(0x4E);
+		}
 	};
 	
-	// FSC - Floating Point SC??
+	// FSC - Floating Point Scale (multiply the REAL with 2 ** INTEGER)
 	public static final OpImpl ESC_x4F_FSC = () -> {
-		// what does it really do ?? (used once: Input = NaN !!??)
-//		checkFloatOp(0x4F, "ESC_x4F_FSC",
-//				() -> System.out.printf("   -> f = %f\n", peekFloat(0)),
-//				() -> System.out.printf("   -> r = %d\n", peekWord(0))
-//				);
-		Cpu.thrower.signalEscOpcodeTrap(0x4F);
+		int scale = (short)peekWord(0);
+		float f = peekFloat(1);
+		float result = Math.scalb(f, scale);
+		// (a result rounded up from the denormal range to MIN_NORMAL does not scale back to f)
+		boolean representable = (f == 0.0f)
+				? Float.isFinite(result)
+				: Float.isFinite(f) && Float.isFinite(result) && Math.abs(result) >= Float.MIN_NORMAL
+				  && Math.scalb(result, -scale) == f;
+		if (representable) {
+			finishFloatOp(0x4F, "ESC_x4F_FSC", 3, true, Float.floatToRawIntBits(result));
+		} else {
+			Cpu.thrower.signalEscOpcodeTrap(0x4F);
+		}
 	};
 	
+	// count of deviations of native float instructions from Pilot's emulation
+	private static int fDeviations = 0;
+	
+	/**
+	 * Complete a float instruction computed natively from the arguments still on the stack,
+	 * either by replacing the arguments with the result or (if Config.CHECK_NATIVE_FLOAT_INSNS)
+	 * by delegating the instruction to Pilot's emulation and comparing the results, or
+	 * (if not Config.USE_NATIVE_FLOAT_CONVERSIONS) by simply delegating the instruction
+	 * to Pilot's emulation.
+	 * 
+	 * @param code float (ESC) instruction code
+	 * @param name the name of the instruction
+	 * @param argWords number of stack words of the arguments
+	 * @param longResult is the result a 2-word value (else a single word)?
+	 * @param result the natively computed result
+	 */
+	private static void finishFloatOp(int code, String name, int argWords, boolean longResult, int result) {
+		if (Config.CHECK_NATIVE_FLOAT_INSNS) {
+			checkFloatOp(code, name, null, () -> {
+				int emulated = longResult ? peekDWord(0) : peekWord(0);
+				int expected = longResult ? result : result & 0xFFFF;
+				if (emulated != expected) {
+					fDeviations++;
+					System.out.printf(" # # # DEVIATION # %d: %s native 0x%08X <-> emulation 0x%08X\n", fDeviations, name, expected, emulated);
+				}
+			});
+			return;
+		}
+		if (!Config.USE_NATIVE_FLOAT_CONVERSIONS) {
+			Cpu.thrower.signalEscOpcodeTrap(code);
+			return;
+		}
+		for (int i = 0; i < argWords; i++) {
+			Cpu.discard();
+		}
+		if (longResult) {
+			Cpu.pushLong(result);
+		} else {
+			Cpu.push((short)result);
+		}
+	}
+	
 	/*
 	 * ## test code for float implementations
 	 */
@@ -804,6 +866,9 @@ public class Ch05_Stack_Instructions {
 	
 	private static int peekWord(int stackOffset) {
 		int stackPos = Cpu.SP - 1 - stackOffset;
+		if (stackPos < 0) {
+			Cpu.stackError();
+		}
 		return Cpu.getStack()[stackPos] & 0xFFFF;
 	}
 	
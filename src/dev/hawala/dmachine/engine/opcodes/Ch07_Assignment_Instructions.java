@@ -194,135 +194,135 @@ public class Ch07_Assignment_Instructions {
 	
 	// LL0 - Load Local 0
 	public static final OpImpl OPC_x01_LL0 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF));
+		Cpu.push(Mem.readLocalWord(0));
 	};
 	
 	// LL1 - Load Local 1
 	public static final OpImpl OPC_x02_LL1 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 1));
+		Cpu.push(Mem.readLocalWord(1));
 	};
 	
 	// LL2 - Load Local 2
 	public static final OpImpl OPC_x03_LL2 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 2));
+		Cpu.push(Mem.readLocalWord(2));
 	};
 	
 	// LL3 - Load Local 3
 	public static final OpImpl OPC_x04_LL3 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 3));
+		Cpu.push(Mem.readLocalWord(3));
 	};
 	
 	// LL4 - Load Local 4
 	public static final OpImpl OPC_x05_LL4 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 4));
+		Cpu.push(Mem.readLocalWord(4));
 	};
 	
 	// LL5 - Load Local 5
 	public static final OpImpl OPC_x06_LL5 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 5));
+		Cpu.push(Mem.readLocalWord(5));
 	};
 	
 	// LL6 - Load Local 6
 	public static final OpImpl OPC_x07_LL6 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 6));
+		Cpu.push(Mem.readLocalWord(6));
 	};
 	
 	// LL7 - Load Local 7
 	public static final OpImpl OPC_x08_LL7 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 7));
+		Cpu.push(Mem.readLocalWord(7));
 	};
 	
 	// LL8 - Load Local 8
 	public static final OpImpl OPC_x09_LL8 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 8));
+		Cpu.push(Mem.readLocalWord(8));
 	};
 	
 	// LL9 - Load Local 9
 	public static final OpImpl OPC_x0A_LL9 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 9));
+		Cpu.push(Mem.readLocalWord(9));
 	};
 	
 	// LL10 - Load Local 10
 	public static final OpImpl OPC_x0B_LL10 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 10));
+		Cpu.push(Mem.readLocalWord(10));
 	};
 	
 	// LL11 - Load Local 11
 	public static final OpImpl OPC_x0C_LL11 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 11));
+		Cpu.push(Mem.readLocalWord(11));
 	};
 	
 	// LLB - Load Local Byte
 	public static final OpImpl OPC_x0D_LLB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Cpu.push(Mem.readMDSWord(Cpu.LF, alpha));
+		Cpu.push(Mem.readLocalWord(alpha));
 	};
 	
 	// LLD0 - Load Local Double 0
 	public static final OpImpl OPC_x0E_LLD0 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF));
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 1));
+		Cpu.push(Mem.readLocalWord(0));
+		Cpu.push(Mem.readLocalWord(1));
 	};
 	
 	// LLD1 - Load Local Double 1
 	public static final OpImpl OPC_x0F_LLD1 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 1));
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 2));
+		Cpu.push(Mem.readLocalWord(1));
+		Cpu.push(Mem.readLocalWord(2));
 	};
 	
 	// LLD2 - Load Local Double 2
 	public static final OpImpl OPC_x10_LLD2 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 2));
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 3));
+		Cpu.push(Mem.readLocalWord(2));
+		Cpu.push(Mem.readLocalWord(3));
 	};
 	
 	// LLD3 - Load Local Double 3
 	public static final OpImpl OPC_x11_LLD3 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 3));
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 4));
+		Cpu.push(Mem.readLocalWord(3));
+		Cpu.push(Mem.readLocalWord(4));
 	};
 	
 	// LLD4 - Load Local Double 4
 	public static final OpImpl OPC_x12_LLD4 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 4));
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 5));
+		Cpu.push(Mem.readLocalWord(4));
+		Cpu.push(Mem.readLocalWord(5));
 	};
 	
 	// LLD5 - Load Local Double 5
 	public static final OpImpl OPC_x13_LLD5 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 5));
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 6));
+		Cpu.push(Mem.readLocalWord(5));
+		Cpu.push(Mem.readLocalWord(6));
 	};
 	
 	// LLD6 - Load Local Double 6
 	public static final OpImpl OPC_x14_LLD6 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 6));
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 7));
+		Cpu.push(Mem.readLocalWord(6));
+		Cpu.push(Mem.readLocalWord(7));
 	};
 	
 	// LLD7 - Load Local Double 7
 	public static final OpImpl OPC_x15_LLD7 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 7));
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 8));
+		Cpu.push(Mem.readLocalWord(7));
+		Cpu.push(Mem.readLocalWord(8));
 	};
 	
 	// LLD8 - Load Local Double 8
 	public static final OpImpl OPC_x16_LLD8 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 8));
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 9));
+		Cpu.push(Mem.readLocalWord(8));
+		Cpu.push(Mem.readLocalWord(9));
 	};
 	
 	// LLD10 - Load Local Double 10
 	public static final OpImpl OPC_x17_LLD10 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 10));
-		Cpu.push(Mem.readMDSWord(Cpu.LF, 11));
+		Cpu.push(Mem.readLocalWord(10));
+		Cpu.push(Mem.readLocalWord(11));
 	};
 	
 	// LLDB - Load Local Double Byte
 	public static final OpImpl OPC_x18_LLDB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Cpu.push(Mem.readMDSWord(Cpu.LF, alpha));
-		Cpu.push(Mem.readMDSWord(Cpu.LF, alpha + 1));
+		Cpu.push(Mem.readLocalWord(alpha));
+		Cpu.push(Mem.readLocalWord(alpha + 1));
 	};
 	
 	/*
@@ -331,118 +331,118 @@ public class Ch07_Assignment_Instructions {
 	
 	// SL0 - Store Local 0
 	public static final OpImpl OPC_x19_SL0 = () -> {
-		Mem.writeMDSWord(Cpu.LF, Cpu.pop());
+		Mem.writeLocalWord(0, Cpu.pop());
 	};
 	
 	// SL1 - Store Local 1
 	public static final OpImpl OPC_x1A_SL1 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 1, Cpu.pop());
+		Mem.writeLocalWord(1, Cpu.pop());
 	};
 	
 	// SL2 - Store Local 2
 	public static final OpImpl OPC_x1B_SL2 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 2, Cpu.pop());
+		Mem.writeLocalWord(2, Cpu.pop());
 	};
 	
 	// SL3 - Store Local 3
 	public static final OpImpl OPC_x1C_SL3 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 3, Cpu.pop());
+		Mem.writeLocalWord(3, Cpu.pop());
 	};
 	
 	// SL4 - Store Local 4
 	public static final OpImpl OPC_x1D_SL4 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 4, Cpu.pop());
+		Mem.writeLocalWord(4, Cpu.pop());
 	};
 	
 	// SL5 - Store Local 5
 	public static final OpImpl OPC_x1E_SL5 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 5, Cpu.pop());
+		Mem.writeLocalWord(5, Cpu.pop());
 	};
 	
 	// SL6 - Store Local 6
 	public static final OpImpl OPC_x1F_SL6 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 6, Cpu.pop());
+		Mem.writeLocalWord(6, Cpu.pop());
 	};
 	
 	// SL7 - Store Local 7
 	public static final OpImpl OPC_x20_SL7 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 7, Cpu.pop());
+		Mem.writeLocalWord(7, Cpu.pop());
 	};
 	
 	// SL8 - Store Local 8
 	public static final OpImpl OPC_x21_SL8 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 8, Cpu.pop());
+		Mem.writeLocalWord(8, Cpu.pop());
 	};
 	
 	// SL9 - Store Local 9
 	public static final OpImpl OPC_x22_SL9 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 9, Cpu.pop());
+		Mem.writeLocalWord(9, Cpu.pop());
 	};
 	
 	// SL10 - Store Local 10
 	public static final OpImpl OPC_x23_SL10 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 10, Cpu.pop());
+		Mem.writeLocalWord(10, Cpu.pop());
 	};
 	
 	// SLB - Store Local Byte
 	public static final OpImpl OPC_x24_SLB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Mem.writeMDSWord(Cpu.LF, alpha, Cpu.pop());
+		Mem.writeLocalWord(alpha, Cpu.pop());
 	};
 	
 	// SLD0 - Store Local Double 0
 	public static final OpImpl OPC_x25_SLD0 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 1, Cpu.pop());
-		Mem.writeMDSWord(Cpu.LF, Cpu.pop());
+		Mem.writeLocalWord(1, Cpu.pop());
+		Mem.writeLocalWord(0, Cpu.pop());
 	};
 	
 	// SLD1 - Store Local Double 1
 	public static final OpImpl OPC_x26_SLD1 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 2, Cpu.pop());
-		Mem.writeMDSWord(Cpu.LF, 1, Cpu.pop());
+		Mem.writeLocalWord(2, Cpu.pop());
+		Mem.writeLocalWord(1, Cpu.pop());
 	};
 	
 	// SLD2 - Store Local Double 2
 	public static final OpImpl OPC_x27_SLD2 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 3, Cpu.pop());
-		Mem.writeMDSWord(Cpu.LF, 2, Cpu.pop());
+		Mem.writeLocalWord(3, Cpu.pop());
+		Mem.writeLocalWord(2, Cpu.pop());
 	};
 	
 	// SLD3 - Store Local Double 3
 	public static final OpImpl OPC_x28_SLD3 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 4, Cpu.pop());
-		Mem.writeMDSWord(Cpu.LF, 3, Cpu.pop());
+		Mem.writeLocalWord(4, Cpu.pop());
+		Mem.writeLocalWord(3, Cpu.pop());
 	};
 	
 	// SLD4 - Store Local Double 4
 	public static final OpImpl OPC_x29_SLD4 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 5, Cpu.pop());
-		Mem.writeMDSWord(Cpu.LF, 4, Cpu.pop());
+		Mem.writeLocalWord(5, Cpu.pop());
+		Mem.writeLocalWord(4, Cpu.pop());
 	};
 	
 	// SLD5 - Store Local Double 5
 	public static final OpImpl OPC_x2A_SLD5 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 6, Cpu.pop());
-		Mem.writeMDSWord(Cpu.LF, 5, Cpu.pop());
+		Mem.writeLocalWord(6, Cpu.pop());
+		Mem.writeLocalWord(5, Cpu.pop());
 	};
 	
 	// SLD6 - Store Local Double 6
 	public static final OpImpl OPC_x2B_SLD6 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 7, Cpu.pop());
-		Mem.writeMDSWord(Cpu.LF, 6, Cpu.pop());
+		Mem.writeLocalWord(7, Cpu.pop());
+		Mem.writeLocalWord(6, Cpu.pop());
 	};
 	
 	// SLD8 - Store Local Double 8
 	public static final OpImpl OPC_x2C_SLD8 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 9, Cpu.pop());
-		Mem.writeMDSWord(Cpu.LF, 8, Cpu.pop());
+		Mem.writeLocalWord(9, Cpu.pop());
+		Mem.writeLocalWord(8, Cpu.pop());
 	};
 	
 	// SLDB - Store Local Double Byte
 	public static final OpImpl OPC_x75_SLDB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Mem.writeMDSWord(Cpu.LF, alpha + 1, Cpu.pop());
-		Mem.writeMDSWord(Cpu.LF, alpha, Cpu.pop());
+		Mem.writeLocalWord(alpha + 1, Cpu.pop());
+		Mem.writeLocalWord(alpha, Cpu.pop());
 	};
 	
 	/*
@@ -451,34 +451,34 @@ public class Ch07_Assignment_Instructions {
 	
 	// PL0 - Put Local 0
 	public static final OpImpl OPC_x2D_PL0 = () -> {
-		Mem.writeMDSWord(Cpu.LF, Cpu.popRecover());
+		Mem.writeLocalWord(0, Cpu.popRecover());
 	};
 	
 	// PL1 - Put Local 1
 	public static final OpImpl OPC_x2E_PL1 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 1, Cpu.popRecover());
+		Mem.writeLocalWord(1, Cpu.popRecover());
 	};
 	
 	// PL2 - Put Local 2
 	public static final OpImpl OPC_x2F_PL2 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 2, Cpu.popRecover());
+		Mem.writeLocalWord(2, Cpu.popRecover());
 	};
 	
 	// PL3 - Put Local 3
 	public static final OpImpl OPC_x30_PL3 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 3, Cpu.popRecover());
+		Mem.writeLocalWord(3, Cpu.popRecover());
 	};
 	
 	// PLB - Put Local Byte
 	public static final OpImpl OPC_x31_PLB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Mem.writeMDSWord(Cpu.LF, alpha, Cpu.popRecover());
+		Mem.writeLocalWord(alpha, Cpu.popRecover());
 	};
 	
 	// PLD0 - Put Local Double 0
 	public static final OpImpl OPC_x32_PLD0 = () -> {
-		Mem.writeMDSWord(Cpu.LF, 1, Cpu.pop());
-		Mem.writeMDSWord(Cpu.LF, Cpu.pop());
+		Mem.writeLocalWord(1, Cpu.pop());
+		Mem.writeLocalWord(0, Cpu.pop());
 		Cpu.recover();
 		Cpu.recover();
 	};
@@ -486,8 +486,8 @@ public class Ch07_Assignment_Instructions {
 	// PLDB - Put Local Double Byte
 	public static final OpImpl OPC_x33_PLDB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Mem.writeMDSWord(Cpu.LF, alpha + 1, Cpu.pop());
-		Mem.writeMDSWord(Cpu.LF, alpha, Cpu.pop());
+		Mem.writeLocalWord(alpha + 1, Cpu.pop());
+		Mem.writeLocalWord(alpha, Cpu.pop());
 		Cpu.recover();
 		Cpu.recover();
 	};
@@ -499,7 +499,7 @@ public class Ch07_Assignment_Instructions {
 	// AL0IB - Add Local Zero to Immediate Byte
 	public static final OpImpl OPC_xBB_AL0IB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Cpu.push((short)((Mem.readMDSWord(Cpu.LF) & 0xFFFF) + alpha)); // assuming that UNSPECIFIED is unsigned
+		Cpu.push((short)((Mem.readLocalWord(0) & 0xFFFF) + alpha)); // assuming that UNSPECIFIED is unsigned
 	};
 	
 	/*
@@ -588,68 +588,68 @@ public class Ch07_Assignment_Instructions {
 	
 	// LG0 - Load Global 0
 	public static final OpImpl OPCo_x34_LG0 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.GF16));
+		Cpu.push(Mem.readMDSGlobalWord(0));
 	};
 	public static final OpImpl OPCn_x34_LG0 = () -> {
-		Cpu.push(Mem.readWord(Cpu.GF32));
+		Cpu.push(Mem.readGlobalWord(0));
 	};
 	
 	// LG1 - Load Global 1
 	public static final OpImpl OPCo_x35_LG1 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.GF16, 1));
+		Cpu.push(Mem.readMDSGlobalWord(1));
 	};
 	public static final OpImpl OPCn_x35_LG1 = () -> {
-		Cpu.push(Mem.readWord(Cpu.GF32 + 1));
+		Cpu.push(Mem.readGlobalWord(1));
 	};
 	
 	// LG2 - Load Global 2
 	public static final OpImpl OPCo_x36_LG2 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.GF16, 2));
+		Cpu.push(Mem.readMDSGlobalWord(2));
 	};
 	public static final OpImpl OPCn_x36_LG2 = () -> {
-		Cpu.push(Mem.readWord(Cpu.GF32 + 2));
+		Cpu.push(Mem.readGlobalWord(2));
 	};
 	
 	// LGB - Load Global Byte
 	public static final OpImpl OPCo_x37_LGB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Cpu.push(Mem.readMDSWord(Cpu.GF16, alpha));
+		Cpu.push(Mem.readMDSGlobalWord(alpha));
 	};
 	public static final OpImpl OPCn_x37_LGB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Cpu.push(Mem.readWord(Cpu.GF32 + alpha));
+		Cpu.push(Mem.readGlobalWord(alpha));
 	};
 	
 	// LGD0 - Load Global Double 0
 	public static final OpImpl OPCo_x38_LGD0 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.GF16));
-		Cpu.push(Mem.readMDSWord(Cpu.GF16, 1));
+		Cpu.push(Mem.readMDSGlobalWord(0));
+		Cpu.push(Mem.readMDSGlobalWord(1));
 	};
 	public static final OpImpl OPCn_x38_LGD0 = () -> {
-		Cpu.push(Mem.readWord(Cpu.GF32));
-		Cpu.push(Mem.readWord(Cpu.GF32 + 1));
+		Cpu.push(Mem.readGlobalWord(0));
+		Cpu.push(Mem.readGlobalWord(1));
 	};
 	
 	// LGD2 - Load Global Double 2
 	public static final OpImpl OPCo_x39_LGD2 = () -> {
-		Cpu.push(Mem.readMDSWord(Cpu.GF16, 2));
-		Cpu.push(Mem.readMDSWord(Cpu.GF16, 3));
+		Cpu.push(Mem.readMDSGlobalWord(2));
+		Cpu.push(Mem.readMDSGlobalWord(3));
 	};
 	public static final OpImpl OPCn_x39_LGD2 = () -> {
-		Cpu.push(Mem.readWord(Cpu.GF32 + 2));
-		Cpu.push(Mem.readWord(Cpu.GF32 + 3));
+		Cpu.push(Mem.readGlobalWord(2));
+		Cpu.push(Mem.readGlobalWord(3));
 	};
 	
 	// LGDB - Load Global Double Byte
 	public static final OpImpl OPCo_x3A_LGDB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Cpu.push(Mem.readMDSWord(Cpu.GF16, alpha));
-		Cpu.push(Mem.readMDSWord(Cpu.GF16, alpha + 1));
+		Cpu.push(Mem.readMDSGlobalWord(alpha));
+		Cpu.push(Mem.readMDSGlobalWord(alpha + 1));
 	};
 	public static final OpImpl OPCn_x3A_LGDB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Cpu.push(Mem.readWord(Cpu.GF32 + alpha));
-		Cpu.push(Mem.readWord(Cpu.GF32 + alpha + 1));
+		Cpu.push(Mem.readGlobalWord(alpha));
+		Cpu.push(Mem.readGlobalWord(alpha + 1));
 	};
 	
 	/*
@@ -659,23 +659,23 @@ public class Ch07_Assignment_Instructions {
 	// SGB - Store Global Byte
 	public static final OpImpl OPCo_x3B_SGB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Mem.writeMDSWord(Cpu.GF16, alpha, Cpu.pop());
+		Mem.writeMDSGlobalWord(alpha, Cpu.pop());
 	};
 	public static final OpImpl OPCn_x3B_SGB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Mem.writeWord(Cpu.GF32 + alpha, Cpu.pop());
+		Mem.writeGlobalWord(alpha, Cpu.pop());
 	};
 	
 	// SGDB - Store Global Double Byte
 	public static final OpImpl OPCo_x76_SGDB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Mem.writeMDSWord(Cpu.GF16, alpha + 1, Cpu.pop());
-		Mem.writeMDSWord(Cpu.GF16, alpha, Cpu.pop());
+		Mem.writeMDSGlobalWord(alpha + 1, Cpu.pop());
+		Mem.writeMDSGlobalWord(alpha, Cpu.pop());
 	};
 	public static final OpImpl OPCn_x76_SGDB_alpha = () -> {
 		int alpha = Mem.getNextCodeByte();
-		Mem.writeWord(Cpu.GF32 + alpha + 1, Cpu.pop());
-		Mem.writeWord(Cpu.GF32 + alpha, Cpu.pop());
+		Mem.writeGlobalWord(alpha + 1, Cpu.pop());
+		Mem.writeGlobalWord(alpha, Cpu.pop());
 	};
 	
 	/*
@@ -867,25 +867,25 @@ public class Ch07_Assignment_Instructions {
 	
 	// RLI00 - Read Local Indirect Zero 0
 	public static final OpImpl OPC_x53_RLI00 = () -> {
-		short pointer = Mem.readMDSWord(Cpu.LF);
+		short pointer = Mem.readLocalWord(0);
 		Cpu.push(Mem.readMDSWord(pointer));
 	};
 	
 	// RLI01 - Read Local Indirect Zero 1
 	public static final OpImpl OPC_x54_RLI01 = () -> {
-		short pointer = Mem.readMDSWord(Cpu.LF);
+		short pointer = Mem.readLocalWord(0);
 		Cpu.push(Mem.readMDSWord(pointer, 1));
 	};
 	
 	// RLI02 - Read Local Indirect Zero 2
 	public static final OpImpl OPC_x55_RLI02 = () -> {
-		short pointer = Mem.readMDSWord(Cpu.LF);
+		short pointer = Mem.readLocalWord(0);
 		Cpu.push(Mem.readMDSWord(pointer, 2));
 	};
 	
 	// RLI03 - Read Local Indirect Zero 3
 	public static final OpImpl OPC_x56_RLI03 = () -> {
-		short pointer = Mem.readMDSWord(Cpu.LF);
+		short pointer = Mem.readLocalWord(0);
 		Cpu.push(Mem.readMDSWord(pointer, 3));
 	};
 	
@@ -929,7 +929,7 @@ public class Ch07_Assignment_Instructions {
 	
 	// RLID00 - Read Local Double Indirect Zero Zero
 	public static final OpImpl OPC_x59_RLDI00 = () -> {
-		short pointer = Mem.readMDSWord(Cpu.LF);
+		short pointer = Mem.readLocalWord(0);
 		short u = Mem.readMDSWord(pointer);
 		short v = Mem.readMDSWord(pointer + 1);
 		Cpu.push(u);
@@ -1078,7 +1078,7 @@ public class Ch07_Assignment_Instructions {
 	public static final OpImpl OPC_x6A_RLIPF_alphabeta = () -> {
 		int pair = Mem.getNextCodeByte();
 		int spec = Mem.getNextCodeByte();
-		int pointer = Mem.readMDSWord(Cpu.LF, pair >>> 4) & 0x0FFFF;
+		int pointer = Mem.readLocalWord(pair >>> 4) & 0x0FFFF;
 		Cpu.push(Mem.readField(Mem.readMDSWord(pointer, pair & 0x0F), spec));
 	};
 	
@@ -26,8 +26,11 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.engine.opcodes;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import dev.hawala.dmachine.engine.Config;
 import dev.hawala.dmachine.engine.Cpu;
@@ -36,6 +39,7 @@ import dev.hawala.dmachine.engine.Opcodes.OpImpl;
 import dev.hawala.dmachine.engine.PilotDefs.DisplayType;
 import dev.hawala.dmachine.engine.PrincOpsDefs;
 import dev.hawala.dmachine.engine.Processes;
+import dev.hawala.dmachine.engine.iRealMemory;
 
 /**
  * Implementation of instructions defined in PrincOps 4.0
@@ -74,10 +78,11 @@ public class Ch08_Block_Transfers {
 			try {
 				while(true) {
 					if (count == 0) { return; }
-					Mem.writeMDSWord(dest, Mem.readMDSWord(source)); // this may throw a MesaAbort on page fault
-					count--;
-					source++;
-					dest++;
+					// copy up to the next source or destination page boundary, MDS pages do not wrap inside a run
+					int run = Mem.copyPageRun(Cpu.lengthenPointer(source), Cpu.lengthenPointer(dest), count); // this may throw a MesaAbort on page fault
+					count -= run;
+					source = (source + run) & 0xFFFF;
+					dest = (dest + run) & 0xFFFF;
 					if (Processes.interruptPending() && count > 0) {
 						Cpu.push((short)source);
 						Cpu.push((short)count);
@@ -106,10 +111,10 @@ public class Ch08_Block_Transfers {
 			try {
 				while(true) {
 					if (count == 0) { return; }
-					Mem.writeWord(dest, Mem.readWord(source)); // this may throw a MesaAbort on page fault
-					count--;
-					source++;
-					dest++;
+					int run = Mem.copyPageRun(source, dest, count); // this may throw a MesaAbort on page fault
+					count -= run;
+					source += run;
+					dest += run;
 					if (Processes.interruptPending() && count > 0) {
 						Cpu.pushLong(source);
 						Cpu.push((short)count);
@@ -139,8 +144,7 @@ public class Ch08_Block_Transfers {
 			try {
 				while(true) {
 					if (count == 0) { return; }
-					Mem.writeWord(dest + count - 1, Mem.readWord(source + count - 1)); // this may throw a MesaAbort on page fault
-					count--;
+					count -= Mem.copyPageRunReverse(source, dest, count); // this may throw a MesaAbort on page fault
 					if (Processes.interruptPending() && count > 0) {
 						Cpu.pushLong(source);
 						Cpu.push((short)count);
@@ -169,10 +173,11 @@ public class Ch08_Block_Transfers {
 			try {
 				while(true) {
 					if (count == 0) { return; }
-					Mem.writeMDSWord(dest, Mem.readCode(source)); // this may throw a MesaAbort on page fault
-					count--;
-					source++;
-					dest++;
+					// the code base is not page aligned, so the source offset may wrap inside a run
+					int run = Mem.copyPageRun(Cpu.CB + source, Cpu.lengthenPointer(dest), Math.min(count, 0x10000 - source)); // this may throw a MesaAbort on page fault
+					count -= run;
+					source = (source + run) & 0xFFFF;
+					dest = (dest + run) & 0xFFFF;
 					if (Processes.interruptPending() && count > 0) {
 						Cpu.push((short)source);
 						Cpu.push((short)count);
@@ -201,10 +206,11 @@ public class Ch08_Block_Transfers {
 			try {
 				while(true) {
 					if (count == 0) { return; }
-					Mem.writeWord(dest, Mem.readCode(source)); // this may throw a MesaAbort on page fault
-					count--;
-					source++;
-					dest++;
+					// the code base is not page aligned, so the source offset may wrap inside a run
+					int run = Mem.copyPageRun(Cpu.CB + source, dest, Math.min(count, 0x10000 - source)); // this may throw a MesaAbort on page fault
+					count -= run;
+					source = (source + run) & 0xFFFF;
+					dest += run;
 					if (Processes.interruptPending() && count > 0) {
 						Cpu.push((short)source);
 						Cpu.push((short)count);
@@ -232,9 +238,11 @@ public class Ch08_Block_Transfers {
 			try {
 				while(true) {
 					if (count == 0) { break; }
-					cksum = checksum(cksum, Mem.readWord(source)); // this may throw a MesaAbort on page fault
-					count--;
-					source++;
+					int run = Math.min(count, PrincOpsDefs.WORDS_PER_PAGE - (source & 0xFF));
+					Mem.copyFromMemory(source, checksumWords, 0, run); // this may throw a MesaAbort on page fault
+					cksum = checksum(cksum, checksumWords, run);
+					count -= run;
+					source += run;
 					if (Processes.interruptPending() && count > 0) {
 						Cpu.push((short)cksum);
 						Cpu.push((short)count);
@@ -255,15 +263,30 @@ public class Ch08_Block_Transfers {
 		}
 	};
 	
+	// the page run of the source currently being checksummed
+	private static final short[] checksumWords = new short[PrincOpsDefs.WORDS_PER_PAGE];
+	
 	private static int checksum(int cksum, short data) {
-		int temp = (cksum + (data & 0xFFFF)) & 0xFFFF;
-		if (cksum > temp) { temp = temp + 1; }
-		if (temp >= 0100000) {
-			temp = (temp * 2) + 1;
-		} else {
-			temp = temp * 2;
+		// ones complement add (with end-around carry), followed by a left rotate by 1
+		int temp = cksum + (data & 0xFFFF);
+		temp = (temp + (temp >>> 16)) & 0xFFFF;
+		return ((temp << 1) | (temp >>> 15)) & 0xFFFF;
+	}
+	
+	private static int checksum(int cksum, short[] words, int count) {
+		int i = 0;
+		int limit = count & ~0x03;
+		while (i < limit) {
+			cksum = checksum(cksum, words[i]);
+			cksum = checksum(cksum, words[i + 1]);
+			cksum = checksum(cksum, words[i + 2]);
+			cksum = checksum(cksum, words[i + 3]);
+			i += 4;
+		}
+		while (i < count) {
+			cksum = checksum(cksum, words[i++]);
 		}
-		return temp & 0xFFFF;
+		return cksum;
 	}
 	
 	/*
@@ -282,13 +305,14 @@ public class Ch08_Block_Transfers {
 						Cpu.push((short)1); // true
 						return;
 					}
-					if (Mem.readWord(ptr1) != Mem.readWord(ptr2)) { // this may throw a MesaAbort on page fault
+					int run = Mem.comparePageRun(ptr1, ptr2, count); // this may throw a MesaAbort on page fault
+					if (run < 0) {
 						Cpu.push(0); // false
 						return;
 					}
-					count--;
-					ptr1++;
-					ptr2++;
+					count -= run;
+					ptr1 += run;
+					ptr2 += run;
 					if (Processes.interruptPending()) {
 						if (count == 0) {
 							Cpu.push((short)1); // true
@@ -323,13 +347,15 @@ public class Ch08_Block_Transfers {
 						Cpu.push((short)1); // true
 						return;
 					}
-					if (Mem.readWord(ptr) != Mem.readCode(offset)) { // this may throw a MesaAbort on page fault
+					// the code base is not page aligned, so the offset may wrap inside a run
+					int run = Mem.comparePageRun(ptr, Cpu.CB + offset, Math.min(count, 0x10000 - offset)); // this may throw a MesaAbort on page fault
+					if (run < 0) {
 						Cpu.push(0); // false
 						return;
 					}
-					count--;
-					ptr++;
-					offset++;
+					count -= run;
+					ptr += run;
+					offset = (offset + run) & 0xFFFF;
 					if (Processes.interruptPending()) {
 						if (count == 0) {
 							Cpu.push((short)1); // true
@@ -590,6 +616,8 @@ public class Ch08_Block_Transfers {
 		
 		private final int[] lineCache;
 		
+		private BandMemory bandMemory = null; // memory access when transferring a band of lines in a worker thread
+		
 		private int lpLineStart; // LongPointer to 1st word of current pixel line 
 		
 		private int pixelOffset; // position of 1st pixel in *lpLineStart
@@ -706,7 +734,7 @@ public class Ch08_Block_Transfers {
 						wordsToCache, wordsPerLine, pixelOffset, pixelsPerLine);
 			}
 			for (int i = 0; i < wordsToCache /*this.wordsPerLine*/; i++) {
-				this.lineCache[i] = Mem.readWord(this.lpLineStart + i);
+				this.lineCache[i] = this.readWord(this.lpLineStart + i);
 			}
 			this.pixWordOffs = 0;
 			this.currPixWordOffs = 0;
@@ -748,9 +776,85 @@ public class Ch08_Block_Transfers {
 		
 		@Override
 		public void flush() {
-			Mem.writeWord(this.lpLineStart + this.currPixWordOffs, (short)(this.pixWord & 0xFFFF));
+			this.writeWord(this.lpLineStart + this.currPixWordOffs, (short)(this.pixWord & 0xFFFF));
+		}
+		
+		private short readWord(int lp) {
+			return (this.bandMemory == null) ? Mem.readWord(lp) : this.bandMemory.readWord(lp);
+		}
+		
+		public void writeWord(int lp, short w) {
+			if (this.bandMemory == null) {
+				Mem.writeWord(lp, w);
+			} else {
+				this.bandMemory.writeWord(lp, w);
+			}
+		}
+		
+		// get the first and last word addresses of the next lines, leaving the current line unchanged
+		public int[] getLineRanges(int lines) {
+			int savedLpLineStart = this.lpLineStart;
+			int savedPixelOffset = this.pixelOffset;
+			int savedPixShift = this.pixShift;
+			
+			int[] ranges = new int[lines * 2];
+			for (int i = 0; i < lines; i++) {
+				int words = (((this.pixelOffset + this.pixelTransferWidth) * this.bitsPerPixel) + PrincOpsDefs.WORD_BITS - 1) / PrincOpsDefs.WORD_BITS;
+				ranges[i * 2] = this.lpLineStart;
+				ranges[(i * 2) + 1] = this.lpLineStart + Math.max(words, 1) - 1;
+				this.moveToNextLine();
+			}
+			
+			this.lpLineStart = savedLpLineStart;
+			this.pixelOffset = savedPixelOffset;
+			this.pixShift = savedPixShift;
+			return ranges;
+		}
+		
+	}
+	
+	/**
+	 * Real memory pages of the lines in a band of a BITBLT-type operation transferred
+	 * by a worker thread. The virtual pages are translated (with setting the referenced
+	 * and dirty flags resp. raising page faults) by the mesa engine thread before the
+	 * band is transferred, as the translation caches of class Mem are not thread-safe.
+	 */
+	private static class BandMemory {
+		
+		private final iRealMemory mem = Mem.getRealMemory();
+		
+		private final int firstPage;
+		
+		private final int[] realPages; // real address of page (firstPage + index)
+		
+		public BandMemory(int[] lineRanges, boolean forWrite) {
+			int minPage = Integer.MAX_VALUE;
+			int maxPage = -1;
+			for (int i = 0; i < lineRanges.length; i += 2) {
+				minPage = Math.min(minPage, lineRanges[i] >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE);
+				maxPage = Math.max(maxPage, lineRanges[i + 1] >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE);
+			}
+			this.firstPage = minPage;
+			this.realPages = new int[maxPage - minPage + 1];
+			Arrays.fill(this.realPages, -1);
+			
+			for (int i = 0; i < lineRanges.length; i += 2) {
+				int lastPage = lineRanges[i + 1] >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE;
+				for (int page = lineRanges[i] >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE; page <= lastPage; page++) {
+					if (this.realPages[page - minPage] < 0) {
+						this.realPages[page - minPage] = Mem.getRealAddress(page << PrincOpsDefs.ADDRESSBITS_IN_PAGE, forWrite);
+					}
+				}
+			}
 		}
 		
+		public short readWord(int lp) {
+			return this.mem.read(this.realPages[(lp >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE) - this.firstPage] + (lp & 0x000000FF));
+		}
+		
+		public void writeWord(int lp, short w) {
+			this.mem.write(this.realPages[(lp >>> PrincOpsDefs.ADDRESSBITS_IN_PAGE) - this.firstPage] + (lp & 0x000000FF), w);
+		}
 	}
 
 	/**
@@ -991,8 +1095,23 @@ public class Ch08_Block_Transfers {
 		
 		private final int id;
 		
+		private final boolean isBand; // is this a band of lines transferred by a worker thread?
+		
+		/*
+		 * transfer engines to use
+		 */
+		private final boolean useByteColor; // byte-oriented engine for the 8 bit color display?
+		private final int bandThreads; // worker threads for parallel bands
+		
 		public BitBltArgs() {
+			this(Config.USE_BYTE_COLORBLT, BAND_THREADS);
+		}
+		
+		public BitBltArgs(boolean useByteColor, int bandThreads) {
 			this.id = ++lastPendingBitBltId;	
+			this.isBand = false;
+			this.useByteColor = useByteColor;
+			this.bandThreads = bandThreads;
 		}
 		
 		public int getId() {
@@ -1043,6 +1162,32 @@ public class Ch08_Block_Transfers {
 		private PixelSink pixelSink = null;
 		private int remainingLines = 0;
 		
+		// word-parallel transfer of monochrome lines (see transferLineWordParallel())
+		private boolean wordParallel = false;
+		private int wordParallelOp; // WP_OP_xx for the dstFunc
+		private int srcComplement; // 0xFFFF for SrcFunc.fcomplement, else 0
+		private int[] patternLine = null; // pattern line repeated over the transfer width
+		
+		// byte-oriented transfer to the 8 bit color display (see transferLineByteColor())
+		private boolean byteColor = false;
+		private boolean byteColorWords; // copy or xor whole words of 2 pixels?
+		private int[] srcPixelMap; // raw source pixel => effective source pixel
+		private int srcFillPixel; // effective source pixel for an uni-pixel pattern
+		
+		// block move inside the display memory passed to the UI (see setupDisplayCopyArea())
+		private boolean displayCopyArea = false;
+		private int copySrcX;
+		private int copySrcY;
+		private int copyDstX;
+		private int copyDstY;
+		private int copySrcFirst; // first and last virtual word of the source rectangle
+		private int copySrcLast;
+		private int copyDstFirst; // first and last virtual word of the destination rectangle
+		private int copyDstLast;
+		
+		// transfer of the lines in parallel bands (see setupBands())
+		private boolean bands = false;
+		
 		// initialize for COLORBLT: load 13 words from *pointer
 		public BitBltArgs loadFromColorBltArgs(short pointer, String logMsg) {
 			this.dstWord = Mem.readMDSDblWord(pointer);
@@ -1223,6 +1368,22 @@ public class Ch08_Block_Transfers {
 			return this;
 		}
 		
+		// initialize for a TXTBLT character: copy the glyph from the font strike bitmap into a monochrome bitmap
+		public BitBltArgs loadFromTxtBltGlyph(int dstWord, int dstBit, int dstBpl, int srcWord, int srcBit, int srcBpl, int width, int height) {
+			this.dstWord = dstWord;
+			this.dstPixel = dstBit;
+			this.dstPpl = (short)dstBpl;
+			this.srcWord = srcWord;
+			this.srcPixel = srcBit;
+			this.srcPpl = (short)srcBpl;
+			this.width = width;
+			this.height = height;
+			
+			this.setupWorkers();
+			
+			return this;
+		}
+		
 		// create pixel source and sink as well as the pixel combiner based on the instruction parameters.
 		private void setupWorkers() {
 			boolean isBackward = (this.direction == Direction.backward);
@@ -1280,6 +1441,460 @@ public class Ch08_Block_Transfers {
 			this.combiner = getCombiner(this.srcFunc, this.dstFunc);
 			
 			this.remainingLines = this.height;
+			
+			if (Config.USE_WORD_PARALLEL_BITBLT) {
+				this.setupWordParallel();
+			}
+			if (this.useByteColor && !this.wordParallel) {
+				this.setupByteColor();
+			}
+			if (this.isBand) {
+				return;
+			}
+			if (Config.USE_DISPLAY_COPY_AREAS) {
+				this.setupDisplayCopyArea();
+			}
+			if (Config.USE_PARALLEL_BITBLT) {
+				this.setupBands();
+			}
+		}
+		
+		// create a band of the lines [firstLine .. firstLine + lines) of an operation, to be transferred by a
+		// worker thread, with the memory pages of the band translated by the invoking (mesa engine) thread
+		private BitBltArgs(BitBltArgs op, int firstLine, int lines) {
+			this.id = op.id;
+			this.isBand = true;
+			this.useByteColor = op.useByteColor;
+			this.bandThreads = op.bandThreads;
+			
+			this.dstWord = op.dstWord;
+			this.dstPixel = op.dstPixel;
+			this.dstPpl = op.dstPpl;
+			this.srcWord = op.srcWord;
+			this.srcPixel = op.srcPixel;
+			this.srcPpl = op.srcPpl;
+			this.patReserved = op.patReserved;
+			this.patUnpacked = op.patUnpacked;
+			this.patYOffset = op.patYOffset;
+			this.patWidthMinusOne = op.patWidthMinusOne;
+			this.patHeightMinusOne = op.patHeightMinusOne;
+			this.width = op.width;
+			this.height = op.height;
+			this.direction = op.direction;
+			this.srcType = op.srcType;
+			this.dstType = op.dstType;
+			this.pattern = op.pattern;
+			this.srcFunc = op.srcFunc;
+			this.dstFunc = op.dstFunc;
+			this.colorMapping = op.colorMapping;
+			this.setupWorkers();
+			
+			// move to the first line of the band (the pattern must be loaded for this)
+			if (this.pixelSource instanceof MonochromePackedPatternPixelSource) {
+				this.pixelSource.loadLineCache();
+			}
+			for (int i = 0; i < firstLine; i++) {
+				this.pixelSource.moveToNextLine();
+				this.pixelSink.moveToNextLine();
+			}
+			this.remainingLines = lines;
+			
+			PixmapForwardPixelSink sink = (PixmapForwardPixelSink)this.pixelSink;
+			sink.bandMemory = new BandMemory(sink.getLineRanges(lines), true);
+			if (this.pixelSource instanceof PixmapForwardPixelSource) {
+				PixmapForwardPixelSink source = (PixmapForwardPixelSink)this.pixelSource;
+				source.bandMemory = new BandMemory(source.getLineRanges(lines), false);
+			}
+		}
+		
+		// min. size of an operation to be transferred in parallel bands 
+		private static final long BANDS_MIN_PIXELS = 256 * 1024;
+		
+		// min. and max. number of lines in a band
+		private static final int BAND_MIN_LINES = 16;
+		private static final int BAND_MAX_LINES = 64;
+		
+		private static ForkJoinPool bandPool = null;
+		
+		// check if the lines can be transferred in parallel bands, i.e. if the operation is large enough,
+		// no band can read source pixels written by another band (the source pixmap or the pattern
+		// does not overlap the destination) and no two lines share a destination word (each band
+		// writes the edge words of its lines from its own line cache)
+		private void setupBands() {
+			if (this.bandThreads < 2 || ((long)this.width * this.height) < BANDS_MIN_PIXELS) {
+				return;
+			}
+			
+			int srcFirst;
+			int srcLast;
+			if (this.pixelSource instanceof PixmapForwardPixelSource) {
+				int[] srcRanges = ((PixmapForwardPixelSink)this.pixelSource).getLineRanges(this.height);
+				srcFirst = Math.min(srcRanges[0], srcRanges[srcRanges.length - 2]);
+				srcLast = Math.max(srcRanges[1], srcRanges[srcRanges.length - 1]);
+			} else if (this.pixelSource instanceof MonochromePackedPatternPixelSource) {
+				int wordsWidth = this.patWidthMinusOne + 1;
+				srcFirst = this.srcWord - (this.patYOffset * wordsWidth);
+				srcLast = srcFirst + (wordsWidth * (this.patHeightMinusOne + 1)) - 1;
+			} else if (this.pixelSource instanceof UnipixelPatternSource) {
+				srcFirst = 0;
+				srcLast = -1; // no source pixels in memory
+			} else {
+				return;
+			}
+			
+			int[] dstRanges = ((PixmapForwardPixelSink)this.pixelSink).getLineRanges(this.height);
+			int dstFirst = Math.min(dstRanges[0], dstRanges[dstRanges.length - 2]);
+			int dstLast = Math.max(dstRanges[1], dstRanges[dstRanges.length - 1]);
+			if (srcFirst <= dstLast && dstFirst <= srcLast) {
+				return;
+			}
+			for (int i = 2; i < dstRanges.length; i += 2) {
+				if (dstRanges[i] <= dstRanges[i - 1] && dstRanges[i - 2] <= dstRanges[i + 1]) {
+					return; // the line ends in the word where the next line starts (or overlaps it)
+				}
+			}
+			
+			this.bands = true;
+		}
+		
+		// transfer the next lines in parallel bands, returning the number of lines transferred
+		private int transferInBands(boolean mapSrcPixel, boolean mapDstPixel) {
+			int threads = this.bandThreads;
+			int bandLines = Math.max(BAND_MIN_LINES, Math.min(BAND_MAX_LINES, this.remainingLines / threads));
+			int bandCount = Math.min(threads, this.remainingLines / bandLines);
+			int firstLine = this.height - this.remainingLines;
+			
+			ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[bandCount];
+			for (int i = 0; i < bandCount; i++) {
+				BitBltArgs band = new BitBltArgs(this, firstLine + (i * bandLines), bandLines);
+				tasks[i] = ForkJoinTask.adapt(() -> band.transferLines(mapSrcPixel, mapDstPixel));
+			}
+			
+			if (bandPool == null || bandPool.getParallelism() != threads) {
+				if (bandPool != null) { bandPool.shutdown(); }
+				bandPool = new ForkJoinPool(threads);
+			}
+			bandPool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+			
+			return bandCount * bandLines;
+		}
+		
+		// min. size of a block move inside the display memory to be passed to the UI as copy area,
+		// smaller rectangles are cheaper to transfer again from the display memory 
+		private static final int MIN_COPY_AREA_PIXELS = 4096;
+		
+		// check if this operation is a plain block move of a rectangle inside the display memory,
+		// i.e. it can be done by the UI on its pixelmap, and compute the geometry of the copy area
+		private void setupDisplayCopyArea() {
+			if (this.srcType != PixelType.display || this.dstType != PixelType.display
+				|| this.pattern || this.srcFunc != SrcFunc.fnull || this.dstFunc != DstFunc.src) {
+				return;
+			}
+			if ((this.width * this.height) < MIN_COPY_AREA_PIXELS) {
+				return;
+			}
+			int ppl = Mem.getDisplayPixelsPerLine();
+			int effectivePpl = (this.direction == Direction.forward) ? ppl : -ppl;
+			if (this.srcPpl != effectivePpl || this.dstPpl != effectivePpl
+				|| !Mem.isInDisplayMemory(this.srcWord) || !Mem.isInDisplayMemory(this.dstWord)) {
+				return;
+			}
+			
+			// the (first) line given in the arguments is the top line if forward, else the bottom line
+			int lineDelta = (this.direction == Direction.forward) ? 0 : this.height - 1;
+			int srcX = Mem.getDisplayX(this.srcWord, this.srcPixel);
+			int srcY = Mem.getDisplayY(this.srcWord, this.srcPixel) - lineDelta;
+			int dstX = Mem.getDisplayX(this.dstWord, this.dstPixel);
+			int dstY = Mem.getDisplayY(this.dstWord, this.dstPixel) - lineDelta;
+			if (srcX + this.width > ppl || dstX + this.width > ppl
+				|| srcY < 0 || dstY < 0
+				|| srcY + this.height > Mem.getDisplayPixelHeight() || dstY + this.height > Mem.getDisplayPixelHeight()) {
+				return;
+			}
+			
+			// the UI moves the rectangle as a whole, so overlapping lines must be copied
+			// by BITBLT in the sequence that does not overwrite not yet copied source lines
+			boolean overlapping = (srcY < dstY + this.height) && (dstY < srcY + this.height);
+			if (overlapping && srcY != dstY && (dstY > srcY) != (this.direction == Direction.backward)) {
+				return;
+			}
+			
+			int bitsPerPixel = Mem.getDisplayType().getBitDepth();
+			int bitsPerLine = ppl * bitsPerPixel;
+			int displayStart = Mem.getDisplayVirtualPage() * PrincOpsDefs.WORDS_PER_PAGE;
+			this.copySrcFirst = displayStart + ((srcY * bitsPerLine) + (srcX * bitsPerPixel)) / PrincOpsDefs.WORD_BITS;
+			this.copySrcLast = displayStart + (((srcY + this.height - 1) * bitsPerLine) + ((srcX + this.width) * bitsPerPixel) - 1) / PrincOpsDefs.WORD_BITS;
+			this.copyDstFirst = displayStart + ((dstY * bitsPerLine) + (dstX * bitsPerPixel)) / PrincOpsDefs.WORD_BITS;
+			this.copyDstLast = displayStart + (((dstY + this.height - 1) * bitsPerLine) + ((dstX + this.width) * bitsPerPixel) - 1) / PrincOpsDefs.WORD_BITS;
+			this.copySrcX = srcX;
+			this.copySrcY = srcY;
+			this.copyDstX = dstX;
+			this.copyDstY = dstY;
+			this.displayCopyArea = true;
+		}
+		
+		// check if the lines can be transferred by the byte-oriented engine for the 8 bit color
+		// display, i.e. if the destination is a display pixmap with 2 pixels per word and the
+		// source is a pixmap or a packed pattern
+		private void setupByteColor() {
+			if (Mem.getDisplayType() != DisplayType.byteColor || this.dstType != PixelType.display) {
+				return;
+			}
+			PixmapForwardPixelSink sink = (PixmapForwardPixelSink)this.pixelSink;
+			if (sink.bitsPerPixel != 8 || sink.pixelOffset < 0 || sink.pixelOffset > 1) {
+				return;
+			}
+			
+			boolean complement = (this.srcFunc == SrcFunc.fcomplement);
+			boolean mapSrcPixel = (this.srcType == PixelType.bit && !complement);
+			int srcPixelValues = 2;
+			if (this.pixelSource instanceof PixmapForwardPixelSource) {
+				PixmapForwardPixelSink source = (PixmapForwardPixelSink)this.pixelSource;
+				int maxOffset = (source.bitsPerPixel == 8) ? 1 : (source.bitsPerPixel == 1) ? 15 : -1;
+				if (source.pixelOffset < 0 || source.pixelOffset > maxOffset) {
+					return;
+				}
+				if (source.bitsPerPixel == 8) {
+					srcPixelValues = 256;
+					// plain copy or xor of whole words if the pixels are at the same position in the words
+					this.byteColorWords = !complement
+							&& (this.dstFunc == DstFunc.src || this.dstFunc == DstFunc.srcXorDst)
+							&& source.pixelOffset == sink.pixelOffset;
+				}
+			} else if (this.pixelSource instanceof MonochromePackedPatternPixelSource) {
+				MonochromePackedPatternPixelSource source = (MonochromePackedPatternPixelSource)this.pixelSource;
+				if (source.xOffset < 0 || source.xOffset > 15) {
+					return;
+				}
+				this.patternLine = new int[(source.xOffset + this.width + 15) / 16];
+			} else if (this.pixelSource instanceof UnipixelPatternSource) {
+				this.srcFillPixel = this.mapByteColorSrcPixel(this.pixelSource.getCurrPixel(), mapSrcPixel, complement);
+			} else {
+				return;
+			}
+			
+			// the source pixel values as passed to the combiner by the pixel-wise transfer
+			this.srcPixelMap = new int[srcPixelValues];
+			for (int i = 0; i < srcPixelValues; i++) {
+				this.srcPixelMap[i] = this.mapByteColorSrcPixel(i, mapSrcPixel, complement);
+			}
+			this.byteColor = true;
+		}
+		
+		private int mapByteColorSrcPixel(int pixel, boolean mapSrcPixel, boolean complement) {
+			int mapped = (mapSrcPixel) ? this.colorMapping[pixel] : pixel;
+			return (complement) ? ((mapped == 0) ? 1 : 0) : mapped;
+		}
+		
+		// transfer the current line in the 8 bit color display, the line caches of source
+		// and sink being loaded
+		private void transferLineByteColor() {
+			PixmapForwardPixelSink sink = (PixmapForwardPixelSink)this.pixelSink;
+			int[] dstWords = sink.lineCache;
+			int dstOffset = sink.pixelOffset;
+			int dstEnd = dstOffset + this.width;
+			int lastWord = (dstEnd - 1) >> 1;
+			
+			if (this.byteColorWords) {
+				int[] srcWords = ((PixmapForwardPixelSink)this.pixelSource).lineCache;
+				boolean xor = (this.dstFunc == DstFunc.srcXorDst);
+				for (int i = 0; i <= lastWord; i++) {
+					int mask = 0xFFFF;
+					if (i == 0 && dstOffset != 0) {
+						mask = 0x00FF;
+					}
+					if (i == lastWord && (dstEnd & 1) != 0) {
+						mask &= 0xFF00;
+					}
+					int dst = dstWords[i] & 0xFFFF;
+					int res = (xor) ? srcWords[i] ^ dst : srcWords[i];
+					res = (dst & ~mask) | (res & mask);
+					dstWords[i] = res;
+					sink.writeWord(sink.lpLineStart + i, (short)res);
+				}
+				return;
+			}
+			
+			int[] srcWords = null;
+			int srcPos = 0;
+			int srcBitsPerPixel = 0;
+			if (this.pixelSource instanceof PixmapForwardPixelSource) {
+				PixmapForwardPixelSink source = (PixmapForwardPixelSink)this.pixelSource;
+				srcWords = source.lineCache;
+				srcPos = source.pixelOffset;
+				srcBitsPerPixel = source.bitsPerPixel;
+			} else if (this.pixelSource instanceof MonochromePackedPatternPixelSource) {
+				MonochromePackedPatternPixelSource source = (MonochromePackedPatternPixelSource)this.pixelSource;
+				srcWords = this.loadPatternLine(source);
+				srcPos = source.xOffset;
+				srcBitsPerPixel = 1;
+			}
+			
+			int[] srcMap = this.srcPixelMap;
+			DstFunc func = this.dstFunc;
+			for (int x = 0; x < this.width; x++) {
+				int s;
+				if (srcBitsPerPixel == 8) {
+					int p = srcPos + x;
+					s = srcMap[(srcWords[p >> 1] >> (((p & 1) == 0) ? 8 : 0)) & 0x00FF];
+				} else if (srcBitsPerPixel == 1) {
+					int p = srcPos + x;
+					s = srcMap[(srcWords[p >> 4] >> (15 - (p & 0x000F))) & 1];
+				} else {
+					s = this.srcFillPixel;
+				}
+				
+				int p = dstOffset + x;
+				int shift = ((p & 1) == 0) ? 8 : 0;
+				int w = dstWords[p >> 1];
+				int d = (w >> shift) & 0x00FF;
+				int r;
+				switch(func) {
+				case srcIfDstLE1: r = (d > 1) ? d : s; break;
+				case srcIf0: r = (s == 0) ? 0 : d; break;
+				case srcIfDstNot0: r = (d == 0) ? 0 : s; break;
+				case srcIfNot0: r = (s == 0) ? d : s; break;
+				case srcIfDst0: r = (d == 0) ? s : d; break;
+				case pixelXor: r = ((s < 1 && d < 1) || (s > 0 && d > 0)) ? 0 : 1; break;
+				case srcXorDst: r = s ^ d; break;
+				default: r = s;
+				}
+				dstWords[p >> 1] = (w & ~(0x00FF << shift)) | ((r & 0x00FF) << shift);
+			}
+			
+			for (int i = 0; i <= lastWord; i++) {
+				sink.writeWord(sink.lpLineStart + i, (short)dstWords[i]);
+			}
+		}
+		
+		private static final int WP_OP_SRC = 0;
+		private static final int WP_OP_AND = 1;
+		private static final int WP_OP_OR = 2;
+		private static final int WP_OP_XOR = 3;
+		
+		// check if the lines can be transferred 16 pixels at once, i.e. if source and destination
+		// are 1 bit per pixel with no color mapping and the source is a bitmap or a packed pattern
+		private void setupWordParallel() {
+			if (Mem.getDisplayType() != DisplayType.monochrome && (this.srcType == PixelType.bit || this.dstType == PixelType.bit)) {
+				return; // color mapping involved
+			}
+			PixmapForwardPixelSink sink = (PixmapForwardPixelSink)this.pixelSink;
+			if (sink.bitsPerPixel != 1 || sink.pixelOffset < 0 || sink.pixelOffset > 15) {
+				return;
+			}
+			if (this.pixelSource instanceof PixmapForwardPixelSource) {
+				PixmapForwardPixelSink source = (PixmapForwardPixelSink)this.pixelSource;
+				if (source.bitsPerPixel != 1 || source.pixelOffset < 0 || source.pixelOffset > 15) {
+					return;
+				}
+			} else if (this.pixelSource instanceof MonochromePackedPatternPixelSource) {
+				MonochromePackedPatternPixelSource source = (MonochromePackedPatternPixelSource)this.pixelSource;
+				if (source.xOffset < 0 || source.xOffset > 15) {
+					return;
+				}
+				this.patternLine = new int[(source.xOffset + this.width + 15) / 16];
+			} else if (!(this.pixelSource instanceof UnipixelPatternSource)) {
+				return;
+			}
+			
+			switch(this.dstFunc) {
+			case src:
+			case srcIfDstLE1: // a 1 bit pixel is never > 1
+				this.wordParallelOp = WP_OP_SRC;
+				break;
+			case srcIf0:
+			case srcIfDstNot0:
+				this.wordParallelOp = WP_OP_AND;
+				break;
+			case srcIfNot0:
+			case srcIfDst0:
+				this.wordParallelOp = WP_OP_OR;
+				break;
+			case pixelXor:
+			case srcXorDst:
+				this.wordParallelOp = WP_OP_XOR;
+				break;
+			default:
+				return;
+			}
+			this.srcComplement = (this.srcFunc == SrcFunc.fcomplement) ? 0xFFFF : 0;
+			this.wordParallel = true;
+		}
+		
+		// fill patternLine with the current line of the packed pattern, repeated over the transfer width
+		private int[] loadPatternLine(MonochromePackedPatternPixelSource source) {
+			int lineStart = source.yOffset * source.wordsWidth;
+			int[] words = this.patternLine;
+			for (int i = 0; i < words.length; i++) {
+				words[i] = source.patternWords[lineStart + (i % source.wordsWidth)];
+			}
+			return words;
+		}
+		
+		// get the 16 bits starting at bitPos in the first count words, with bits outside these words being 0
+		private static int bitsAt(int[] words, int count, int bitPos) {
+			int wordOffset = bitPos >> 4;
+			int shift = bitPos & 0x000F;
+			int hi = (wordOffset >= 0 && wordOffset < count) ? words[wordOffset] & 0xFFFF : 0;
+			if (shift == 0) {
+				return hi;
+			}
+			int lo = (wordOffset + 1 >= 0 && wordOffset + 1 < count) ? words[wordOffset + 1] & 0xFFFF : 0;
+			return ((hi << shift) | (lo >>> (16 - shift))) & 0xFFFF;
+		}
+		
+		// transfer the current line with 16 pixels per step, the line caches of source
+		// and sink being loaded, so a source overlapping the destination line is handled
+		// like in the pixel-wise transfer
+		private void transferLineWordParallel() {
+			PixmapForwardPixelSink sink = (PixmapForwardPixelSink)this.pixelSink;
+			int[] dstWords = sink.lineCache;
+			int dstOffset = sink.pixelOffset;
+			int dstEnd = dstOffset + this.width;
+			int lastWord = (dstEnd - 1) >> 4;
+			
+			int[] srcWords = null;
+			int srcCount = 0;
+			int srcDelta = 0; // source bit position for the first bit in the destination line cache
+			int srcFill = 0; // all source bits for an uni-pixel pattern
+			if (this.pixelSource instanceof PixmapForwardPixelSource) {
+				PixmapForwardPixelSink source = (PixmapForwardPixelSink)this.pixelSource;
+				srcWords = source.lineCache;
+				srcCount = (source.pixelOffset + this.width + 15) / 16;
+				srcDelta = source.pixelOffset - dstOffset;
+			} else if (this.pixelSource instanceof MonochromePackedPatternPixelSource) {
+				MonochromePackedPatternPixelSource source = (MonochromePackedPatternPixelSource)this.pixelSource;
+				srcWords = this.loadPatternLine(source);
+				srcCount = srcWords.length;
+				srcDelta = source.xOffset - dstOffset;
+			} else {
+				srcFill = (this.pixelSource.getCurrPixel() == 0) ? 0 : 0xFFFF;
+			}
+			
+			for (int i = 0; i <= lastWord; i++) {
+				int mask = 0xFFFF;
+				if (i == 0) {
+					mask = 0xFFFF >>> dstOffset;
+				}
+				if (i == lastWord) {
+					mask &= (0xFFFF << (16 - (dstEnd - (lastWord * 16)))) & 0xFFFF;
+				}
+				
+				int src = (srcWords != null) ? bitsAt(srcWords, srcCount, srcDelta + (i * 16)) : srcFill;
+				src ^= this.srcComplement;
+				int dst = dstWords[i] & 0xFFFF;
+				int res;
+				switch(this.wordParallelOp) {
+				case WP_OP_AND: res = src & dst; break;
+				case WP_OP_OR: res = src | dst; break;
+				case WP_OP_XOR: res = src ^ dst; break;
+				default: res = src;
+				}
+				res = (dst & ~mask) | (res & mask);
+				
+				dstWords[i] = res;
+				sink.writeWord(sink.lpLineStart + i, (short)res);
+			}
 		}
 		
 		// check if this operation does effectively nothing.
@@ -1287,20 +1902,18 @@ public class Ch08_Block_Transfers {
 			return this.width == 0;
 		}
 		
-		// transfer the pixels line per line, caching complete source and destination lines,
-		// with honoring pending interrupts between pixel lines.
-		public void execute() {
-			
-			// check if colortable mapping is needed for source and destination oixels
-			boolean mapSrcPixel = Mem.getDisplayType() != DisplayType.monochrome && this.srcType == PixelType.bit && this.srcFunc == SrcFunc.fnull;
-			boolean mapDstPixel = Mem.getDisplayType() != DisplayType.monochrome && this.dstType == PixelType.bit;
+		// transfer the current pixel line
+		private void transferLine(boolean mapSrcPixel, boolean mapDstPixel) {
+			// prepare processing of this line (this may cause memory faults)
+			this.pixelSource.loadLineCache();
+			this.pixelSink.loadLineCache();
 			
-			while(this.remainingLines > 0) {
-				// prepare processing of this line (this may cause memory faults)
-				this.pixelSource.loadLineCache();
-				this.pixelSink.loadLineCache();
-				
-				// process pixels in the line
+			// process pixels in the line
+			if (this.wordParallel) {
+				this.transferLineWordParallel();
+			} else if (this.byteColor) {
+				this.transferLineByteColor();
+			} else {
 				for (int i = 0; i < this.width; i++) {
 					
 					int srcPixel = (mapSrcPixel) 
@@ -1317,6 +1930,68 @@ public class Ch08_Block_Transfers {
 					this.pixelSink.moveToNextPixel();
 				}
 				this.pixelSink.flush();
+			}
+		}
+		
+		// transfer all remaining lines without checking for interrupts
+		private void transferLines(boolean mapSrcPixel, boolean mapDstPixel) {
+			while(this.remainingLines > 0) {
+				this.transferLine(mapSrcPixel, mapDstPixel);
+				if (this.remainingLines-- > 1) {
+					this.pixelSource.moveToNextLine();
+					this.pixelSink.moveToNextLine();
+				}
+			}
+		}
+		
+		// transfer all lines of a TXTBLT character without checking for interrupts, as the
+		// character is restarted as a whole (the glyph is simply copied into the destination)
+		public void transferGlyph() {
+			this.transferLines(false, false);
+		}
+		
+		// transfer the pixels line per line, caching complete source and destination lines,
+		// with honoring pending interrupts between pixel lines.
+		public void execute() {
+			
+			// check if colortable mapping is needed for source and destination oixels
+			boolean mapSrcPixel = Mem.getDisplayType() != DisplayType.monochrome && this.srcType == PixelType.bit && this.srcFunc == SrcFunc.fnull;
+			boolean mapDstPixel = Mem.getDisplayType() != DisplayType.monochrome && this.dstType == PixelType.bit;
+			
+			// pass a block move inside the display memory to the UI only if it is done without interruption,
+			// as the UI must get the complete display pages modified by an interrupted operation
+			boolean copyArea = false;
+			if (this.displayCopyArea && this.remainingLines == this.height && Mem.isDisplayCopyAreasEnabled()) {
+				copyArea = Mem.beginDisplayCopyArea(this.copySrcFirst, this.copySrcLast, this.copyDstFirst, this.copyDstLast);
+				if (!copyArea) {
+					// the UI must first get the current content of the source rectangle
+					Processes.refreshDisplay();
+					copyArea = Mem.beginDisplayCopyArea(this.copySrcFirst, this.copySrcLast, this.copyDstFirst, this.copyDstLast);
+				}
+			}
+			
+			while(this.remainingLines > 0) {
+				if (this.bands && this.remainingLines >= (2 * BAND_MIN_LINES)) {
+					// the pattern must be loaded for moving to the line after the bands
+					if (this.pixelSource instanceof MonochromePackedPatternPixelSource) {
+						this.pixelSource.loadLineCache();
+					}
+					
+					int lines = this.transferInBands(mapSrcPixel, mapDstPixel);
+					this.remainingLines -= lines;
+					for (int i = 0; i < lines; i++) {
+						this.pixelSource.moveToNextLine();
+						this.pixelSink.moveToNextLine();
+					}
+					if (this.remainingLines > 0 && Processes.interruptPending()) {
+						// the restart state is already pushed on the stack
+						Cpu.PC = Cpu.savedPC;
+						return;
+					}
+					continue;
+				}
+				
+				this.transferLine(mapSrcPixel, mapDstPixel);
 				
 				// this line is done
 				if (this.remainingLines-- > 1) {
@@ -1330,6 +2005,12 @@ public class Ch08_Block_Transfers {
 				}
 			}
 			
+			if (copyArea) {
+				Mem.endDisplayCopyArea(
+						this.copySrcX, this.copySrcY, this.copyDstX, this.copyDstY, this.width, this.height,
+						this.copyDstFirst, this.copyDstLast);
+			}
+			
 			// IMPORTANT: when done => clear stack to remove instruction restart info
 			Cpu.SP = 0;
 			Cpu.savedSP = 0;
@@ -1393,11 +2074,28 @@ public class Ch08_Block_Transfers {
 		}
 	}
 	
+	// number of worker threads for transferring BITBLT bands in parallel
+	private static final int BAND_THREADS = (Config.PARALLEL_BITBLT_THREADS > 0)
+			? Config.PARALLEL_BITBLT_THREADS
+			: Runtime.getRuntime().availableProcessors();
+	
 	// BITBLT - Bit Block Transfer
 	public static final OpImpl ESC_x2B_BITBLT = () -> {
-		executeBitBlt(1, () -> new BitBltArgs().loadFromBitBltArgs(Cpu.pop()));
+		bitBlt(Config.USE_BYTE_COLORBLT, BAND_THREADS);
 	};
 	
+	/**
+	 * Implementation of BITBLT with the given transfer engines instead of the
+	 * ones selected in {@code Config} (public for the unittests).
+	 * 
+	 * @param useByteColor use the byte-oriented engine for the 8 bit color display?
+	 * @param bandThreads number of worker threads for parallel bands (bands are
+	 *   used only with 2 or more threads)
+	 */
+	public static void bitBlt(boolean useByteColor, int bandThreads) {
+		executeBitBlt(1, () -> new BitBltArgs(useByteColor, bandThreads).loadFromBitBltArgs(Cpu.pop()));
+	}
+	
 	// BITBLTX - Bit Block Transfer X
 	public static final OpImpl ESC_xC2_BITBLTX = () -> {
 		System.out.printf("##\n## ESC xC2 .. BITBLTX at 0x%08X+0x%04X [insn# %d]\n##\n", Cpu.CB, Cpu.savedPC, Cpu.insns);
@@ -1409,21 +2107,189 @@ public class Ch08_Block_Transfers {
 		String logMsg = Config.LOG_BITBLT_INSNS 
 				? String.format("##\n## ESC xC0 .. COLORBLT at 0x%08X+0x%04X [insn# %d]\n##\n", Cpu.CB, Cpu.savedPC, Cpu.insns)
 				: null;
-		executeBitBlt(1, () -> new BitBltArgs().loadFromColorBltArgs(Cpu.pop(), logMsg));
+		colorBlt(Config.USE_BYTE_COLORBLT, BAND_THREADS, logMsg);
 	};
 	
+	/**
+	 * Implementation of COLORBLT with the given transfer engines instead of the
+	 * ones selected in {@code Config} (public for the unittests).
+	 * 
+	 * @param useByteColor use the byte-oriented engine for the 8 bit color display?
+	 * @param bandThreads number of worker threads for parallel bands (bands are
+	 *   used only with 2 or more threads)
+	 * @param logMsg the message to log for the instruction or {@code null}
+	 */
+	public static void colorBlt(boolean useByteColor, int bandThreads, String logMsg) {
+		executeBitBlt(1, () -> new BitBltArgs(useByteColor, bandThreads).loadFromColorBltArgs(Cpu.pop(), logMsg));
+	}
+	
 
 	/*
 	 * 8.4.3.4 Text Block Transfers / TxtBlt Routines
 	 */
 	
-	// TXTBLT - Text Block Transfer - delegated to software implementation
-	// (by explicitly calling Cpu.thrower.signalEscOpcodeTrap() to suppress the "unimplemented" log line)
+	/*
+	 * TxtBltArg: TYPE = MACHINE DEPENDENT RECORD [
+	 *   reserved (0:0..13): [0..37777B] <- 0,
+	 *   function (0:14..15): TxtBltFunction,
+	 *   last (1): CARDINAL,
+	 *   text (2): LONG POINTER TO PACKED ARRAY CARDINAL OF BYTE,
+	 *   font (4): LONG POINTER TO FontRecord,
+	 *   dst (6): LONG POINTER,
+	 *   dstBpl (8): CARDINAL,
+	 *   margin (9): CARDINAL,
+	 *   space (10): INTEGER,
+	 *   coordinate (11): LONG POINTER TO ARRAY CARDINAL OF CARDINAL];
+	 * TxtBltFunction: TYPE = {display, format, resolve};
+	 * TxtBltResult: TYPE = {normal, margin, stop};
+	 */
+	private static final int TxtBltArg_function = 0;
+	private static final int TxtBltArg_last = 1;
+	private static final int TxtBltArg_text = 2;
+	private static final int TxtBltArg_font = 4;
+	private static final int TxtBltArg_dst = 6;
+	private static final int TxtBltArg_dstBpl = 8;
+	private static final int TxtBltArg_margin = 9;
+	private static final int TxtBltArg_space = 10;
+	private static final int TxtBltArg_coordinate = 11;
+	
+	private static final int TxtBltFunction_display = 0;
+	private static final int TxtBltFunction_format = 1;
+	private static final int TxtBltFunction_resolve = 2;
+	
+	private static final int TxtBltResult_normal = 0;
+	private static final int TxtBltResult_margin = 1;
+	private static final int TxtBltResult_stop = 2;
+	
+	/*
+	 * FontRecord: TYPE = MACHINE DEPENDENT RECORD [
+	 *   fontBitmap (0): LONG POINTER,
+	 *   fontBitsPerLine (2): CARDINAL,
+	 *   fontHeight (3): CARDINAL,
+	 *   xInSegment (4): LONG POINTER TO ARRAY CHAR OF CARDINAL,
+	 *   flagsArray (6): LONG POINTER TO PACKED ARRAY CHAR OF FlagsArray,
+	 *   widthArray (8): LONG POINTER TO PACKED ARRAY CHAR OF [0..377B]];
+	 * FlagsArray: TYPE = MACHINE DEPENDENT RECORD [stop (0:0..0): BOOLEAN, pad (0:1..1): BOOLEAN];
+	 */
+	private static final int FontRecord_fontBitmap = 0;
+	private static final int FontRecord_fontBitsPerLine = 2;
+	private static final int FontRecord_fontHeight = 3;
+	private static final int FontRecord_xInSegment = 4;
+	private static final int FontRecord_flagsArray = 6;
+	private static final int FontRecord_widthArray = 8;
+	
+	private static final int FlagsArray_stop = 0x0002;
+	private static final int FlagsArray_pad = 0x0001;
+	
+	// TXTBLT - Text Block Transfer
+	// the native implementation handles the documented functions for monochrome displays,
+	// everything else is delegated to the software implementation (by explicitly calling
+	// Cpu.thrower.signalEscOpcodeTrap() to suppress the "unimplemented" log line)
 	public static final OpImpl ESC_x2C_TXTBLT = () -> {
 		//logf("++ ESC_x2C_TXTBLT\n");
-		Cpu.thrower.signalEscOpcodeTrap(0x2C);
+		if (!Config.USE_NATIVE_TXTBLT || !txtBlt()) {
+			Cpu.thrower.signalEscOpcodeTrap(0x2C);
+		}
 	};
 	
+	/**
+	 * Native implementation of TXTBLT, used by {@code ESC_x2C_TXTBLT} if
+	 * {@code Config.USE_NATIVE_TXTBLT} is set (public for the unittests).
+	 * <br>
+	 * stack: [index, pos, ptr] => [newIndex, newPos, result]
+	 * 
+	 * @return {@code false} if the arguments are not supported (the stack is
+	 *   unchanged in this case)
+	 */
+	public static boolean txtBlt() {
+		if (Cpu.SP != 3 || Mem.getDisplayType() != DisplayType.monochrome) {
+			return false;
+		}
+		short ptr = Cpu.pop();
+		int pos = Cpu.pop() & 0xFFFF;
+		int index = Cpu.pop() & 0xFFFF;
+		
+		int function = Mem.readMDSWord(ptr, TxtBltArg_function) & 0xFFFF;
+		if (function != TxtBltFunction_display && function != TxtBltFunction_format && function != TxtBltFunction_resolve) {
+			// reserved bits set or invalid function
+			Cpu.push(index);
+			Cpu.push(pos);
+			Cpu.push(ptr);
+			return false;
+		}
+		int last = Mem.readMDSWord(ptr, TxtBltArg_last) & 0xFFFF;
+		int text = Mem.readMDSDblWord(ptr, TxtBltArg_text);
+		int font = Mem.readMDSDblWord(ptr, TxtBltArg_font);
+		int dst = Mem.readMDSDblWord(ptr, TxtBltArg_dst);
+		int dstBpl = Mem.readMDSWord(ptr, TxtBltArg_dstBpl) & 0xFFFF;
+		int margin = Mem.readMDSWord(ptr, TxtBltArg_margin) & 0xFFFF;
+		int space = Mem.readMDSWord(ptr, TxtBltArg_space);
+		int coordinate = Mem.readMDSDblWord(ptr, TxtBltArg_coordinate);
+		
+		int fontBitmap = Mem.readDblWord(font + FontRecord_fontBitmap);
+		int fontBitsPerLine = Mem.readWord(font + FontRecord_fontBitsPerLine) & 0xFFFF;
+		int fontHeight = Mem.readWord(font + FontRecord_fontHeight) & 0xFFFF;
+		int xInSegment = Mem.readDblWord(font + FontRecord_xInSegment);
+		int flagsArray = Mem.readDblWord(font + FontRecord_flagsArray);
+		int widthArray = Mem.readDblWord(font + FontRecord_widthArray);
+		
+		int result = TxtBltResult_normal;
+		try {
+			while(index <= last) {
+				int ch = Mem.fetchByte(text, index) & 0x00FF;
+				int flags = (Mem.readWord(flagsArray + (ch >>> 3)) >>> (14 - ((ch & 0x0007) << 1))) & 0x0003;
+				if ((flags & FlagsArray_stop) != 0) {
+					result = TxtBltResult_stop;
+					break;
+				}
+				int width = Mem.fetchByte(widthArray, ch) & 0x00FF;
+				if ((flags & FlagsArray_pad) != 0) {
+					width += space;
+				}
+				if (pos + width > margin) {
+					result = TxtBltResult_margin;
+					break;
+				}
+				
+				if (function == TxtBltFunction_display) {
+					if (width > 0 && fontHeight > 0) {
+						int glyphWidth = Mem.fetchByte(widthArray, ch) & 0x00FF;
+						int xInFont = Mem.readWord(xInSegment + ch) & 0xFFFF;
+						new BitBltArgs()
+							.loadFromTxtBltGlyph(dst, pos, dstBpl, fontBitmap, xInFont, fontBitsPerLine, Math.min(glyphWidth, width), fontHeight)
+							.transferGlyph();
+					}
+				} else if (function == TxtBltFunction_resolve) {
+					Mem.writeWord(coordinate + index, (short)pos);
+				}
+				
+				pos = (pos + width) & 0xFFFF;
+				index++;
+				
+				if (index <= last && Processes.interruptPending()) {
+					// continue with the next character when the instruction is restarted
+					Cpu.push(index);
+					Cpu.push(pos);
+					Cpu.push(ptr);
+					Cpu.PC = Cpu.savedPC;
+					return true;
+				}
+			}
+		} catch(Cpu.MesaAbort e) {
+			// restart with the current character
+			e.beginUpdateStack();
+			Cpu.push(index);
+			Cpu.push(pos);
+			Cpu.push(ptr);
+			throw e.updateStack();
+		}
+		
+		Cpu.push(index);
+		Cpu.push(pos);
+		Cpu.push(result);
+		return true;
+	}
+	
 	/*
 	 * #########################################################################################################
 	 */
@@ -245,7 +245,13 @@ public class Ch09_Control_Transfers {
 	// RET - Return
 	public static final OpImpl OPC_xEF_RET = () -> {
 		int controlLink = Mem.readMDSWord(Cpu.LF, PrincOpsDefs.LocalOverhead_returnlink);
-		Xfer.impl.xfer(controlLink, 0, XferType.xreturn, true);
+		if (Opcodes.hasPendingTraps()) {
+			int lf = Cpu.LF;
+			Xfer.impl.xfer(controlLink, 0, XferType.xreturn, true);
+			Opcodes.profileTrapReturn(lf);
+		} else {
+			Xfer.impl.xfer(controlLink, 0, XferType.xreturn, true);
+		}
 	};
 	
 	/*
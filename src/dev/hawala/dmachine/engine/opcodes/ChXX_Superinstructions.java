@@ -0,0 +1,179 @@
+/*
+Copyright (c) 2017, Dr. Hans-Walter Latz
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * The name of the author may not be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDER "AS IS" AND ANY EXPRESS
+OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package dev.hawala.dmachine.engine.opcodes;
+
+import static dev.hawala.dmachine.engine.Opcodes.nextFusedInstruction;
+
+import dev.hawala.dmachine.engine.Cpu;
+import dev.hawala.dmachine.engine.Opcodes.OpImpl;
+
+/**
+ * Superinstructions, i.e. fused implementations for frequent sequences of 2 regular
+ * instructions, as found by instruction sequence profiling (see
+ * {@code Config.PROFILE_OPCODE_SEQUENCES}).
+ * <p>
+ * A superinstruction executes the original implementations of both instructions,
+ * but through a single dispatch, so the JIT can inline both implementations. The
+ * processor state between the 2 instructions is the same as when dispatching both
+ * separately, so a trap or fault in the second instruction behaves as usual.
+ * </p>
+ * <p>
+ * The superinstructions are installed by {@code Opcodes} for instruction pairs found
+ * when decoding code pages, following the naming convention:
+ * </p>
+ * <p>
+ * &nbsp;&nbsp;&nbsp;<b>FUSED_</b><i>instrcode1</i><b>_</b><i>instrcode2</i><b>_</b><i>opcode1</i><b>_</b><i>opcode2</i>
+ * </p>
+ * <p>
+ * where the instruction codes are given as {@code xNN} and the opcode names must match
+ * the names of the instructions installed for the instruction codes. The first
+ * instruction must be a straight-line instruction not transferring control.
+ * </p>
+ */
+public class ChXX_Superinstructions {
+	
+	/*
+	 * comparisons and conditional jumps
+	 */
+	
+	public static final OpImpl FUSED_xBE_xC0_UDCMP_LI0 = () -> {
+		Cpu.PC++;
+		Ch05_Stack_Instructions.OPC_xBE_UDCMP.execute();
+		nextFusedInstruction();
+		Ch07_Assignment_Instructions.OPC_xC0_LI0.execute();
+	};
+	
+	public static final OpImpl FUSED_xC0_x91_LI0_JGEB = () -> {
+		Cpu.PC++;
+		Ch07_Assignment_Instructions.OPC_xC0_LI0.execute();
+		nextFusedInstruction();
+		Ch06_Jump_Instructions.OPC_x91_JGEB_salpha.execute();
+	};
+	
+	public static final OpImpl FUSED_xC0_x90_LI0_JLB = () -> {
+		Cpu.PC++;
+		Ch07_Assignment_Instructions.OPC_xC0_LI0.execute();
+		nextFusedInstruction();
+		Ch06_Jump_Instructions.OPC_x90_JLB_salpha.execute();
+	};
+	
+	public static final OpImpl FUSED_xC0_x93_LI0_JLEB = () -> {
+		Cpu.PC++;
+		Ch07_Assignment_Instructions.OPC_xC0_LI0.execute();
+		nextFusedInstruction();
+		Ch06_Jump_Instructions.OPC_x93_JLEB_salpha.execute();
+	};
+	
+	public static final OpImpl FUSED_xB2_x8C_AND_JEBB = () -> {
+		Cpu.PC++;
+		Ch05_Stack_Instructions.OPC_xB2_AND.execute();
+		nextFusedInstruction();
+		Ch06_Jump_Instructions.OPC_x8C_JEBB_alphasbeta.execute();
+	};
+	
+	public static final OpImpl FUSED_xB3_x9A_IOR_JZB = () -> {
+		Cpu.PC++;
+		Ch05_Stack_Instructions.OPC_xB3_IOR.execute();
+		nextFusedInstruction();
+		Ch06_Jump_Instructions.OPC_x9A_JZB_salpha.execute();
+	};
+	
+	/*
+	 * loads and stores with arithmetic
+	 */
+	
+	public static final OpImpl FUSED_x01_xB5_LL0_ADD = () -> {
+		Cpu.PC++;
+		Ch07_Assignment_Instructions.OPC_x01_LL0.execute();
+		nextFusedInstruction();
+		Ch05_Stack_Instructions.OPC_xB5_ADD.execute();
+	};
+	
+	public static final OpImpl FUSED_x02_xB5_LL1_ADD = () -> {
+		Cpu.PC++;
+		Ch07_Assignment_Instructions.OPC_x02_LL1.execute();
+		nextFusedInstruction();
+		Ch05_Stack_Instructions.OPC_xB5_ADD.execute();
+	};
+	
+	public static final OpImpl FUSED_xC7_xB2_LI7_AND = () -> {
+		Cpu.PC++;
+		Ch07_Assignment_Instructions.OPC_xC7_LI7.execute();
+		nextFusedInstruction();
+		Ch05_Stack_Instructions.OPC_xB2_AND.execute();
+	};
+	
+	public static final OpImpl FUSED_x10_xAE_LLD2_DINC = () -> {
+		Cpu.PC++;
+		Ch07_Assignment_Instructions.OPC_x10_LLD2.execute();
+		nextFusedInstruction();
+		Ch05_Stack_Instructions.OPC_xAE_DINC.execute();
+	};
+	
+	public static final OpImpl FUSED_xAE_x27_DINC_SLD2 = () -> {
+		Cpu.PC++;
+		Ch05_Stack_Instructions.OPC_xAE_DINC.execute();
+		nextFusedInstruction();
+		Ch07_Assignment_Instructions.OPC_x27_SLD2.execute();
+	};
+	
+	public static final OpImpl FUSED_x10_x12_LLD2_LLD4 = () -> {
+		Cpu.PC++;
+		Ch07_Assignment_Instructions.OPC_x10_LLD2.execute();
+		nextFusedInstruction();
+		Ch07_Assignment_Instructions.OPC_x12_LLD4.execute();
+	};
+	
+	public static final OpImpl FUSED_x12_xBE_LLD4_UDCMP = () -> {
+		Cpu.PC++;
+		Ch07_Assignment_Instructions.OPC_x12_LLD4.execute();
+		nextFusedInstruction();
+		Ch05_Stack_Instructions.OPC_xBE_UDCMP.execute();
+	};
+	
+	public static final OpImpl FUSED_x18_xBE_LLDB_UDCMP = () -> {
+		Cpu.PC++;
+		Ch07_Assignment_Instructions.OPC_x18_LLDB_alpha.execute();
+		nextFusedInstruction();
+		Ch05_Stack_Instructions.OPC_xBE_UDCMP.execute();
+	};
+	
+	public static final OpImpl FUSED_x75_x31_SLDB_PLB = () -> {
+		Cpu.PC++;
+		Ch07_Assignment_Instructions.OPC_x75_SLDB_alpha.execute();
+		nextFusedInstruction();
+		Ch07_Assignment_Instructions.OPC_x31_PLB_alpha.execute();
+	};
+	
+	public static final OpImpl FUSED_x31_xC7_PLB_LI7 = () -> {
+		Cpu.PC++;
+		Ch07_Assignment_Instructions.OPC_x31_PLB_alpha.execute();
+		nextFusedInstruction();
+		Ch07_Assignment_Instructions.OPC_xC7_LI7.execute();
+	};
+	
+}
@@ -132,4 +132,30 @@ public class Ch03_MemoryOrganizationTest extends AbstractInstructionTest {
 		}
 	}
 	
+	@Test
+	public void testFlagsSetAgainAfterClearing() {
+		int vp1 = 0x0000010;
+		int vp2 = 0x0000011;
+		int lp1 = (vp1 << 8) | 0x22;
+		int lp2 = (vp2 << 8) | 0x33;
+		
+		// alternate accesses to 2 pages, then clear the flags of both pages
+		for (int i = 0; i < 4; i++) {
+			Mem.writeWord(lp1, (short)i);
+			Mem.readWord(lp2);
+		}
+		assertEquals("mapFlags for vp1 after write", MF_WRITTEN, getMfForVp(vp1));
+		assertEquals("mapFlags for vp2 after read", MF_READ, getMfForVp(vp2));
+		setMfForVp(vp1, MF_CLEAN);
+		setMfForVp(vp2, MF_CLEAN);
+		
+		// the same accesses must set the flags again
+		Mem.readWord(lp2);
+		assertEquals("mapFlags for vp2 after read again", MF_READ, getMfForVp(vp2));
+		assertEquals("mapFlags for vp1 after reading vp2", MF_CLEAN, getMfForVp(vp1));
+		Mem.writeWord(lp1, (short)0x1234);
+		assertEquals("mapFlags for vp1 after write again", MF_WRITTEN, getMfForVp(vp1));
+		assertEquals("value read from vp1", (short)0x1234, Mem.readWord(lp1));
+	}
+	
 }
@@ -26,8 +26,19 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.unittest;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+
 import org.junit.Test;
 
+import dev.hawala.dmachine.engine.Cpu;
+import dev.hawala.dmachine.engine.Opcodes.OpImpl;
 import dev.hawala.dmachine.engine.opcodes.Ch05_Stack_Instructions;
 
 /**
@@ -1606,4 +1617,331 @@ public class Ch05_StackInsnsTest extends AbstractInstructionTest {
 		innerTestUDCMP(3456789012L, 3456789011L);
 	}
 	
+	/*
+	 * 5.7 Floating Point Operations ********************************************************************************** 
+	 */
+	
+	private static int lo(float f) {
+		return Float.floatToRawIntBits(f) & 0xFFFF;
+	}
+	
+	private static int hi(float f) {
+		return Float.floatToRawIntBits(f) >>> 16;
+	}
+	
+	/*
+	 * FIX, FIXI, FIXC
+	 */
+	
+	@Test
+	public void test_FIX() {
+		mkStack(33, lo(-70000.75f), hi(-70000.75f));
+		Ch05_Stack_Instructions.ESC_x45_FIX.execute();
+		checkStack(33, -70000 & 0xFFFF, -70000 >>> 16);
+	}
+	
+	@Test(expected=MesaTrapOrFault.class)
+	public void test_FIX_overflow() {
+		mkStack(33, lo(3.0e9f), hi(3.0e9f));
+		mesaException.expect_signalEscOpcodeTrap = true;
+		mesaException.beforeCheck = () -> checkStack(33, lo(3.0e9f), hi(3.0e9f));
+		Ch05_Stack_Instructions.ESC_x45_FIX.execute();
+	}
+	
+	@Test
+	public void test_FIXI() {
+		mkStack(33, lo(-32768.9f), hi(-32768.9f));
+		Ch05_Stack_Instructions.ESC_x47_FIXI.execute();
+		checkStack(33, 0x8000);
+	}
+	
+	@Test(expected=MesaTrapOrFault.class)
+	public void test_FIXI_overflow() {
+		mkStack(33, lo(32768.0f), hi(32768.0f));
+		mesaException.expect_signalEscOpcodeTrap = true;
+		Ch05_Stack_Instructions.ESC_x47_FIXI.execute();
+	}
+	
+	@Test
+	public void test_FIXC() {
+		mkStack(33, lo(65535.5f), hi(65535.5f));
+		Ch05_Stack_Instructions.ESC_x48_FIXC.execute();
+		checkStack(33, 0xFFFF);
+	}
+	
+	@Test(expected=MesaTrapOrFault.class)
+	public void test_FIXC_negative() {
+		mkStack(33, lo(-1.0f), hi(-1.0f));
+		mesaException.expect_signalEscOpcodeTrap = true;
+		Ch05_Stack_Instructions.ESC_x48_FIXC.execute();
+	}
+	
+	/*
+	 * FROUND, FROUNDI, FROUNDC
+	 */
+	
+	@Test
+	public void test_FROUND() {
+		mkStack(33, lo(-2.5f), hi(-2.5f));
+		Ch05_Stack_Instructions.ESC_x4B_FROUND.execute();
+		checkStack(33, 0xFFFE, 0xFFFF);
+		mkStack(33, lo(100001.5f), hi(100001.5f));
+		Ch05_Stack_Instructions.ESC_x4B_FROUND.execute();
+		checkStack(33, 100002 & 0xFFFF, 100002 >>> 16);
+	}
+	
+	@Test
+	public void test_FROUNDI() {
+		mkStack(33, lo(-32768.4f), hi(-32768.4f));
+		Ch05_Stack_Instructions.ESC_x4C_FROUNDI.execute();
+		checkStack(33, 0x8000);
+	}
+	
+	@Test(expected=MesaTrapOrFault.class)
+	public void test_FROUNDI_overflow() {
+		mkStack(33, lo(32767.5f), hi(32767.5f));
+		mesaException.expect_signalEscOpcodeTrap = true;
+		Ch05_Stack_Instructions.ESC_x4C_FROUNDI.execute();
+	}
+	
+	@Test
+	public void test_FROUNDC() {
+		mkStack(33, lo(0.5f), hi(0.5f));
+		Ch05_Stack_Instructions.ESC_x4D_FROUNDC.execute();
+		checkStack(33, 0);
+		mkStack(33, lo(65534.5f), hi(65534.5f));
+		Ch05_Stack_Instructions.ESC_x4D_FROUNDC.execute();
+		checkStack(33, 65534);
+	}
+	
+	/*
+	 * FREM, FSQRT, FSC
+	 */
+	
+	@Test
+	public void test_FREM() {
+		mkStack(33, lo(5.5f), hi(5.5f), lo(2.0f), hi(2.0f));
+		Ch05_Stack_Instructions.ESC_x4A_FREM.execute();
+		checkStack(33, lo(-0.5f), hi(-0.5f));
+	}
+	
+	@Test(expected=MesaTrapOrFault.class)
+	public void test_FREM_zero() {
+		mkStack(33, lo(5.5f), hi(5.5f), lo(0.0f), hi(0.0f));
+		mesaException.expect_signalEscOpcodeTrap = true;
+		Ch05_Stack_Instructions.ESC_x4A_FREM.execute();
+	}
+	
+	@Test
+	public void test_FSQRT() {
+		mkStack(33, lo(2.25f), hi(2.25f));
+		Ch05_Stack_Instructions.ESC_x4E_FSQRT.execute();
+		checkStack(33, lo(1.5f), hi(1.5f));
+	}
+	
+	@Test(expected=MesaTrapOrFault.class)
+	public void test_FSQRT_negative() {
+		mkStack(33, lo(-2.25f), hi(-2.25f));
+		mesaException.expect_signalEscOpcodeTrap = true;
+		Ch05_Stack_Instructions.ESC_x4E_FSQRT.execute();
+	}
+	
+	@Test
+	public void test_FSC() {
+		mkStack(33, lo(1.5f), hi(1.5f), 3);
+		Ch05_Stack_Instructions.ESC_x4F_FSC.execute();
+		checkStack(33, lo(12.0f), hi(12.0f));
+		mkStack(33, lo(12.0f), hi(12.0f), -2 & 0xFFFF);
+		Ch05_Stack_Instructions.ESC_x4F_FSC.execute();
+		checkStack(33, lo(3.0f), hi(3.0f));
+	}
+	
+	@Test(expected=MesaTrapOrFault.class)
+	public void test_FSC_overflow() {
+		mkStack(33, lo(1.5f), hi(1.5f), 200);
+		mesaException.expect_signalEscOpcodeTrap = true;
+		Ch05_Stack_Instructions.ESC_x4F_FSC.execute();
+	}
+	
+	/*
+	 * differential check of the native float conversions, FREM, FSQRT and FSC: each instruction
+	 * is executed natively and the result (or the delegation to Pilot's emulation through
+	 * signalEscOpcodeTrap) is compared with a reference model of the procedures of Pilot's
+	 * Real interface computed with exact decimal arithmetic (IEEE round-to-nearest-even,
+	 * signals for arguments not being finite numbers and for results not representable)
+	 */
+	
+	private static final BigDecimal TWO = BigDecimal.valueOf(2);
+	
+	// result of the reference model: null if Pilot's Real interface signals an exception
+	@FunctionalInterface
+	private interface FloatRef {
+		Integer compute(float s, float t, int scale);
+	}
+	
+	private static Integer refInteger(BigDecimal value, long min, long max) {
+		if (value.compareTo(BigDecimal.valueOf(min)) < 0 || value.compareTo(BigDecimal.valueOf(max)) > 0) {
+			return null;
+		}
+		return value.intValueExact();
+	}
+	
+	private static Integer refFix(float f, RoundingMode mode, long min, long max) {
+		if (!Float.isFinite(f)) { return null; }
+		return refInteger(new BigDecimal(f).setScale(0, mode), min, max);
+	}
+	
+	// the float exactly representing the value (or null if the value is not a normal float or zero)
+	private static Integer refExactFloat(BigDecimal value, float zero) {
+		if (value.signum() == 0) {
+			return Float.floatToRawIntBits(zero);
+		}
+		float f = value.floatValue();
+		if (!Float.isFinite(f) || Math.abs(f) < Float.MIN_NORMAL || new BigDecimal(f).compareTo(value) != 0) {
+			return null;
+		}
+		return Float.floatToRawIntBits(f);
+	}
+	
+	private static Integer refRem(float s, float t) {
+		if (!Float.isFinite(s) || !Float.isFinite(t) || t == 0.0f) { return null; }
+		BigDecimal bs = new BigDecimal(s);
+		BigDecimal bt = new BigDecimal(t);
+		BigDecimal quotient = bs.divideToIntegralValue(bt);
+		BigDecimal r = bs.subtract(quotient.multiply(bt));
+		int halfCmp = r.abs().multiply(TWO).compareTo(bt.abs());
+		if (halfCmp > 0 || (halfCmp == 0 && quotient.toBigInteger().testBit(0))) {
+			r = r.subtract(bt.abs().multiply(BigDecimal.valueOf(r.signum())));
+		}
+		if (r.signum() == 0) {
+			return Float.floatToRawIntBits(Math.copySign(0.0f, s));
+		}
+		return Float.floatToRawIntBits(r.floatValue()); // the remainder is exact
+	}
+	
+	private static Integer refSqrt(float f) {
+		if (!Float.isFinite(f) || f < 0.0f) { return null; }
+		if (f == 0.0f) { return Float.floatToRawIntBits(f); }
+		BigDecimal bf = new BigDecimal(f);
+		// largest float r with r * r <= f
+		int low = 0;
+		int high = Float.floatToRawIntBits(Float.MAX_VALUE);
+		while(low < high) {
+			int mid = (low + high + 1) >>> 1;
+			BigDecimal m = new BigDecimal(Float.intBitsToFloat(mid));
+			if (m.multiply(m).compareTo(bf) <= 0) { low = mid; } else { high = mid - 1; }
+		}
+		BigDecimal r = new BigDecimal(Float.intBitsToFloat(low));
+		if (r.multiply(r).compareTo(bf) == 0) { return low; }
+		BigDecimal mid = r.add(new BigDecimal(Float.intBitsToFloat(low + 1))).divide(TWO);
+		int cmp = mid.multiply(mid).compareTo(bf);
+		return (cmp < 0 || (cmp == 0 && (low & 1) != 0)) ? low + 1 : low;
+	}
+	
+	private static Integer refScale(float f, int scale) {
+		if (!Float.isFinite(f)) { return null; }
+		if (f == 0.0f) { return Float.floatToRawIntBits(f); }
+		if (Math.abs(scale) > 400) { return null; } // far out of the float range for all non-zero floats
+		BigDecimal factor = TWO.pow(Math.abs(scale));
+		BigDecimal bf = new BigDecimal(f);
+		return refExactFloat((scale >= 0) ? bf.multiply(factor) : bf.divide(factor), f);
+	}
+	
+	// float arguments near the limits of the instructions, followed by random values
+	private static float[] mkFloatArgs(Random rnd, int count) {
+		float[] special = {
+			0.0f, -0.0f, 0.5f, -0.5f, 1.5f, -1.5f, 2.5f, -2.5f, 0.49999997f, -0.99999994f,
+			32767.5f, 32768.0f, -32768.5f, -32769.0f, 65535.5f, 65536.0f, 65534.5f, -1.0f,
+			2147483520.0f, 2147483648.0f, -2147483648.0f, -2147483904.0f,
+			Float.MIN_VALUE, Float.MIN_NORMAL, -Float.MIN_NORMAL, Float.MAX_VALUE, -Float.MAX_VALUE,
+			Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NaN
+		};
+		float[] args = Arrays.copyOf(special, special.length + count);
+		for (int i = special.length; i < args.length; i++) {
+			switch(rnd.nextInt(4)) {
+			case 0: args[i] = Float.intBitsToFloat(rnd.nextInt()); break; // everything, including NaNs and denormals
+			case 1: args[i] = (rnd.nextFloat() - 0.5f) * 140000.0f; break; // around the INTEGER/CARDINAL ranges
+			case 2: args[i] = (rnd.nextInt(400000) - 200000) / 2.0f; break; // halfway cases
+			default: args[i] = (float)((rnd.nextDouble() - 0.5) * 5.0e9); break; // around the LONG INTEGER range
+			}
+		}
+		return args;
+	}
+	
+	private void checkNativeFloatOp(String name, OpImpl op, boolean longResult, FloatRef ref, float s, float t, int scale, int... args) {
+		mkStack(args);
+		int oldSP = Cpu.SP;
+		Integer nativeResult = null;
+		mesaException.expect_signalEscOpcodeTrap = true;
+		try {
+			op.execute();
+			nativeResult = longResult ? Cpu.popLong() : (Cpu.pop() & 0xFFFF);
+			assertEquals(name + " SP after result", 0, Cpu.SP);
+		} catch (MesaTrapOrFault e) {
+			assertEquals(name + " SP after delegation", oldSP, Cpu.SP);
+		}
+		mesaException.expect_signalEscOpcodeTrap = false;
+		
+		Integer expected = ref.compute(s, t, scale);
+		if (expected != null && !longResult) { expected = expected & 0xFFFF; }
+		String argText = String.format("%s(%s, %s, %d)", name, Float.toString(s), Float.toString(t), scale);
+		if (expected == null) {
+			assertNull(argText + " must be delegated to the emulation", nativeResult);
+		} else {
+			assertNotNull(argText + " must be computed natively", nativeResult);
+			assertEquals(argText + " result", String.format("0x%08X", expected), String.format("0x%08X", nativeResult));
+		}
+	}
+	
+	private void checkNativeFloatOp1(String name, OpImpl op, boolean longResult, FloatRef ref) {
+		for (float f : mkFloatArgs(new Random(name.hashCode()), 20000)) {
+			checkNativeFloatOp(name, op, longResult, ref, f, 0.0f, 0, lo(f), hi(f));
+		}
+	}
+	
+	@Test
+	public void test_nativeFloatConversions_comparedWithReference() {
+		checkNativeFloatOp1("FIX", Ch05_Stack_Instructions.ESC_x45_FIX, true,
+				(s, t, scale) -> refFix(s, RoundingMode.DOWN, Integer.MIN_VALUE, Integer.MAX_VALUE));
+		checkNativeFloatOp1("FIXI", Ch05_Stack_Instructions.ESC_x47_FIXI, false,
+				(s, t, scale) -> refFix(s, RoundingMode.DOWN, Short.MIN_VALUE, Short.MAX_VALUE));
+		checkNativeFloatOp1("FIXC", Ch05_Stack_Instructions.ESC_x48_FIXC, false,
+				(s, t, scale) -> refFix(s, RoundingMode.DOWN, 0, 0xFFFF));
+		checkNativeFloatOp1("FROUND", Ch05_Stack_Instructions.ESC_x4B_FROUND, true,
+				(s, t, scale) -> refFix(s, RoundingMode.HALF_EVEN, Integer.MIN_VALUE, Integer.MAX_VALUE));
+		checkNativeFloatOp1("FROUNDI", Ch05_Stack_Instructions.ESC_x4C_FROUNDI, false,
+				(s, t, scale) -> refFix(s, RoundingMode.HALF_EVEN, Short.MIN_VALUE, Short.MAX_VALUE));
+		checkNativeFloatOp1("FROUNDC", Ch05_Stack_Instructions.ESC_x4D_FROUNDC, false,
+				(s, t, scale) -> refFix(s, RoundingMode.HALF_EVEN, 0, 0xFFFF));
+		checkNativeFloatOp1("FSQRT", Ch05_Stack_Instructions.ESC_x4E_FSQRT, true,
+				(s, t, scale) -> refSqrt(s));
+	}
+	
+	@Test
+	public void test_nativeFREM_comparedWithReference() {
+		Random rnd = new Random(4711);
+		float[] dividends = mkFloatArgs(rnd, 3000);
+		float[] divisors = mkFloatArgs(rnd, 3000);
+		for (int i = 0; i < dividends.length; i++) {
+			float s = dividends[i];
+			float t = divisors[(i * 7) % divisors.length];
+			if (i % 3 == 0) { t = (float)(rnd.nextInt(200) - 100) / 8.0f; } // small divisors for exact halfway cases
+			checkNativeFloatOp("FREM", Ch05_Stack_Instructions.ESC_x4A_FREM, true,
+					(x, y, scale) -> refRem(x, y), s, t, 0, lo(s), hi(s), lo(t), hi(t));
+		}
+	}
+	
+	@Test
+	public void test_nativeFSC_comparedWithReference() {
+		Random rnd = new Random(815);
+		int[] specialScales = { 0, 1, -1, 127, 128, -126, -127, -149, 254, -254, 300, -300, 32767, -32768 };
+		for (float f : mkFloatArgs(rnd, 10000)) {
+			int scale = (rnd.nextInt(3) == 0)
+					? specialScales[rnd.nextInt(specialScales.length)]
+					: rnd.nextInt(520) - 260;
+			checkNativeFloatOp("FSC", Ch05_Stack_Instructions.ESC_x4F_FSC, true,
+					(x, y, sc) -> refScale(x, sc), f, 0.0f, scale, lo(f), hi(f), scale & 0xFFFF);
+		}
+	}
+	
 }
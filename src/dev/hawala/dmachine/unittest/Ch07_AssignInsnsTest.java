@@ -26,6 +26,7 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
 package dev.hawala.dmachine.unittest;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.fail;
 
@@ -767,6 +768,31 @@ public class Ch07_AssignInsnsTest extends AbstractInstructionTest {
 		checkLocalFrame(0x7101, 0x7202, 0x7303, 0x7404, 0x7505, 0x7606, 0x7707, 0x7808, 0x7909, 0x7A0A, 0x7B0B, 0x7C0C, 0x7D0D, 0x7E0E, 0x5555);
 	}
 	
+	@Test
+	public void test_SLB_LLB_frameCrossingPage() {
+		// access the current frame, then let LF move to a frame crossing a page boundary
+		mkStack(123, 345, SP, 33, 44, 55);
+		mkLocalFrame(0x7101, 0x7202, 0x7303);
+		Ch07_Assignment_Instructions.OPC_x02_LL1.execute();
+		checkStack(123, 345, 0x7202, SP, 44, 55);
+		
+		Cpu.LF = testShortMem + 0xFC;
+		mkLocalFrame(0x7101, 0x7202, 0x7303, 0x7404, 0x7505, 0x7606);
+		mkStack(123, 345, 0x5555, 0x6666, SP, 55);
+		mkCode(1, 2, 3, savedPC, 0x24, PC, 5, 5, 6, 7, 8);
+		Ch07_Assignment_Instructions.OPC_x24_SLB_alpha.execute();
+		Ch07_Assignment_Instructions.OPC_x1A_SL1.execute();
+		checkStack(123, 345, SP, 0x5555, 0x6666, 55);
+		checkLocalFrame(0x7101, 0x5555, 0x7303, 0x7404, 0x7505, 0x6666);
+		assertEquals("word in 2nd page", 0x6666, Mem.readMDSWord(testShortMem + 0x100, 1) & 0xFFFF);
+		
+		mkStack(123, 345, SP, 33, 44, 55);
+		mkCode(1, 2, 3, savedPC, 0x0D, PC, 5, 5, 6, 7, 8);
+		Ch07_Assignment_Instructions.OPC_x0D_LLB_alpha.execute();
+		Ch07_Assignment_Instructions.OPC_x04_LL3.execute();
+		checkStack(123, 345, 0x6666, 0x7404, SP, 55);
+	}
+	
 	/*
 	 * SLDn
 	 */
@@ -27,12 +27,26 @@ ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package dev.hawala.dmachine.unittest;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Random;
 
 import org.junit.Test;
 
+import dev.hawala.dmachine.dwarf.Display8BitColorPane;
+import dev.hawala.dmachine.dwarf.DisplayMonochromePane;
+import dev.hawala.dmachine.engine.Config;
 import dev.hawala.dmachine.engine.Cpu;
+import dev.hawala.dmachine.engine.Machine;
 import dev.hawala.dmachine.engine.Mem;
+import dev.hawala.dmachine.engine.PilotDefs;
 import dev.hawala.dmachine.engine.PrincOpsDefs;
+import dev.hawala.dmachine.engine.Processes;
+import dev.hawala.dmachine.engine.iMesaMachineDataAccessor;
+import dev.hawala.dmachine.engine.iRealMemory;
 import dev.hawala.dmachine.engine.opcodes.Ch08_Block_Transfers;
 
 /**
@@ -284,6 +298,103 @@ public class Ch08_BlockTrfInsnsTest extends AbstractInstructionTest {
 			);
 	}
 	
+	/*
+	 * BLT family: transfers crossing page boundaries (copied in page runs)
+	 */
+	
+	// fill the 4 pages at 'testLongMem' with random words and return them in a reference array
+	private short[] mkRandomPages(Random rand) {
+		short[] ref = new short[4 * PrincOpsDefs.WORDS_PER_PAGE];
+		for (int i = 0; i < ref.length; i++) {
+			ref[i] = (short)rand.nextInt();
+			Mem.writeWord(testLongMem + i, ref[i]);
+		}
+		return ref;
+	}
+	
+	private void checkPages(String what, short[] ref) {
+		for (int i = 0; i < ref.length; i++) {
+			assertEquals(what + " word #" + i, ref[i], Mem.readWord(testLongMem + i));
+		}
+	}
+	
+	@Test
+	public void test_BLTL_pageRuns() {
+		Random rand = new Random(4711);
+		for (int run = 0; run < 200; run++) {
+			short[] ref = this.mkRandomPages(rand);
+			int count = 1 + rand.nextInt(600);
+			int from = rand.nextInt(ref.length - count);
+			int to = (run % 2 == 0) ? Math.max(0, Math.min(ref.length - count, from + rand.nextInt(9) - 4)) : rand.nextInt(ref.length - count);
+			for (int i = 0; i < count; i++) { ref[to + i] = ref[from + i]; } // forward word by word
+			
+			int source = testLongMem + from;
+			int dest = testLongMem + to;
+			mkStack(source & 0xFFFF, source >>> 16, count, dest & 0xFFFF, dest >>> 16);
+			Ch08_Block_Transfers.OPC_xF4_BLTL.execute();
+			checkStack();
+			checkPages("BLTL from " + from + " to " + to + " count " + count, ref);
+		}
+	}
+	
+	@Test
+	public void test_BLTLR_pageRuns() {
+		Random rand = new Random(815);
+		for (int run = 0; run < 200; run++) {
+			short[] ref = this.mkRandomPages(rand);
+			int count = 1 + rand.nextInt(600);
+			int from = rand.nextInt(ref.length - count);
+			int to = (run % 2 == 0) ? Math.max(0, Math.min(ref.length - count, from + rand.nextInt(9) - 4)) : rand.nextInt(ref.length - count);
+			for (int i = count - 1; i >= 0; i--) { ref[to + i] = ref[from + i]; } // backward word by word
+			
+			int source = testLongMem + from;
+			int dest = testLongMem + to;
+			mkStack(source & 0xFFFF, source >>> 16, count, dest & 0xFFFF, dest >>> 16);
+			Ch08_Block_Transfers.ESC_x27_BLTLR.execute();
+			checkStack();
+			checkPages("BLTLR from " + from + " to " + to + " count " + count, ref);
+		}
+	}
+	
+	@Test
+	public void test_BLTL_pageFault() {
+		mkLongMem(0x1111, 0x2222, 0x3333, 0x4444, 0x5555, 0x6666, 0x7777, 0x8888);
+		int vacantPage = (testLongMem >>> 8) + 8;
+		int dest = (vacantPage << 8) - 5;
+		mkStack(testLongMemLow, testLongMemHigh, 8, dest & 0xFFFF, dest >>> 16);
+		
+		// let the page fault abort with a state vector having the stack saved at the fault (operands popped)
+		int stateVector = testLongMem + 1024;
+		Mem.writeWord(stateVector + Cpu.StateVector_stateWord, (short)0);
+		mesaException.expect_signalPageFault = true;
+		mesaException.beforeCheck = () -> { throw new Cpu.MesaAbort(stateVector); };
+		
+		short oldFlags = Mem.getVPageFlags(vacantPage);
+		int realPage = Mem.getVPageRealPage(vacantPage);
+		Mem.setMap("test", vacantPage, realPage, PrincOpsDefs.MAPFLAGS_VACANT);
+		try {
+			Ch08_Block_Transfers.OPC_xF4_BLTL.execute();
+			fail("missing page fault");
+		} catch (Cpu.MesaAbort ma) {
+			// expected, the words up to the page boundary must have been copied
+		} finally {
+			Mem.setMap("test", vacantPage, realPage, oldFlags);
+		}
+		for (int i = 0; i < 5; i++) {
+			assertEquals("word before unmapped page #" + i, (short)(0x1111 * (i + 1)), Mem.readWord(dest + i));
+		}
+		
+		// the restart state must continue behind the words already copied
+		int restartSource = testLongMem + 5;
+		int restartDest = dest + 5;
+		checkStack(restartSource & 0xFFFF, restartSource >>> 16, 3, restartDest & 0xFFFF, restartDest >>> 16);
+		int[] expectedState = { restartSource & 0xFFFF, restartSource >>> 16, 3, restartDest & 0xFFFF, restartDest >>> 16 };
+		for (int i = 0; i < expectedState.length; i++) {
+			assertEquals("state vector stack[" + i + "]", expectedState[i], Mem.readWord(stateVector + i) & 0xFFFF);
+		}
+		assertEquals("state vector SP", 5, Mem.readWord(stateVector + Cpu.StateVector_stateWord) & 0x000F);
+	}
+	
 	/*
 	 * CKSUM
 	 */
@@ -316,6 +427,33 @@ public class Ch08_BlockTrfInsnsTest extends AbstractInstructionTest {
 		checkStack(11, 22, 0x1759);
 	}
 	
+	// reference implementation of the checksum step as given in the PrincOps
+	private static int refChecksum(int cksum, short data) {
+		int temp = (cksum + (data & 0xFFFF)) & 0xFFFF;
+		if (cksum > temp) { temp = temp + 1; }
+		temp = (temp >= 0100000) ? (temp * 2) + 1 : temp * 2;
+		return temp & 0xFFFF;
+	}
+	
+	@Test
+	public void test_CKSUM_pageRuns() {
+		Random rand = new Random(1234);
+		for (int run = 0; run < 100; run++) {
+			short[] ref = this.mkRandomPages(rand);
+			int count = 1 + rand.nextInt(700);
+			int from = rand.nextInt(ref.length - count);
+			int cksum = rand.nextInt(0x10000);
+			int exp = cksum;
+			for (int i = 0; i < count; i++) { exp = refChecksum(exp, ref[from + i]); }
+			if (exp == 0177777) { exp = 0; }
+			
+			int source = testLongMem + from;
+			mkStack(cksum, count, source & 0xFFFF, source >>> 16);
+			Ch08_Block_Transfers.ESC_x2A_CKSUM.execute();
+			checkStack(exp);
+		}
+	}
+	
 	/*
 	 * BLEL
 	 */
@@ -346,6 +484,25 @@ public class Ch08_BlockTrfInsnsTest extends AbstractInstructionTest {
 		checkStack(11, 22, 0);
 	}
 	
+	@Test
+	public void test_BLEL_pageRuns() {
+		Random rand = new Random(4321);
+		short[] ref = this.mkRandomPages(rand);
+		for (int i = 0; i < 400; i++) {
+			Mem.writeWord(testLongMem + 600 + i, ref[5 + i]);
+		}
+		int ptr1 = testLongMem + 5;
+		int ptr2 = testLongMem + 600;
+		mkStack(ptr2 & 0xFFFF, ptr2 >>> 16, 400, ptr1 & 0xFFFF, ptr1 >>> 16);
+		Ch08_Block_Transfers.ESC_x28_BLEL.execute();
+		checkStack(1);
+		
+		Mem.writeWord(ptr2 + 399, (short)(ref[404] ^ 0x0100));
+		mkStack(ptr2 & 0xFFFF, ptr2 >>> 16, 400, ptr1 & 0xFFFF, ptr1 >>> 16);
+		Ch08_Block_Transfers.ESC_x28_BLEL.execute();
+		checkStack(0);
+	}
+	
 	/*
 	 * 8.2 Block Comparisions
 	 */
@@ -1625,6 +1782,484 @@ public class Ch08_BlockTrfInsnsTest extends AbstractInstructionTest {
 			);
 	}
 	
+	private int getBit(int lp, int bit) {
+		return (Mem.readWord(lp + (bit / 16)) >> (15 - (bit % 16))) & 1;
+	}
+	
+	private void setBit(int lp, int bit, int value) {
+		int mask = 0x8000 >>> (bit % 16);
+		int w = Mem.readWord(lp + (bit / 16));
+		Mem.writeWord(lp + (bit / 16), (short)((value != 0) ? (w | mask) : (w & ~mask)));
+	}
+	
+	// bit by bit reference for a forward BITBLT, reading the complete source line before writing the destination line
+	private void refBitBlt(int dstLp, int dstBit, int dstBpl, int srcLp, int srcBit, int srcBpl, int width, int height, boolean complement, int dstFunc) {
+		int[] srcLine = new int[width];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				srcLine[x] = getBit(srcLp, srcBit + (y * srcBpl) + x) ^ (complement ? 1 : 0);
+			}
+			for (int x = 0; x < width; x++) {
+				int bit = dstBit + (y * dstBpl) + x;
+				int d = getBit(dstLp, bit);
+				int r;
+				switch(dstFunc) {
+				case flg_dstFuncAnd: r = srcLine[x] & d; break;
+				case flg_dstFuncOr: r = srcLine[x] | d; break;
+				case flg_dstFuncXor: r = srcLine[x] ^ d; break;
+				default: r = srcLine[x];
+				}
+				setBit(dstLp, bit, r);
+			}
+		}
+	}
+	
+	@Test
+	public void test_BITBLT_random_compared_with_bitwise_transfer() {
+		final int lineWords = 8;
+		final int lines = 12;
+		final int areaWords = lineWords * lines;
+		final int srcArea = testLongMem + 1024;
+		final int dstArea = testLongMem + 2048;
+		final int refArea = testLongMem + 3072;
+		final int[] dstFuncs = { flg_dstFuncNull, flg_dstFuncAnd, flg_dstFuncOr, flg_dstFuncXor };
+		
+		Random rnd = new Random(4711);
+		for (int run = 0; run < 400; run++) {
+			for (int i = 0; i < areaWords; i++) {
+				Mem.writeWord(srcArea + i, (short)rnd.nextInt());
+				short w = (short)rnd.nextInt();
+				Mem.writeWord(dstArea + i, w);
+				Mem.writeWord(refArea + i, w);
+			}
+			
+			// every 4th run: source overlapping the destination (scrolling)
+			boolean overlap = (run % 4) == 3;
+			int dstBit = rnd.nextInt(16);
+			int srcBit = rnd.nextInt(16);
+			int width = 1 + rnd.nextInt((lineWords * 16) - Math.max(dstBit, srcBit));
+			int height = 1 + rnd.nextInt(lines - 2);
+			int srcLine = overlap ? 1 : 0;
+			boolean complement = rnd.nextBoolean();
+			int dstFunc = dstFuncs[rnd.nextInt(dstFuncs.length)];
+			
+			int srcLp = (overlap ? dstArea : srcArea) + (srcLine * lineWords);
+			int refSrcLp = (overlap ? refArea : srcArea) + (srcLine * lineWords);
+			refBitBlt(refArea, dstBit, lineWords * 16, refSrcLp, srcBit, lineWords * 16, width, height, complement, dstFunc);
+			
+			mkBitBltArg(testShortMem,
+					dstArea, // dstWord
+					dstBit, // dstBit
+					lineWords * 16, // dstBpl
+					srcLp, // srcWord
+					srcBit, // srcBit
+					lineWords * 16, // srcBpl
+					width, // width
+					height, // height
+					flg_forward, flg_bitmap, complement ? flg_srcFuncComplement : flg_srcFuncNull, dstFunc);
+			mkStack(testShortMem);
+			Ch08_Block_Transfers.ESC_x2B_BITBLT.execute();
+			checkStack();
+			
+			for (int i = 0; i < areaWords; i++) {
+				assertEquals(
+					"run " + run + " word " + i,
+					Mem.readWord(refArea + i) & 0xFFFF,
+					Mem.readWord(dstArea + i) & 0xFFFF);
+			}
+		}
+	}
+	
+	/*
+	 * COLORBLT on the 8 bit color display
+	 */
+	
+	// invoke a public static method of this class in a machine of its own (with own Mem, Config etc.),
+	// allowing to initialize the memory with a different display than the memory of the unittests
+	private static void runInMachine(String methodName, Class<?>[] paramTypes, Object... args) throws Throwable {
+		Machine machine = new Machine(methodName);
+		try {
+			machine.invokeStatic(Ch08_BlockTrfInsnsTest.class.getName(), methodName, paramTypes, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+	
+	@Test
+	public void test_COLORBLT_byteColor_compared_with_pixelwise_transfer() throws Throwable {
+		// the memory of the unittests has a monochrome display, so the comparison runs
+		// in a machine having an 8 bit color display
+		runInMachine("compareByteColorTransfers", new Class<?>[0]);
+	}
+	
+	/**
+	 * Compare random COLORBLTs into an 8 bit color display transferred by the byte-oriented
+	 * engine with the same COLORBLTs transferred pixel by pixel. This initializes the memory
+	 * with an 8 bit color display, so it must be invoked in a machine of its own.
+	 */
+	public static void compareByteColorTransfers() {
+		final int displayWidth = 1024;
+		final int displayHeight = 64;
+		final int displayStart = 0x00080000;
+		final int bitmapStart = 0x00020000;
+		final int pixmapStart = 0x00030000;
+		final int brickStart = 0x00040000;
+		final int argsPointer = 0x0100;
+		
+		Mem.initializeMemoryGuam(20, 20, PilotDefs.DisplayType.byteColor, displayWidth, displayHeight);
+		Mem.mapDisplayMemory(displayStart >>> 8);
+		Cpu.MDS = 0x00010000;
+		final int displayWords = displayWidth * displayHeight / 2;
+		
+		Random rnd = new Random(4711);
+		for (int i = 0; i < 0x8000; i++) {
+			Mem.writeWord(bitmapStart + i, (short)rnd.nextInt());
+			Mem.writeWord(pixmapStart + i, (short)rnd.nextInt());
+		}
+		for (int i = 0; i < 8; i++) {
+			Mem.writeWord(brickStart + i, (short)rnd.nextInt());
+		}
+		
+		short[] displayBefore = new short[displayWords];
+		short[] displayByteColor = new short[displayWords];
+		for (int run = 0; run < 1000; run++) {
+			for (int i = 0; i < displayWords; i++) {
+				displayBefore[i] = (short)rnd.nextInt();
+			}
+			
+			// destination rectangle
+			boolean backward = rnd.nextBoolean();
+			int width = 1 + rnd.nextInt(displayWidth - 1);
+			int height = 1 + rnd.nextInt(displayHeight);
+			int dstX = rnd.nextInt(displayWidth - width + 1);
+			int dstY = rnd.nextInt(displayHeight - height + 1) + (backward ? height - 1 : 0);
+			int dstPixelPos = (dstY * displayWidth) + dstX;
+			int dstWord = displayStart + (dstPixelPos / 2);
+			int dstPixel = dstPixelPos % 2;
+			
+			// every 4th run: copy or xor of an 8 bit pixmap with the same pixel offset (whole words)
+			boolean wholeWords = (run % 4) == 0;
+			
+			// source: 1 bit bitmap, 8 bit pixmap, gray brick or single pixel
+			int srcKind = wholeWords ? 1 : rnd.nextInt(4);
+			boolean srcDisplay = (srcKind == 1) || (srcKind > 1 && rnd.nextBoolean());
+			boolean pattern = (srcKind > 1);
+			int srcWord;
+			int srcPixel;
+			int srcPpl;
+			if (srcKind < 2) {
+				int bitsPerPixel = (srcKind == 0) ? 1 : 8;
+				int pixelsPerWord = 16 / bitsPerPixel;
+				srcPpl = ((width + rnd.nextInt(200) + pixelsPerWord - 1) / pixelsPerWord) * pixelsPerWord; // whole words per line
+				int startPixel = wholeWords ? dstPixel : rnd.nextInt(pixelsPerWord + 1);
+				int pixelPos = startPixel + (backward ? (height - 1) * srcPpl : 0);
+				srcWord = ((srcKind == 0) ? bitmapStart : pixmapStart) + ((pixelPos * bitsPerPixel) / 16);
+				srcPixel = ((pixelPos * bitsPerPixel) % 16) / bitsPerPixel;
+			} else if (srcKind == 2) {
+				int widthMinusOne = rnd.nextInt(2);
+				int heightMinusOne = rnd.nextInt(4);
+				int yOffset = rnd.nextInt(heightMinusOne + 1);
+				srcWord = brickStart + (yOffset * (widthMinusOne + 1));
+				srcPixel = rnd.nextInt(16);
+				srcPpl = (yOffset << 8) | (widthMinusOne << 4) | heightMinusOne;
+			} else {
+				srcWord = brickStart + 8;
+				srcPixel = 0;
+				boolean unpacked = rnd.nextBoolean();
+				Mem.writeWord(srcWord, (short)(unpacked ? rnd.nextInt(256) : rnd.nextBoolean() ? 0xFFFF : 0));
+				srcPpl = unpacked ? 0x1000 : 0;
+			}
+			
+			int flags
+				= (backward ? 0x8000 : 0)
+				| (srcDisplay ? 0x4000 : 0)
+				| 0x2000 // dstType: display
+				| (pattern ? 0x1000 : 0)
+				| ((!wholeWords && rnd.nextBoolean()) ? 0x0800 : 0) // srcFunc: complement
+				| ((wholeWords ? rnd.nextInt(2) * 7 : rnd.nextInt(8)) << 8); // dstFunc (whole words: src or srcXorDst)
+			
+			int[] args = {
+				dstWord & 0xFFFF, dstWord >>> 16, dstPixel, backward ? -displayWidth : displayWidth,
+				srcWord & 0xFFFF, srcWord >>> 16, srcPixel, (srcKind < 2 && backward) ? -srcPpl : srcPpl,
+				width, height, flags,
+				rnd.nextInt(256), rnd.nextInt(256) };
+			for (int i = 0; i < args.length; i++) {
+				Mem.writeMDSWord(argsPointer, i, args[i]);
+			}
+			
+			// transfer with the byte-oriented engine, then pixel by pixel
+			for (int pass = 0; pass < 2; pass++) {
+				for (int i = 0; i < displayWords; i++) {
+					Mem.writeWord(displayStart + i, displayBefore[i]);
+				}
+				Cpu.SP = 0;
+				Cpu.push((short)argsPointer);
+				Ch08_Block_Transfers.colorBlt(pass == 0, 1, null);
+				if (pass == 0) {
+					for (int i = 0; i < displayWords; i++) {
+						displayByteColor[i] = Mem.readWord(displayStart + i);
+					}
+				}
+			}
+			
+			for (int i = 0; i < displayWords; i++) {
+				assertEquals(
+					String.format("run %d (flags 0x%04X, width %d, height %d, srcKind %d) display word %d", run, flags, width, height, srcKind, i),
+					Mem.readWord(displayStart + i) & 0xFFFF,
+					displayByteColor[i] & 0xFFFF);
+			}
+		}
+	}
+	
+	/*
+	 * display copy areas
+	 */
+	
+	// UI for the mesa engine keeping a shadow of the pixelmap of the display pane, updated
+	// like the display panes do (replaying the copy areas, then transferring the dirty pages)
+	private static class ShadowDisplay implements iMesaMachineDataAccessor {
+		
+		private final boolean byteColor;
+		private final int pixelsPerLine;
+		private final byte[] bits; // monochrome: backing image of DisplayMonochromePane (8 inverted pixels per byte)
+		private final byte[] copyLine;
+		private final int[] pixels; // 8 bit color: backing image of Display8BitColorPane (identity color table)
+		
+		private int copyAreaCount = 0;
+		
+		private ShadowDisplay(boolean byteColor, int pixelsPerLine, int height) {
+			this.byteColor = byteColor;
+			this.pixelsPerLine = pixelsPerLine;
+			this.bits = new byte[(pixelsPerLine / 8) * height];
+			this.copyLine = new byte[pixelsPerLine / 8];
+			this.pixels = new int[pixelsPerLine * height];
+		}
+
+		@Override
+		public void accessRealMemory(iRealMemory realMemory, int memOffset, int memWords, short[] pageFlags, int firstPage) {
+			for (int i = 0; i < memWords; i++) {
+				if ((pageFlags[firstPage + (i / PrincOpsDefs.WORDS_PER_PAGE)] & PrincOpsDefs.MAPFLAGS_DIRTY) == 0) {
+					continue;
+				}
+				int w = realMemory.read(memOffset + i);
+				if (this.byteColor) {
+					this.pixels[i * 2] = (w >>> 8) & 0x00FF;
+					this.pixels[(i * 2) + 1] = w & 0x00FF;
+				} else {
+					this.bits[i * 2] = (byte)~(w >>> 8);
+					this.bits[(i * 2) + 1] = (byte)~w;
+				}
+			}
+		}
+
+		@Override
+		public void copyDisplayAreas(int[] copyAreas, int count) {
+			for (int i = 0; i < count; i++) {
+				int idx = i * 6;
+				if (this.byteColor) {
+					Display8BitColorPane.copyArea(this.pixels, this.pixelsPerLine,
+						copyAreas[idx], copyAreas[idx + 1], copyAreas[idx + 2], copyAreas[idx + 3], copyAreas[idx + 4], copyAreas[idx + 5]);
+				} else {
+					DisplayMonochromePane.copyArea(this.bits, this.pixelsPerLine / 8, this.copyLine,
+						copyAreas[idx], copyAreas[idx + 1], copyAreas[idx + 2], copyAreas[idx + 3], copyAreas[idx + 4], copyAreas[idx + 5]);
+				}
+			}
+			this.copyAreaCount += count;
+		}
+
+		@Override
+		public void acceptMP(int mp) { }
+
+		@Override
+		public void acceptStatistics(long counterInstructions, int counterDiskReads, int counterDiskWrites,
+				int counterFloppyReads, int counterFloppyWrites, int counterNetworkPacketsReceived, int counterNetworkPacketsSent) { }
+		
+		private void check(String what, int displayStart, int displayWords) {
+			for (int i = 0; i < displayWords; i++) {
+				int w = Mem.readWord(displayStart + i) & 0xFFFF;
+				int shadow = (this.byteColor)
+						? (this.pixels[i * 2] << 8) | this.pixels[(i * 2) + 1]
+						: ~(((this.bits[i * 2] & 0xFF) << 8) | (this.bits[(i * 2) + 1] & 0xFF)) & 0xFFFF;
+				assertEquals(what + " display word " + i, w, shadow);
+			}
+		}
+	}
+	
+	// COLORBLT of a rectangle inside the display (forward: top line first, backward: bottom line first)
+	private static void displayColorBlt(int argsPointer, int srcX, int srcY, int dstX, int dstY, int width, int height, boolean backward, int dstFunc) {
+		int displayStart = Mem.getDisplayVirtualPage() * PrincOpsDefs.WORDS_PER_PAGE;
+		int ppl = Mem.getDisplayPixelsPerLine();
+		int bitsPerPixel = Mem.getDisplayType().getBitDepth();
+		int lineDelta = (backward) ? height - 1 : 0;
+		int srcBitPos = (((srcY + lineDelta) * ppl) + srcX) * bitsPerPixel;
+		int dstBitPos = (((dstY + lineDelta) * ppl) + dstX) * bitsPerPixel;
+		int srcWord = displayStart + (srcBitPos / 16);
+		int dstWord = displayStart + (dstBitPos / 16);
+		int[] args = {
+				dstWord & 0xFFFF, dstWord >>> 16, (dstBitPos % 16) / bitsPerPixel, backward ? -ppl : ppl,
+				srcWord & 0xFFFF, srcWord >>> 16, (srcBitPos % 16) / bitsPerPixel, backward ? -ppl : ppl,
+				width, height,
+				(backward ? 0x8000 : 0) | 0x4000 | 0x2000 | (dstFunc << 8), // srcType, dstType: display
+				0, 1 };
+		for (int i = 0; i < args.length; i++) {
+			Mem.writeMDSWord(argsPointer, i, args[i]);
+		}
+		Cpu.SP = 0;
+		Cpu.push((short)argsPointer);
+		Ch08_Block_Transfers.ESC_xC0_COLORBLT.execute();
+	}
+	
+	@Test
+	public void test_displayCopyAreas_monochrome() throws Throwable {
+		runInMachine("replayDisplayCopyAreas", new Class<?>[] { boolean.class }, false);
+	}
+	
+	@Test
+	public void test_displayCopyAreas_byteColor() throws Throwable {
+		runInMachine("replayDisplayCopyAreas", new Class<?>[] { boolean.class }, true);
+	}
+	
+	/**
+	 * Do random block moves (copy areas) and other changes in the display memory, replaying
+	 * the copy areas and transferring the dirty pages in a shadow UI pixelmap at each UI refresh,
+	 * and check the shadow pixelmap against the display memory after each refresh. This initializes
+	 * the memory with a display, so it must be invoked in a machine of its own.
+	 * 
+	 * @param byteColor use an 8 bit color display instead of a monochrome display?
+	 */
+	public static void replayDisplayCopyAreas(boolean byteColor) {
+		final int displayWidth = 1024;
+		final int displayHeight = 128;
+		final int displayStart = 0x00080000;
+		final int argsPointer = 0x0100;
+		
+		Mem.initializeMemoryGuam(20, 20,
+				byteColor ? PilotDefs.DisplayType.byteColor : PilotDefs.DisplayType.monochrome,
+				displayWidth, displayHeight);
+		Mem.mapDisplayMemory(displayStart >>> 8);
+		Cpu.MDS = 0x00010000;
+		final int displayWords = displayWidth * displayHeight * Mem.getDisplayType().getBitDepth() / 16;
+		
+		Random rnd = new Random(byteColor ? 815 : 4711);
+		for (int i = 0; i < displayWords; i++) {
+			Mem.writeWord(displayStart + i, (short)rnd.nextInt());
+		}
+		ShadowDisplay shadow = new ShadowDisplay(byteColor, displayWidth, displayHeight);
+		Processes.registerUiRefreshCallback(shadow);
+		try {
+			Processes.refreshDisplay();
+			shadow.check("initial", displayStart, displayWords);
+			
+			for (int refresh = 0; refresh < 300; refresh++) {
+				int changes = 1 + rnd.nextInt(6);
+				for (int change = 0; change < changes; change++) {
+					int kind = rnd.nextInt(10);
+					if (kind < 6) {
+						// block move, often overlapping, in any direction
+						int width = 64 + rnd.nextInt(displayWidth - 64);
+						int height = 16 + rnd.nextInt(displayHeight - 16);
+						int srcX = rnd.nextInt(displayWidth - width + 1);
+						int srcY = rnd.nextInt(displayHeight - height + 1);
+						int dstX = (rnd.nextBoolean()) ? srcX : rnd.nextInt(displayWidth - width + 1);
+						int dstY = rnd.nextInt(displayHeight - height + 1);
+						displayColorBlt(argsPointer, srcX, srcY, dstX, dstY, width, height, rnd.nextBoolean(), 0);
+					} else if (kind < 8) {
+						// small xor of a rectangle with itself moved by some pixels (no copy area)
+						int width = 1 + rnd.nextInt(40);
+						int height = 1 + rnd.nextInt(40);
+						int x = rnd.nextInt(displayWidth - width - 4);
+						int y = rnd.nextInt(displayHeight - height);
+						displayColorBlt(argsPointer, x + 4, y, x, y, width, height, false, 7);
+					} else {
+						// some words written directly
+						int count = 1 + rnd.nextInt(32);
+						int at = rnd.nextInt(displayWords - count);
+						for (int i = 0; i < count; i++) {
+							Mem.writeWord(displayStart + at + i, (short)rnd.nextInt());
+						}
+					}
+				}
+				Processes.refreshDisplay();
+				shadow.check("refresh " + refresh, displayStart, displayWords);
+			}
+		} finally {
+			Processes.registerUiRefreshCallback(null);
+		}
+		if (shadow.copyAreaCount == 0) {
+			fail("no copy areas passed to the UI");
+		}
+	}
+	
+	/*
+	 * BITBLT in parallel bands
+	 */
+	
+	// xor a gray brick of 16 lines into the bitmap at 'dst', either in a single BITBLT (large enough
+	// for parallel bands) or in strips of 'stripLines' lines (each too small for bands)
+	private void xorBrickBitBlt(int dst, int dstBit, int dstBpl, int brickAt, int width, int height, int stripLines, int bandThreads) {
+		for (int line = 0; line < height; line += stripLines) {
+			int lines = Math.min(stripLines, height - line);
+			int bitOffset = dstBit + (line * dstBpl);
+			int brickLine = line % 16;
+			mkBitBltArg(testShortMem,
+					dst + (bitOffset / 16), // dstWord
+					bitOffset % 16, // dstBit
+					dstBpl, // dstBpl
+					brickAt + brickLine, // srcWord (+ yOffset)
+					5, // srcBit
+					mkGrayParm(brickLine, 0, 15), // srcBpl as grayparm :: yOffset = brickLine, width = 1 word, height 16 lines
+					width, // width
+					lines, // height
+					flg_gray, flg_srcFuncNull, flg_dstFuncXor);
+			mkStack(testShortMem);
+			Ch08_Block_Transfers.bitBlt(Config.USE_BYTE_COLORBLT, bandThreads);
+			checkStack();
+		}
+	}
+	
+	private void innertest_BITBLT_bands(int dstBit, int dstBpl, int width) {
+		final int height = 320; // width * height > 256k pixels for bands
+		final int areaWords = (((dstBit + (dstBpl * height)) + 15) / 16) + 1;
+		final int dstArea = testLongMem;
+		final int refArea = dstArea + areaWords;
+		final int brickAt = refArea + areaWords;
+		
+		Random rnd = new Random(dstBpl);
+		for (int i = 0; i < areaWords; i++) {
+			short w = (short)rnd.nextInt();
+			Mem.writeWord(dstArea + i, w);
+			Mem.writeWord(refArea + i, w);
+		}
+		for (int i = 0; i < 16; i++) {
+			Mem.writeWord(brickAt + i, (short)rnd.nextInt());
+		}
+		
+		this.xorBrickBitBlt(dstArea, dstBit, dstBpl, brickAt, width, height, height, 4);
+		this.xorBrickBitBlt(refArea, dstBit, dstBpl, brickAt, width, height, 64, 1);
+		
+		for (int i = 0; i < areaWords; i++) {
+			assertEquals(
+				"dstBit " + dstBit + " dstBpl " + dstBpl + " width " + width + " word " + i,
+				Mem.readWord(refArea + i) & 0xFFFF,
+				Mem.readWord(dstArea + i) & 0xFFFF);
+		}
+	}
+	
+	@Test
+	public void test_BITBLT_bands_wordAlignedLines() {
+		innertest_BITBLT_bands(3, 912, 900);
+	}
+	
+	@Test
+	public void test_BITBLT_bands_lineEndsInNextLineStartWord() {
+		innertest_BITBLT_bands(0, 905, 900);
+	}
+	
+	@Test
+	public void test_BITBLT_bands_transferPastLineEnd() {
+		innertest_BITBLT_bands(7, 912, 910);
+	}
+	
 	private int ch(char first, char second) {
 		return ((first << 8) & 0xFF00) | (second & 0xFF);
 	}
@@ -1727,4 +2362,129 @@ public class Ch08_BlockTrfInsnsTest extends AbstractInstructionTest {
 			);
 	}
 
+	
+	/*
+	 * TXTBLT
+	 */
+	
+	// font with 2 lines per glyph: 'A' (3 pixels), 'B' (4 pixels), ' ' (2 pixels, pad) and '|' (stop)
+	private int mkTxtBltFont() {
+		int font = testLongMem + 1024;
+		int bitmap = font + 16;
+		int xInSegment = font + 32;
+		int flags = xInSegment + 256;
+		int widths = flags + 32;
+		
+		Mem.writeWord(bitmap + 0, (short)0b1010_1111_0000_0000);
+		Mem.writeWord(bitmap + 1, (short)0b0101_1001_0000_0000);
+		
+		for (int i = 0; i < 256; i++) { Mem.writeWord(xInSegment + i, (short)0); }
+		for (int i = 0; i < 32; i++) { Mem.writeWord(flags + i, (short)0); }
+		for (int i = 0; i < 128; i++) { Mem.writeWord(widths + i, (short)0); }
+		Mem.writeWord(xInSegment + 'A', (short)0);
+		Mem.writeWord(xInSegment + 'B', (short)4);
+		Mem.writeWord(xInSegment + ' ', (short)8);
+		Mem.storeByte(widths, 'A', (short)3);
+		Mem.storeByte(widths, 'B', (short)4);
+		Mem.storeByte(widths, ' ', (short)2);
+		Mem.writeWord(flags + (' ' / 8), (short)(0x0001 << (14 - ((' ' % 8) * 2)))); // pad
+		Mem.writeWord(flags + ('|' / 8), (short)(0x0002 << (14 - (('|' % 8) * 2)))); // stop
+		
+		Mem.writeWord(font + 0, (short)(bitmap & 0xFFFF));
+		Mem.writeWord(font + 1, (short)(bitmap >>> 16));
+		Mem.writeWord(font + 2, (short)16); // fontBitsPerLine
+		Mem.writeWord(font + 3, (short)2);  // fontHeight
+		Mem.writeWord(font + 4, (short)(xInSegment & 0xFFFF));
+		Mem.writeWord(font + 5, (short)(xInSegment >>> 16));
+		Mem.writeWord(font + 6, (short)(flags & 0xFFFF));
+		Mem.writeWord(font + 7, (short)(flags >>> 16));
+		Mem.writeWord(font + 8, (short)(widths & 0xFFFF));
+		Mem.writeWord(font + 9, (short)(widths >>> 16));
+		return font;
+	}
+	
+	private void mkTxtBltArg(int function, String text, int dst, int margin, int space) {
+		int textLp = testLongMem + 2048;
+		int coordinate = textLp + 64;
+		for (int i = 0; i < text.length(); i++) {
+			Mem.storeByte(textLp, i, (short)text.charAt(i));
+		}
+		int font = mkTxtBltFont();
+		Mem.writeMDSWord(testShortMem, 0, function);
+		Mem.writeMDSWord(testShortMem, 1, text.length() - 1);
+		Mem.writeMDSWord(testShortMem, 2, textLp & 0xFFFF);
+		Mem.writeMDSWord(testShortMem, 3, textLp >>> 16);
+		Mem.writeMDSWord(testShortMem, 4, font & 0xFFFF);
+		Mem.writeMDSWord(testShortMem, 5, font >>> 16);
+		Mem.writeMDSWord(testShortMem, 6, dst & 0xFFFF);
+		Mem.writeMDSWord(testShortMem, 7, dst >>> 16);
+		Mem.writeMDSWord(testShortMem, 8, 32); // dstBpl
+		Mem.writeMDSWord(testShortMem, 9, margin);
+		Mem.writeMDSWord(testShortMem, 10, space);
+		Mem.writeMDSWord(testShortMem, 11, coordinate & 0xFFFF);
+		Mem.writeMDSWord(testShortMem, 12, coordinate >>> 16);
+	}
+	
+	@Test
+	public void test_TXTBLT_display() {
+		int dst = testLongMem;
+		for (int i = 0; i < 8; i++) { Mem.writeWord(dst + i, (short)0); }
+		mkTxtBltArg(0, "AB AB", dst, 100, 1);
+		
+		mkStack(0, 1, testShortMem);
+		assertTrue("TXTBLT arguments supported", Ch08_Block_Transfers.txtBlt());
+		checkStack(5, 1 + 3 + 4 + 3 + 3 + 4, 0); // index, pos, result: normal
+		
+		checkBitmap("TXTBLT display", dst, 2
+				," X X1111   X X1111              "
+				,"  X 1  1    X 1  1              "
+				);
+	}
+	
+	@Test
+	public void test_TXTBLT_margin_stop_resolve() {
+		int dst = testLongMem;
+		for (int i = 0; i < 8; i++) { Mem.writeWord(dst + i, (short)0); }
+		
+		// margin: 'B' at pos 3 would end at 7 > 6
+		mkTxtBltArg(0, "AB", dst, 6, 0);
+		mkStack(0, 0, testShortMem);
+		assertTrue("TXTBLT arguments supported", Ch08_Block_Transfers.txtBlt());
+		checkStack(1, 3, 1); // index, pos, result: margin
+		checkBits("TXTBLT margin", dst, 0xA000, 0, 0x4000, 0);
+		for (int i = 0; i < 8; i++) { Mem.writeWord(dst + i, (short)0); }
+		
+		// stop character
+		mkTxtBltArg(1, "AA|A", dst, 100, 0);
+		mkStack(0, 0, testShortMem);
+		assertTrue("TXTBLT arguments supported", Ch08_Block_Transfers.txtBlt());
+		checkStack(2, 6, 2); // index, pos, result: stop
+		
+		// resolve: store the position of each character
+		mkTxtBltArg(2, "A B", dst, 100, 3);
+		mkStack(0, 10, testShortMem);
+		assertTrue("TXTBLT arguments supported", Ch08_Block_Transfers.txtBlt());
+		checkStack(3, 10 + 3 + 5 + 4, 0); // index, pos, result: normal
+		int coordinate = testLongMem + 2048 + 64;
+		assertEquals("coordinate[0]", 10, Mem.readWord(coordinate + 0));
+		assertEquals("coordinate[1]", 13, Mem.readWord(coordinate + 1));
+		assertEquals("coordinate[2]", 18, Mem.readWord(coordinate + 2));
+		
+		// nothing drawn
+		checkBits("TXTBLT no display", dst, 0, 0, 0, 0);
+	}
+	
+	@Test(expected=MesaTrapOrFault.class)
+	public void test_TXTBLT_unsupported_delegated() {
+		int dst = testLongMem;
+		mkTxtBltArg(3, "AB", dst, 100, 0); // invalid function
+		mkStack(0, 0, testShortMem);
+		assertFalse("TXTBLT arguments supported", Ch08_Block_Transfers.txtBlt());
+		checkStack(0, 0, testShortMem);
+		
+		// the instruction delegates to the software implementation with the stack unchanged
+		mesaException.expect_signalEscOpcodeTrap = true;
+		mesaException.beforeCheck = () -> checkStack(0, 0, testShortMem);
+		Ch08_Block_Transfers.ESC_x2C_TXTBLT.execute();
+	}
 }
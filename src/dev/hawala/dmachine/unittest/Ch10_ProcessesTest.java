@@ -0,0 +1,111 @@
+/*
+Copyright (c) 2017, Dr. Hans-Walter Latz
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * The name of the author may not be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDER "AS IS" AND ANY EXPRESS
+OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package dev.hawala.dmachine.unittest;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import dev.hawala.dmachine.engine.Cpu;
+import dev.hawala.dmachine.engine.Mem;
+import dev.hawala.dmachine.engine.Processes;
+
+/**
+ * Unittests for the process queues used by the instructions implemented
+ * in class Ch10_Processes (ready queue shadow).
+ */
+public class Ch10_ProcessesTest extends AbstractInstructionTest {
+	
+	private void mkReadyPsb(int psb, int priority) {
+		short link = Processes.setPsbLink_priority((short)0, priority);
+		Processes.storePSB_link(psb, Processes.setPsbLink_next(link, psb));
+		Processes.storePSB_flags(psb, (short)0);
+	}
+		private String readyQueueOrder() {
+		int tail = Processes.getQueue_tail(Mem.readWord(Processes.PDA_LP_header_ready));
+		if (tail == Processes.PsbNull) { return ""; }
+		StringBuilder sb = new StringBuilder();
+		int psb = Processes.getPsbLink_next(Processes.fetchPSB_link(tail));
+		while(true) {
+			sb.append(psb).append(psb == tail ? "" : " ");
+			if (psb == tail) { break; }
+			psb = Processes.getPsbLink_next(Processes.fetchPSB_link(psb));
+		}
+		return sb.toString();
+	}
+		@Test
+	public void test_ReadyQueueRequeue() {
+		for (int i = 0; i < 256 * 8; i++) {
+			Mem.writeWord(Cpu.PDA + i, (short)0);
+		}
+		Processes.invalidateReadyQueueShadow();
+		
+		int base = Processes.PsbStart;
+		int[] priorities = { 1, 3, 1, 5, 3, 0 };
+		for (int i = 0; i < priorities.length; i++) {
+			mkReadyPsb(base + i, priorities[i]);
+			Processes.requeue(0, Processes.PDA_LP_header_ready, (short)(base + i));
+		}
+		// ordered by descending priority, in insertion order for the same priority
+		assertEquals("ready queue after enqueuing",
+				(base + 3) + " " + (base + 1) + " " + (base + 4) + " " + base + " " + (base + 2) + " " + (base + 5),
+				readyQueueOrder());
+		
+		// dequeue head, middle and tail
+		int cond = Cpu.PDA + 1024;
+		Processes.requeue(Processes.PDA_LP_header_ready, cond, (short)(base + 3));
+		Processes.requeue(Processes.PDA_LP_header_ready, cond, (short)(base + 4));
+		Processes.requeue(Processes.PDA_LP_header_ready, cond, (short)(base + 5));
+		assertEquals("ready queue after dequeuing",
+				(base + 1) + " " + base + " " + (base + 2),
+				readyQueueOrder());
+		
+		// priority change of a queued process (as done by SPP)
+		short link = Processes.fetchPSB_link(base + 2);
+		Processes.storePSB_link(base + 2, Processes.setPsbLink_priority(link, 4));
+		Processes.requeue(Processes.PDA_LP_header_ready, Processes.PDA_LP_header_ready, (short)(base + 2));
+		assertEquals("ready queue after priority change",
+				(base + 2) + " " + (base + 1) + " " + base,
+				readyQueueOrder());
+		
+		// ready queue rebuilt by guest code: single process
+		mkReadyPsb(base + 7, 2);
+		Mem.writeWord(Processes.PDA_LP_header_ready, Processes.setQueue_tail((short)0, base + 7));
+		mkReadyPsb(base + 8, 6);
+		Processes.requeue(0, Processes.PDA_LP_header_ready, (short)(base + 8));
+		mkReadyPsb(base + 9, 2);
+		Processes.requeue(0, Processes.PDA_LP_header_ready, (short)(base + 9));
+		assertEquals("ready queue after guest rebuild",
+				(base + 8) + " " + (base + 7) + " " + (base + 9),
+				readyQueueOrder());
+		Processes.requeue(Processes.PDA_LP_header_ready, cond, (short)(base + 7));
+		assertEquals("ready queue after dequeuing from guest rebuild",
+				(base + 8) + " " + (base + 9),
+				readyQueueOrder());
+	}
+	
+}
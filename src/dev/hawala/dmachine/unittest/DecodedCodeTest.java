@@ -0,0 +1,75 @@
+/*
+Copyright (c) 2017, Dr. Hans-Walter Latz
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * The name of the author may not be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDER "AS IS" AND ANY EXPRESS
+OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package dev.hawala.dmachine.unittest;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import dev.hawala.dmachine.engine.Cpu;
+import dev.hawala.dmachine.engine.Opcodes;
+
+/**
+ * Unittests for executing instructions from the pre-decoded code pages
+ * (see Mem.getNextDecodedInstruction() and Opcodes.dispatchDecoded()).
+ */
+public class DecodedCodeTest extends AbstractInstructionTest {
+
+	@Test
+	public void test_DecodedCodeRewritten() {
+		Opcodes.initializeInstructionsPrincOps40();
+		
+		// decode and execute the first instruction
+		mkCode(
+			PC,
+			0xC1,	// LI1 - Load Immediate 1
+			0xC2	// LI2 - Load Immediate 2
+		);
+		Opcodes.dispatchDecoded();
+		assertEquals("PC after LI1", 1, Cpu.PC);
+		assertEquals("value loaded by LI1", 1, Cpu.pop());
+		
+		// overwrite the code, which must drop the decoded instructions
+		mkCode(
+			PC,
+			0xC3,	// LI3 - Load Immediate 3
+			0xF8,	// ESC
+			0x12	// XOR
+		);
+		Opcodes.dispatchDecoded();
+		assertEquals("PC after LI3", 1, Cpu.PC);
+		assertEquals("value loaded by LI3", 3, Cpu.pop());
+		
+		// ESC-instructions are dispatched with their sub-opcode
+		Cpu.push(0x0005);
+		Cpu.push(0x0003);
+		Opcodes.dispatchDecoded();
+		assertEquals("PC after ESC XOR", 3, Cpu.PC);
+		assertEquals("value computed by ESC XOR", 6, Cpu.pop());
+	}
+	
+}
@@ -0,0 +1,83 @@
+/*
+Copyright (c) 2017, Dr. Hans-Walter Latz
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * The name of the author may not be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDER "AS IS" AND ANY EXPRESS
+OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package dev.hawala.dmachine.unittest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Window;
+
+import org.junit.Test;
+
+import dev.hawala.dmachine.dwarf.MainUI;
+import dev.hawala.dmachine.engine.Cpu;
+import dev.hawala.dmachine.engine.Machine;
+
+/**
+ * Unittests for running several workstations in one JVM as isolated machines.
+ */
+public class MachineTest extends AbstractInstructionTest {
+	
+	@Test
+	public void test_MachinesIsolated() throws ReflectiveOperationException {
+		String cpuClassName = Cpu.class.getName();
+		Machine machine1 = new Machine("1");
+		Machine machine2 = new Machine("2");
+		Class<?> cpu1 = machine1.getMachineClass(cpuClassName);
+		Class<?> cpu2 = machine2.getMachineClass(cpuClassName);
+		assertNotSame("Cpu class of machine 1", Cpu.class, cpu1);
+		assertNotSame("Cpu class of machine 2", Cpu.class, cpu2);
+		assertNotSame("Cpu classes of the machines", cpu1, cpu2);
+		
+		Cpu.MDS = 0x10000;
+		cpu1.getField("MDS").setInt(null, 0x20000);
+		cpu2.getField("MDS").setInt(null, 0x30000);
+		
+		machine1.invokeStatic(cpuClassName, "push", new Class<?>[] { short.class }, (short)0x1234);
+		assertEquals("SP of machine 1", 1, cpu1.getField("SP").getInt(null));
+		assertEquals("SP of machine 2", 0, cpu2.getField("SP").getInt(null));
+		assertEquals("SP of the single-instance engine", 0, Cpu.SP);
+		
+		assertEquals("MDS of machine 1", 0x20000, cpu1.getField("MDS").getInt(null));
+		assertEquals("MDS of machine 2", 0x30000, cpu2.getField("MDS").getInt(null));
+		assertEquals("MDS of the single-instance engine", 0x10000, Cpu.MDS);
+	}
+		@Test
+	public void test_MachineTerminatesAlone() throws ReflectiveOperationException {
+		Machine machine1 = new Machine("1");
+		Machine machine2 = new Machine("2");
+		assertFalse("machine 1 terminated before", machine1.isTerminated());
+		
+		// terminating the Dwarf application of a machine must not end the JVM
+		machine1.invokeStatic(MainUI.class.getName(), "terminate", new Class<?>[] { Window.class }, (Object)null);
+		assertTrue("machine 1 terminated", machine1.isTerminated());
+		assertFalse("machine 2 terminated", machine2.isTerminated());
+	}
+	
+}
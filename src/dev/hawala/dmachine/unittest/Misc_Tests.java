@@ -48,6 +48,15 @@ public class Misc_Tests extends AbstractInstructionTest {
 
 	@Test
 	public void test_SampleCode() {
+		runSampleCode(false);
+	}
+	
+	@Test
+	public void test_SampleCodeDecoded() {
+		runSampleCode(true);
+	}
+	
+	private void runSampleCode(boolean decoded) {
 		// prepare global frame
 		mkGlobalFrame(      // offset / content
 			0x1234,			// [0] parameter for 2.
@@ -120,17 +129,17 @@ public class Misc_Tests extends AbstractInstructionTest {
 		
 		// run the loop a defined number of times repeatedly
 		final int sleepTime = 40; // 40 milliseconds, give the Java JIT a chance to (re)compile to native
-		runLoop();
+		runLoop(decoded);
 		sleep(sleepTime);
-		runLoop();
+		runLoop(decoded);
 		sleep(sleepTime);
-		runLoop();
+		runLoop(decoded);
 		sleep(sleepTime);
-		runLoop();
+		runLoop(decoded);
 		sleep(sleepTime);
-		runLoop();
+		runLoop(decoded);
 		sleep(sleepTime);
-		runLoop();
+		runLoop(decoded);
 	}
 	
 	private void sleep(int amount) {
@@ -167,7 +176,7 @@ public class Misc_Tests extends AbstractInstructionTest {
 	 *   => better than cTickMin!
 	 */
 	
-	private void runLoop() {
+	private void runLoop(boolean decoded) {
 		// simulated code interpreter loop
 		final int loopInstructions = 12;
 		final int loopCount = 1_000_000;
@@ -194,7 +203,11 @@ public class Misc_Tests extends AbstractInstructionTest {
 						count++;
 						Cpu.savedPC = Cpu.PC;
 						Cpu.savedSP = Cpu.SP;
-						Opcodes.dispatch(Mem.getNextCodeByte());
+						if (decoded) {
+							Opcodes.dispatchDecoded();
+						} else {
+							Opcodes.dispatch(Mem.getNextCodeByte());
+						}
 					} else {
 						fail("Simulated interpreter loop should not stop running");
 					}
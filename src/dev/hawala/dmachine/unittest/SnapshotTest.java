@@ -0,0 +1,121 @@
+/*
+Copyright (c) 2017, Dr. Hans-Walter Latz
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * The name of the author may not be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDER "AS IS" AND ANY EXPRESS
+OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package dev.hawala.dmachine.unittest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import dev.hawala.dmachine.engine.Cpu;
+import dev.hawala.dmachine.engine.Mem;
+import dev.hawala.dmachine.engine.Snapshot;
+
+/**
+ * Unittests for saving the machine state to a snapshot file and
+ * restoring it from there.
+ */
+public class SnapshotTest extends AbstractInstructionTest {
+	
+	private final Snapshot.DeviceState noDevices = new Snapshot.DeviceState() {
+		@Override
+		public long getDiskChecksum() {
+			return 0;
+		}
+		
+		@Override
+		public void saveState(DataOutput state) {
+			// no devices
+		}
+		
+		@Override
+		public void restoreState(DataInput state) {
+			// no devices
+		}
+	};
+		@Test
+	public void test_SnapshotRoundTrip() throws IOException {
+		innerTestSnapshotRoundTrip(false);
+	}
+		@Test
+	public void test_SnapshotRoundTrip_mappedImage() throws IOException {
+		innerTestSnapshotRoundTrip(true);
+	}
+		private void innerTestSnapshotRoundTrip(boolean mapImage) throws IOException {
+		mkLocalFrame(
+			0x1234,			// [0]
+			0x5678			// [1]
+		);
+		Cpu.PC = 17;
+		Cpu.push(0x0011);
+		Cpu.push(0x0022);
+		Cpu.setMP(990);
+		long insns = Cpu.insns;
+		int lf = Cpu.LF;
+		
+		File snapshotFile = File.createTempFile("snapshot", ".tmp");
+		snapshotFile.deleteOnExit();
+		Snapshot.save(snapshotFile, "unittest", noDevices);
+		
+		// change the machine state after the snapshot
+		Mem.writeMDSWord(lf, 0, 0x4321);
+		Cpu.PC = 42;
+		Cpu.pop();
+		Cpu.push(0x0033);
+		Cpu.push(0x0044);
+		Cpu.setMP(8000);
+		Cpu.insns = insns + 1000;
+		
+		StringBuilder errMsgTarget = new StringBuilder();
+		assertFalse("snapshot restored for other machine type", Snapshot.restore(snapshotFile, "other", noDevices, errMsgTarget));
+		assertEquals("unchanged PC after mismatch", 42, Cpu.PC);
+		assertTrue("snapshot restored", Snapshot.restore(snapshotFile, "unittest", noDevices, errMsgTarget, mapImage));
+		if (!mapImage) {
+			// the machine's own snapshot file must be replaceable by the next snapshot
+			Snapshot.save(snapshotFile, "unittest", noDevices);
+		}
+		snapshotFile.delete();
+		
+		assertEquals("restored local 0", 0x1234, Mem.readMDSWord(lf, 0) & 0xFFFF);
+		assertEquals("restored local 1", 0x5678, Mem.readMDSWord(lf, 1) & 0xFFFF);
+		assertEquals("restored LF", lf, Cpu.LF);
+		assertEquals("restored PC", 17, Cpu.PC);
+		assertEquals("restored savedPC", 17, Cpu.savedPC);
+		assertEquals("restored MP", 990, Cpu.getMP());
+		assertEquals("restored insns", insns, Cpu.insns);
+		assertEquals("restored SP", 2, Cpu.SP);
+		assertEquals("restored stack[1]", 0x0022, Cpu.pop());
+		assertEquals("restored stack[0]", 0x0011, Cpu.pop());
+	}
+	
+}
@@ -0,0 +1,126 @@
+/*
+Copyright (c) 2017, Dr. Hans-Walter Latz
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+    * Redistributions of source code must retain the above copyright
+      notice, this list of conditions and the following disclaimer.
+    * Redistributions in binary form must reproduce the above copyright
+      notice, this list of conditions and the following disclaimer in the
+      documentation and/or other materials provided with the distribution.
+    * The name of the author may not be used to endorse or promote products
+      derived from this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDER "AS IS" AND ANY EXPRESS
+OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+
+package dev.hawala.dmachine.unittest;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import dev.hawala.dmachine.engine.Cpu;
+import dev.hawala.dmachine.engine.Opcodes;
+
+/**
+ * Unittests for the superinstructions executing frequent instruction pairs
+ * from the pre-decoded code pages (see ChXX_Superinstructions) and for
+ * instruction overrides, which must be executed instead of superinstructions
+ * decoded before.
+ */
+public class SuperinstructionsTest extends AbstractInstructionTest {
+
+	@Test
+	public void test_SuperinstructionDecoded() {
+		Opcodes.initializeInstructionsPrincOps40();
+		
+		mkLocalFrame(
+			0x1234			// [0] value for LL0
+		);
+		mkCode(
+			PC,
+			0xF8,	// ESC
+			0x12,	// XOR
+			0x01,	// LL0 - Load Local 0
+			0xB5,	// ADD - Add
+			0xC0	// LI0 - Load Immediate 0
+		);
+		Cpu.PC = 2;
+		
+		// LL0 and ADD are executed as one superinstruction
+		long insns = Cpu.insns;
+		Cpu.push(0x0011);
+		Opcodes.dispatchDecoded();
+		assertEquals("PC after LL0 ADD", 4, Cpu.PC);
+		assertEquals("savedPC for ADD", 3, Cpu.savedPC);
+		assertEquals("instructions counted for ADD", insns + 1, Cpu.insns);
+		assertEquals("value computed by LL0 ADD", 0x1245, Cpu.pop());
+		
+		// jumping to the second instruction of the pair executes it alone
+		Cpu.PC = 3;
+		Cpu.push(0x0001);
+		Cpu.push(0x0002);
+		Opcodes.dispatchDecoded();
+		assertEquals("PC after ADD", 4, Cpu.PC);
+		assertEquals("value computed by ADD", 3, Cpu.pop());
+	}
+		@Test
+	public void test_OverriddenInstructionDispatched() {
+		Opcodes.initializeInstructionsPrincOps40();
+		
+		mkLocalFrame(
+			0x1234			// [0] value for LL0
+		);
+		mkCode(
+			PC,
+			0xF8,	// ESC
+			0x12,	// XOR
+			0xF8,	// ESC
+			0x12,	// XOR
+			0x01,	// LL0 - Load Local 0
+			0xB5,	// ADD - Add
+			0xC0	// LI0 - Load Immediate 0
+		);
+		
+		// the installed implementation is dispatched (directly when using the switch-based dispatcher)
+		Cpu.push(0x0003);
+		Cpu.push(0x0005);
+		Opcodes.dispatchDecoded();
+		assertEquals("value computed by ESC XOR", 6, Cpu.pop());
+		
+		// an override of the installed implementation must be dispatched
+		Opcodes.implantEscOverride(0x12, "XOR", () -> { Cpu.pop(); Cpu.pop(); Cpu.push(42); });
+		Cpu.push(0x0003);
+		Cpu.push(0x0005);
+		Opcodes.dispatchDecoded();
+		assertEquals("value computed by overriding ESC XOR", 42, Cpu.pop());
+		
+		// the superinstruction LL0 ADD decoded before the override of ADD must not be dispatched
+		Cpu.PC = 4;
+		Cpu.push(0x0011);
+		Opcodes.dispatchDecoded();
+		assertEquals("value computed by LL0 ADD", 0x1245, Cpu.pop());
+		Opcodes.implantOverride(0xB5, "ADD", () -> { Cpu.pop(); Cpu.pop(); Cpu.push(43); });
+		Cpu.PC = 4;
+		Cpu.push(0x0011);
+		Opcodes.dispatchDecoded();
+		assertEquals("PC after LL0", 5, Cpu.PC);
+		Opcodes.dispatchDecoded();
+		assertEquals("PC after overriding ADD", 6, Cpu.PC);
+		assertEquals("value computed by overriding ADD", 43, Cpu.pop());
+		
+		Opcodes.initializeInstructionsPrincOps40();
+	}
+	
+}